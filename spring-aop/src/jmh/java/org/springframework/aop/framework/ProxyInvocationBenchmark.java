@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for invoking methods through JDK dynamic and CGLIB proxies,
+ * with no advice and with a single interceptor.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ProxyInvocationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"none", "interceptor"})
+		public String advice;
+
+		@Param({"false", "true"})
+		public boolean generateInvokers;
+
+		public Service proxy;
+
+		@Setup
+		public void setup() {
+			ProxyFactory pf = new ProxyFactory(new DefaultService());
+			pf.setProxyTargetClass("cglib".equals(this.proxyType));
+			pf.setGenerateInvokers(this.generateInvokers);
+			if ("interceptor".equals(this.advice)) {
+				pf.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+			}
+			this.proxy = (Service) pf.getProxy();
+		}
+	}
+
+
+	@Benchmark
+	public int invokeWithArguments(BenchmarkState state) {
+		return state.proxy.add(1, 2);
+	}
+
+	@Benchmark
+	public String invokeWithoutArguments(BenchmarkState state) {
+		return state.proxy.getName();
+	}
+
+
+	public interface Service {
+
+		int add(int a, int b);
+
+		String getName();
+	}
+
+
+	public static class DefaultService implements Service {
+
+		@Override
+		public int add(int a, int b) {
+			return a + b;
+		}
+
+		@Override
+		public String getName() {
+			return "service";
+		}
+	}
+
+}
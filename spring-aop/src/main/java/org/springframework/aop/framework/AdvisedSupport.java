@@ -23,8 +23,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.aop.Advice;
 
@@ -80,8 +78,8 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** The AdvisorChainFactory to use. */
 	AdvisorChainFactory advisorChainFactory = new DefaultAdvisorChainFactory();
 
-	/** Cache with Method as key and advisor chain List as value. */
-	private transient Map<MethodCacheKey, List<Object>> methodCache;
+	/** Cache with Method as key and advisor chain dispatch state as value. */
+	private transient MethodDispatchCache methodCache;
 
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
@@ -106,7 +104,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 * No-arg constructor for use as a JavaBean.
 	 */
 	public AdvisedSupport() {
-		this.methodCache = new ConcurrentHashMap<>(32);
+		this.methodCache = new MethodDispatchCache();
 	}
 
 	/**
@@ -477,14 +475,28 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 * @return a List of MethodInterceptors (may also include InterceptorAndDynamicMethodMatchers)
 	 */
 	public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Method method, @Nullable Class<?> targetClass) {
-		MethodCacheKey cacheKey = new MethodCacheKey(method);
-		List<Object> cached = this.methodCache.get(cacheKey);
-		if (cached == null) {
-			cached = this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(
-					this, method, targetClass);
-			this.methodCache.put(cacheKey, cached);
+		return getMethodDispatch(method, targetClass).getChain();
+	}
+
+	/**
+	 * Return the cached dispatch state for the given method, determining its
+	 * chain of MethodInterceptors on first access.
+	 * <p>Lookups are keyed by method identity and do not allocate, which
+	 * makes this suitable for use on every invocation of an AOP proxy.
+	 * @param method the proxied method
+	 * @param targetClass the target class
+	 * @return the dispatch state for the method
+	 * @since 5.2
+	 * @see #getInterceptorsAndDynamicInterceptionAdvice
+	 */
+	MethodDispatch getMethodDispatch(Method method, @Nullable Class<?> targetClass) {
+		MethodDispatch dispatch = this.methodCache.get(method);
+		if (dispatch == null) {
+			dispatch = new MethodDispatch(method,
+					this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(this, method, targetClass));
+			this.methodCache.put(dispatch);
 		}
-		return cached;
+		return dispatch;
 	}
 
 	/**
@@ -551,7 +563,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 		ois.defaultReadObject();
 
 		// Initialize transient fields.
-		this.methodCache = new ConcurrentHashMap<>(32);
+		this.methodCache = new MethodDispatchCache();
 	}
 
 
@@ -577,43 +589,115 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
 
 	/**
-	 * Simple wrapper class around a Method. Used as the key when
-	 * caching methods, for efficient equals and hashCode comparisons.
+	 * Dispatch state for invocations of a specific proxied method: its chain
+	 * of MethodInterceptors and, if requested, its generated joinpoint invoker.
 	 */
-	private static final class MethodCacheKey implements Comparable<MethodCacheKey> {
+	static final class MethodDispatch {
 
 		private final Method method;
 
-		private final int hashCode;
+		private final List<Object> chain;
+
+		@Nullable
+		private volatile JoinpointInvoker invoker;
+
+		private volatile boolean invokerResolved;
 
-		public MethodCacheKey(Method method) {
+		MethodDispatch(Method method, List<Object> chain) {
 			this.method = method;
-			this.hashCode = method.hashCode();
+			this.chain = chain;
 		}
 
-		@Override
-		public boolean equals(@Nullable Object other) {
-			return (this == other || (other instanceof MethodCacheKey &&
-					this.method == ((MethodCacheKey) other).method));
+		/**
+		 * Return the chain of MethodInterceptors (may also include
+		 * InterceptorAndDynamicMethodMatchers) for the method.
+		 */
+		public List<Object> getChain() {
+			return this.chain;
 		}
 
-		@Override
-		public int hashCode() {
-			return this.hashCode;
+		/**
+		 * Return the generated invoker for the method, resolving it on first access.
+		 * @return the invoker, or {@code null} if the method has to be invoked
+		 * with reflection
+		 * @see JoinpointInvokerGenerator#getInvoker
+		 */
+		@Nullable
+		public JoinpointInvoker getInvoker() {
+			if (!this.invokerResolved) {
+				this.invoker = JoinpointInvokerGenerator.getInvoker(this.method);
+				this.invokerResolved = true;
+			}
+			return this.invoker;
 		}
 
 		@Override
 		public String toString() {
 			return this.method.toString();
 		}
+	}
 
-		@Override
-		public int compareTo(MethodCacheKey other) {
-			int result = this.method.getName().compareTo(other.method.getName());
-			if (result == 0) {
-				result = this.method.toString().compareTo(other.method.toString());
+
+	/**
+	 * Copy-on-write open addressing table of MethodDispatch instances, indexed
+	 * by the identity hash code of their method. Lookups are lock-free and do
+	 * not allocate; updates are rare since each method is only added once.
+	 */
+	private static final class MethodDispatchCache {
+
+		private static final int INITIAL_CAPACITY = 32;
+
+		private volatile MethodDispatch[] table = new MethodDispatch[INITIAL_CAPACITY];
+
+		@Nullable
+		public MethodDispatch get(Method method) {
+			MethodDispatch[] table = this.table;
+			int mask = table.length - 1;
+			int index = System.identityHashCode(method) & mask;
+			MethodDispatch dispatch;
+			while ((dispatch = table[index]) != null) {
+				if (dispatch.method == method) {
+					return dispatch;
+				}
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+
+		public synchronized void put(MethodDispatch dispatch) {
+			MethodDispatch[] table = this.table;
+			int size = 1;
+			for (MethodDispatch existing : table) {
+				if (existing != null && existing.method != dispatch.method) {
+					size++;
+				}
+			}
+			// Keep the load factor at or below 0.5, leaving free slots to end probing.
+			int capacity = table.length;
+			while (size * 2 > capacity) {
+				capacity <<= 1;
+			}
+			MethodDispatch[] newTable = new MethodDispatch[capacity];
+			for (MethodDispatch existing : table) {
+				if (existing != null && existing.method != dispatch.method) {
+					insert(newTable, existing);
+				}
+			}
+			insert(newTable, dispatch);
+			this.table = newTable;
+		}
+
+		public synchronized void clear() {
+			this.table = new MethodDispatch[INITIAL_CAPACITY];
+		}
+
+		private static void insert(MethodDispatch[] table, MethodDispatch dispatch) {
+			int mask = table.length - 1;
+			int index = System.identityHashCode(dispatch.method) & mask;
+			while (table[index] != null) {
+				index = (index + 1) & mask;
 			}
-			return result;
+			table[index] = dispatch;
 		}
 	}
 
@@ -44,6 +44,10 @@ import org.springframework.util.ObjectUtils;
  */
 public abstract class AopProxyUtils {
 
+	/** Shared argument array for methods without arguments, safe to reuse since it is empty. */
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+
 	/**
 	 * Obtain the singleton target object behind the given proxy, if any.
 	 * @param candidate the (potential) proxy to check
@@ -217,11 +221,12 @@ public abstract class AopProxyUtils {
 	 * @param method the target method
 	 * @param arguments the given arguments
 	 * @return a cloned argument array, or the original if no adaptation is needed
+	 * (a shared empty array if there are no arguments)
 	 * @since 4.2.3
 	 */
 	static Object[] adaptArgumentsIfNecessary(Method method, @Nullable Object[] arguments) {
 		if (ObjectUtils.isEmpty(arguments)) {
-			return new Object[0];
+			return EMPTY_ARGUMENTS;
 		}
 		if (method.isVarArgs()) {
 			Class<?>[] paramTypes = method.getParameterTypes();
@@ -192,8 +192,12 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			target = targetSource.getTarget();
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
-			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			// Get the interception chain for this method, from its cached dispatch state.
+			AdvisedSupport.MethodDispatch dispatch = this.advised.getMethodDispatch(method, targetClass);
+			List<Object> chain = dispatch.getChain();
+
+			// Use a generated invoker for the target method, if requested and possible.
+			JoinpointInvoker invoker = (this.advised.generateInvokers ? dispatch.getInvoker() : null);
 
 			// Check whether we have any advice. If we don't, we can fallback on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -202,12 +206,14 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 				// Note that the final invoker must be an InvokerInterceptor so we know it does
 				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
 				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				retVal = (invoker != null ? invoker.invoke(target, argsToUse) :
+						AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse));
 			}
 			else {
 				// We need to create a method invocation...
-				MethodInvocation invocation =
-						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+				MethodInvocation invocation = (invoker != null ?
+						new GeneratedInvokerMethodInvocation(proxy, target, method, args, targetClass, chain, invoker) :
+						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain));
 				// Proceed to the joinpoint through the interceptor chain.
 				retVal = invocation.proceed();
 			}
@@ -283,4 +289,28 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Implementation of AOP Alliance MethodInvocation that invokes the
+	 * joinpoint through a generated {@link JoinpointInvoker}.
+	 */
+	private static class GeneratedInvokerMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final JoinpointInvoker invoker;
+
+		public GeneratedInvokerMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				@Nullable Object[] arguments, @Nullable Class<?> targetClass,
+				List<Object> interceptorsAndDynamicMethodMatchers, JoinpointInvoker invoker) {
+
+			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.invoker = invoker;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.invoker.invoke(this.target, this.arguments);
+		}
+	}
+
 }
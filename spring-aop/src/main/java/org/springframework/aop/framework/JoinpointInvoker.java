@@ -0,0 +1,43 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Invoker for a specific method on a target object, implemented by classes
+ * that are generated for each method as an alternative to reflection.
+ * Mainly for internal use within the AOP framework.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see ProxyConfig#setGenerateInvokers
+ */
+@FunctionalInterface
+public interface JoinpointInvoker {
+
+	/**
+	 * Invoke the method on the given target.
+	 * @param target the target object
+	 * @param args the arguments for the method, or {@code null} if it has none
+	 * @return the return value of the method, or {@code null} for a void method
+	 * @throws Throwable the exception thrown by the method, as is
+	 */
+	@Nullable
+	Object invoke(@Nullable Object target, @Nullable Object[] args) throws Throwable;
+
+}
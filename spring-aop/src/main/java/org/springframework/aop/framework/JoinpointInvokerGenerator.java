@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Generates a {@link JoinpointInvoker} class for a given method, with a direct
+ * {@code invokevirtual} or {@code invokeinterface} call to the method that
+ * replaces {@link Method#invoke}.
+ *
+ * <p>Generated classes are defined in a child class loader of the class loader
+ * of the method's declaring class, and therefore only have access to public
+ * types. For any method that is not public, or whose signature involves
+ * non-public types, no invoker is generated and callers should fall back on
+ * reflection. Like {@link org.springframework.aop.support.AopUtils#invokeJoinpointUsingReflection},
+ * a generated invoker throws an {@link AopInvocationException} if the target or
+ * the arguments do not match the method.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+final class JoinpointInvokerGenerator implements Opcodes {
+
+	private static final Log logger = LogFactory.getLog(JoinpointInvokerGenerator.class);
+
+	private static final String INVOKER_NAME = Type.getInternalName(JoinpointInvoker.class);
+
+	private static final String INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final String EXCEPTION_NAME = Type.getInternalName(AopInvocationException.class);
+
+	private static final JoinpointInvoker NO_INVOKER = (target, args) -> null;
+
+	// A generator is created for each class loader, managing a child class loader of it
+	// that the generated invoker classes are defined in. Once a generator is released,
+	// its class loader and all of its invoker classes are released with it.
+	private static final Map<ClassLoader, JoinpointInvokerGenerator> generators = new ConcurrentReferenceHashMap<>();
+
+
+	private final ChildClassLoader classLoader;
+
+	// Invokers are held for as long as the class loader they are defined in
+	private final Map<Method, JoinpointInvoker> invokers = new ConcurrentHashMap<>(64);
+
+	private final AtomicInteger suffixId = new AtomicInteger();
+
+
+	private JoinpointInvokerGenerator(ClassLoader classLoader) {
+		this.classLoader = new ChildClassLoader(classLoader);
+	}
+
+
+	/**
+	 * Return the generated invoker for the given method, generating it first
+	 * if necessary.
+	 * @param method the method to invoke
+	 * @return the invoker, or {@code null} if none can be generated for the
+	 * given method, in which case it should be invoked with reflection
+	 */
+	@Nullable
+	static JoinpointInvoker getInvoker(Method method) {
+		ClassLoader classLoader = method.getDeclaringClass().getClassLoader();
+		if (classLoader == null || !ClassUtils.isVisible(JoinpointInvoker.class, classLoader) ||
+				!isInvokable(method)) {
+			return null;
+		}
+		JoinpointInvokerGenerator generator;
+		synchronized (generators) {
+			generator = generators.computeIfAbsent(classLoader, JoinpointInvokerGenerator::new);
+		}
+		JoinpointInvoker invoker = generator.invokers.computeIfAbsent(method, generator::generateInvoker);
+		return (invoker != NO_INVOKER ? invoker : null);
+	}
+
+	private static boolean isInvokable(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers()) ||
+				!isPublic(method.getDeclaringClass()) || !isPublic(method.getReturnType())) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isPublic(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublic(Class<?> clazz) {
+		while (clazz.isArray()) {
+			clazz = clazz.getComponentType();
+		}
+		if (clazz.isPrimitive()) {
+			return true;
+		}
+		for (Class<?> current = clazz; current != null; current = current.getEnclosingClass()) {
+			if (!Modifier.isPublic(current.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private JoinpointInvoker generateInvoker(Method method) {
+		try {
+			return generate(method);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate invoker for " + method + ": " + ex);
+			}
+			return NO_INVOKER;
+		}
+	}
+
+	private JoinpointInvoker generate(Method method) throws Exception {
+		String className = "spring/aop/Invoker" + this.suffixId.incrementAndGet();
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null,
+				"java/lang/Object", new String[] {INVOKER_NAME});
+
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, new String[] {"java/lang/Throwable"});
+		mv.visitCode();
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		// A cast, unboxing or array access failing while preparing the call
+		// means that the target or the arguments do not match the method.
+		Label prepareStart = new Label();
+		Label prepareEnd = new Label();
+		Label mismatch = new Label();
+		mv.visitTryCatchBlock(prepareStart, prepareEnd, mismatch, "java/lang/RuntimeException");
+		mv.visitLabel(prepareStart);
+		mv.visitVarInsn(ALOAD, 1);
+		mv.visitTypeInsn(CHECKCAST, owner);
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(AALOAD);
+			unbox(mv, parameterTypes[i]);
+		}
+		mv.visitLabel(prepareEnd);
+		boolean isInterface = declaringClass.isInterface();
+		mv.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, owner, method.getName(),
+				Type.getMethodDescriptor(method), isInterface);
+		box(mv, method.getReturnType());
+		mv.visitInsn(ARETURN);
+		mv.visitLabel(mismatch);
+		mv.visitFrame(F_FULL, 3, new Object[] {className, "java/lang/Object", "[Ljava/lang/Object;"},
+				1, new Object[] {"java/lang/RuntimeException"});
+		mv.visitVarInsn(ASTORE, 3);
+		mv.visitTypeInsn(NEW, EXCEPTION_NAME);
+		mv.visitInsn(DUP);
+		mv.visitLdcInsn("AOP configuration seems to be invalid: tried calling method [" + method +
+				"] with incompatible target or arguments");
+		mv.visitVarInsn(ALOAD, 3);
+		mv.visitMethodInsn(INVOKESPECIAL, EXCEPTION_NAME, "<init>", "(Ljava/lang/String;Ljava/lang/Throwable;)V", false);
+		mv.visitInsn(ATHROW);
+		mv.visitMaxs(0, 0);  // not supplied due to COMPUTE_MAXS
+		mv.visitEnd();
+		cw.visitEnd();
+
+		Class<?> clazz = this.classLoader.defineClass(className.replace('/', '.'), cw.toByteArray());
+		return (JoinpointInvoker) ReflectionUtils.accessibleConstructor(clazz).newInstance();
+	}
+
+	private static void unbox(MethodVisitor mv, Class<?> type) {
+		if (!type.isPrimitive()) {
+			if (type != Object.class) {
+				mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+			}
+			return;
+		}
+		String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+		mv.visitTypeInsn(CHECKCAST, wrapper);
+		mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+				"()" + Type.getDescriptor(type), false);
+	}
+
+	private static void box(MethodVisitor mv, Class<?> type) {
+		if (type == void.class) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else if (type.isPrimitive()) {
+			String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf",
+					"(" + Type.getDescriptor(type) + ")L" + wrapper + ";", false);
+		}
+	}
+
+
+	/**
+	 * Child class loader that the generated invoker classes are defined in.
+	 */
+	private static class ChildClassLoader extends URLClassLoader {
+
+		private static final URL[] NO_URLS = new URL[0];
+
+		public ChildClassLoader(ClassLoader classLoader) {
+			super(NO_URLS, classLoader);
+		}
+
+		public synchronized Class<?> defineClass(String name, byte[] bytes) {
+			return super.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
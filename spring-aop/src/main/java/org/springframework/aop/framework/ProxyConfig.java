@@ -42,6 +42,8 @@ public class ProxyConfig implements Serializable {
 
 	boolean exposeProxy = false;
 
+	boolean generateInvokers = false;
+
 	private boolean frozen = false;
 
 
@@ -129,6 +131,29 @@ public class ProxyConfig implements Serializable {
 		return this.exposeProxy;
 	}
 
+	/**
+	 * Set whether the proxy should invoke target methods through a class
+	 * generated for each method, instead of through reflection.
+	 * <p>Default is "false". Generating a class for each invoked method costs
+	 * time on its first invocation and some memory, in return for cheaper
+	 * subsequent invocations. This is applied by JDK dynamic proxies to public
+	 * methods of public types; CGLIB proxies invoke public methods through
+	 * generated code already. Other methods are invoked through reflection.
+	 * @since 5.2
+	 */
+	public void setGenerateInvokers(boolean generateInvokers) {
+		this.generateInvokers = generateInvokers;
+	}
+
+	/**
+	 * Return whether the proxy will invoke target methods through a class
+	 * generated for each method.
+	 * @since 5.2
+	 */
+	public boolean isGenerateInvokers() {
+		return this.generateInvokers;
+	}
+
 	/**
 	 * Set whether this config should be frozen.
 	 * <p>When a config is frozen, no advice changes can be made. This is
@@ -156,6 +181,7 @@ public class ProxyConfig implements Serializable {
 		this.proxyTargetClass = other.proxyTargetClass;
 		this.optimize = other.optimize;
 		this.exposeProxy = other.exposeProxy;
+		this.generateInvokers = other.generateInvokers;
 		this.frozen = other.frozen;
 		this.opaque = other.opaque;
 	}
@@ -167,6 +193,7 @@ public class ProxyConfig implements Serializable {
 		sb.append("optimize=").append(this.optimize).append("; ");
 		sb.append("opaque=").append(this.opaque).append("; ");
 		sb.append("exposeProxy=").append(this.exposeProxy).append("; ");
+		sb.append("generateInvokers=").append(this.generateInvokers).append("; ");
 		sb.append("frozen=").append(this.frozen);
 		return sb.toString();
 	}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.AopInvocationException;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Unit tests for {@link JoinpointInvokerGenerator}.
+ *
+ * @author agent (agent@local)
+ */
+public class JoinpointInvokerGeneratorTests {
+
+	private final Calculator target = new DefaultCalculator();
+
+
+	@Test
+	public void invokePrimitives() throws Throwable {
+		assertThat(invoke("add", 2, 3)).isEqualTo(5);
+		assertThat(invoke("scale", 4L, 1.5d)).isEqualTo(6L);
+		assertThat(invoke("not", true)).isEqualTo(false);
+		assertThat(invoke("first", "spring")).isEqualTo('s');
+	}
+
+	@Test
+	public void invokeObjects() throws Throwable {
+		assertThat(invoke("echo", "foo")).isEqualTo("foo");
+		assertThat(invoke("sum", (Object) new int[] {1, 2, 3})).isEqualTo(6);
+	}
+
+	@Test
+	public void invokeVoidWithoutArguments() throws Throwable {
+		Method method = ReflectionUtils.findMethod(Calculator.class, "reset");
+		JoinpointInvoker invoker = JoinpointInvokerGenerator.getInvoker(method);
+		assertThat(invoker).isNotNull();
+		assertThat(invoker.invoke(this.target, null)).isNull();
+		assertThat(((DefaultCalculator) this.target).resetCount).isEqualTo(1);
+	}
+
+	@Test
+	public void invokeThrowsTargetException() {
+		assertThatIOException().isThrownBy(() -> invoke("fail", "boom")).withMessage("boom");
+	}
+
+	@Test
+	public void invokeWithMismatchedArguments() {
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() -> invoke("echo", 1))
+				.withCauseInstanceOf(ClassCastException.class);
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() -> invoke("add", 1, null))
+				.withCauseInstanceOf(NullPointerException.class);
+		assertThatExceptionOfType(AopInvocationException.class).isThrownBy(() -> invoke("add", 1))
+				.withCauseInstanceOf(ArrayIndexOutOfBoundsException.class);
+	}
+
+	@Test
+	public void invokeWithMismatchedTarget() {
+		Method method = ReflectionUtils.findMethod(Calculator.class, "echo", String.class);
+		JoinpointInvoker invoker = JoinpointInvokerGenerator.getInvoker(method);
+		assertThat(invoker).isNotNull();
+		assertThatExceptionOfType(AopInvocationException.class)
+				.isThrownBy(() -> invoker.invoke("foo", new Object[] {"bar"}))
+				.withCauseInstanceOf(ClassCastException.class);
+	}
+
+	@Test
+	public void invokeThrowsClassCastExceptionFromTarget() {
+		assertThatExceptionOfType(ClassCastException.class).isThrownBy(() -> invoke("cast", "foo"));
+	}
+
+	@Test
+	public void invokerIsCached() {
+		Method method = ReflectionUtils.findMethod(Calculator.class, "echo", String.class);
+		assertThat(JoinpointInvokerGenerator.getInvoker(method)).isSameAs(JoinpointInvokerGenerator.getInvoker(method));
+	}
+
+	@Test
+	public void noInvokerForNonPublicTypes() {
+		Method method = ReflectionUtils.findMethod(Hidden.class, "value");
+		assertThat(JoinpointInvokerGenerator.getInvoker(method)).isNull();
+		method = ReflectionUtils.findMethod(DefaultCalculator.class, "internal");
+		assertThat(JoinpointInvokerGenerator.getInvoker(method)).isNull();
+	}
+
+	@Test
+	public void proxyWithGeneratedInvokers() {
+		ProxyFactory pf = new ProxyFactory(this.target);
+		pf.setGenerateInvokers(true);
+		pf.addAdvice((MethodInterceptor) invocation -> {
+			if (invocation.getMethod().getName().equals("add")) {
+				((ReflectiveMethodInvocation) invocation).setArguments(10, 20);
+			}
+			return invocation.proceed();
+		});
+		Calculator proxy = (Calculator) pf.getProxy();
+
+		assertThat(proxy.add(1, 2)).isEqualTo(30);
+		assertThat(proxy.echo("foo")).isEqualTo("foo");
+		assertThatIOException().isThrownBy(() -> proxy.fail("boom")).withMessage("boom");
+	}
+
+	@Test
+	public void proxyWithGeneratedInvokersAndNoAdvice() {
+		ProxyFactory pf = new ProxyFactory(this.target);
+		pf.setGenerateInvokers(true);
+		Calculator proxy = (Calculator) pf.getProxy();
+
+		assertThat(proxy.scale(3L, 2d)).isEqualTo(6L);
+		proxy.reset();
+		assertThat(((DefaultCalculator) this.target).resetCount).isEqualTo(1);
+	}
+
+
+	private Object invoke(String methodName, Object... args) throws Throwable {
+		Method method = null;
+		for (Method candidate : Calculator.class.getMethods()) {
+			if (candidate.getName().equals(methodName)) {
+				method = candidate;
+			}
+		}
+		assertThat(method).isNotNull();
+		JoinpointInvoker invoker = JoinpointInvokerGenerator.getInvoker(method);
+		assertThat(invoker).isNotNull();
+		return invoker.invoke(this.target, args);
+	}
+
+
+	public interface Calculator {
+
+		int add(int a, int b);
+
+		long scale(long value, double factor);
+
+		boolean not(boolean value);
+
+		char first(String value);
+
+		String echo(String value);
+
+		int sum(int[] values);
+
+		void reset();
+
+		void fail(String message) throws IOException;
+
+		Integer cast(Object value);
+	}
+
+
+	public static class DefaultCalculator implements Calculator {
+
+		int resetCount;
+
+		@Override
+		public int add(int a, int b) {
+			return a + b;
+		}
+
+		@Override
+		public long scale(long value, double factor) {
+			return (long) (value * factor);
+		}
+
+		@Override
+		public boolean not(boolean value) {
+			return !value;
+		}
+
+		@Override
+		public char first(String value) {
+			return value.charAt(0);
+		}
+
+		@Override
+		public String echo(String value) {
+			return value;
+		}
+
+		@Override
+		public int sum(int[] values) {
+			int sum = 0;
+			for (int value : values) {
+				sum += value;
+			}
+			return sum;
+		}
+
+		@Override
+		public void reset() {
+			this.resetCount++;
+		}
+
+		@Override
+		public void fail(String message) throws IOException {
+			throw new IOException(message);
+		}
+
+		@Override
+		public Integer cast(Object value) {
+			return (Integer) value;
+		}
+
+		void internal() {
+		}
+	}
+
+
+	static class Hidden {
+
+		public String value() {
+			return "hidden";
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.aop.framework;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -370,6 +371,26 @@ public class ProxyFactoryTests {
 		assertThat(proxy.getName()).isEqualTo("tb");
 	}
 
+	@Test
+	public void testInterceptorChainCachedPerMethod() {
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(new NopInterceptor());
+		Method[] methods = TestBean.class.getMethods();
+		List<List<Object>> chains = new ArrayList<>();
+		for (Method method : methods) {
+			chains.add(pf.getInterceptorsAndDynamicInterceptionAdvice(method, TestBean.class));
+		}
+		for (int i = 0; i < methods.length; i++) {
+			assertThat(pf.getInterceptorsAndDynamicInterceptionAdvice(methods[i], TestBean.class))
+					.isSameAs(chains.get(i)).hasSize(1);
+		}
+
+		pf.addAdvice(new DebugInterceptor());
+		for (Method method : methods) {
+			assertThat(pf.getInterceptorsAndDynamicInterceptionAdvice(method, TestBean.class)).hasSize(2);
+		}
+	}
+
 
 	@SuppressWarnings("serial")
 	private static class TimestampIntroductionInterceptor extends DelegatingIntroductionInterceptor
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmark for retrieving singleton and prototype beans from a
+ * {@link DefaultListableBeanFactory}, by name and by type.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"simple", "constructor", "properties", "autowire"})
+		public String mode;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(Spouse.class));
+			for (int i = 0; i < 100; i++) {
+				this.beanFactory.registerBeanDefinition("filler" + i, new RootBeanDefinition(Filler.class));
+			}
+
+			RootBeanDefinition person = new RootBeanDefinition(Person.class);
+			switch (this.mode) {
+				case "constructor":
+					person.getConstructorArgumentValues().addGenericArgumentValue("john");
+					person.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("spouse"));
+					break;
+				case "properties":
+					person.getPropertyValues().add("name", "john");
+					person.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+					break;
+				case "autowire":
+					person.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_BY_NAME);
+					break;
+				default:
+			}
+			this.beanFactory.registerBeanDefinition("singleton", person);
+
+			RootBeanDefinition prototype = new RootBeanDefinition(person);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			this.beanFactory.registerBeanDefinition("prototype", prototype);
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	@Benchmark
+	public Object singletonByName(BenchmarkState state) {
+		return state.beanFactory.getBean("singleton");
+	}
+
+	@Benchmark
+	public Object singletonByType(BenchmarkState state) {
+		return state.beanFactory.getBean(Spouse.class);
+	}
+
+	@Benchmark
+	public Object prototypeByName(BenchmarkState state) {
+		return state.beanFactory.getBean("prototype");
+	}
+
+	@Benchmark
+	public Object singletonFromProvider(BenchmarkState state) {
+		return state.beanFactory.getBeanProvider(Spouse.class).getIfUnique();
+	}
+
+
+	public static class Person {
+
+		private String name;
+
+		private Spouse spouse;
+
+		public Person() {
+		}
+
+		public Person(String name, Spouse spouse) {
+			this.name = name;
+			this.spouse = spouse;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Spouse getSpouse() {
+			return this.spouse;
+		}
+
+		public void setSpouse(Spouse spouse) {
+			this.spouse = spouse;
+		}
+	}
+
+
+	public static class Spouse {
+	}
+
+
+	public static class Filler {
+	}
+
+}
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,7 +40,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -48,6 +52,7 @@ import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -69,8 +74,10 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
 import org.springframework.core.OrderComparator;
@@ -152,6 +159,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans. */
 	private boolean allowEagerClassLoading = true;
 
+	/** Executor for pre-instantiating singletons in parallel, if any. */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 	/** Optional OrderComparator for dependency Lists and arrays. */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -268,6 +279,43 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating non-lazy singletons in parallel,
+	 * for example a {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Default is none, pre-instantiating all singletons one after the other
+	 * on the calling thread. If specified, {@link #preInstantiateSingletons()}
+	 * determines the known dependencies between the singletons (through their
+	 * "depends-on" declarations, bean references in their constructor arguments
+	 * and properties, factory beans and previously registered dependent beans),
+	 * instantiates independent singletons on the given executor, and waits for
+	 * all of them to be completed before invoking
+	 * {@link SmartInitializingSingleton} callbacks on the calling thread.
+	 * <p>Dependencies that can only be discovered during bean creation (e.g.
+	 * through autowiring) are resolved at runtime: a thread asking for a singleton
+	 * that is currently being created by another thread waits for its creation to
+	 * complete, with circular references between such singletons being resolved
+	 * through early singleton references, just like on a single thread.
+	 * <p>Note that singletons may get instantiated on a thread other than the one
+	 * that triggered the pre-instantiation (with the bean ClassLoader exposed as
+	 * thread context ClassLoader): only use this when the singletons in this
+	 * factory do not rely on thread-bound state during their initialization.
+	 * @since 5.2
+	 * @see #preInstantiateSingletons()
+	 * @see java.util.concurrent.ForkJoinPool#commonPool()
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 5.2
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -323,6 +371,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			DefaultListableBeanFactory otherListableFactory = (DefaultListableBeanFactory) otherFactory;
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.preInstantiationExecutor = otherListableFactory.preInstantiationExecutor;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
@@ -852,30 +901,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						final FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-											((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					getBean(beanName);
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -899,6 +933,165 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Pre-instantiate the given non-lazy singleton, or its FactoryBean
+	 * (plus its object in case of an eager-init {@link SmartFactoryBean}).
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof FactoryBean) {
+				final FactoryBean<?> factory = (FactoryBean<?>) bean;
+				boolean isEagerInit;
+				if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+					isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+									((SmartFactoryBean<?>) factory)::isEagerInit,
+							getAccessControlContext());
+				}
+				else {
+					isEagerInit = (factory instanceof SmartFactoryBean &&
+							((SmartFactoryBean<?>) factory).isEagerInit());
+				}
+				if (isEagerInit) {
+					getBean(beanName);
+				}
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
+	/**
+	 * Pre-instantiate the non-lazy singletons among the given bean names on the
+	 * given executor, each singleton after its known dependencies.
+	 * @see #setPreInstantiationExecutor
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		Map<String, RootBeanDefinition> candidates = new LinkedHashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				candidates.put(beanName, bd);
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + candidates.size() + " singletons in parallel");
+		}
+
+		setConcurrentSingletonCreation(true);
+		try {
+			Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>(candidates.size());
+			Set<String> inScheduling = new HashSet<>();
+			for (String beanName : candidates.keySet()) {
+				schedulePreInstantiation(beanName, candidates, futures, inScheduling, executor);
+			}
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex;
+			while (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new BeanCreationException("Parallel pre-instantiation of singletons failed", cause);
+		}
+		finally {
+			setConcurrentSingletonCreation(false);
+		}
+	}
+
+	/**
+	 * Schedule the pre-instantiation of the given singleton on the given executor,
+	 * to be triggered once all of its known dependencies have been instantiated.
+	 * <p>Dependencies on singletons which are in scheduling already, i.e. circular
+	 * references, are ignored here and get resolved at creation time instead.
+	 */
+	private CompletableFuture<Void> schedulePreInstantiation(String beanName, Map<String, RootBeanDefinition> candidates,
+			Map<String, CompletableFuture<Void>> futures, Set<String> inScheduling, Executor executor) {
+
+		CompletableFuture<Void> future = futures.get(beanName);
+		if (future != null) {
+			return future;
+		}
+		inScheduling.add(beanName);
+		List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+		for (String dependency : getKnownDependencies(beanName, candidates.get(beanName))) {
+			if (candidates.containsKey(dependency) && !inScheduling.contains(dependency)) {
+				dependencies.add(schedulePreInstantiation(dependency, candidates, futures, inScheduling, executor));
+			}
+		}
+		inScheduling.remove(beanName);
+		future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+				.thenRunAsync(() -> {
+					Thread currentThread = Thread.currentThread();
+					ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+					ClassLoader beanClassLoader = getBeanClassLoader();
+					boolean overrideClassLoader = (beanClassLoader != null && beanClassLoader != previousClassLoader);
+					if (overrideClassLoader) {
+						currentThread.setContextClassLoader(beanClassLoader);
+					}
+					try {
+						preInstantiateSingleton(beanName);
+					}
+					finally {
+						if (overrideClassLoader) {
+							currentThread.setContextClassLoader(previousClassLoader);
+						}
+					}
+				}, executor);
+		futures.put(beanName, future);
+		return future;
+	}
+
+	/**
+	 * Determine the names of the beans that the given bean is known to depend on
+	 * before its creation: "depends-on" declarations, its factory bean, bean references
+	 * in constructor arguments and property values, as well as dependencies that have
+	 * been registered for the bean already.
+	 */
+	private Set<String> getKnownDependencies(String beanName, RootBeanDefinition mbd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = mbd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(transformedBeanName(dependency));
+			}
+		}
+		String factoryBeanName = mbd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			dependencies.add(transformedBeanName(factoryBeanName));
+		}
+		if (mbd.hasConstructorArgumentValues()) {
+			for (ValueHolder valueHolder : mbd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				addBeanReference(valueHolder.getValue(), dependencies);
+			}
+			for (ValueHolder valueHolder : mbd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				addBeanReference(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (mbd.hasPropertyValues()) {
+			for (PropertyValue pv : mbd.getPropertyValues().getPropertyValueList()) {
+				addBeanReference(pv.getValue(), dependencies);
+			}
+		}
+		dependencies.addAll(Arrays.asList(getDependenciesForBean(beanName)));
+		dependencies.remove(beanName);
+		return dependencies;
+	}
+
+	private void addBeanReference(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof BeanReference) {
+			dependencies.add(transformedBeanName(((BeanReference) value).getBeanName()));
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -32,6 +32,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -70,6 +71,12 @@ import org.springframework.util.StringUtils;
  */
 public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
+	/**
+	 * Time in milliseconds that a wait cycle between singleton creation threads
+	 * may remain unresolvable before it is reported as circular reference.
+	 */
+	private static final long UNRESOLVABLE_WAIT_CYCLE_TIMEOUT = 1000;
+
 	/** Cache of singleton objects: bean name to bean instance. */
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
@@ -97,6 +104,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Flag that indicates whether we're currently within destroySingletons. */
 	private boolean singletonsCurrentlyInDestruction = false;
 
+	/** Flag that indicates whether singletons may currently be created by several threads in parallel. */
+	private volatile boolean concurrentSingletonCreation = false;
+
+	/** Threads creating singletons in concurrent creation mode: bean name to creating Thread. */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a singleton created by another thread: Thread to bean name. */
+	private final Map<Thread, String> threadsAwaitingSingletons = new ConcurrentHashMap<>(16);
+
+	/** Suppressed Exceptions of the current thread in concurrent creation mode. */
+	private final ThreadLocal<Set<Exception>> concurrentSuppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions in concurrent singleton creation");
+
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
@@ -175,17 +195,28 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	@Nullable
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = this.singletonObjects.get(beanName);
-		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) &&
+				!isSingletonInCreationByOtherThread(beanName)) {
 			synchronized (this.singletonObjects) {
-				singletonObject = this.earlySingletonObjects.get(beanName);
-				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
-						singletonObject = singletonFactory.getObject();
-						this.earlySingletonObjects.put(beanName, singletonObject);
-						this.singletonFactories.remove(beanName);
-					}
-				}
+				singletonObject = getEarlySingletonReference(beanName, allowEarlyReference);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Return an early reference to the specified singleton, if available.
+	 * <p>To be called with the singleton mutex held.
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName, boolean allowEarlyReference) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null && allowEarlyReference) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				this.earlySingletonObjects.put(beanName, singletonObject);
+				this.singletonFactories.remove(beanName);
 			}
 		}
 		return singletonObject;
@@ -201,6 +232,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		if (this.concurrentSingletonCreation) {
+			return getSingletonConcurrently(beanName, singletonFactory);
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
@@ -252,12 +286,226 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 	}
 
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for concurrent creation
+	 * mode: instead of holding the singleton mutex while creating the singleton, the
+	 * current thread claims the bean name, and other threads asking for the same
+	 * singleton wait until its creation has completed.
+	 * <p>A circular reference between singletons created by different threads is
+	 * resolved through an early singleton reference, like within a single thread.
+	 * A wait cycle without such a reference is only reported once it persisted
+	 * for {@link #UNRESOLVABLE_WAIT_CYCLE_TIMEOUT}, since the threads involved
+	 * may not have proceeded yet after a notification.
+	 */
+	private Object getSingletonConcurrently(String beanName, ObjectFactory<?> singletonFactory) {
+		Thread currentThread = Thread.currentThread();
+		boolean newClaim;
+		synchronized (this.singletonObjects) {
+			long unresolvableSince = 0;
+			while (true) {
+				Object singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject != null) {
+					return singletonObject;
+				}
+				if (this.singletonsCurrentlyInDestruction) {
+					throw new BeanCreationNotAllowedException(beanName,
+							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+				}
+				Thread creatingThread = this.singletonCreationThreads.get(beanName);
+				if (creatingThread == null) {
+					newClaim = true;
+					break;
+				}
+				if (creatingThread == currentThread) {
+					// Re-entrant request for a singleton that this thread is creating:
+					// no early reference available, so same as for sequential creation.
+					if (!this.inCreationCheckExclusions.contains(beanName)) {
+						throw new BeanCurrentlyInCreationException(beanName);
+					}
+					newClaim = false;
+					break;
+				}
+				long waitMillis = 0;
+				if (isAwaitingThread(creatingThread, currentThread)) {
+					// Circular reference between threads: proceed with an early reference if possible,
+					// otherwise let another thread in the wait cycle do so.
+					singletonObject = getEarlySingletonReference(beanName, true);
+					if (singletonObject != null) {
+						return singletonObject;
+					}
+					if (isWaitCycleResolvable(creatingThread, currentThread)) {
+						unresolvableSince = 0;
+						this.singletonObjects.notifyAll();
+					}
+					else {
+						long now = System.currentTimeMillis();
+						if (unresolvableSince == 0) {
+							unresolvableSince = now;
+						}
+						waitMillis = unresolvableSince + UNRESOLVABLE_WAIT_CYCLE_TIMEOUT - now;
+						if (waitMillis <= 0) {
+							throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in " +
+									"creation by another thread which in turn waits for a bean created by this thread: " +
+									"Is there an unresolvable circular reference?");
+						}
+					}
+				}
+				else {
+					unresolvableSince = 0;
+				}
+				this.threadsAwaitingSingletons.put(currentThread, beanName);
+				try {
+					this.singletonObjects.wait(waitMillis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new BeanCreationException(beanName,
+							"Interrupted while waiting for singleton creation in another thread", ex);
+				}
+				finally {
+					this.threadsAwaitingSingletons.remove(currentThread);
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			if (newClaim) {
+				this.singletonCreationThreads.put(beanName, currentThread);
+			}
+		}
+
+		Object singletonObject = null;
+		boolean newSingleton = false;
+		Set<Exception> suppressedExceptions = this.concurrentSuppressedExceptions.get();
+		boolean recordSuppressedExceptions = (suppressedExceptions == null);
+		if (recordSuppressedExceptions) {
+			suppressedExceptions = new LinkedHashSet<>();
+			this.concurrentSuppressedExceptions.set(suppressedExceptions);
+		}
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : suppressedExceptions) {
+					ex.addRelatedCause(suppressedException);
+				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.concurrentSuppressedExceptions.remove();
+			}
+			synchronized (this.singletonObjects) {
+				try {
+					afterSingletonCreation(beanName);
+					if (newSingleton) {
+						addSingleton(beanName, singletonObject);
+					}
+				}
+				finally {
+					if (newClaim) {
+						this.singletonCreationThreads.remove(beanName);
+					}
+					this.singletonObjects.notifyAll();
+				}
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Determine whether the given thread (transitively) waits for a singleton
+	 * that is currently being created by the given target thread.
+	 * <p>To be called with the singleton mutex held.
+	 */
+	private boolean isAwaitingThread(Thread thread, Thread targetThread) {
+		Thread current = thread;
+		for (int i = 0; i <= this.threadsAwaitingSingletons.size(); i++) {
+			String awaitedBeanName = this.threadsAwaitingSingletons.get(current);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			current = this.singletonCreationThreads.get(awaitedBeanName);
+			if (current == null) {
+				return false;
+			}
+			if (current == targetThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether any other thread in the wait cycle between the given
+	 * threads can proceed with an early reference to the singleton it waits for.
+	 * <p>To be called with the singleton mutex held.
+	 */
+	private boolean isWaitCycleResolvable(Thread creatingThread, Thread currentThread) {
+		Thread current = creatingThread;
+		while (current != null && current != currentThread) {
+			String awaitedBeanName = this.threadsAwaitingSingletons.get(current);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			if (this.earlySingletonObjects.containsKey(awaitedBeanName) ||
+					this.singletonFactories.containsKey(awaitedBeanName)) {
+				return true;
+			}
+			current = this.singletonCreationThreads.get(awaitedBeanName);
+		}
+		return false;
+	}
+
+	/**
+	 * Specify whether singletons may be created by several threads in parallel.
+	 * <p>By default, singleton creation is serialized through the singleton mutex.
+	 * In concurrent creation mode, each singleton is exclusively claimed by the
+	 * creating thread instead, with threads requesting the same singleton waiting
+	 * for its creation to complete. This is meant to be switched on temporarily,
+	 * e.g. for parallel pre-instantiation of singletons.
+	 * @since 5.2
+	 * @see #isConcurrentSingletonCreation()
+	 */
+	protected void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		synchronized (this.singletonObjects) {
+			this.concurrentSingletonCreation = concurrentSingletonCreation;
+		}
+	}
+
+	/**
+	 * Return whether singletons may currently be created by several threads in parallel.
+	 * @since 5.2
+	 * @see #setConcurrentSingletonCreation
+	 */
+	protected boolean isConcurrentSingletonCreation() {
+		return this.concurrentSingletonCreation;
+	}
+
 	/**
 	 * Register an Exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
+		Set<Exception> concurrentSuppressedExceptions = this.concurrentSuppressedExceptions.get();
+		if (concurrentSuppressedExceptions != null) {
+			concurrentSuppressedExceptions.add(ex);
+			return;
+		}
 		synchronized (this.singletonObjects) {
 			if (this.suppressedExceptions != null) {
 				this.suppressedExceptions.add(ex);
@@ -328,6 +576,17 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return this.singletonsCurrentlyInCreation.contains(beanName);
 	}
 
+	/**
+	 * Return whether the specified singleton bean is currently in creation
+	 * by a thread other than the current one (in concurrent creation mode).
+	 * @param beanName the name of the bean
+	 * @see #setConcurrentSingletonCreation
+	 */
+	private boolean isSingletonInCreationByOtherThread(String beanName) {
+		Thread creatingThread = this.singletonCreationThreads.get(beanName);
+		return (creatingThread != null && creatingThread != Thread.currentThread());
+	}
+
 	/**
 	 * Callback before singleton creation.
 	 * <p>The default implementation register the singleton as currently in creation.
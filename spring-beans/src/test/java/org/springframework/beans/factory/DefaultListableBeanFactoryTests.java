@@ -37,6 +37,11 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Priority;
@@ -2838,11 +2843,158 @@ public class DefaultListableBeanFactoryTests {
 	}
 
 
+	@Test
+	public void testPreInstantiateSingletonsInParallel() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CountDownLatch latch = new CountDownLatch(2);
+			RootBeanDefinition bd = new RootBeanDefinition(LatchBean.class);
+			bd.getConstructorArgumentValues().addGenericArgumentValue(latch);
+			lbf.registerBeanDefinition("latch1", bd);
+			lbf.registerBeanDefinition("latch2", new RootBeanDefinition(bd));
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.preInstantiateSingletons();
+			assertThat(lbf.containsSingleton("latch1")).isTrue();
+			assertThat(lbf.containsSingleton("latch2")).isTrue();
+			assertThat(lbf.getBean("latch1", LatchBean.class).thread).isNotSameAs(
+					lbf.getBean("latch2", LatchBean.class).thread);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsInParallelWithDependsOn() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ConcurrentLinkedQueue<String> order = new ConcurrentLinkedQueue<>();
+			for (int i = 0; i < 10; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(OrderRecordingBean.class);
+				bd.getConstructorArgumentValues().addGenericArgumentValue(order);
+				bd.getConstructorArgumentValues().addGenericArgumentValue("bean" + i);
+				if (i > 0) {
+					bd.setDependsOn("bean" + (i - 1));
+				}
+				lbf.registerBeanDefinition("bean" + i, bd);
+			}
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.preInstantiateSingletons();
+			assertThat(order).containsExactly("bean0", "bean1", "bean2", "bean3", "bean4",
+					"bean5", "bean6", "bean7", "bean8", "bean9");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsInParallelWithCircularReference() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			RootBeanDefinition rod = new RootBeanDefinition(TestBean.class);
+			rod.getPropertyValues().add("spouse", new RuntimeBeanReference("kerry"));
+			lbf.registerBeanDefinition("rod", rod);
+			RootBeanDefinition kerry = new RootBeanDefinition(TestBean.class);
+			kerry.getPropertyValues().add("spouse", new RuntimeBeanReference("rod"));
+			lbf.registerBeanDefinition("kerry", kerry);
+			for (int i = 0; i < 10; i++) {
+				RootBeanDefinition other = new RootBeanDefinition(TestBean.class);
+				other.getPropertyValues().add("spouse", new RuntimeBeanReference(i % 2 == 0 ? "rod" : "kerry"));
+				lbf.registerBeanDefinition("other" + i, other);
+			}
+			lbf.setPreInstantiationExecutor(executor);
+			lbf.preInstantiateSingletons();
+			assertThat(lbf.getBean("rod", TestBean.class).getSpouse()).isSameAs(lbf.getBean("kerry"));
+			assertThat(lbf.getBean("kerry", TestBean.class).getSpouse()).isSameAs(lbf.getBean("rod"));
+			assertThat(lbf.getBean("other1", TestBean.class).getSpouse()).isSameAs(lbf.getBean("kerry"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsInParallelWithCreationFailure() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			lbf.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.setInitMethodName("nonExistingInitMethod");
+			lbf.registerBeanDefinition("failing", bd);
+			lbf.setPreInstantiationExecutor(executor);
+			assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+					lbf::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("failing"));
+			lbf.setPreInstantiationExecutor(null);
+			assertThat(lbf.getBean("test")).isNotNull();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsInParallelWithSelfReference() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("self"));
+			lbf.registerBeanDefinition("self", bd);
+			lbf.setPreInstantiationExecutor(executor);
+			assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+					lbf::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.contains(BeanCurrentlyInCreationException.class)).isTrue());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPreInstantiateSingletonsInParallelWithSuppressedExceptions() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependency.class);
+			bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			lbf.registerBeanDefinition("failing", bd);
+			lbf.setPreInstantiationExecutor(executor);
+			assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+					lbf::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getRelatedCauses()).isNotEmpty());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+
 	static class A { }
 
 	static class B { }
 
 
+	public static class LatchBean {
+
+		private final Thread thread = Thread.currentThread();
+
+		public LatchBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			if (!latch.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Not instantiated in parallel");
+			}
+		}
+	}
+
+
+	public static class OrderRecordingBean {
+
+		public OrderRecordingBean(ConcurrentLinkedQueue<String> order, String name) {
+			order.add(name);
+		}
+	}
+
+
 	public static class NoDependencies {
 
 		private NoDependencies() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,7 +38,8 @@ import javax.lang.model.element.TypeElement;
 
 /**
  * Annotation {@link Processor} that writes {@link CandidateComponentsMetadata}
- * file for spring components.
+ * file for spring components, as well as the class-level metadata of these
+ * components and their related types in the current build.
  *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
@@ -53,6 +54,10 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private MetadataCollector metadataCollector;
 
+	private TypeMetadataStore typeMetadataStore;
+
+	private TypeMetadataCollector typeMetadataCollector;
+
 	private TypeHelper typeHelper;
 
 	private List<StereotypesProvider> stereotypesProviders;
@@ -79,11 +84,14 @@ public class CandidateComponentsIndexer implements Processor {
 		this.typeHelper = new TypeHelper(env);
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
+		this.typeMetadataStore = new TypeMetadataStore(env);
+		this.typeMetadataCollector = new TypeMetadataCollector(env, this.typeMetadataStore.readMetadata());
 	}
 
 	@Override
 	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 		this.metadataCollector.processing(roundEnv);
+		this.typeMetadataCollector.processing(roundEnv);
 		roundEnv.getRootElements().forEach(this::processElement);
 		if (roundEnv.processingOver()) {
 			writeMetaData();
@@ -118,6 +126,9 @@ public class CandidateComponentsIndexer implements Processor {
 		this.stereotypesProviders.forEach(p -> stereotypes.addAll(p.getStereotypes(element)));
 		if (!stereotypes.isEmpty()) {
 			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
+			if (element instanceof TypeElement) {
+				this.typeMetadataCollector.add((TypeElement) element);
+			}
 		}
 	}
 
@@ -131,6 +142,15 @@ public class CandidateComponentsIndexer implements Processor {
 				throw new IllegalStateException("Failed to write metadata", ex);
 			}
 		}
+		List<TypeMetadataItem> typeMetadata = this.typeMetadataCollector.getMetadata();
+		if (!typeMetadata.isEmpty()) {
+			try {
+				this.typeMetadataStore.writeMetadata(typeMetadata);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to write type metadata", ex);
+			}
+		}
 	}
 
 	private static List<TypeElement> staticTypesIn(Iterable<? extends Element> elements) {
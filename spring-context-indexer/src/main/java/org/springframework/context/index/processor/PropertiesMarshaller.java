@@ -19,13 +19,18 @@ package org.springframework.context.index.processor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
 /**
- * Marshaller to write {@link CandidateComponentsMetadata} as properties.
+ * Marshaller to write {@link CandidateComponentsMetadata} and {@link TypeMetadataItem}
+ * instances as properties.
  *
  * @author Stephane Nicoll
  * @author Vedran Pavic
@@ -50,4 +55,31 @@ abstract class PropertiesMarshaller {
 		return result;
 	}
 
+	public static void writeTypeMetadata(List<TypeMetadataItem> metadata, OutputStream out) throws IOException {
+		Properties props = new SortedProperties(true);
+		metadata.forEach(m -> m.getEntries().forEach((key, value) -> props.put(m.getType() + key, value)));
+		props.store(out, null);
+	}
+
+	public static List<TypeMetadataItem> readTypeMetadata(InputStream in) throws IOException {
+		Properties props = new Properties();
+		props.load(in);
+		Map<String, Map<String, String>> entries = new LinkedHashMap<>();
+		props.forEach((key, value) -> {
+			String name = (String) key;
+			int separatorIndex = name.length();
+			for (char separator : new char[] {'#', '@'}) {
+				int index = name.indexOf(separator);
+				if (index != -1 && index < separatorIndex) {
+					separatorIndex = index;
+				}
+			}
+			String type = name.substring(0, separatorIndex);
+			entries.computeIfAbsent(type, t -> new LinkedHashMap<>()).put(name.substring(separatorIndex), (String) value);
+		});
+		List<TypeMetadataItem> result = new ArrayList<>();
+		entries.forEach((type, typeEntries) -> result.add(new TypeMetadataItem(type, typeEntries)));
+		return result;
+	}
+
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * Used by {@link CandidateComponentsIndexer} to collect {@link TypeMetadataItem}
+ * instances for candidate components, along with their super classes, interfaces
+ * and member classes, as far as these are compiled in the current build.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class TypeMetadataCollector {
+
+	private final Map<String, TypeMetadataItem> metadataItems = new LinkedHashMap<>();
+
+	private final ProcessingEnvironment processingEnvironment;
+
+	private final List<TypeMetadataItem> previousMetadata;
+
+	private final TypeMetadataExtractor extractor;
+
+	private final Types types;
+
+	private final Set<String> processedSourceTypes = new HashSet<>();
+
+
+	/**
+	 * Create a new {@code TypeMetadataCollector} instance.
+	 * @param processingEnvironment the processing environment of the build
+	 * @param previousMetadata any previous metadata or {@code null}
+	 */
+	public TypeMetadataCollector(ProcessingEnvironment processingEnvironment,
+			List<TypeMetadataItem> previousMetadata) {
+
+		this.processingEnvironment = processingEnvironment;
+		this.previousMetadata = previousMetadata;
+		this.extractor = new TypeMetadataExtractor(processingEnvironment);
+		this.types = processingEnvironment.getTypeUtils();
+	}
+
+
+	public void processing(RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				this.processedSourceTypes.add(((TypeElement) element).getQualifiedName().toString());
+			}
+		}
+	}
+
+	public void add(TypeElement type) {
+		if (!this.extractor.isSupportedType(type) || !processedInCurrentBuild(type) ||
+				this.metadataItems.containsKey(this.processingEnvironment.getElementUtils().getBinaryName(type).toString())) {
+			return;
+		}
+		TypeMetadataItem item = this.extractor.extract(type);
+		if (item == null) {
+			return;
+		}
+		this.metadataItems.put(item.getType(), item);
+		addType(type.getSuperclass());
+		type.getInterfaces().forEach(this::addType);
+		for (Element element : type.getEnclosedElements()) {
+			if (element instanceof TypeElement) {
+				add((TypeElement) element);
+			}
+		}
+	}
+
+	private void addType(TypeMirror type) {
+		if (type.getKind() == TypeKind.DECLARED) {
+			add((TypeElement) this.types.asElement(type));
+		}
+	}
+
+	public List<TypeMetadataItem> getMetadata() {
+		List<TypeMetadataItem> metadata = new ArrayList<>(this.metadataItems.values());
+		if (this.previousMetadata != null) {
+			for (TypeMetadataItem item : this.previousMetadata) {
+				if (shouldBeMerged(item)) {
+					metadata.add(item);
+				}
+			}
+		}
+		return metadata;
+	}
+
+	private boolean shouldBeMerged(TypeMetadataItem item) {
+		String type = item.getType();
+		int nestedIndex = type.indexOf('$');
+		String topLevelType = (nestedIndex != -1 ? type.substring(0, nestedIndex) : type);
+		return (!this.metadataItems.containsKey(type) &&
+				this.processingEnvironment.getElementUtils().getTypeElement(topLevelType) != null &&
+				!this.processedSourceTypes.contains(topLevelType));
+	}
+
+	private boolean processedInCurrentBuild(TypeElement type) {
+		Element topLevelType = type;
+		while (!(topLevelType.getEnclosingElement() instanceof PackageElement)) {
+			topLevelType = topLevelType.getEnclosingElement();
+		}
+		return this.processedSourceTypes.contains(((TypeElement) topLevelType).getQualifiedName().toString());
+	}
+
+}
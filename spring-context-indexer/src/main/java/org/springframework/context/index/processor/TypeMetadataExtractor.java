@@ -0,0 +1,266 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+
+/**
+ * Extract the class-level metadata of a type, as otherwise read from its class
+ * file at runtime: modifiers, enclosing class, super class, interfaces, member
+ * classes and the attributes of the runtime-visible annotations declared on the
+ * type, as well as the names of the annotations present on its methods.
+ *
+ * <p>Each {@link TypeMetadataItem} holds the following entries:
+ * <ul>
+ * <li>{@code <type>}: the comma-separated flags of the type, among
+ * {@code interface}, {@code abstract}, {@code final} and {@code independent}</li>
+ * <li>{@code <type>#enclosingClass}, {@code <type>#superClass}: the name of
+ * the respective class, if any</li>
+ * <li>{@code <type>#interfaces}, {@code <type>#memberClasses}: comma-separated
+ * class names</li>
+ * <li>{@code <type>#annotations}: comma-separated names of the annotations
+ * declared on the type</li>
+ * <li>{@code <type>@<annotation>#<attribute>}: the explicitly specified value of
+ * an annotation attribute; class values are given by name and enum values by
+ * constant name, with the elements of array values each followed by a comma
+ * (escaping {@code ,} and {@code \} with a {@code \})</li>
+ * <li>{@code <type>#methodAnnotations}: comma-separated names of the annotations
+ * present on the methods or constructors of the type, including meta-annotations</li>
+ * </ul>
+ *
+ * <p>Types with annotation attributes that cannot be represented that way (i.e.
+ * nested annotations) are not supported.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class TypeMetadataExtractor {
+
+	private static final String RETENTION_ANNOTATION = "java.lang.annotation.Retention";
+
+	private static final String[] PLAIN_ANNOTATION_PREFIXES = {"java.lang.", "org.springframework.lang."};
+
+
+	private final Elements elements;
+
+
+	public TypeMetadataExtractor(ProcessingEnvironment env) {
+		this.elements = env.getElementUtils();
+	}
+
+
+	/**
+	 * Determine whether the metadata of the specified type can be extracted.
+	 * @param type the type to check
+	 * @return {@code true} for classes and interfaces that are either top-level
+	 * types or member types
+	 */
+	public boolean isSupportedType(TypeElement type) {
+		return ((type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.INTERFACE) &&
+				(type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER));
+	}
+
+	/**
+	 * Extract the metadata of the specified type.
+	 * @param type the type to handle
+	 * @return the metadata of the type, or {@code null} if it cannot be represented
+	 */
+	public TypeMetadataItem extract(TypeElement type) {
+		if (!isSupportedType(type)) {
+			return null;
+		}
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("", getFlags(type));
+		if (type.getNestingKind() == NestingKind.MEMBER) {
+			entries.put("#enclosingClass", getBinaryName((TypeElement) type.getEnclosingElement()));
+		}
+		if (type.getKind() == ElementKind.CLASS && type.getSuperclass().getKind() == TypeKind.DECLARED) {
+			entries.put("#superClass", getClassName(type.getSuperclass()));
+		}
+		StringJoiner interfaces = new StringJoiner(",");
+		for (TypeMirror ifc : type.getInterfaces()) {
+			String name = getClassName(ifc);
+			if (name == null) {
+				return null;
+			}
+			interfaces.add(name);
+		}
+		putIfNotEmpty(entries, "#interfaces", interfaces.toString());
+		StringJoiner memberClasses = new StringJoiner(",");
+		Set<String> methodAnnotationTypes = new LinkedHashSet<>();
+		for (Element element : type.getEnclosedElements()) {
+			if (element instanceof TypeElement) {
+				memberClasses.add(getBinaryName((TypeElement) element));
+			}
+			else if (element instanceof ExecutableElement) {
+				for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+					collectAnnotationTypes(annotation, methodAnnotationTypes);
+				}
+			}
+		}
+		putIfNotEmpty(entries, "#memberClasses", memberClasses.toString());
+		StringJoiner annotations = new StringJoiner(",");
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+			if (isPlain(annotationType) || !isRuntimeRetained(annotationType)) {
+				continue;
+			}
+			String annotationName = getBinaryName(annotationType);
+			annotations.add(annotationName);
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> attribute :
+					annotation.getElementValues().entrySet()) {
+				String value = encode(attribute.getValue());
+				if (value == null) {
+					return null;
+				}
+				entries.put("@" + annotationName + "#" + attribute.getKey().getSimpleName(), value);
+			}
+		}
+		putIfNotEmpty(entries, "#annotations", annotations.toString());
+		putIfNotEmpty(entries, "#methodAnnotations", String.join(",", methodAnnotationTypes));
+		return new TypeMetadataItem(getBinaryName(type), entries);
+	}
+
+	private String getFlags(TypeElement type) {
+		Set<Modifier> modifiers = type.getModifiers();
+		StringJoiner flags = new StringJoiner(",");
+		boolean isInterface = (type.getKind() == ElementKind.INTERFACE);
+		if (isInterface) {
+			flags.add("interface");
+		}
+		if (isInterface || modifiers.contains(Modifier.ABSTRACT)) {
+			flags.add("abstract");
+		}
+		if (modifiers.contains(Modifier.FINAL)) {
+			flags.add("final");
+		}
+		if (type.getNestingKind() == NestingKind.TOP_LEVEL || isInterface || modifiers.contains(Modifier.STATIC)) {
+			flags.add("independent");
+		}
+		return flags.toString();
+	}
+
+	private void collectAnnotationTypes(AnnotationMirror annotation, Set<String> annotationTypes) {
+		TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+		if (isPlain(annotationType) || !isRuntimeRetained(annotationType) ||
+				!annotationTypes.add(getBinaryName(annotationType))) {
+			return;
+		}
+		for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+			collectAnnotationTypes(metaAnnotation, annotationTypes);
+		}
+	}
+
+	private boolean isPlain(TypeElement annotationType) {
+		String name = annotationType.getQualifiedName().toString();
+		for (String prefix : PLAIN_ANNOTATION_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isRuntimeRetained(TypeElement annotationType) {
+		for (AnnotationMirror annotation : annotationType.getAnnotationMirrors()) {
+			TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+			if (RETENTION_ANNOTATION.equals(type.getQualifiedName().toString())) {
+				return annotation.getElementValues().values().stream()
+						.map(AnnotationValue::getValue)
+						.anyMatch(policy -> policy instanceof VariableElement &&
+								((VariableElement) policy).getSimpleName().contentEquals("RUNTIME"));
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private String encode(AnnotationValue value) {
+		Object content = value.getValue();
+		if (content instanceof List) {
+			StringBuilder result = new StringBuilder();
+			for (AnnotationValue element : (List<? extends AnnotationValue>) content) {
+				String encoded = encodeElement(element.getValue());
+				if (encoded == null) {
+					return null;
+				}
+				result.append(encoded.replace("\\", "\\\\").replace(",", "\\,")).append(',');
+			}
+			return result.toString();
+		}
+		return encodeElement(content);
+	}
+
+	private String encodeElement(Object content) {
+		if (content instanceof TypeMirror) {
+			return getClassName((TypeMirror) content);
+		}
+		if (content instanceof VariableElement) {
+			return ((VariableElement) content).getSimpleName().toString();
+		}
+		if (content instanceof AnnotationMirror || content instanceof List) {
+			return null;
+		}
+		return String.valueOf(content);
+	}
+
+	private String getClassName(TypeMirror type) {
+		if (type.getKind() == TypeKind.DECLARED) {
+			return getBinaryName((TypeElement) ((DeclaredType) type).asElement());
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			String componentName = getClassName(((ArrayType) type).getComponentType());
+			return (componentName != null ? componentName + "[]" : null);
+		}
+		if (type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID) {
+			return type.toString();
+		}
+		return null;
+	}
+
+	private String getBinaryName(TypeElement type) {
+		return this.elements.getBinaryName(type).toString();
+	}
+
+	private static void putIfNotEmpty(Map<String, String> entries, String key, String value) {
+		if (!value.isEmpty()) {
+			entries.put(key, value);
+		}
+	}
+
+}
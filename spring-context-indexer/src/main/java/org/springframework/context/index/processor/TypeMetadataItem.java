@@ -0,0 +1,51 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents the class-level metadata of one type in the type metadata index:
+ * the entries of the type, keyed by their suffix relative to the type name.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see TypeMetadataExtractor
+ */
+class TypeMetadataItem {
+
+	private final String type;
+
+	private final Map<String, String> entries;
+
+
+	public TypeMetadataItem(String type, Map<String, String> entries) {
+		this.type = type;
+		this.entries = new LinkedHashMap<>(entries);
+	}
+
+
+	public String getType() {
+		return this.type;
+	}
+
+	public Map<String, String> getEntries() {
+		return this.entries;
+	}
+
+}
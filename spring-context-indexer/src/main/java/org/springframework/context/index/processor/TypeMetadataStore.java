@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Store {@link TypeMetadataItem} instances on the filesystem.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class TypeMetadataStore {
+
+	static final String METADATA_PATH = "META-INF/spring.type-metadata";
+
+	private final ProcessingEnvironment environment;
+
+
+	public TypeMetadataStore(ProcessingEnvironment environment) {
+		this.environment = environment;
+	}
+
+
+	public List<TypeMetadataItem> readMetadata() {
+		try (InputStream in = getMetadataResource().openInputStream()) {
+			return PropertiesMarshaller.readTypeMetadata(in);
+		}
+		catch (IOException ex) {
+			// Failed to read metadata -> ignore.
+			return null;
+		}
+	}
+
+	public void writeMetadata(List<TypeMetadataItem> metadata) throws IOException {
+		if (!metadata.isEmpty()) {
+			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
+				PropertiesMarshaller.writeTypeMetadata(metadata, outputStream);
+			}
+		}
+	}
+
+
+	private FileObject getMetadataResource() throws IOException {
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	}
+
+	private FileObject createMetadataResource() throws IOException {
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	}
+
+}
@@ -19,7 +19,10 @@ package org.springframework.context.index.processor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.stream.Collectors;
 
 import javax.annotation.ManagedBean;
 import javax.inject.Named;
@@ -33,6 +36,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.context.index.IndexedMetadataReaderFactory;
+import org.springframework.context.index.TypeMetadataIndex;
 import org.springframework.context.index.sample.AbstractController;
 import org.springframework.context.index.sample.MetaControllerIndexed;
 import org.springframework.context.index.sample.SampleComponent;
@@ -51,6 +59,10 @@ import org.springframework.context.index.sample.jpa.SampleConverter;
 import org.springframework.context.index.sample.jpa.SampleEmbeddable;
 import org.springframework.context.index.sample.jpa.SampleEntity;
 import org.springframework.context.index.sample.jpa.SampleMappedSuperClass;
+import org.springframework.context.index.sample.metadata.AbstractSampleMetadataComponent;
+import org.springframework.context.index.sample.metadata.SampleAttributes;
+import org.springframework.context.index.sample.metadata.SampleMetadataComponent;
+import org.springframework.context.index.sample.metadata.SampleNestedAnnotationComponent;
 import org.springframework.context.index.sample.type.Repo;
 import org.springframework.context.index.sample.type.SampleRepo;
 import org.springframework.context.index.sample.type.SampleSmartRepo;
@@ -58,6 +70,10 @@ import org.springframework.context.index.sample.type.SampleSpecializedRepo;
 import org.springframework.context.index.sample.type.SmartRepo;
 import org.springframework.context.index.sample.type.SpecializedRepo;
 import org.springframework.context.index.test.TestCompiler;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
@@ -218,6 +234,67 @@ class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems()).hasSize(0);
 	}
 
+	@Test
+	void typeMetadataMatchesClassFileMetadata() throws IOException {
+		compile(SampleMetadataComponent.class, AbstractSampleMetadataComponent.class);
+		try (URLClassLoader classLoader = createOutputClassLoader()) {
+			TypeMetadataIndex index = CandidateComponentsIndexLoader.loadTypeMetadataIndex(classLoader);
+			assertThat(index).isNotNull();
+			MetadataReaderFactory indexedReaderFactory = new IndexedMetadataReaderFactory(index, classLoader);
+			MetadataReaderFactory classFileReaderFactory = new SimpleMetadataReaderFactory(classLoader);
+			for (Class<?> type : new Class<?>[] {SampleMetadataComponent.class, AbstractSampleMetadataComponent.class,
+					SampleMetadataComponent.NestedType.class, SampleMetadataComponent.InnerType.class}) {
+				assertThat(index.hasTypeMetadata(type.getName())).isTrue();
+				AnnotationMetadata metadata = indexedReaderFactory.getMetadataReader(type.getName()).getAnnotationMetadata();
+				AnnotationMetadata expected = classFileReaderFactory.getMetadataReader(type.getName()).getAnnotationMetadata();
+				assertThat(metadata).isNotSameAs(expected);
+				assertSameMetadata(metadata, expected);
+			}
+			assertThat(index.hasTypeMetadata(SampleAttributes.class.getName())).isFalse();
+		}
+	}
+
+	@Test
+	void typeMetadataWithNestedAnnotationIsIgnored() throws IOException {
+		compile(SampleNestedAnnotationComponent.class, SampleComponent.class);
+		try (URLClassLoader classLoader = createOutputClassLoader()) {
+			TypeMetadataIndex index = CandidateComponentsIndexLoader.loadTypeMetadataIndex(classLoader);
+			assertThat(index).isNotNull();
+			assertThat(index.hasTypeMetadata(SampleComponent.class.getName())).isTrue();
+			assertThat(index.hasTypeMetadata(SampleNestedAnnotationComponent.class.getName())).isFalse();
+		}
+	}
+
+	private void assertSameMetadata(AnnotationMetadata metadata, AnnotationMetadata expected) {
+		assertThat(metadata.getClassName()).isEqualTo(expected.getClassName());
+		assertThat(metadata.isInterface()).isEqualTo(expected.isInterface());
+		assertThat(metadata.isAnnotation()).isEqualTo(expected.isAnnotation());
+		assertThat(metadata.isAbstract()).isEqualTo(expected.isAbstract());
+		assertThat(metadata.isFinal()).isEqualTo(expected.isFinal());
+		assertThat(metadata.isIndependent()).isEqualTo(expected.isIndependent());
+		assertThat(metadata.getEnclosingClassName()).isEqualTo(expected.getEnclosingClassName());
+		assertThat(metadata.getSuperClassName()).isEqualTo(expected.getSuperClassName());
+		assertThat(metadata.getInterfaceNames()).containsExactly(expected.getInterfaceNames());
+		assertThat(metadata.getMemberClassNames()).containsExactlyInAnyOrder(expected.getMemberClassNames());
+		assertThat(metadata.getAnnotationTypes()).containsExactlyElementsOf(expected.getAnnotationTypes());
+		assertThat(metadata.getMetaAnnotationTypes(Component.class.getName())).containsExactlyElementsOf(
+				expected.getMetaAnnotationTypes(Component.class.getName()));
+		for (String annotationType : expected.getAnnotationTypes()) {
+			assertThat(metadata.getAnnotations().get(annotationType).synthesize()).isEqualTo(
+					expected.getAnnotations().get(annotationType).synthesize());
+		}
+		for (String annotationType : new String[] {Autowired.class.getName(), Bean.class.getName()}) {
+			assertThat(metadata.getAnnotatedMethods(annotationType)).extracting(MethodMetadata::getMethodName)
+					.containsExactlyInAnyOrderElementsOf(expected.getAnnotatedMethods(annotationType).stream()
+							.map(MethodMetadata::getMethodName).collect(Collectors.toList()));
+		}
+	}
+
+	private URLClassLoader createOutputClassLoader() throws IOException {
+		return new URLClassLoader(new URL[] {this.compiler.getOutputLocation().toURI().toURL()},
+				getClass().getClassLoader());
+	}
+
 	private void testComponent(Class<?>... classes) {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
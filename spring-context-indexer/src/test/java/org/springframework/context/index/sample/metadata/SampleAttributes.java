@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample.metadata;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.ScopedProxyMode;
+
+/**
+ * Test annotation with attributes of all supported types.
+ *
+ * @author agent (agent@local)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SampleAttributes {
+
+	String name() default "";
+
+	String[] values() default {};
+
+	int count() default 0;
+
+	long size() default 0L;
+
+	double ratio() default 0.0;
+
+	char separator() default ',';
+
+	boolean enabled() default false;
+
+	int[] counts() default {};
+
+	Class<?> type() default Object.class;
+
+	Class<?>[] types() default {};
+
+	ScopedProxyMode mode() default ScopedProxyMode.DEFAULT;
+
+	ScopedProxyMode[] modes() default {};
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample.metadata;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Test candidate with class-level metadata to be indexed.
+ *
+ * @author agent (agent@local)
+ */
+@SuppressWarnings("serial")
+@Component("sample")
+@Scope(scopeName = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+@DependsOn({"first", "second,third", "back\\slash", ""})
+@Lazy
+@SampleAttributes(name = "test", values = {}, count = 42, size = 2L, ratio = 0.5, separator = '|',
+		enabled = true, counts = {1, 2}, type = List.class, types = {String[].class, int.class},
+		mode = ScopedProxyMode.INTERFACES, modes = {ScopedProxyMode.NO, ScopedProxyMode.TARGET_CLASS})
+public final class SampleMetadataComponent extends AbstractSampleMetadataComponent implements Runnable {
+
+	@Autowired
+	public SampleMetadataComponent(List<String> values) {
+	}
+
+	@Override
+	public void run() {
+	}
+
+	@Autowired
+	public void setName(String name) {
+	}
+
+
+	public static class NestedType {
+	}
+
+
+	public class InnerType {
+	}
+
+}
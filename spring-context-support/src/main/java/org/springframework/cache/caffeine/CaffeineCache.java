@@ -17,8 +17,11 @@
 package org.springframework.cache.caffeine;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
@@ -29,7 +32,10 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
- * <p>Requires Caffeine 2.1 or higher.
+ * <p>Requires Caffeine 2.1 or higher. When created for a Caffeine
+ * {@link AsyncCache}, which requires Caffeine 2.7 or higher, the non-blocking
+ * {@link #retrieve} variants are served by the asynchronous cache while all
+ * other operations use its {@link AsyncCache#synchronous() synchronous} view.
  *
  * @author Ben Manes
  * @author Juergen Hoeller
@@ -42,6 +48,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private final AsyncCache<Object, Object> asyncCache;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -69,6 +78,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.asyncCache = null;
+	}
+
+	/**
+	 * Create a {@link CaffeineCache} instance with the specified name and the
+	 * given internal {@link AsyncCache} to use.
+	 * @param name the name of the cache
+	 * @param cache the backing Caffeine AsyncCache instance
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @since 5.2
+	 */
+	public CaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(cache, "Cache must not be null");
+		this.name = name;
+		this.cache = cache.synchronous();
+		this.asyncCache = cache;
 	}
 
 
@@ -82,6 +110,15 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	/**
+	 * Return the backing Caffeine {@link AsyncCache}, if any.
+	 * @since 5.2
+	 */
+	@Nullable
+	public final AsyncCache<Object, Object> getAsyncCache() {
+		return this.asyncCache;
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper get(Object key) {
@@ -99,6 +136,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
 	}
 
+	@Override
+	public CompletableFuture<ValueWrapper> retrieve(Object key) {
+		if (this.asyncCache == null) {
+			return super.retrieve(key);
+		}
+		CompletableFuture<Object> result = this.asyncCache.getIfPresent(key);
+		return (result != null ? result.thenApply(this::toValueWrapper) : CompletableFuture.completedFuture(null));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (this.asyncCache == null) {
+			return super.retrieve(key, valueLoader);
+		}
+		return (CompletableFuture<T>) this.asyncCache.get(key, (k, executor) ->
+				valueLoader.get().thenApply(this::toStoreValue)).thenApply(this::fromStoreValue);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -66,6 +67,8 @@ public class CaffeineCacheManager implements CacheManager {
 
 	private boolean allowNullValues = true;
 
+	private boolean asyncCacheMode = false;
+
 
 	/**
 	 * Construct a dynamic CaffeineCacheManager,
@@ -169,6 +172,33 @@ public class CaffeineCacheManager implements CacheManager {
 		return this.allowNullValues;
 	}
 
+	/**
+	 * Set the common cache type that this cache manager builds to async.
+	 * <p>Each {@link CaffeineCache} is then backed by a Caffeine
+	 * {@link AsyncCache}, serving
+	 * {@link Cache#retrieve(Object)} lookups from methods with a
+	 * {@code CompletableFuture} or reactive return type without blocking.
+	 * <p>Default is "false". Requires Caffeine 2.7 or higher.
+	 * @since 5.2
+	 * @see #createAsyncCaffeineCache
+	 * @see com.github.benmanes.caffeine.cache.Caffeine#buildAsync()
+	 */
+	public void setAsyncCacheMode(boolean asyncCacheMode) {
+		if (this.asyncCacheMode != asyncCacheMode) {
+			this.asyncCacheMode = asyncCacheMode;
+			refreshKnownCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager builds its caches on top of a Caffeine
+	 * {@link AsyncCache}.
+	 * @since 5.2
+	 */
+	public boolean isAsyncCacheMode() {
+		return this.asyncCacheMode;
+	}
+
 
 	@Override
 	public Collection<String> getCacheNames() {
@@ -197,6 +227,9 @@ public class CaffeineCacheManager implements CacheManager {
 	 * @return the Spring CaffeineCache adapter (or a decorator thereof)
 	 */
 	protected Cache createCaffeineCache(String name) {
+		if (isAsyncCacheMode()) {
+			return new CaffeineCache(name, createAsyncCaffeineCache(name), isAllowNullValues());
+		}
 		return new CaffeineCache(name, createNativeCaffeineCache(name), isAllowNullValues());
 	}
 
@@ -214,6 +247,21 @@ public class CaffeineCacheManager implements CacheManager {
 		}
 	}
 
+	/**
+	 * Create a native Caffeine AsyncCache instance for the specified cache name.
+	 * @param name the name of the cache
+	 * @return the native Caffeine AsyncCache instance
+	 * @since 5.2
+	 */
+	protected AsyncCache<Object, Object> createAsyncCaffeineCache(String name) {
+		if (this.cacheLoader != null) {
+			return this.cacheBuilder.buildAsync(this.cacheLoader);
+		}
+		else {
+			return this.cacheBuilder.buildAsync();
+		}
+	}
+
 	private void doSetCaffeine(Caffeine<Object, Object> cacheBuilder) {
 		if (!ObjectUtils.nullSafeEquals(this.cacheBuilder, cacheBuilder)) {
 			this.cacheBuilder = cacheBuilder;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Channel propagating the invalidation of cache entries between the nodes
+ * that share a remote cache, so that each node can evict the local copies
+ * that have become stale.
+ *
+ * <p>An instance represents the channel as seen from a single node: an
+ * invalidation {@link #publish published} through it is delivered to the
+ * listeners {@link #subscribe subscribed} on every other node. Whether it is
+ * also delivered back to the listeners of the publishing node is up to the
+ * implementation.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see NearCacheManager#setInvalidationChannel
+ * @see InMemoryCacheInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Publish the invalidation of the given entry.
+	 * @param cacheName the name of the cache
+	 * @param key the key of the invalidated entry, or {@code null} if all
+	 * entries of the cache have been invalidated
+	 */
+	void publish(String cacheName, @Nullable Object key);
+
+	/**
+	 * Register a listener for the invalidations published by other nodes.
+	 * @param listener the listener to notify
+	 */
+	void subscribe(Listener listener);
+
+
+	/**
+	 * Callback interface for invalidations received through the channel.
+	 */
+	@FunctionalInterface
+	interface Listener {
+
+		/**
+		 * Handle the invalidation of the given entry.
+		 * @param cacheName the name of the cache
+		 * @param key the key of the invalidated entry, or {@code null} if all
+		 * entries of the cache have been invalidated
+		 */
+		void onInvalidation(String cacheName, @Nullable Object key);
+	}
+
+}
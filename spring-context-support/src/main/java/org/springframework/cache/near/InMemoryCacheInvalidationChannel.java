@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheInvalidationChannel} connecting several nodes within the same
+ * JVM, typically standing in for a messaging-based channel in tests.
+ *
+ * <p>Each instance represents one node; further nodes sharing the same
+ * channel are obtained through {@link #createNode()}. Invalidations are
+ * delivered synchronously to the listeners of all other nodes.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class InMemoryCacheInvalidationChannel implements CacheInvalidationChannel {
+
+	private final Set<InMemoryCacheInvalidationChannel> nodes;
+
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+
+	/**
+	 * Create a new channel, with this instance as its first node.
+	 */
+	public InMemoryCacheInvalidationChannel() {
+		this(new CopyOnWriteArraySet<>());
+	}
+
+	private InMemoryCacheInvalidationChannel(Set<InMemoryCacheInvalidationChannel> nodes) {
+		this.nodes = nodes;
+		this.nodes.add(this);
+	}
+
+
+	/**
+	 * Create a further node connected to the same channel.
+	 */
+	public InMemoryCacheInvalidationChannel createNode() {
+		return new InMemoryCacheInvalidationChannel(this.nodes);
+	}
+
+	@Override
+	public void publish(String cacheName, @Nullable Object key) {
+		Assert.notNull(cacheName, "Cache name must not be null");
+		for (InMemoryCacheInvalidationChannel node : this.nodes) {
+			if (node != this) {
+				for (Listener listener : node.listeners) {
+					listener.onInvalidation(cacheName, key);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Listener listener) {
+		Assert.notNull(listener, "Listener must not be null");
+		this.listeners.add(listener);
+	}
+
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} layering a local cache (L1) over a remote cache (L2), typically
+ * a small in-memory cache in front of a cache shared between several nodes.
+ *
+ * <p>Lookups are served by the local cache where possible, reading through to
+ * the remote cache on a local miss and keeping the remote value locally.
+ * Modifications are applied to both tiers: either immediately (write-through)
+ * or, if a write-behind batch size is specified, by queueing the remote writes
+ * until {@link #flush()} is called or the batch size is reached. Operations
+ * with immediate semantics such as {@link #putIfAbsent} and {@link #evictIfPresent}
+ * flush pending writes first.
+ *
+ * <p>Once a remote write has been applied, it is published through the
+ * {@link CacheInvalidationChannel}, if any, so that other nodes evict their
+ * local copy of the entry; see {@link #evictLocal} and {@link #clearLocal}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see NearCacheManager
+ */
+public class NearCache implements Cache {
+
+	private static final Log logger = LogFactory.getLog(NearCache.class);
+
+	private static final ValueWrapper EVICTION = new SimpleValueWrapper(null);
+
+
+	private final String name;
+
+	private final Cache localCache;
+
+	private final Cache remoteCache;
+
+	@Nullable
+	private final CacheInvalidationChannel invalidationChannel;
+
+	private final int writeBehindBatchSize;
+
+	private final Map<Object, ValueWrapper> pendingWrites = new LinkedHashMap<>();
+
+	private final Object flushMonitor = new Object();
+
+
+	/**
+	 * Create a write-through {@link NearCache} for the given caches.
+	 * @param name the name of the cache
+	 * @param localCache the local cache to serve lookups from
+	 * @param remoteCache the remote cache holding the authoritative entries
+	 */
+	public NearCache(String name, Cache localCache, Cache remoteCache) {
+		this(name, localCache, remoteCache, null, 0);
+	}
+
+	/**
+	 * Create a {@link NearCache} for the given caches.
+	 * @param name the name of the cache
+	 * @param localCache the local cache to serve lookups from
+	 * @param remoteCache the remote cache holding the authoritative entries
+	 * @param invalidationChannel the channel to publish invalidations to
+	 * (may be {@code null} if the remote cache is not shared)
+	 * @param writeBehindBatchSize the number of pending remote writes that
+	 * triggers a flush, or {@code 0} to write through to the remote cache
+	 */
+	public NearCache(String name, Cache localCache, Cache remoteCache,
+			@Nullable CacheInvalidationChannel invalidationChannel, int writeBehindBatchSize) {
+
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(localCache, "Local cache must not be null");
+		Assert.notNull(remoteCache, "Remote cache must not be null");
+		Assert.isTrue(writeBehindBatchSize >= 0, "Write-behind batch size must not be negative");
+		this.name = name;
+		this.localCache = localCache;
+		this.remoteCache = remoteCache;
+		this.invalidationChannel = invalidationChannel;
+		this.writeBehindBatchSize = writeBehindBatchSize;
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the native cache of the remote cache.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this.remoteCache.getNativeCache();
+	}
+
+	/**
+	 * Return the local cache (L1).
+	 */
+	public final Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the remote cache (L2).
+	 */
+	public final Cache getRemoteCache() {
+		return this.remoteCache;
+	}
+
+	/**
+	 * Return whether writes to the remote cache are queued.
+	 */
+	public boolean isWriteBehind() {
+		return (this.writeBehindBatchSize > 0);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null) {
+			return wrapper;
+		}
+		wrapper = getPendingWrite(key);
+		if (wrapper != null) {
+			return (wrapper != EVICTION ? wrapper : null);
+		}
+		wrapper = this.remoteCache.get(key);
+		if (wrapper != null) {
+			this.localCache.put(key, wrapper.get());
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		try {
+			return this.localCache.get(key, () -> {
+				ValueWrapper pending = getPendingWrite(key);
+				if (pending == null) {
+					return this.remoteCache.get(key, valueLoader);
+				}
+				if (pending != EVICTION) {
+					return (T) pending.get();
+				}
+				// Stale remote entry about to be evicted: load and replace it
+				T value = valueLoader.call();
+				enqueue(key, new SimpleValueWrapper(value));
+				return value;
+			});
+		}
+		catch (ValueRetrievalException ex) {
+			// Expose the remote cache's exception as if there was a single tier
+			if (ex.getCause() instanceof ValueRetrievalException) {
+				throw (ValueRetrievalException) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	@Override
+	public CompletableFuture<ValueWrapper> retrieve(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper == null) {
+			wrapper = getPendingWrite(key);
+		}
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture(wrapper != EVICTION ? wrapper : null);
+		}
+		return this.remoteCache.retrieve(key).thenApply(remote -> {
+			if (remote != null) {
+				this.localCache.put(key, remote.get());
+			}
+			return remote;
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.localCache.put(key, value);
+		if (isWriteBehind()) {
+			enqueue(key, new SimpleValueWrapper(value));
+		}
+		else {
+			this.remoteCache.put(key, value);
+			publishInvalidation(key);
+		}
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		flush();
+		ValueWrapper existing = this.remoteCache.putIfAbsent(key, value);
+		if (existing == null) {
+			this.localCache.put(key, value);
+			publishInvalidation(key);
+		}
+		else {
+			this.localCache.put(key, existing.get());
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.localCache.evict(key);
+		if (isWriteBehind()) {
+			enqueue(key, EVICTION);
+		}
+		else {
+			this.remoteCache.evict(key);
+			publishInvalidation(key);
+		}
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		flush();
+		boolean present = this.localCache.evictIfPresent(key);
+		present |= this.remoteCache.evictIfPresent(key);
+		publishInvalidation(key);
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.flushMonitor) {
+			clearPendingWrites();
+			this.localCache.clear();
+			this.remoteCache.clear();
+		}
+		publishInvalidation(null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty;
+		synchronized (this.flushMonitor) {
+			notEmpty = clearPendingWrites();
+			notEmpty |= this.localCache.invalidate();
+			notEmpty |= this.remoteCache.invalidate();
+		}
+		publishInvalidation(null);
+		return notEmpty;
+	}
+
+	/**
+	 * Evict the given entry from the local cache only, typically in response
+	 * to an invalidation published by another node.
+	 * @param key the key whose local copy is to be removed
+	 */
+	public void evictLocal(Object key) {
+		this.localCache.evict(key);
+	}
+
+	/**
+	 * Clear the local cache only, typically in response to an invalidation
+	 * published by another node.
+	 */
+	public void clearLocal() {
+		this.localCache.clear();
+	}
+
+	/**
+	 * Apply all pending writes to the remote cache and publish the corresponding
+	 * invalidations. Does nothing unless write-behind is enabled.
+	 * <p>A failure to apply a write is logged and does not prevent the remaining
+	 * writes from being applied.
+	 */
+	public void flush() {
+		if (!isWriteBehind()) {
+			return;
+		}
+		synchronized (this.flushMonitor) {
+			List<Map.Entry<Object, ValueWrapper>> batch;
+			synchronized (this.pendingWrites) {
+				if (this.pendingWrites.isEmpty()) {
+					return;
+				}
+				batch = new ArrayList<>(this.pendingWrites.entrySet());
+			}
+			for (Map.Entry<Object, ValueWrapper> write : batch) {
+				Object key = write.getKey();
+				try {
+					if (write.getValue() == EVICTION) {
+						this.remoteCache.evict(key);
+					}
+					else {
+						this.remoteCache.put(key, write.getValue().get());
+					}
+					publishInvalidation(key);
+				}
+				catch (RuntimeException ex) {
+					logger.warn("Failed to write entry with key '" + key + "' to remote cache '" + this.name + "'", ex);
+				}
+			}
+			// Keep pending writes visible to lookups until they have been applied
+			synchronized (this.pendingWrites) {
+				for (Map.Entry<Object, ValueWrapper> write : batch) {
+					this.pendingWrites.remove(write.getKey(), write.getValue());
+				}
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Flushed " + batch.size() + " writes to remote cache '" + this.name + "'");
+			}
+		}
+	}
+
+
+	@Nullable
+	private ValueWrapper getPendingWrite(Object key) {
+		if (!isWriteBehind()) {
+			return null;
+		}
+		synchronized (this.pendingWrites) {
+			return this.pendingWrites.get(key);
+		}
+	}
+
+	private void enqueue(Object key, ValueWrapper write) {
+		boolean flush;
+		synchronized (this.pendingWrites) {
+			this.pendingWrites.put(key, write);
+			flush = (this.pendingWrites.size() >= this.writeBehindBatchSize);
+		}
+		if (flush) {
+			flush();
+		}
+	}
+
+	private boolean clearPendingWrites() {
+		synchronized (this.pendingWrites) {
+			boolean notEmpty = !this.pendingWrites.isEmpty();
+			this.pendingWrites.clear();
+			return notEmpty;
+		}
+	}
+
+	private void publishInvalidation(@Nullable Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(this.name, key);
+		}
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} exposing a {@link NearCache} for each cache of a remote
+ * {@link CacheManager}, with a local Caffeine cache as first tier.
+ *
+ * <p>Caches are write-through by default. A positive
+ * {@link #setWriteBehindBatchSize write-behind batch size} queues the remote
+ * writes instead, flushing them once the batch size is reached and at the
+ * specified {@link #setWriteBehindFlushInterval interval}. Pending writes are
+ * flushed on {@link #destroy()} as well.
+ *
+ * <p>When the remote caches are shared between several nodes, an
+ * {@link #setInvalidationChannel invalidation channel} keeps the local caches
+ * consistent: each remote write is published to the other nodes, which evict
+ * their local copy of the entry.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see NearCache
+ * @see CacheInvalidationChannel
+ */
+public class NearCacheManager extends AbstractCacheManager implements DisposableBean {
+
+	private final CacheManager remoteCacheManager;
+
+	private Caffeine<Object, Object> localCaffeine = Caffeine.newBuilder().maximumSize(1000);
+
+	@Nullable
+	private CacheInvalidationChannel invalidationChannel;
+
+	private int writeBehindBatchSize = 0;
+
+	private Duration writeBehindFlushInterval = Duration.ofSeconds(1);
+
+	@Nullable
+	private ScheduledExecutorService flushExecutor;
+
+
+	/**
+	 * Create a new NearCacheManager for the given remote CacheManager.
+	 * @param remoteCacheManager the CacheManager providing the remote caches
+	 */
+	public NearCacheManager(CacheManager remoteCacheManager) {
+		Assert.notNull(remoteCacheManager, "Remote CacheManager must not be null");
+		this.remoteCacheManager = remoteCacheManager;
+	}
+
+
+	/**
+	 * Return the CacheManager providing the remote caches.
+	 */
+	public CacheManager getRemoteCacheManager() {
+		return this.remoteCacheManager;
+	}
+
+	/**
+	 * Set the Caffeine builder to use for the local cache of each
+	 * {@link NearCache}. Default is a cache holding up to 1000 entries.
+	 * @see #createLocalCache
+	 */
+	public void setLocalCaffeine(Caffeine<Object, Object> localCaffeine) {
+		Assert.notNull(localCaffeine, "Caffeine must not be null");
+		this.localCaffeine = localCaffeine;
+	}
+
+	/**
+	 * Set the Caffeine cache specification String to use for the local cache
+	 * of each {@link NearCache}.
+	 * @see com.github.benmanes.caffeine.cache.Caffeine#from(String)
+	 */
+	public void setLocalCacheSpecification(String localCacheSpecification) {
+		this.localCaffeine = Caffeine.from(localCacheSpecification);
+	}
+
+	/**
+	 * Set the channel to publish invalidations to and to receive the
+	 * invalidations of other nodes from.
+	 */
+	public void setInvalidationChannel(@Nullable CacheInvalidationChannel invalidationChannel) {
+		this.invalidationChannel = invalidationChannel;
+	}
+
+	/**
+	 * Set the number of pending writes per cache that triggers a flush to
+	 * the remote cache. Default is 0, writing through to the remote cache.
+	 */
+	public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+		Assert.isTrue(writeBehindBatchSize >= 0, "Write-behind batch size must not be negative");
+		this.writeBehindBatchSize = writeBehindBatchSize;
+	}
+
+	/**
+	 * Set the interval at which pending writes are flushed to the remote
+	 * caches in write-behind mode. Default is 1 second.
+	 */
+	public void setWriteBehindFlushInterval(Duration writeBehindFlushInterval) {
+		Assert.isTrue(!writeBehindFlushInterval.isNegative() && !writeBehindFlushInterval.isZero(),
+				"Write-behind flush interval must be positive");
+		this.writeBehindFlushInterval = writeBehindFlushInterval;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.subscribe(this::onInvalidation);
+		}
+		if (this.writeBehindBatchSize > 0) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("near-cache-flush-");
+			threadFactory.setDaemon(true);
+			this.flushExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+			long interval = this.writeBehindFlushInterval.toMillis();
+			this.flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		super.afterPropertiesSet();
+	}
+
+	@Override
+	protected Collection<? extends Cache> loadCaches() {
+		List<Cache> caches = new ArrayList<>();
+		for (String name : this.remoteCacheManager.getCacheNames()) {
+			Cache remoteCache = this.remoteCacheManager.getCache(name);
+			if (remoteCache != null) {
+				caches.add(createNearCache(remoteCache));
+			}
+		}
+		return caches;
+	}
+
+	@Override
+	@Nullable
+	protected Cache getMissingCache(String name) {
+		Cache remoteCache = this.remoteCacheManager.getCache(name);
+		return (remoteCache != null ? createNearCache(remoteCache) : null);
+	}
+
+	/**
+	 * Create a {@link NearCache} for the given remote cache.
+	 * @param remoteCache the remote cache
+	 * @return the NearCache instance
+	 */
+	protected NearCache createNearCache(Cache remoteCache) {
+		String name = remoteCache.getName();
+		return new NearCache(name, createLocalCache(name), remoteCache,
+				this.invalidationChannel, this.writeBehindBatchSize);
+	}
+
+	/**
+	 * Create the local cache for the specified cache name. Null values are
+	 * accepted in any case, leaving that decision to the remote cache.
+	 * @param name the name of the cache
+	 * @return the local cache
+	 */
+	protected Cache createLocalCache(String name) {
+		return new CaffeineCache(name, this.localCaffeine.build(), true);
+	}
+
+	/**
+	 * Flush the pending writes of all caches in write-behind mode.
+	 * @see NearCache#flush()
+	 */
+	public void flush() {
+		for (String name : getCacheNames()) {
+			Cache cache = lookupCache(name);
+			if (cache instanceof NearCache) {
+				((NearCache) cache).flush();
+			}
+		}
+	}
+
+	/**
+	 * Stop flushing pending writes periodically and flush them one last time.
+	 */
+	@Override
+	public void destroy() {
+		if (this.flushExecutor != null) {
+			this.flushExecutor.shutdown();
+		}
+		flush();
+	}
+
+	private void onInvalidation(String cacheName, @Nullable Object key) {
+		Cache cache = lookupCache(cacheName);
+		if (cache instanceof NearCache) {
+			if (key != null) {
+				((NearCache) cache).evictLocal(key);
+			}
+			else {
+				((NearCache) cache).clearLocal();
+			}
+		}
+	}
+
+}
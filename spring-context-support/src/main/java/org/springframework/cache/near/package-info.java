@@ -0,0 +1,10 @@
+/**
+ * Two-tier caching support, layering a local in-memory cache over a shared
+ * cache and keeping local copies consistent through an invalidation channel.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.cache.near;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
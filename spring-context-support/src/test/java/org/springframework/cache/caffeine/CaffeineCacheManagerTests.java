@@ -194,6 +194,22 @@ public class CaffeineCacheManagerTests {
 			.withMessageContaining("I only know ping");
 	}
 
+	@Test
+	public void asyncCacheModeUsesAsyncCache() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(((CaffeineCache) cache1).getAsyncCache()).isNull();
+
+		cm.setAsyncCacheMode(true);
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		CaffeineCache caffeineCache = (CaffeineCache) cache1x;
+		assertThat(caffeineCache.getAsyncCache()).isNotNull();
+		assertThat(caffeineCache.getNativeCache()).isSameAs(caffeineCache.getAsyncCache().synchronous());
+		cache1x.put("key", "value");
+		assertThat(cache1x.retrieve("key").join().get()).isEqualTo("value");
+	}
+
 	@SuppressWarnings("unchecked")
 	private CacheLoader<Object, Object> mockCacheLoader() {
 		return mock(CacheLoader.class);
@@ -16,6 +16,10 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,4 +83,43 @@ public class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<Caffeine
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	public void testAsyncRetrieve() throws Exception {
+		AsyncCache<Object, Object> asyncCache = Caffeine.newBuilder().buildAsync();
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, asyncCache, true);
+		assertThat(cache.getAsyncCache()).isSameAs(asyncCache);
+		assertThat(cache.retrieve("key").get()).isNull();
+
+		CompletableFuture<Object> pending = new CompletableFuture<>();
+		asyncCache.put("key", pending);
+		CompletableFuture<Cache.ValueWrapper> result = cache.retrieve("key");
+		assertThat(result).isNotDone();
+		pending.complete("value");
+		assertThat(result.get().get()).isEqualTo("value");
+
+		cache.put("other", null);
+		assertThat(cache.retrieve("other").get().get()).isNull();
+		assertThat(asyncCache.synchronous().getIfPresent("other")).isNotNull();
+	}
+
+	@Test
+	public void testAsyncRetrieveWithValueLoader() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), false);
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<String> pending = new CompletableFuture<>();
+		CompletableFuture<String> first = cache.retrieve("key", () -> {
+			loads.incrementAndGet();
+			return pending;
+		});
+		CompletableFuture<String> second = cache.retrieve("key", () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		pending.complete("value");
+		assertThat(first.get()).isEqualTo("value");
+		assertThat(second.get()).isEqualTo("value");
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.get("key").get()).isEqualTo("value");
+	}
+
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NearCacheManager}.
+ *
+ * @author agent (agent@local)
+ */
+class NearCacheManagerTests {
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("c1");
+
+
+	@Test
+	void exposesNearCacheForRemoteCaches() {
+		NearCacheManager cacheManager = createCacheManager(null);
+		assertThat(cacheManager.getCacheNames()).containsExactly("c1");
+		NearCache cache = (NearCache) cacheManager.getCache("c1");
+		assertThat(cache.getLocalCache()).isInstanceOf(CaffeineCache.class);
+		assertThat(cache.getRemoteCache()).isSameAs(this.remoteCacheManager.getCache("c1"));
+		assertThat(cache.isWriteBehind()).isFalse();
+		assertThat(cacheManager.getCache("c2")).isNull();
+
+		this.remoteCacheManager.setCacheNames(null);
+		assertThat(cacheManager.getCache("c2")).isInstanceOf(NearCache.class);
+		assertThat(cacheManager.getCacheNames()).containsExactly("c1", "c2");
+	}
+
+	@Test
+	void invalidationEvictsLocalCopyOnOtherNodes() {
+		InMemoryCacheInvalidationChannel channel = new InMemoryCacheInvalidationChannel();
+		Cache node1 = createCacheManager(channel).getCache("c1");
+		Cache node2 = createCacheManager(channel.createNode()).getCache("c1");
+
+		node1.put("key", "value");
+		assertThat(node2.get("key").get()).isEqualTo("value");
+		node1.put("key", "other");
+		assertThat(((NearCache) node1).getLocalCache().get("key").get()).isEqualTo("other");
+		assertThat(((NearCache) node2).getLocalCache().get("key")).isNull();
+		assertThat(node2.get("key").get()).isEqualTo("other");
+
+		node2.clear();
+		assertThat(((NearCache) node1).getLocalCache().get("key")).isNull();
+	}
+
+	@Test
+	void writeBehindFlushesOnDestroy() {
+		NearCacheManager cacheManager = new NearCacheManager(this.remoteCacheManager);
+		cacheManager.setWriteBehindBatchSize(100);
+		cacheManager.setWriteBehindFlushInterval(Duration.ofMinutes(1));
+		cacheManager.afterPropertiesSet();
+		Cache cache = cacheManager.getCache("c1");
+		cache.put("key", "value");
+		assertThat(this.remoteCacheManager.getCache("c1").get("key")).isNull();
+		cacheManager.destroy();
+		assertThat(this.remoteCacheManager.getCache("c1").get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void writeBehindFlushesPeriodically() throws InterruptedException {
+		NearCacheManager cacheManager = new NearCacheManager(this.remoteCacheManager);
+		cacheManager.setWriteBehindBatchSize(100);
+		cacheManager.setWriteBehindFlushInterval(Duration.ofMillis(10));
+		cacheManager.afterPropertiesSet();
+		try {
+			cacheManager.getCache("c1").put("key", "value");
+			long deadline = System.currentTimeMillis() + 5000;
+			while (this.remoteCacheManager.getCache("c1").get("key") == null) {
+				assertThat(System.currentTimeMillis()).isLessThan(deadline);
+				Thread.sleep(10);
+			}
+		}
+		finally {
+			cacheManager.destroy();
+		}
+	}
+
+
+	private NearCacheManager createCacheManager(CacheInvalidationChannel channel) {
+		NearCacheManager cacheManager = new NearCacheManager(this.remoteCacheManager);
+		cacheManager.setInvalidationChannel(channel);
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+}
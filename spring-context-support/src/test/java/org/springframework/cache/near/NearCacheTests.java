@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.near;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link NearCache}.
+ *
+ * @author agent (agent@local)
+ */
+class NearCacheTests {
+
+	private final ConcurrentMapCache localCache = new ConcurrentMapCache("test");
+
+	private final ConcurrentMapCache remoteCache = new ConcurrentMapCache("test");
+
+	private final List<Object> invalidations = new ArrayList<>();
+
+	private final CacheInvalidationChannel channel = new CacheInvalidationChannel() {
+		@Override
+		public void publish(String cacheName, Object key) {
+			NearCacheTests.this.invalidations.add(key);
+		}
+		@Override
+		public void subscribe(Listener listener) {
+		}
+	};
+
+
+	@Test
+	void readThroughKeepsRemoteValueLocally() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache);
+		this.remoteCache.put("key", "value");
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		assertThat(this.localCache.get("key").get()).isEqualTo("value");
+
+		this.remoteCache.put("key", "other");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.get("missing")).isNull();
+	}
+
+	@Test
+	void writeThroughUpdatesBothTiers() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache, this.channel, 0);
+		cache.put("key", "value");
+		assertThat(this.localCache.get("key").get()).isEqualTo("value");
+		assertThat(this.remoteCache.get("key").get()).isEqualTo("value");
+		cache.evict("key");
+		assertThat(this.localCache.get("key")).isNull();
+		assertThat(this.remoteCache.get("key")).isNull();
+		cache.clear();
+		assertThat(this.invalidations).containsExactly("key", "key", null);
+	}
+
+	@Test
+	void valueLoaderPopulatesBothTiers() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache);
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(this.localCache.get("key").get()).isEqualTo("value");
+		assertThat(this.remoteCache.get("key").get()).isEqualTo("value");
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+	}
+
+	@Test
+	void valueLoaderFailureIsExposedAsIs() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache);
+		IllegalStateException failure = new IllegalStateException("boom");
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class)
+				.isThrownBy(() -> cache.get("key", () -> {
+					throw failure;
+				}))
+				.withCause(failure);
+	}
+
+	@Test
+	void writeBehindQueuesRemoteWrites() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache, this.channel, 3);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertThat(this.remoteCache.getNativeCache()).isEmpty();
+		assertThat(this.invalidations).isEmpty();
+
+		// Pending writes are visible even without a local copy
+		this.localCache.clear();
+		assertThat(cache.get("a").get()).isEqualTo("1");
+		cache.evict("b");
+		assertThat(cache.get("b")).isNull();
+
+		cache.put("c", "3");
+		assertThat(this.remoteCache.getNativeCache()).containsOnlyKeys("a", "c");
+		assertThat(this.invalidations).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	void immediateOperationsFlushPendingWrites() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache, this.channel, 10);
+		cache.put("a", "1");
+		assertThat(cache.putIfAbsent("a", "2").get()).isEqualTo("1");
+		assertThat(this.remoteCache.get("a").get()).isEqualTo("1");
+		cache.put("b", "2");
+		assertThat(cache.evictIfPresent("b")).isTrue();
+		assertThat(this.remoteCache.get("b")).isNull();
+		cache.put("c", "3");
+		assertThat(cache.invalidate()).isTrue();
+		assertThat(this.remoteCache.getNativeCache()).isEmpty();
+		cache.flush();
+		assertThat(this.remoteCache.getNativeCache()).isEmpty();
+	}
+
+	@Test
+	void retrieveReadsThroughAsynchronously() {
+		NearCache cache = new NearCache("test", this.localCache, this.remoteCache);
+		this.remoteCache.put("key", "value");
+		assertThat(cache.retrieve("key").join().get()).isEqualTo("value");
+		assertThat(this.localCache.get("key").get()).isEqualTo("value");
+		assertThat(cache.retrieve("missing").join()).isNull();
+	}
+
+}
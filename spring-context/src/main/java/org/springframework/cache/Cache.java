@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +102,68 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation should not block
+	 * but is allowed to return a completed {@link CompletableFuture} if the
+	 * corresponding value is immediately available.
+	 * <p>The default implementation delegates to {@link #get(Object)} and
+	 * therefore blocks the caller for as long as that lookup takes, which is
+	 * only appropriate for in-memory caches. Cache providers backed by a
+	 * remote store are expected to override this method with a non-blocking
+	 * variant.
+	 * @param key the key whose associated value is to be returned
+	 * @return a future completing with the value wrapper for the specified key
+	 * (which may hold a {@code null} value itself), or with {@code null} if
+	 * the cache contains no mapping for this key
+	 * @since 5.2
+	 * @see #retrieve(Object, Supplier)
+	 */
+	default CompletableFuture<ValueWrapper> retrieve(Object key) {
+		return CompletableFuture.completedFuture(get(key));
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This is the
+	 * non-blocking variant of {@link #get(Object, Callable)}.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>The default implementation combines {@link #retrieve(Object)} and
+	 * {@link #store(Object, Object)} without such synchronization: concurrent
+	 * callers missing the same key each call their {@code valueLoader}.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the supplier of a future for the value to cache
+	 * @return a future completing with the value to which this cache maps
+	 * the specified key
+	 * @since 5.2
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return retrieve(key).thenCompose(wrapper -> {
+			if (wrapper != null) {
+				return CompletableFuture.completedFuture((T) wrapper.get());
+			}
+			return valueLoader.get().thenCompose(value -> store(key, value).thenApply(ignored -> value));
+		});
+	}
+
+	/**
+	 * Associate the specified value with the specified key in this cache,
+	 * without blocking the caller.
+	 * <p>The default implementation delegates to {@link #put(Object, Object)}.
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 * @return a future completing once the value has been stored
+	 * @since 5.2
+	 * @see #retrieve(Object)
+	 */
+	default CompletableFuture<Void> store(Object key, @Nullable Object value) {
+		put(key, value);
+		return CompletableFuture.completedFuture(null);
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -0,0 +1,650 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link ConcurrentMap} with an upper bound on its size or total weight and
+ * optional time-based expiration, for use as the store of a
+ * {@link ConcurrentMapCache}.
+ *
+ * <p>Entries are spread over a number of independently locked segments, each of
+ * which evicts its least recently used entries once its share of the maximum
+ * size or weight is exceeded. Expired entries are never returned and get
+ * removed on access or whenever their segment is written to.
+ *
+ * <p>{@link #get} and {@link #containsKey} do not lock: reads are recorded in a
+ * lossy buffer per segment that is applied to the recency order whenever the
+ * segment lock is available, so the eviction order approximates LRU under
+ * concurrent reads.
+ *
+ * <p>{@link #computeIfAbsent} applies the mapping function outside of the lock
+ * for the segment, once per key at a time, with concurrent calls for the same
+ * key waiting for its result.
+ *
+ * <p>Hit and miss counts are recorded for {@link #get} and {@link #computeIfAbsent}
+ * calls and may be retrieved along with the eviction count through
+ * {@link #getHitCount()}, {@link #getMissCount()} and {@link #getEvictionCount()}.
+ *
+ * <p>This map does not allow {@code null} keys or values. Its views are
+ * snapshots of the non-expired entries at the time of the call.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setExpireAfterWrite
+ */
+public class BoundedConcurrentMap extends AbstractMap<Object, Object> implements ConcurrentMap<Object, Object> {
+
+	private static final int MAXIMUM_SEGMENTS = 16;
+
+	private static final int MINIMUM_SEGMENT_SIZE = 16;
+
+	private static final int READ_BUFFER_SIZE = 16;
+
+
+	private final Segment[] segments;
+
+	private final long segmentMaximumSize;
+
+	private final long segmentMaximumWeight;
+
+	@Nullable
+	private final ToIntBiFunction<Object, Object> weigher;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final LongSupplier ticker;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code BoundedConcurrentMap} holding up to the given number
+	 * of entries, without time-based expiration.
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMap(long maximumSize) {
+		this(maximumSize, 0, null, null, null);
+	}
+
+	/**
+	 * Create a new {@code BoundedConcurrentMap}.
+	 * @param maximumSize the maximum number of entries, or {@code 0} for no limit
+	 * @param maximumWeight the maximum total weight of all entries as determined
+	 * by the given weigher, or {@code 0} for no limit
+	 * @param weigher the function to compute the weight of an entry from its key
+	 * and (store) value; required if a maximum weight is specified
+	 * @param expireAfterWrite the time after which an entry expires once created
+	 * or replaced, or {@code null} for no such expiration
+	 * @param expireAfterAccess the time after which an entry expires once last
+	 * created, replaced or read, or {@code null} for no such expiration
+	 */
+	public BoundedConcurrentMap(long maximumSize, long maximumWeight,
+			@Nullable ToIntBiFunction<Object, Object> weigher,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess) {
+
+		this(maximumSize, maximumWeight, weigher, expireAfterWrite, expireAfterAccess, System::nanoTime);
+	}
+
+	BoundedConcurrentMap(long maximumSize, long maximumWeight,
+			@Nullable ToIntBiFunction<Object, Object> weigher,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess, LongSupplier ticker) {
+
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		Assert.isTrue(maximumWeight == 0 || weigher != null, "A weigher is required for a maximum weight");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		int segmentCount = MAXIMUM_SEGMENTS;
+		long limit = Math.max(maximumSize, maximumWeight);
+		while (limit > 0 && segmentCount > 1 && limit / segmentCount < MINIMUM_SEGMENT_SIZE) {
+			segmentCount >>= 1;
+		}
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			this.segments[i] = new Segment();
+		}
+		this.segmentMaximumSize = divideRoundingUp(maximumSize, segmentCount);
+		this.segmentMaximumWeight = divideRoundingUp(maximumWeight, segmentCount);
+		this.weigher = weigher;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : 0);
+		this.ticker = ticker;
+	}
+
+	private static long divideRoundingUp(long limit, int segmentCount) {
+		return (limit + segmentCount - 1) / segmentCount;
+	}
+
+
+	/**
+	 * Return the number of lookups that found a value.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that did not find a value,
+	 * including lookups of expired entries.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries removed because of the size or weight
+	 * limit or because they expired.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	@Override
+	@Nullable
+	public Object get(Object key) {
+		Segment segment = segmentFor(key);
+		Node node = segment.readLiveNode(key);
+		if (node != null) {
+			this.hitCount.increment();
+			return node.value;
+		}
+		this.missCount.increment();
+		return null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return (segmentFor(key).readLiveNode(key) != null);
+	}
+
+	@Override
+	@Nullable
+	public Object put(Object key, Object value) {
+		Assert.notNull(value, "Value must not be null");
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			long now = this.ticker.getAsLong();
+			Node previous = segment.getLiveNode(key, now);
+			segment.put(key, value, now);
+			return (previous != null ? previous.value : null);
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object putIfAbsent(Object key, Object value) {
+		Assert.notNull(value, "Value must not be null");
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			long now = this.ticker.getAsLong();
+			Node existing = segment.getLiveNode(key, now);
+			if (existing != null) {
+				return existing.value;
+			}
+			segment.put(key, value, now);
+			return null;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Compute the value for an absent (or expired) key. The mapping function
+	 * is applied at most once per key at a time, without holding the lock for
+	 * the segment of the key: concurrent calls for the same key wait for the
+	 * value being computed, while other keys remain accessible.
+	 */
+	@Override
+	@Nullable
+	public Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+		Segment segment = segmentFor(key);
+		while (true) {
+			Loading loading;
+			boolean loader = false;
+			segment.lock.lock();
+			try {
+				Node existing = segment.getLiveNode(key, this.ticker.getAsLong());
+				if (existing != null) {
+					this.hitCount.increment();
+					return existing.value;
+				}
+				loading = segment.loading.get(key);
+				if (loading == null) {
+					this.missCount.increment();
+					loading = new Loading();
+					segment.loading.put(key, loading);
+					loader = true;
+				}
+			}
+			finally {
+				segment.lock.unlock();
+			}
+
+			if (loader) {
+				return load(segment, key, loading, mappingFunction);
+			}
+			Assert.state(loading.thread != Thread.currentThread(), "Recursive computation for the same key");
+			try {
+				return loading.future.join();
+			}
+			catch (CompletionException | CancellationException ex) {
+				// Mapping function failed in the loading thread: try again
+			}
+		}
+	}
+
+	@Nullable
+	private Object load(Segment segment, Object key, Loading loading, Function<? super Object, ?> mappingFunction) {
+		Object value;
+		try {
+			value = mappingFunction.apply(key);
+		}
+		catch (RuntimeException | Error ex) {
+			segment.lock.lock();
+			try {
+				segment.loading.remove(key);
+			}
+			finally {
+				segment.lock.unlock();
+			}
+			loading.future.completeExceptionally(ex);
+			throw ex;
+		}
+
+		segment.lock.lock();
+		try {
+			segment.loading.remove(key);
+			if (value != null) {
+				long now = this.ticker.getAsLong();
+				// Keep a value put concurrently in the meantime
+				Node existing = segment.getLiveNode(key, now);
+				if (existing != null) {
+					value = existing.value;
+				}
+				else {
+					segment.put(key, value, now);
+				}
+			}
+		}
+		finally {
+			segment.lock.unlock();
+		}
+		loading.future.complete(value);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public Object remove(Object key) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			Node existing = segment.getLiveNode(key, this.ticker.getAsLong());
+			if (existing != null) {
+				segment.remove(key);
+				return existing.value;
+			}
+			return null;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			Node existing = segment.getLiveNode(key, this.ticker.getAsLong());
+			if (existing != null && ObjectUtils.nullSafeEquals(existing.value, value)) {
+				segment.remove(key);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean replace(Object key, Object oldValue, Object newValue) {
+		Assert.notNull(newValue, "Value must not be null");
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			long now = this.ticker.getAsLong();
+			Node existing = segment.getLiveNode(key, now);
+			if (existing != null && ObjectUtils.nullSafeEquals(existing.value, oldValue)) {
+				segment.put(key, newValue, now);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public Object replace(Object key, Object value) {
+		Assert.notNull(value, "Value must not be null");
+		Segment segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			long now = this.ticker.getAsLong();
+			Node existing = segment.getLiveNode(key, now);
+			if (existing != null) {
+				segment.put(key, value, now);
+				return existing.value;
+			}
+			return null;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		long size = 0;
+		for (Segment segment : this.segments) {
+			segment.lock.lock();
+			try {
+				if (isExpiring()) {
+					long now = this.ticker.getAsLong();
+					size += segment.nodes.values().stream().filter(node -> !isExpired(node, now)).count();
+				}
+				else {
+					size += segment.nodes.size();
+				}
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (size() == 0);
+	}
+
+	@Override
+	public void clear() {
+		for (Segment segment : this.segments) {
+			segment.lock.lock();
+			try {
+				segment.nodes.clear();
+				segment.accessOrder.clear();
+				for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+					segment.readBuffer.lazySet(i, null);
+				}
+				segment.weight = 0;
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<Object, Object>> entrySet() {
+		Set<Map.Entry<Object, Object>> entries = new LinkedHashSet<>();
+		for (Segment segment : this.segments) {
+			segment.lock.lock();
+			try {
+				long now = this.ticker.getAsLong();
+				segment.nodes.forEach((key, node) -> {
+					if (!isExpired(node, now)) {
+						entries.add(new SimpleImmutableEntry<>(key, node.value));
+					}
+				});
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+		return Collections.unmodifiableSet(entries);
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return this.segments[hash & (this.segments.length - 1)];
+	}
+
+	private boolean isExpiring() {
+		return (this.expireAfterWriteNanos > 0 || this.expireAfterAccessNanos > 0);
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return ((this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+
+	/**
+	 * A segment of the map, readable without locking and guarded by its own
+	 * lock for writes and for maintaining the access order of its entries.
+	 */
+	private final class Segment {
+
+		final ReentrantLock lock = new ReentrantLock();
+
+		final ConcurrentHashMap<Object, Node> nodes = new ConcurrentHashMap<>(16);
+
+		final LinkedHashMap<Object, Node> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+		final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+		final Map<Object, Loading> loading = new HashMap<>(4);
+
+		long weight;
+
+		/**
+		 * Look up a live node without locking, recording the read in the read
+		 * buffer and removing an expired node if the lock is available.
+		 */
+		@Nullable
+		Node readLiveNode(Object key) {
+			Node node = this.nodes.get(key);
+			if (node == null) {
+				return null;
+			}
+			long now = (isExpiring() ? BoundedConcurrentMap.this.ticker.getAsLong() : 0);
+			if (isExpired(node, now)) {
+				if (this.lock.tryLock()) {
+					try {
+						if (this.nodes.get(key) == node) {
+							remove(key);
+							BoundedConcurrentMap.this.evictionCount.increment();
+						}
+					}
+					finally {
+						this.lock.unlock();
+					}
+				}
+				return null;
+			}
+			if (BoundedConcurrentMap.this.expireAfterAccessNanos > 0) {
+				node.accessTime = now;
+			}
+			// Lossy: a concurrent read for the same slot may overwrite this one
+			int index = ThreadLocalRandom.current().nextInt(READ_BUFFER_SIZE);
+			this.readBuffer.lazySet(index, node);
+			if (index == 0 && this.lock.tryLock()) {
+				try {
+					drainReadBuffer();
+				}
+				finally {
+					this.lock.unlock();
+				}
+			}
+			return node;
+		}
+
+		/**
+		 * Look up a live node while holding the lock.
+		 */
+		@Nullable
+		Node getLiveNode(Object key, long now) {
+			Node node = this.nodes.get(key);
+			if (node == null) {
+				return null;
+			}
+			if (isExpired(node, now)) {
+				remove(key);
+				BoundedConcurrentMap.this.evictionCount.increment();
+				return null;
+			}
+			this.accessOrder.get(key);
+			node.accessTime = now;
+			return node;
+		}
+
+		void put(Object key, Object value, long now) {
+			ToIntBiFunction<Object, Object> weigher = BoundedConcurrentMap.this.weigher;
+			int nodeWeight = (weigher != null ? weigher.applyAsInt(key, value) : 1);
+			Assert.state(nodeWeight >= 0, "Weight must not be negative");
+			Node node = new Node(key, value, nodeWeight, now);
+			Node previous = this.nodes.put(key, node);
+			this.accessOrder.put(key, node);
+			this.weight += nodeWeight - (previous != null ? previous.weight : 0);
+			drainReadBuffer();
+			evictIfNecessary(now);
+		}
+
+		void remove(Object key) {
+			Node removed = this.nodes.remove(key);
+			this.accessOrder.remove(key);
+			if (removed != null) {
+				this.weight -= removed.weight;
+			}
+		}
+
+		private void drainReadBuffer() {
+			for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+				Node node = this.readBuffer.get(i);
+				if (node != null) {
+					this.readBuffer.lazySet(i, null);
+					// Moves the node to the end of the access order if still present
+					this.accessOrder.get(node.key);
+				}
+			}
+		}
+
+		private void evictIfNecessary(long now) {
+			long maximumSize = BoundedConcurrentMap.this.segmentMaximumSize;
+			long maximumWeight = BoundedConcurrentMap.this.segmentMaximumWeight;
+			Iterator<Node> iterator = this.accessOrder.values().iterator();
+			while (iterator.hasNext()) {
+				Node eldest = iterator.next();
+				boolean overflow = ((maximumSize > 0 && this.nodes.size() > maximumSize) ||
+						(maximumWeight > 0 && this.weight > maximumWeight));
+				if (!overflow && !isExpired(eldest, now)) {
+					break;
+				}
+				iterator.remove();
+				this.nodes.remove(eldest.key);
+				this.weight -= eldest.weight;
+				BoundedConcurrentMap.this.evictionCount.increment();
+			}
+		}
+	}
+
+
+	/**
+	 * A computation of a value by {@link #computeIfAbsent} in progress.
+	 */
+	private static final class Loading {
+
+		final Thread thread = Thread.currentThread();
+
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+	}
+
+
+	private static final class Node {
+
+		final Object key;
+
+		final Object value;
+
+		final int weight;
+
+		final long writeTime;
+
+		// Written by lock-free reads without synchronization: a stale value
+		// may only delay expiration after access
+		long accessTime;
+
+		Node(Object key, Object value, int weight, long now) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,21 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntBiFunction;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -37,7 +40,10 @@ import org.springframework.lang.Nullable;
  *
  * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
  * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * caching scenarios. Caches are unbounded by default; a maximum size or weight
+ * as well as time-based expiration may be specified for all caches, backing
+ * them with a {@link BoundedConcurrentMap} instead. For advanced local caching
+ * needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -59,6 +65,21 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumSize;
+
+	private long maximumWeight;
+
+	@Nullable
+	private ToIntBiFunction<Object, Object> weigher;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private volatile boolean storeConfigurationChanged;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -146,6 +167,83 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager,
+	 * evicting the least recently used entries beyond that limit.
+	 * <p>Default is "0", i.e. no limit.
+	 * <p>Note: A change of the limit will reset all existing caches, if any,
+	 * to reconfigure them with the new limit on their next retrieval.
+	 * @since 5.2
+	 * @see BoundedConcurrentMap
+	 */
+	public void setMaximumSize(long maximumSize) {
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			this.storeConfigurationChanged = true;
+		}
+	}
+
+	/**
+	 * Specify the maximum total weight of the entries of each cache in this
+	 * cache manager, as determined by the {@link #setWeigher weigher}.
+	 * A weigher is required for a maximum weight; it may be specified before
+	 * or after the maximum weight, as long as both are specified before the
+	 * next retrieval of a cache.
+	 * <p>Default is "0", i.e. no limit.
+	 * <p>Note: A change of the limit will reset all existing caches, if any,
+	 * to reconfigure them with the new limit on their next retrieval.
+	 * @since 5.2
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		if (maximumWeight != this.maximumWeight) {
+			this.maximumWeight = maximumWeight;
+			this.storeConfigurationChanged = true;
+		}
+	}
+
+	/**
+	 * Specify the function that determines the weight of a cache entry
+	 * from its key and store value, for use with a {@link #setMaximumWeight
+	 * maximum weight}. Note that the store value is a serialized byte array
+	 * in {@link #setStoreByValue store-by-value} mode.
+	 * @since 5.2
+	 */
+	public void setWeigher(@Nullable ToIntBiFunction<Object, Object> weigher) {
+		this.weigher = weigher;
+		this.storeConfigurationChanged = true;
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once created or replaced.
+	 * <p>Default is none.
+	 * <p>Note: A change of this setting will reset all existing caches, if any,
+	 * on their next retrieval.
+	 * @since 5.2
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		this.expireAfterWrite = expireAfterWrite;
+		this.storeConfigurationChanged = true;
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once created, replaced
+	 * or last read.
+	 * <p>Default is none.
+	 * <p>Note: A change of this setting will reset all existing caches, if any,
+	 * on their next retrieval.
+	 * @since 5.2
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		this.expireAfterAccess = expireAfterAccess;
+		this.storeConfigurationChanged = true;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -164,6 +262,9 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Override
 	@Nullable
 	public Cache getCache(String name) {
+		if (this.storeConfigurationChanged) {
+			applyStoreConfiguration();
+		}
 		Cache cache = this.cacheMap.get(name);
 		if (cache == null && this.dynamic) {
 			synchronized (this.cacheMap) {
@@ -177,6 +278,22 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return cache;
 	}
 
+	/**
+	 * Recreate all caches with the current bounds and expiration settings,
+	 * once after any number of changes, so that these may be specified in
+	 * any order.
+	 */
+	private void applyStoreConfiguration() {
+		synchronized (this.cacheMap) {
+			if (this.storeConfigurationChanged) {
+				Assert.state(this.maximumWeight == 0 || this.weigher != null,
+						"A weigher is required for a maximum weight");
+				this.storeConfigurationChanged = false;
+				recreateCaches();
+			}
+		}
+	}
+
 	private void recreateCaches() {
 		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
 			entry.setValue(createConcurrentMapCache(entry.getKey()));
@@ -190,9 +307,17 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256),
-				isAllowNullValues(), actualSerialization);
+		return new ConcurrentMapCache(name, createStore(), isAllowNullValues(), actualSerialization);
+	}
 
+	private ConcurrentMap<Object, Object> createStore() {
+		// Pending bounds and expiration settings are applied on the next retrieval
+		if (!this.storeConfigurationChanged && (this.maximumSize > 0 || this.maximumWeight > 0 ||
+				this.expireAfterWrite != null || this.expireAfterAccess != null)) {
+			return new BoundedConcurrentMap(this.maximumSize, this.maximumWeight, this.weigher,
+					this.expireAfterWrite, this.expireAfterAccess);
+		}
+		return new ConcurrentHashMap<>(256);
 	}
 
 }
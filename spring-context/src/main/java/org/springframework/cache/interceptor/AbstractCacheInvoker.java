@@ -16,6 +16,12 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -91,6 +97,95 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#retrieve(Object)} on the specified {@link Cache} and
+	 * invoke the error handler if an exception occurs, be it on invocation or on
+	 * completion of the returned future. The future completes with {@code null}
+	 * if the handler does not throw any exception, which simulates a cache miss
+	 * in case of error.
+	 * @since 5.2
+	 * @see Cache#retrieve(Object)
+	 */
+	protected CompletableFuture<Cache.ValueWrapper> doRetrieve(Cache cache, Object key) {
+		CompletableFuture<Cache.ValueWrapper> result;
+		try {
+			result = cache.retrieve(key);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return CompletableFuture.completedFuture(null);
+		}
+		return result.handle((wrapper, ex) -> {
+			if (ex != null) {
+				getErrorHandler().handleCacheGetError(asRuntimeException(ex), cache, key);
+				return null;  // If the exception is handled, return a cache miss
+			}
+			return wrapper;
+		});
+	}
+
+	/**
+	 * Execute {@link Cache#retrieve(Object, Supplier)} on the specified
+	 * {@link Cache} and invoke the error handler if the cache fails, be it on
+	 * invocation or on completion of the returned future. If the handler does
+	 * not throw any exception, the value is obtained from the value loader
+	 * directly, which simulates a cache miss in case of error. A failure of
+	 * the value loader itself is passed on as is.
+	 * @since 5.2
+	 * @see Cache#retrieve(Object, Supplier)
+	 */
+	protected <T> CompletableFuture<T> doRetrieve(Cache cache, Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		AtomicReference<CompletableFuture<T>> loaded = new AtomicReference<>();
+		Supplier<CompletableFuture<T>> loader = () -> {
+			CompletableFuture<T> value = valueLoader.get();
+			loaded.set(value);
+			return value;
+		};
+		CompletableFuture<T> result;
+		try {
+			result = cache.retrieve(key, loader);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return valueLoader.get();
+		}
+		return result.handle((value, ex) -> {
+			if (ex == null) {
+				return CompletableFuture.completedFuture(value);
+			}
+			CompletableFuture<T> loadedValue = loaded.get();
+			if (loadedValue != null && loadedValue.isCompletedExceptionally()) {
+				return loadedValue;
+			}
+			getErrorHandler().handleCacheGetError(asRuntimeException(ex), cache, key);
+			return (loadedValue != null ? loadedValue : valueLoader.get());
+		}).thenCompose(Function.identity());
+	}
+
+	/**
+	 * Execute {@link Cache#store(Object, Object)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs, be it on invocation
+	 * or on completion of the returned future.
+	 * @since 5.2
+	 * @see Cache#store(Object, Object)
+	 */
+	protected CompletableFuture<Void> doStore(Cache cache, Object key, @Nullable Object result) {
+		CompletableFuture<Void> store;
+		try {
+			store = cache.store(key, result);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCachePutError(ex, cache, key, result);
+			return CompletableFuture.completedFuture(null);
+		}
+		return store.handle((ignored, ex) -> {
+			if (ex != null) {
+				getErrorHandler().handleCachePutError(asRuntimeException(ex), cache, key, result);
+			}
+			return null;
+		});
+	}
+
 	/**
 	 * Execute {@link Cache#evict(Object)}/{@link Cache#evictIfPresent(Object)} on the
 	 * specified {@link Cache} and invoke the error handler if an exception occurs.
@@ -127,4 +222,12 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	private static RuntimeException asRuntimeException(Throwable ex) {
+		Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		throw new CompletionException(cause);
+	}
+
 }
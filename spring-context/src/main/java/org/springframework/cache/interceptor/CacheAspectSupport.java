@@ -21,15 +21,26 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -44,6 +55,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -69,6 +83,15 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>Concurrent misses for the same cache entries may optionally be coalesced
+ * into a single invocation of the underlying method, see
+ * {@link #setCoalesceCacheMisses}.
+ *
+ * <p>Methods returning a {@link CompletableFuture}, a {@link CompletionStage}
+ * or a reactive type supported by the {@link ReactiveAdapterRegistry} may
+ * optionally have their resolved value cached rather than the returned instance,
+ * see {@link #setCacheAsyncResults}.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -83,12 +106,37 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	/**
+	 * System property that instructs Spring's caching infrastructure to cache
+	 * the resolved values of asynchronous and reactive methods by default,
+	 * i.e. to switch on {@link #setCacheAsyncResults} for all cache aspects.
+	 * <p>The default is "false", caching the returned instances as they are.
+	 * @since 5.2
+	 */
+	public static final String CACHE_ASYNC_RESULTS_PROPERTY_NAME = "spring.cache.async-results";
+
+	/**
+	 * Default time in milliseconds to wait for a concurrent invocation
+	 * when {@link #setCoalesceCacheMisses coalescing cache misses}.
+	 * @since 5.2
+	 */
+	public static final long DEFAULT_COALESCE_TIMEOUT = 30000;
+
+	private static final Object COALESCE_TIMED_OUT = new Object();
+
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
+	private final Map<List<Object>, InFlightInvocation> inFlightInvocations = new ConcurrentHashMap<>(64);
+
+	private final LongAdder coalescedInvocationCount = new LongAdder();
+
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
 
@@ -100,6 +148,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceCacheMisses = false;
+
+	private long coalesceTimeout = DEFAULT_COALESCE_TIMEOUT;
+
+	private boolean cacheAsyncResults = SpringProperties.getFlag(CACHE_ASYNC_RESULTS_PROPERTY_NAME);
+
 	private boolean initialized = false;
 
 
@@ -194,6 +248,96 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set whether concurrent invocations that miss the same {@code @Cacheable}
+	 * entries should be coalesced into a single invocation of the underlying
+	 * method, with all callers receiving its result (or exception).
+	 * <p>Default is "false". In contrast to {@code @Cacheable(sync=true)}, this
+	 * does not rely on {@link Cache#get(Object, java.util.concurrent.Callable)}
+	 * and therefore works with any cache provider, with several
+	 * {@code @Cacheable} operations per method and in combination with
+	 * {@code @CacheEvict}. Methods with an applicable {@code @CachePut} are
+	 * always invoked.
+	 * <p>If the method returns a {@link CompletionStage}, callers are coalesced
+	 * until that stage completes. Other asynchronous return values, such as a
+	 * Reactor {@code Mono}, are shared like any other cached value, unless
+	 * {@link #setCacheAsyncResults asynchronous results are cached}, in which
+	 * case callers share the resolved value.
+	 * <p>A re-entrant call for the same cache entries from the invoking thread
+	 * invokes the method directly, as does a caller that does not see the
+	 * concurrent invocation complete within the {@link #setCoalesceTimeout timeout}.
+	 * @since 5.2
+	 * @see #getCoalescedInvocationCount()
+	 */
+	public void setCoalesceCacheMisses(boolean coalesceCacheMisses) {
+		this.coalesceCacheMisses = coalesceCacheMisses;
+	}
+
+	/**
+	 * Return whether concurrent cache misses are coalesced into a single invocation.
+	 * @since 5.2
+	 */
+	public boolean isCoalesceCacheMisses() {
+		return this.coalesceCacheMisses;
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for a concurrent invocation when
+	 * {@link #setCoalesceCacheMisses coalescing cache misses}, after which
+	 * the method is invoked directly.
+	 * <p>Default is {@link #DEFAULT_COALESCE_TIMEOUT} (30 seconds).
+	 * @since 5.2
+	 */
+	public void setCoalesceTimeout(long coalesceTimeout) {
+		Assert.isTrue(coalesceTimeout > 0, "Coalesce timeout must be greater than 0");
+		this.coalesceTimeout = coalesceTimeout;
+	}
+
+	/**
+	 * Return the time in milliseconds to wait for a concurrent invocation.
+	 * @since 5.2
+	 */
+	public long getCoalesceTimeout() {
+		return this.coalesceTimeout;
+	}
+
+	/**
+	 * Set whether methods returning a {@link CompletableFuture}, a
+	 * {@link CompletionStage} or a reactive type supported by the
+	 * {@link ReactiveAdapterRegistry} should have their resolved value cached
+	 * rather than the returned instance, using the non-blocking
+	 * {@link Cache#retrieve(Object)} and {@link Cache#store(Object, Object)}
+	 * variants. Reactive operations are deferred until subscription, and a
+	 * {@code Flux} or any other multi-value type is cached as a {@code List}.
+	 * <p>Default is "false", caching the returned instances as they are, unless
+	 * the {@link #CACHE_ASYNC_RESULTS_PROPERTY_NAME} system property is set to
+	 * "true". Note that a change of this setting changes the type of the values
+	 * in the caches of such methods.
+	 * @since 5.2
+	 */
+	public void setCacheAsyncResults(boolean cacheAsyncResults) {
+		this.cacheAsyncResults = cacheAsyncResults;
+	}
+
+	/**
+	 * Return whether the resolved values of asynchronous and reactive methods
+	 * are cached rather than the returned instances.
+	 * @since 5.2
+	 */
+	public boolean isCacheAsyncResults() {
+		return this.cacheAsyncResults;
+	}
+
+	/**
+	 * Return the number of invocations that have been avoided so far by
+	 * waiting for the result of a concurrent invocation instead.
+	 * @since 5.2
+	 * @see #setCoalesceCacheMisses
+	 */
+	public long getCoalescedInvocationCount() {
+		return this.coalescedInvocationCount.sum();
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -371,6 +515,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		// Special handling of asynchronous return types
+		AsyncResultAdapter asyncResultAdapter = contexts.getAsyncResultAdapter();
+		if (asyncResultAdapter != null && this.cacheAsyncResults) {
+			return executeAsync(invoker, contexts, asyncResultAdapter);
+		}
+
 		// Special handling of synchronized invocation
 		if (contexts.isSynchronized()) {
 			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
@@ -415,12 +565,24 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = cacheHit.get();
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
+		else if (cacheHit == null && this.coalesceCacheMisses &&
+				!cachePutRequests.isEmpty() && !hasCachePut(contexts)) {
+			// Share a single invocation between concurrent misses
+			return invokeCoalesced(invoker, contexts, cachePutRequests);
+		}
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
+		processPutsAndLateEvicts(contexts, cacheValue, cachePutRequests);
+		return returnValue;
+	}
+
+	private void processPutsAndLateEvicts(CacheOperationContexts contexts, @Nullable Object cacheValue,
+			List<CachePutRequest> cachePutRequests) {
+
 		// Collect any explicit @CachePuts
 		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
 
@@ -431,8 +593,212 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		// Process any late evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+	}
 
-		return returnValue;
+	/**
+	 * Invoke the underlying method for a {@code @Cacheable} miss unless an
+	 * invocation for the same cache entries is already in progress, in which
+	 * case its outcome is awaited and shared.
+	 */
+	@Nullable
+	private Object invokeCoalesced(CacheOperationInvoker invoker, CacheOperationContexts contexts,
+			List<CachePutRequest> cachePutRequests) {
+
+		List<Object> missKey = getMissKey(cachePutRequests);
+		InFlightInvocation invocation = new InFlightInvocation();
+		InFlightInvocation existing = this.inFlightInvocations.putIfAbsent(missKey, invocation);
+		if (existing != null) {
+			if (existing.thread != Thread.currentThread()) {
+				this.coalescedInvocationCount.increment();
+				if (logger.isTraceEnabled()) {
+					logger.trace("Awaiting concurrent invocation for cache miss on " + missKey);
+				}
+				// The cache entries are stored by the invoking thread
+				Object returnValue = awaitInvocation(existing);
+				if (returnValue != COALESCE_TIMED_OUT) {
+					processCacheEvicts(contexts.get(CacheEvictOperation.class), false, unwrapReturnValue(returnValue));
+					return returnValue;
+				}
+				this.coalescedInvocationCount.decrement();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Timed out awaiting concurrent invocation for cache miss on " + missKey);
+				}
+			}
+			// Re-entrant call from the invoking thread or timed out: invoke directly
+			Object returnValue = invokeOperation(invoker);
+			processPutsAndLateEvicts(contexts, unwrapReturnValue(returnValue), cachePutRequests);
+			return returnValue;
+		}
+
+		boolean pending = false;
+		try {
+			Object returnValue = invokeOperation(invoker);
+			processPutsAndLateEvicts(contexts, unwrapReturnValue(returnValue), cachePutRequests);
+			invocation.complete(returnValue);
+			if (returnValue instanceof CompletionStage) {
+				pending = true;
+				((CompletionStage<?>) returnValue).whenComplete((result, ex) ->
+						this.inFlightInvocations.remove(missKey, invocation));
+			}
+			return returnValue;
+		}
+		catch (RuntimeException | Error ex) {
+			invocation.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			invocation.thread = null;
+			if (!pending) {
+				this.inFlightInvocations.remove(missKey, invocation);
+			}
+		}
+	}
+
+	private List<Object> getMissKey(List<CachePutRequest> cachePutRequests) {
+		List<Object> missKey = new ArrayList<>(cachePutRequests.size() * 3);
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			missKey.add(cachePutRequest.context.metadata.methodKey);
+			missKey.add(cachePutRequest.context.getCaches());
+			missKey.add(cachePutRequest.key);
+		}
+		return missKey;
+	}
+
+	@Nullable
+	private Object awaitInvocation(CompletableFuture<Object> invocation) {
+		try {
+			return invocation.get(this.coalesceTimeout, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException ex) {
+			return COALESCE_TIMED_OUT;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return COALESCE_TIMED_OUT;
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CompletionException(cause);
+		}
+	}
+
+	/**
+	 * Execute the cache operations for a method with an asynchronous return type,
+	 * resolving the returned future or publisher and caching its value.
+	 */
+	private Object executeAsync(CacheOperationInvoker invoker, CacheOperationContexts contexts,
+			AsyncResultAdapter asyncResultAdapter) {
+
+		if (contexts.isSynchronized()) {
+			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+				Cache cache = context.getCaches().iterator().next();
+				return asyncResultAdapter.fromFuture(() ->
+						doRetrieve(cache, key, () -> invokeAsync(invoker, asyncResultAdapter)));
+			}
+			else {
+				// No caching required, only call the underlying method
+				return invokeOperation(invoker);
+			}
+		}
+
+		return asyncResultAdapter.fromFuture(() -> {
+			// Process any early evictions
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
+					CacheOperationExpressionEvaluator.NO_RESULT);
+
+			// Collect the @Cacheable entries to look up, to be populated on a miss
+			List<CachePutRequest> cacheableRequests = new LinkedList<>();
+			collectPutRequests(contexts.get(CacheableOperation.class),
+					CacheOperationExpressionEvaluator.NO_RESULT, cacheableRequests);
+			boolean hasCachePut = hasCachePut(contexts);
+
+			return findCachedItemAsync(cacheableRequests.iterator()).thenCompose(cacheHit -> {
+				if (cacheHit != null && !hasCachePut) {
+					// If there are no put requests, just use the cache hit
+					return CompletableFuture.completedFuture(cacheHit.get());
+				}
+				if (cacheHit == null && this.coalesceCacheMisses && !cacheableRequests.isEmpty() && !hasCachePut) {
+					return invokeCoalescedAsync(invoker, contexts, asyncResultAdapter, cacheableRequests);
+				}
+				List<CachePutRequest> cachePutRequests = (cacheHit == null ? cacheableRequests : new LinkedList<>());
+				return invokeAsync(invoker, asyncResultAdapter).thenCompose(cacheValue ->
+						processPutsAndLateEvictsAsync(contexts, cacheValue, cachePutRequests));
+			});
+		});
+	}
+
+	private CompletableFuture<Object> invokeAsync(CacheOperationInvoker invoker, AsyncResultAdapter asyncResultAdapter) {
+		Object returnValue;
+		try {
+			returnValue = invokeOperation(invoker);
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper ex) {
+			CompletableFuture<Object> failed = new CompletableFuture<>();
+			failed.completeExceptionally(ex.getOriginal());
+			return failed;
+		}
+		return (returnValue != null ? asyncResultAdapter.toFuture(returnValue) :
+				CompletableFuture.completedFuture(null));
+	}
+
+	private CompletableFuture<Object> invokeCoalescedAsync(CacheOperationInvoker invoker,
+			CacheOperationContexts contexts, AsyncResultAdapter asyncResultAdapter,
+			List<CachePutRequest> cachePutRequests) {
+
+		List<Object> missKey = getMissKey(cachePutRequests);
+		InFlightInvocation invocation = new InFlightInvocation();
+		CompletableFuture<Object> existing = this.inFlightInvocations.putIfAbsent(missKey, invocation);
+		if (existing != null) {
+			this.coalescedInvocationCount.increment();
+			if (logger.isTraceEnabled()) {
+				logger.trace("Awaiting concurrent invocation for cache miss on " + missKey);
+			}
+			return existing.thenApply(cacheValue -> {
+				processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+				return cacheValue;
+			});
+		}
+
+		invokeAsync(invoker, asyncResultAdapter)
+				.thenCompose(cacheValue -> processPutsAndLateEvictsAsync(contexts, cacheValue, cachePutRequests))
+				.whenComplete((cacheValue, ex) -> {
+					this.inFlightInvocations.remove(missKey, invocation);
+					if (ex != null) {
+						invocation.completeExceptionally(ex);
+					}
+					else {
+						invocation.complete(cacheValue);
+					}
+				});
+		return invocation;
+	}
+
+	private CompletableFuture<Object> processPutsAndLateEvictsAsync(CacheOperationContexts contexts,
+			@Nullable Object cacheValue, List<CachePutRequest> cachePutRequests) {
+
+		// Collect any explicit @CachePuts
+		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+
+		// Process any collected put requests, either from @CachePut or a @Cacheable miss
+		CompletableFuture<?>[] stores = new CompletableFuture<?>[cachePutRequests.size()];
+		int index = 0;
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			stores[index++] = cachePutRequest.applyAsync(cacheValue);
+		}
+
+		// Process any late evictions once the values have been stored
+		return CompletableFuture.allOf(stores).thenApply(ignored -> {
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+			return cacheValue;
+		});
 	}
 
 	@Nullable
@@ -530,6 +896,35 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	/**
+	 * Find a cached item for the given {@link CacheableOperation} requests,
+	 * looking up their caches in turn without blocking.
+	 * @param requests the keys and contexts of the cacheable operations
+	 * @return a future completing with the {@link Cache.ValueWrapper} holding
+	 * the cached item, or with {@code null} if none is found
+	 */
+	private CompletableFuture<Cache.ValueWrapper> findCachedItemAsync(Iterator<CachePutRequest> requests) {
+		if (!requests.hasNext()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		CachePutRequest request = requests.next();
+		CompletableFuture<Cache.ValueWrapper> result = CompletableFuture.completedFuture(null);
+		for (Cache cache : request.context.getCaches()) {
+			result = result.thenCompose(cached -> (cached != null ?
+					CompletableFuture.completedFuture(cached) : doRetrieve(cache, request.key)));
+		}
+		return result.thenCompose(cached -> {
+			if (cached != null) {
+				return CompletableFuture.completedFuture(cached);
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("No cache entry for key '" + request.key + "' in cache(s) " +
+						request.context.getCacheNames());
+			}
+			return findCachedItemAsync(requests);
+		});
+	}
+
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
 	 * the specified result item.
@@ -590,14 +985,21 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		@Nullable
+		private final AsyncResultAdapter asyncResultAdapter;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
 			this.contexts = new LinkedMultiValueMap<>(operations.size());
+			AsyncResultAdapter asyncResultAdapter = null;
 			for (CacheOperation op : operations) {
-				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
+				CacheOperationContext context = getOperationContext(op, method, args, target, targetClass);
+				this.contexts.add(op.getClass(), context);
+				asyncResultAdapter = context.metadata.asyncResultAdapter;
 			}
 			this.sync = determineSyncFlag(method);
+			this.asyncResultAdapter = asyncResultAdapter;
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -609,6 +1011,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		@Nullable
+		public AsyncResultAdapter getAsyncResultAdapter() {
+			return this.asyncResultAdapter;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -667,6 +1074,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		@Nullable
+		private final AsyncResultAdapter asyncResultAdapter;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -678,6 +1088,18 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			this.asyncResultAdapter = determineAsyncResultAdapter(this.method.getReturnType());
+		}
+
+		@Nullable
+		private static AsyncResultAdapter determineAsyncResultAdapter(Class<?> returnType) {
+			if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+				return CompletableFutureResultAdapter.INSTANCE;
+			}
+			if (reactorPresent) {
+				return ReactiveResultAdapter.forType(returnType);
+			}
+			return null;
 		}
 	}
 
@@ -821,6 +1243,108 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				}
 			}
 		}
+
+		public CompletableFuture<Void> applyAsync(@Nullable Object result) {
+			if (!this.context.canPutToCache(result)) {
+				return CompletableFuture.completedFuture(null);
+			}
+			List<CompletableFuture<Void>> stores = new ArrayList<>(this.context.getCaches().size());
+			for (Cache cache : this.context.getCaches()) {
+				stores.add(doStore(cache, this.key, result));
+			}
+			return CompletableFuture.allOf(stores.toArray(new CompletableFuture<?>[0]));
+		}
+	}
+
+
+	/**
+	 * Outcome of an invocation for a cache miss, recording the invoking thread
+	 * while the method runs in order to detect re-entrant calls for the same
+	 * cache entries.
+	 */
+	private static final class InFlightInvocation extends CompletableFuture<Object> {
+
+		@Nullable
+		volatile Thread thread = Thread.currentThread();
+	}
+
+
+	/**
+	 * Strategy for a method with an asynchronous return type, converting between
+	 * the returned instance and a {@link CompletableFuture} of the value to cache.
+	 */
+	private interface AsyncResultAdapter {
+
+		/**
+		 * Resolve the value returned by the method into the value to cache.
+		 */
+		CompletableFuture<Object> toFuture(Object returnValue);
+
+		/**
+		 * Adapt the given execution of the cache operations to the return type.
+		 */
+		Object fromFuture(Supplier<CompletableFuture<Object>> execution);
+	}
+
+
+	/**
+	 * {@link AsyncResultAdapter} for {@link CompletableFuture} and
+	 * {@link CompletionStage} return types.
+	 */
+	private static class CompletableFutureResultAdapter implements AsyncResultAdapter {
+
+		static final CompletableFutureResultAdapter INSTANCE = new CompletableFutureResultAdapter();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public CompletableFuture<Object> toFuture(Object returnValue) {
+			return ((CompletionStage<Object>) returnValue).toCompletableFuture();
+		}
+
+		@Override
+		public Object fromFuture(Supplier<CompletableFuture<Object>> execution) {
+			return execution.get();
+		}
+	}
+
+
+	/**
+	 * {@link AsyncResultAdapter} for reactive return types, deferring the cache
+	 * operations until subscription. Inner class to avoid a hard dependency on
+	 * Project Reactor at runtime.
+	 */
+	private static final class ReactiveResultAdapter implements AsyncResultAdapter {
+
+		private final ReactiveAdapter adapter;
+
+		private ReactiveResultAdapter(ReactiveAdapter adapter) {
+			this.adapter = adapter;
+		}
+
+		@Nullable
+		static AsyncResultAdapter forType(Class<?> returnType) {
+			ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(returnType);
+			return (adapter != null && !adapter.isNoValue() ? new ReactiveResultAdapter(adapter) : null);
+		}
+
+		@Override
+		public CompletableFuture<Object> toFuture(Object returnValue) {
+			Publisher<?> publisher = this.adapter.toPublisher(returnValue);
+			if (this.adapter.isMultiValue()) {
+				return Flux.<Object>from(publisher).collectList().<Object>map(list -> list).toFuture();
+			}
+			return Mono.<Object>from(publisher).toFuture();
+		}
+
+		@Override
+		public Object fromFuture(Supplier<CompletableFuture<Object>> execution) {
+			Mono<Object> result = Mono.defer(() -> Mono.fromFuture(execution.get()));
+			if (this.adapter.isMultiValue()) {
+				return this.adapter.fromPublisher(
+						result.<Object>flatMapMany(value -> Flux.fromIterable((Iterable<?>) value)));
+			}
+			return this.adapter.fromPublisher(result);
+		}
 	}
 
 
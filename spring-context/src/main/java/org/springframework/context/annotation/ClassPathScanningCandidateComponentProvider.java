@@ -32,10 +32,14 @@ import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
 import org.springframework.beans.factory.annotation.Lookup;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.context.index.IndexedMetadataReaderFactory;
+import org.springframework.context.index.TypeMetadataIndex;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -45,6 +49,8 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
@@ -113,6 +119,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	@Nullable
+	private ApplicationStartup applicationStartup;
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -263,7 +272,11 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Override
 	public void setResourceLoader(@Nullable ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
-		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		TypeMetadataIndex typeMetadataIndex =
+				CandidateComponentsIndexLoader.loadTypeMetadataIndex(this.resourcePatternResolver.getClassLoader());
+		this.metadataReaderFactory = (typeMetadataIndex != null ?
+				new IndexedMetadataReaderFactory(typeMetadataIndex, resourceLoader) :
+				new CachingMetadataReaderFactory(resourceLoader));
 		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
@@ -284,7 +297,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	/**
 	 * Set the {@link MetadataReaderFactory} to use.
 	 * <p>Default is a {@link CachingMetadataReaderFactory} for the specified
-	 * {@linkplain #setResourceLoader resource loader}.
+	 * {@linkplain #setResourceLoader resource loader}, or an
+	 * {@link IndexedMetadataReaderFactory} if a type metadata index is available.
 	 * <p>Call this setter method <i>after</i> {@link #setResourceLoader} in order
 	 * for the given MetadataReaderFactory to override the default factory.
 	 */
@@ -302,6 +316,40 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Set the {@link ApplicationStartup} to record component scanning steps with.
+	 * <p>Default is the {@code ApplicationStartup} of the {@linkplain #getRegistry()
+	 * registry} or of the application context specified as
+	 * {@linkplain #setResourceLoader resource loader}, if any, or a no-op
+	 * {@link ApplicationStartup#DEFAULT} variant otherwise.
+	 * @since 5.2
+	 */
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	/**
+	 * Return the {@link ApplicationStartup} used by this component provider.
+	 * @since 5.2
+	 */
+	public final ApplicationStartup getApplicationStartup() {
+		if (this.applicationStartup != null) {
+			return this.applicationStartup;
+		}
+		BeanDefinitionRegistry registry = getRegistry();
+		if (registry instanceof ConfigurableBeanFactory) {
+			return ((ConfigurableBeanFactory) registry).getApplicationStartup();
+		}
+		if (registry instanceof ConfigurableApplicationContext) {
+			return ((ConfigurableApplicationContext) registry).getApplicationStartup();
+		}
+		if (this.resourcePatternResolver instanceof ConfigurableApplicationContext) {
+			return ((ConfigurableApplicationContext) this.resourcePatternResolver).getApplicationStartup();
+		}
+		return ApplicationStartup.DEFAULT;
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
@@ -309,12 +357,19 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 * @return a corresponding Set of autodetected bean definitions
 	 */
 	public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+		StartupStep componentScan = getApplicationStartup().start("spring.context.component-scan")
+				.tag("basePackage", basePackage);
+		Set<BeanDefinition> candidates;
 		if (this.componentsIndex != null && indexSupportsIncludeFilters()) {
-			return addCandidateComponentsFromIndex(this.componentsIndex, basePackage);
+			candidates = addCandidateComponentsFromIndex(this.componentsIndex, basePackage);
+			componentScan.tag("source", "index");
 		}
 		else {
-			return scanCandidateComponents(basePackage);
+			candidates = scanCandidateComponents(basePackage);
+			componentScan.tag("source", "classpath");
 		}
+		componentScan.tag("candidateCount", () -> String.valueOf(candidates.size())).end();
+		return candidates;
 	}
 
 	/**
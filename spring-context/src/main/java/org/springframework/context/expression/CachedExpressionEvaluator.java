@@ -16,7 +16,12 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
@@ -24,29 +29,59 @@ import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>Parsed expressions are held in a single bounded cache that is shared by
+ * all kinds of expressions that a subclass evaluates, evicting the least
+ * recently used expressions once the {@link #DEFAULT_CACHE_LIMIT limit} is
+ * exceeded. Method parameter names are discovered once per method and kept
+ * as {@link MethodParameterBindings}.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
  */
 public abstract class CachedExpressionEvaluator {
 
+	/**
+	 * Default maximum number of expressions held in the shared expression cache.
+	 * @since 5.2
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 4096;
+
+
 	private final SpelExpressionParser parser;
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private final ExpressionCache expressionCache;
+
+	private final Map<Method, MethodParameterBindings> parameterBindingsCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	/**
 	 * Create a new instance with the specified {@link SpelExpressionParser}.
 	 */
 	protected CachedExpressionEvaluator(SpelExpressionParser parser) {
+		this(parser, DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser}
+	 * and maximum number of expressions held in the shared expression cache.
+	 * @since 5.2
+	 * @see #getExpression(AnnotatedElementKey, String)
+	 */
+	protected CachedExpressionEvaluator(SpelExpressionParser parser, int cacheLimit) {
 		Assert.notNull(parser, "SpelExpressionParser must not be null");
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
 		this.parser = parser;
+		this.expressionCache = new ExpressionCache(cacheLimit);
 	}
 
 	/**
@@ -72,6 +107,22 @@ public abstract class CachedExpressionEvaluator {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Return the {@link MethodParameterBindings} for the specified method,
+	 * discovering its parameter names only once.
+	 * @param method the method whose arguments are to be exposed
+	 * @since 5.2
+	 * @see MethodBasedEvaluationContext#MethodBasedEvaluationContext(Object, MethodParameterBindings, Object[])
+	 */
+	protected MethodParameterBindings getParameterBindings(Method method) {
+		MethodParameterBindings bindings = this.parameterBindingsCache.get(method);
+		if (bindings == null) {
+			bindings = new MethodParameterBindings(method, this.parameterNameDiscoverer);
+			this.parameterBindingsCache.put(method, bindings);
+		}
+		return bindings;
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -92,6 +143,40 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Return the {@link Expression} for the specified SpEL value from the shared,
+	 * bounded expression cache.
+	 * <p>Parse the expression if it hasn't been already or has been evicted since.
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @since 5.2
+	 */
+	protected Expression getExpression(AnnotatedElementKey elementKey, String expression) {
+		ExpressionKey expressionKey = createKey(elementKey, expression);
+		Expression expr = this.expressionCache.get(expressionKey);
+		if (expr == null) {
+			expr = getParser().parseExpression(expression);
+			this.expressionCache.put(expressionKey, expr);
+		}
+		return expr;
+	}
+
+	/**
+	 * Clear the shared expression cache.
+	 * @since 5.2
+	 */
+	protected void clearExpressionCache() {
+		this.expressionCache.clear();
+	}
+
+	/**
+	 * Return the number of expressions currently held in the shared expression cache.
+	 * @since 5.2
+	 */
+	protected int getExpressionCacheSize() {
+		return this.expressionCache.size();
+	}
+
 	private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
 		return new ExpressionKey(elementKey, expression);
 	}
@@ -146,4 +231,99 @@ public abstract class CachedExpressionEvaluator {
 		}
 	}
 
+
+
+	/**
+	 * Bounded cache of parsed expressions, evicting the least recently used
+	 * quarter of its entries once the limit is exceeded. Recency is tracked
+	 * with a logical clock that only advances on insertion, so that repeated
+	 * hits do not write to shared state.
+	 */
+	private static final class ExpressionCache {
+
+		private final ConcurrentHashMap<ExpressionKey, Entry> entries = new ConcurrentHashMap<>(256);
+
+		// Logical time of access, advanced on insertion only
+		private final AtomicLong clock = new AtomicLong();
+
+		private final int limit;
+
+		ExpressionCache(int limit) {
+			this.limit = limit;
+		}
+
+		@Nullable
+		Expression get(ExpressionKey key) {
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			// Write only if there was an insertion since the last recorded access
+			long now = this.clock.get();
+			if (entry.lastAccess != now) {
+				entry.lastAccess = now;
+			}
+			return entry.expression;
+		}
+
+		void put(ExpressionKey key, Expression expression) {
+			this.entries.put(key, new Entry(expression, this.clock.incrementAndGet()));
+			if (this.entries.size() > this.limit) {
+				evict();
+			}
+		}
+
+		private synchronized void evict() {
+			if (this.entries.size() <= this.limit) {
+				// Evicted concurrently already
+				return;
+			}
+			long[] accessTimes = new long[this.entries.size()];
+			int count = 0;
+			for (Entry entry : this.entries.values()) {
+				if (count == accessTimes.length) {
+					break;
+				}
+				accessTimes[count++] = entry.lastAccess;
+			}
+			int evictCount = count - (this.limit - this.limit / 4);
+			if (evictCount <= 0) {
+				return;
+			}
+			Arrays.sort(accessTimes, 0, count);
+			long threshold = accessTimes[evictCount - 1];
+			int thresholdCount = 0;
+			for (int i = evictCount - 1; i >= 0 && accessTimes[i] == threshold; i--) {
+				thresholdCount++;
+			}
+			for (Iterator<Entry> it = this.entries.values().iterator(); it.hasNext();) {
+				long lastAccess = it.next().lastAccess;
+				if (lastAccess < threshold || (lastAccess == threshold && thresholdCount-- > 0)) {
+					it.remove();
+				}
+			}
+		}
+
+		void clear() {
+			this.entries.clear();
+		}
+
+		int size() {
+			return this.entries.size();
+		}
+
+
+		private static final class Entry {
+
+			final Expression expression;
+
+			volatile long lastAccess;
+
+			Entry(Expression expression, long lastAccess) {
+				this.expression = expression;
+				this.lastAccess = lastAccess;
+			}
+		}
+	}
+
 }
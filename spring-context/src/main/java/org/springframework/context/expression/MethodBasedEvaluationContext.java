@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -45,8 +46,12 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	private final Object[] arguments;
 
+	@Nullable
 	private final ParameterNameDiscoverer parameterNameDiscoverer;
 
+	@Nullable
+	private final MethodParameterBindings parameterBindings;
+
 	private boolean argumentsLoaded = false;
 
 
@@ -57,6 +62,27 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		this.method = method;
 		this.arguments = arguments;
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.parameterBindings = null;
+	}
+
+	/**
+	 * Create a new context resolving method arguments through the given
+	 * precomputed bindings, without discovering parameter names again.
+	 * @param rootObject the root object
+	 * @param parameterBindings the bindings for the invoked method
+	 * @param arguments the method arguments
+	 * @since 5.2
+	 * @see CachedExpressionEvaluator#getParameterBindings(Method)
+	 */
+	public MethodBasedEvaluationContext(Object rootObject, MethodParameterBindings parameterBindings,
+			Object[] arguments) {
+
+		super(rootObject);
+		Assert.notNull(parameterBindings, "MethodParameterBindings must not be null");
+		this.method = parameterBindings.getMethod();
+		this.arguments = arguments;
+		this.parameterNameDiscoverer = null;
+		this.parameterBindings = parameterBindings;
 	}
 
 
@@ -67,6 +93,9 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 		if (variable != null) {
 			return variable;
 		}
+		if (this.parameterBindings != null) {
+			return this.parameterBindings.resolveArgument(name, this.arguments);
+		}
 		if (!this.argumentsLoaded) {
 			lazyLoadArguments();
 			this.argumentsLoaded = true;
@@ -77,10 +106,12 @@ public class MethodBasedEvaluationContext extends StandardEvaluationContext {
 
 	/**
 	 * Load the param information only when needed.
+	 * <p>Not called if this context has been created with
+	 * {@link MethodParameterBindings}, which resolve arguments directly.
 	 */
 	protected void lazyLoadArguments() {
 		// Shortcut if no args need to be loaded
-		if (ObjectUtils.isEmpty(this.arguments)) {
+		if (ObjectUtils.isEmpty(this.arguments) || this.parameterNameDiscoverer == null) {
 			return;
 		}
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Precomputed mapping of the variable names under which the arguments of a
+ * method are exposed by a {@link MethodBasedEvaluationContext} to the index
+ * of the corresponding parameter: {@code aX} and {@code pX} where X is the
+ * index of the parameter, as well as the parameter name if discoverable.
+ *
+ * <p>Parameter names are discovered once, on construction, so that an
+ * instance can be reused for every invocation of the same method.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CachedExpressionEvaluator#getParameterBindings(Method)
+ */
+public final class MethodParameterBindings {
+
+	private final Method method;
+
+	private final int parameterCount;
+
+	private final Map<String, Integer> parameterIndexes;
+
+
+	/**
+	 * Create the bindings for the given method.
+	 * @param method the method whose arguments are to be exposed
+	 * @param parameterNameDiscoverer the discoverer to use for parameter names
+	 */
+	public MethodParameterBindings(Method method, ParameterNameDiscoverer parameterNameDiscoverer) {
+		Assert.notNull(method, "Method must not be null");
+		Assert.notNull(parameterNameDiscoverer, "ParameterNameDiscoverer must not be null");
+		this.method = method;
+		String[] paramNames = parameterNameDiscoverer.getParameterNames(method);
+		this.parameterCount = (paramNames != null ? paramNames.length : method.getParameterCount());
+		this.parameterIndexes = new HashMap<>(this.parameterCount * 4);
+		for (int i = 0; i < this.parameterCount; i++) {
+			this.parameterIndexes.put("a" + i, i);
+			this.parameterIndexes.put("p" + i, i);
+			if (paramNames != null && paramNames[i] != null) {
+				this.parameterIndexes.put(paramNames[i], i);
+			}
+		}
+	}
+
+
+	/**
+	 * Return the method that these bindings apply to.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Resolve the value of the given variable from the given method arguments.
+	 * <p>If more arguments than parameters are given, the remaining arguments
+	 * are exposed as vararg array for the last parameter.
+	 * @param name the name of the variable
+	 * @param arguments the method arguments
+	 * @return the value of the variable, or {@code null} if the variable does
+	 * not denote a parameter or no argument has been given for it
+	 */
+	@Nullable
+	public Object resolveArgument(String name, @Nullable Object[] arguments) {
+		Integer index = this.parameterIndexes.get(name);
+		if (index == null || arguments == null) {
+			return null;
+		}
+		int i = index;
+		int argsCount = arguments.length;
+		if (argsCount > this.parameterCount && i == this.parameterCount - 1) {
+			// Expose remaining arguments as vararg array for last parameter
+			return Arrays.copyOfRange(arguments, i, argsCount);
+		}
+		// Actual argument found - otherwise left as null
+		return (argsCount > i ? arguments[i] : null);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,9 +47,17 @@ public final class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the class-level metadata of indexed types.
+	 * <p>Can be present in multiple JAR files.
+	 * @since 5.2
+	 */
+	public static final String TYPE_METADATA_RESOURCE_LOCATION = "META-INF/spring.type-metadata";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
-	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
+	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}
+	 * and {@link #loadTypeMetadataIndex(ClassLoader)}.
 	 * <p>The default is "false", allowing for regular use of the index. Switching this
 	 * flag to {@code true} fulfills a corner case scenario when an index is partially
 	 * available for some libraries (or use cases) but couldn't be built for the whole
@@ -66,6 +74,9 @@ public final class CandidateComponentsIndexLoader {
 	private static final ConcurrentMap<ClassLoader, CandidateComponentsIndex> cache =
 			new ConcurrentReferenceHashMap<>();
 
+	private static final ConcurrentMap<ClassLoader, TypeMetadataIndex> typeMetadataCache =
+			new ConcurrentReferenceHashMap<>();
+
 
 	private CandidateComponentsIndexLoader() {
 	}
@@ -89,14 +100,44 @@ public final class CandidateComponentsIndexLoader {
 		return cache.computeIfAbsent(classLoaderToUse, CandidateComponentsIndexLoader::doLoadIndex);
 	}
 
+	/**
+	 * Load and instantiate the {@link TypeMetadataIndex} from
+	 * {@value #TYPE_METADATA_RESOURCE_LOCATION}, using the given class loader. If no
+	 * index is available, return {@code null}.
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
+	 * @return the index to use or {@code null} if no index was found
+	 * @throws IllegalArgumentException if any module index cannot be loaded
+	 * @since 5.2
+	 */
+	@Nullable
+	public static TypeMetadataIndex loadTypeMetadataIndex(@Nullable ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = classLoader;
+		if (classLoaderToUse == null) {
+			classLoaderToUse = CandidateComponentsIndexLoader.class.getClassLoader();
+		}
+		return typeMetadataCache.computeIfAbsent(classLoaderToUse, CandidateComponentsIndexLoader::doLoadTypeMetadataIndex);
+	}
+
 	@Nullable
 	private static CandidateComponentsIndex doLoadIndex(ClassLoader classLoader) {
+		List<Properties> result = loadProperties(classLoader, COMPONENTS_RESOURCE_LOCATION);
+		return (result != null ? new CandidateComponentsIndex(result) : null);
+	}
+
+	@Nullable
+	private static TypeMetadataIndex doLoadTypeMetadataIndex(ClassLoader classLoader) {
+		List<Properties> result = loadProperties(classLoader, TYPE_METADATA_RESOURCE_LOCATION);
+		return (result != null ? new TypeMetadataIndex(result) : null);
+	}
+
+	@Nullable
+	private static List<Properties> loadProperties(ClassLoader classLoader, String resourceLocation) {
 		if (shouldIgnoreIndex) {
 			return null;
 		}
 
 		try {
-			Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+			Enumeration<URL> urls = classLoader.getResources(resourceLocation);
 			if (!urls.hasMoreElements()) {
 				return null;
 			}
@@ -107,14 +148,14 @@ public final class CandidateComponentsIndexLoader {
 				result.add(properties);
 			}
 			if (logger.isDebugEnabled()) {
-				logger.debug("Loaded " + result.size() + "] index(es)");
+				logger.debug("Loaded " + result.size() + "] index(es) from [" + resourceLocation + "]");
 			}
 			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			return (totalCount > 0 ? result : null);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
-					COMPONENTS_RESOURCE_LOCATION + "]", ex);
+					resourceLocation + "]", ex);
 		}
 	}
 
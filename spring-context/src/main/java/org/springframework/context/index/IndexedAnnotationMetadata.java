@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link AnnotationMetadata} created from a {@link TypeMetadataIndex} entry.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+final class IndexedAnnotationMetadata implements AnnotationMetadata {
+
+	private final String className;
+
+	private final Set<String> flags;
+
+	@Nullable
+	private final String enclosingClassName;
+
+	@Nullable
+	private final String superClassName;
+
+	private final String[] interfaceNames;
+
+	private final String[] memberClassNames;
+
+	private final Set<String> methodAnnotationTypes;
+
+	private final MergedAnnotations annotations;
+
+	private final Supplier<AnnotationMetadata> fallback;
+
+	@Nullable
+	private Set<String> annotationTypes;
+
+
+	IndexedAnnotationMetadata(String className, Set<String> flags, @Nullable String enclosingClassName,
+			@Nullable String superClassName, String[] interfaceNames, String[] memberClassNames,
+			Set<String> methodAnnotationTypes, MergedAnnotations annotations, Supplier<AnnotationMetadata> fallback) {
+
+		this.className = className;
+		this.flags = flags;
+		this.enclosingClassName = enclosingClassName;
+		this.superClassName = superClassName;
+		this.interfaceNames = interfaceNames;
+		this.memberClassNames = memberClassNames;
+		this.methodAnnotationTypes = methodAnnotationTypes;
+		this.annotations = annotations;
+		this.fallback = fallback;
+	}
+
+
+	@Override
+	public String getClassName() {
+		return this.className;
+	}
+
+	@Override
+	public boolean isInterface() {
+		return this.flags.contains("interface");
+	}
+
+	@Override
+	public boolean isAnnotation() {
+		return this.flags.contains("annotation");
+	}
+
+	@Override
+	public boolean isAbstract() {
+		return this.flags.contains("abstract");
+	}
+
+	@Override
+	public boolean isFinal() {
+		return this.flags.contains("final");
+	}
+
+	@Override
+	public boolean isIndependent() {
+		return this.flags.contains("independent");
+	}
+
+	@Override
+	@Nullable
+	public String getEnclosingClassName() {
+		return this.enclosingClassName;
+	}
+
+	@Override
+	@Nullable
+	public String getSuperClassName() {
+		return this.superClassName;
+	}
+
+	@Override
+	public String[] getInterfaceNames() {
+		return this.interfaceNames.clone();
+	}
+
+	@Override
+	public String[] getMemberClassNames() {
+		return this.memberClassNames.clone();
+	}
+
+	@Override
+	public MergedAnnotations getAnnotations() {
+		return this.annotations;
+	}
+
+	@Override
+	public Set<String> getAnnotationTypes() {
+		Set<String> annotationTypes = this.annotationTypes;
+		if (annotationTypes == null) {
+			annotationTypes = Collections.unmodifiableSet(AnnotationMetadata.super.getAnnotationTypes());
+			this.annotationTypes = annotationTypes;
+		}
+		return annotationTypes;
+	}
+
+	@Override
+	public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+		if (!this.methodAnnotationTypes.contains(annotationName)) {
+			return Collections.emptySet();
+		}
+		return this.fallback.get().getAnnotatedMethods(annotationName);
+	}
+
+	@Override
+	public String toString() {
+		return this.className;
+	}
+
+}
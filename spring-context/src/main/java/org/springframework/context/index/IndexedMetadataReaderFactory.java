@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Extension of {@link CachingMetadataReaderFactory} that serves the metadata of
+ * indexed types from a {@link TypeMetadataIndex} generated at build time, instead
+ * of parsing their class files. Method-level metadata of indexed types is read from
+ * the class file on demand, and only if the index indicates that there are methods
+ * carrying the requested annotation.
+ *
+ * <p>Requests for types that are not part of the index, as well as requests for a
+ * specific {@link Resource}, are handled by the regular class file parsing.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CandidateComponentsIndexLoader#loadTypeMetadataIndex(ClassLoader)
+ */
+public class IndexedMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private final TypeMetadataIndex index;
+
+	private final SimpleMetadataReaderFactory classFileReaderFactory;
+
+	private final Map<String, MetadataReader> indexedReaderCache = new ConcurrentHashMap<>(256);
+
+
+	/**
+	 * Create a new IndexedMetadataReaderFactory for the given {@link ResourceLoader}.
+	 * @param index the type metadata index to use
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public IndexedMetadataReaderFactory(TypeMetadataIndex index, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		this.index = index;
+		this.classFileReaderFactory = new SimpleMetadataReaderFactory(getResourceLoader());
+	}
+
+	/**
+	 * Create a new IndexedMetadataReaderFactory for the given {@link ClassLoader}.
+	 * @param index the type metadata index to use
+	 * @param classLoader the ClassLoader to use
+	 */
+	public IndexedMetadataReaderFactory(TypeMetadataIndex index, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		this.index = index;
+		this.classFileReaderFactory = new SimpleMetadataReaderFactory(getResourceLoader());
+	}
+
+
+	@Override
+	public MetadataReader getMetadataReader(String className) throws IOException {
+		MetadataReader metadataReader = this.indexedReaderCache.get(className);
+		if (metadataReader == null && this.index.hasTypeMetadata(className)) {
+			Resource resource = getResourceLoader().getResource(ResourceLoader.CLASSPATH_URL_PREFIX +
+					ClassUtils.convertClassNameToResourcePath(className) + ClassUtils.CLASS_FILE_SUFFIX);
+			AnnotationMetadata metadata = this.index.getAnnotationMetadata(
+					className, getResourceLoader().getClassLoader(), new ClassFileMetadata(resource));
+			if (metadata != null) {
+				metadataReader = new IndexedMetadataReader(resource, metadata);
+				this.indexedReaderCache.put(className, metadataReader);
+			}
+		}
+		return (metadataReader != null ? metadataReader : super.getMetadataReader(className));
+	}
+
+	@Override
+	public void clearCache() {
+		super.clearCache();
+		this.indexedReaderCache.clear();
+	}
+
+
+	/**
+	 * {@link MetadataReader} for an indexed type.
+	 */
+	private static class IndexedMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadata annotationMetadata;
+
+		IndexedMetadataReader(Resource resource, AnnotationMetadata annotationMetadata) {
+			this.resource = resource;
+			this.annotationMetadata = annotationMetadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.annotationMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.annotationMetadata;
+		}
+	}
+
+
+	/**
+	 * Lazily parsed metadata from the class file of an indexed type.
+	 */
+	private class ClassFileMetadata implements Supplier<AnnotationMetadata> {
+
+		private final Resource resource;
+
+		@Nullable
+		private volatile AnnotationMetadata metadata;
+
+		ClassFileMetadata(Resource resource) {
+			this.resource = resource;
+		}
+
+		@Override
+		public AnnotationMetadata get() {
+			AnnotationMetadata metadata = this.metadata;
+			if (metadata == null) {
+				try {
+					metadata = IndexedMetadataReaderFactory.this.classFileReaderFactory
+							.getMetadataReader(this.resource).getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Failed to read class file metadata from " + this.resource, ex);
+				}
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
+	}
+
+}
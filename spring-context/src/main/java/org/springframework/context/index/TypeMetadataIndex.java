@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.annotation.AnnotationFilter;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Provide access to the class-level metadata of the types defined in
+ * {@code META-INF/spring.type-metadata}, as generated at build time for
+ * candidate components and their related types.
+ *
+ * <p>The metadata exposed by this index corresponds to what would otherwise be
+ * read from the class files of these types through ASM: class structure and
+ * the annotations declared on the class. Method-level metadata is not part of
+ * the index: the index only knows which annotations are present on methods of a
+ * type, delegating to the regular metadata read from the class file otherwise.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CandidateComponentsIndexLoader#loadTypeMetadataIndex(ClassLoader)
+ * @see IndexedMetadataReaderFactory
+ */
+public class TypeMetadataIndex {
+
+	private static final Log logger = LogFactory.getLog(TypeMetadataIndex.class);
+
+	private final Map<String, Map<String, String>> index;
+
+
+	TypeMetadataIndex(List<Properties> content) {
+		this.index = parseIndex(content);
+	}
+
+
+	/**
+	 * Determine whether this index holds metadata for the specified type.
+	 * @param className the name of the type
+	 */
+	public boolean hasTypeMetadata(String className) {
+		return this.index.containsKey(className);
+	}
+
+	/**
+	 * Return the {@link AnnotationMetadata} for the specified type, if available.
+	 * @param className the name of the type
+	 * @param classLoader the ClassLoader to use for loading annotation types
+	 * @param fallback the metadata to use for method-level introspection that cannot
+	 * be answered by the index, typically read from the class file on demand
+	 * @return the metadata of the type, or {@code null} if the index holds no
+	 * (usable) metadata for the specified type
+	 */
+	@Nullable
+	public AnnotationMetadata getAnnotationMetadata(String className, @Nullable ClassLoader classLoader,
+			Supplier<AnnotationMetadata> fallback) {
+
+		Map<String, String> entries = this.index.get(className);
+		if (entries == null) {
+			return null;
+		}
+		try {
+			Set<String> flags = StringUtils.commaDelimitedListToSet(entries.get(""));
+			return new IndexedAnnotationMetadata(className, flags,
+					entries.get("#enclosingClass"), entries.get("#superClass"),
+					StringUtils.commaDelimitedListToStringArray(entries.get("#interfaces")),
+					StringUtils.commaDelimitedListToStringArray(entries.get("#memberClasses")),
+					StringUtils.commaDelimitedListToSet(entries.get("#methodAnnotations")),
+					getAnnotations(className, entries, classLoader), fallback);
+		}
+		catch (IllegalArgumentException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring outdated index entry for type [" + className + "]: " + ex.getMessage());
+			}
+			return null;
+		}
+	}
+
+	private MergedAnnotations getAnnotations(String className, Map<String, String> entries,
+			@Nullable ClassLoader classLoader) {
+
+		List<MergedAnnotation<?>> annotations = new ArrayList<>();
+		for (String annotationName : StringUtils.commaDelimitedListToStringArray(entries.get("#annotations"))) {
+			if (AnnotationFilter.PLAIN.matches(annotationName)) {
+				continue;
+			}
+			Class<? extends Annotation> annotationType;
+			try {
+				annotationType = ClassUtils.forName(annotationName, classLoader).asSubclass(Annotation.class);
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				continue;
+			}
+			Map<String, Object> attributes = new LinkedHashMap<>(4);
+			for (Method attribute : ReflectionUtils.getDeclaredMethods(annotationType)) {
+				String value = entries.get("@" + annotationName + "#" + attribute.getName());
+				if (value != null) {
+					attributes.put(attribute.getName(), decode(value, attribute.getReturnType()));
+				}
+			}
+			annotations.add(MergedAnnotation.of(classLoader, className, annotationType, attributes));
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	/**
+	 * Decode the given value into the representation of an attribute of the
+	 * given type as read from a class file, i.e. with class values as class names.
+	 */
+	private static Object decode(String value, Class<?> type) {
+		if (!type.isArray()) {
+			return decodeElement(value, type);
+		}
+		List<String> elements = splitElements(value);
+		if (elements.isEmpty()) {
+			return new Object[0];
+		}
+		Class<?> componentType = type.getComponentType();
+		Object result = Array.newInstance(componentType == Class.class ? String.class : componentType, elements.size());
+		for (int i = 0; i < elements.size(); i++) {
+			Array.set(result, i, decodeElement(elements.get(i), componentType));
+		}
+		return result;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object decodeElement(String value, Class<?> type) {
+		if (type == String.class || type == Class.class) {
+			return value;
+		}
+		if (type.isEnum()) {
+			return Enum.valueOf((Class<? extends Enum>) type, value);
+		}
+		if (type == boolean.class) {
+			return Boolean.valueOf(value);
+		}
+		if (type == char.class) {
+			if (value.length() != 1) {
+				throw new IllegalArgumentException("Invalid char value '" + value + "'");
+			}
+			return value.charAt(0);
+		}
+		if (type == byte.class) {
+			return Byte.valueOf(value);
+		}
+		if (type == short.class) {
+			return Short.valueOf(value);
+		}
+		if (type == int.class) {
+			return Integer.valueOf(value);
+		}
+		if (type == long.class) {
+			return Long.valueOf(value);
+		}
+		if (type == float.class) {
+			return Float.valueOf(value);
+		}
+		if (type == double.class) {
+			return Double.valueOf(value);
+		}
+		throw new IllegalArgumentException("Unsupported attribute type [" + type.getName() + "]");
+	}
+
+	/**
+	 * Split the given array value into its elements, each followed by a comma,
+	 * with a backslash escaping the next character.
+	 */
+	private static List<String> splitElements(String value) {
+		List<String> elements = new ArrayList<>();
+		StringBuilder element = new StringBuilder();
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				element.append(value.charAt(++i));
+			}
+			else if (c == ',') {
+				elements.add(element.toString());
+				element.setLength(0);
+			}
+			else {
+				element.append(c);
+			}
+		}
+		if (element.length() > 0) {
+			throw new IllegalArgumentException("Invalid array value '" + value + "'");
+		}
+		return elements;
+	}
+
+	private static Map<String, Map<String, String>> parseIndex(List<Properties> content) {
+		Map<String, Map<String, String>> index = new HashMap<>();
+		for (Properties properties : content) {
+			Map<String, Map<String, String>> entries = new HashMap<>();
+			properties.forEach((key, value) -> {
+				String name = (String) key;
+				int separatorIndex = indexOfSeparator(name);
+				entries.computeIfAbsent(name.substring(0, separatorIndex), type -> new HashMap<>())
+						.put(name.substring(separatorIndex), (String) value);
+			});
+			// First definition of a type wins, as with class loading
+			entries.forEach(index::putIfAbsent);
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	private static int indexOfSeparator(String key) {
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c == '#' || c == '@') {
+				return i;
+			}
+		}
+		return key.length();
+	}
+
+}
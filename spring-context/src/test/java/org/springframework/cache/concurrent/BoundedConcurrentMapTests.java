@@ -0,0 +1,228 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BoundedConcurrentMap}.
+ *
+ * @author agent (agent@local)
+ */
+class BoundedConcurrentMapTests {
+
+	private final AtomicLong ticker = new AtomicLong();
+
+
+	@Test
+	void evictsLeastRecentlyUsedEntryBeyondMaximumSize() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(3);
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("c", 3);
+		assertThat(map.get("a")).isEqualTo(1);
+		map.put("d", 4);
+		assertThat(map).containsOnlyKeys("a", "c", "d");
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void staysWithinMaximumSize() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(100);
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, i);
+		}
+		assertThat(map.size()).isLessThanOrEqualTo(100);
+		assertThat(map.getEvictionCount()).isEqualTo(1000 - map.size());
+	}
+
+	@Test
+	void evictsBeyondMaximumWeight() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(0, 10,
+				(key, value) -> ((String) value).length(), null, null);
+		map.put("a", "12345");
+		map.put("b", "1234");
+		assertThat(map).hasSize(2);
+		map.put("c", "123");
+		assertThat(map).containsOnlyKeys("b", "c");
+		map.put("b", "1");
+		map.put("d", "123456");
+		assertThat(map).containsOnlyKeys("b", "c", "d");
+	}
+
+	@Test
+	void expiresAfterWrite() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(0, 0, null,
+				Duration.ofNanos(10), null, this.ticker::get);
+		map.put("a", 1);
+		this.ticker.set(5);
+		assertThat(map.get("a")).isEqualTo(1);
+		this.ticker.set(10);
+		assertThat(map.get("a")).isNull();
+		assertThat(map.containsKey("a")).isFalse();
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+		assertThat(map.putIfAbsent("a", 2)).isNull();
+		assertThat(map.get("a")).isEqualTo(2);
+	}
+
+	@Test
+	void expiresAfterAccess() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(0, 0, null,
+				null, Duration.ofNanos(10), this.ticker::get);
+		map.put("a", 1);
+		map.put("b", 2);
+		this.ticker.set(8);
+		assertThat(map.get("a")).isEqualTo(1);
+		this.ticker.set(15);
+		assertThat(map).containsOnlyKeys("a");
+		assertThat(map.get("a")).isEqualTo(1);
+		this.ticker.set(30);
+		assertThat(map).isEmpty();
+	}
+
+	@Test
+	void recordsHitsAndMisses() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(10);
+		map.put("a", 1);
+		map.get("a");
+		map.get("a");
+		map.get("b");
+		assertThat(map.computeIfAbsent("c", key -> 3)).isEqualTo(3);
+		assertThat(map.computeIfAbsent("c", key -> 4)).isEqualTo(3);
+		assertThat(map.getHitCount()).isEqualTo(3);
+		assertThat(map.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void computesOutsideOfSegmentLock() throws Exception {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(10);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("a", key -> {
+			invocations.incrementAndGet();
+			loading.countDown();
+			await(proceed);
+			return 1;
+		}));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Single segment for a maximum size of 10: not blocked by the computation
+		map.put("b", 2);
+		assertThat(map.get("b")).isEqualTo(2);
+
+		CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> map.computeIfAbsent("a", key -> {
+			invocations.incrementAndGet();
+			return 3;
+		}));
+		proceed.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+		assertThat(invocations.get()).isEqualTo(1);
+		assertThat(map.get("a")).isEqualTo(1);
+	}
+
+	@Test
+	void readsWithoutSegmentLock() throws Exception {
+		CountDownLatch weighing = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		BoundedConcurrentMap map = new BoundedConcurrentMap(0, 10, (key, value) -> {
+			if ("b".equals(key)) {
+				weighing.countDown();
+				await(proceed);
+			}
+			return 1;
+		}, null, null);
+		map.put("a", 1);
+		CompletableFuture<Object> put = CompletableFuture.supplyAsync(() -> map.put("b", 2));
+		assertThat(weighing.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Single segment, locked by the put in progress
+		assertThat(map.get("a")).isEqualTo(1);
+		assertThat(map.containsKey("a")).isTrue();
+		assertThat(map.get("c")).isNull();
+
+		proceed.countDown();
+		assertThat(put.get(5, TimeUnit.SECONDS)).isNull();
+		assertThat(map.get("b")).isEqualTo(2);
+	}
+
+	@Test
+	void computesAgainAfterFailure() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(10);
+		assertThatIllegalStateException().isThrownBy(() -> map.computeIfAbsent("a", key -> {
+			throw new IllegalStateException("failed");
+		}));
+		assertThat(map.computeIfAbsent("a", key -> 1)).isEqualTo(1);
+	}
+
+	@Test
+	void supportsConditionalOperations() {
+		BoundedConcurrentMap map = new BoundedConcurrentMap(10);
+		assertThat(map.putIfAbsent("a", 1)).isNull();
+		assertThat(map.putIfAbsent("a", 2)).isEqualTo(1);
+		assertThat(map.replace("a", 2, 3)).isFalse();
+		assertThat(map.replace("a", 1, 3)).isTrue();
+		assertThat(map.replace("a", 4)).isEqualTo(3);
+		assertThat(map.replace("b", 4)).isNull();
+		assertThat(map.remove("a", 3)).isFalse();
+		assertThat(map.remove("a", 4)).isTrue();
+		assertThat(map).isEmpty();
+	}
+
+	@Test
+	void maximumWeightRequiresWeigher() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new BoundedConcurrentMap(0, 10, null, null, null));
+	}
+
+	@Test
+	void boundedConcurrentMapCache() {
+		BoundedConcurrentMap store = new BoundedConcurrentMap(2);
+		ConcurrentMapCache cache = new ConcurrentMapCache("test", store, true);
+		cache.put("a", null);
+		cache.put("b", "b");
+		assertThat(cache.get("a").get()).isNull();
+		cache.put("c", "c");
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c", () -> "other")).isEqualTo("c");
+		assertThat(store.getHitCount()).isEqualTo(2);
+		assertThat(store.getMissCount()).isEqualTo(1);
+		assertThat(store.getEvictionCount()).isEqualTo(1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -16,12 +16,17 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * @author Juergen Hoeller
@@ -140,4 +145,54 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testMaximumSize() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1.getNativeCache()).isNotInstanceOf(BoundedConcurrentMap.class);
+
+		cm.setMaximumSize(2);
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		assertThat(cache1x.getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+		cache1x.put("key1", "value1");
+		cache1x.put("key2", "value2");
+		cache1x.put("key3", "value3");
+		assertThat(cache1x.get("key1")).isNull();
+		assertThat(cache1x.get("key3").get()).isEqualTo("value3");
+		assertThat(((BoundedConcurrentMap) cache1x.getNativeCache()).getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testMaximumWeightBeforeWeigher() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		cm.setMaximumWeight(10);
+		cm.setCacheNames(Collections.singleton("c2"));
+		cm.setWeigher((key, value) -> 4);
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1.getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+		assertThat(cm.getCache("c2").getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		cache1.put("key3", "value3");
+		assertThat(cache1.get("key1")).isNull();
+		assertThat(cm.getCache("c1")).isSameAs(cache1);
+	}
+
+	@Test
+	public void testMaximumWeightWithoutWeigher() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		cm.setMaximumWeight(10);
+		assertThatIllegalStateException().isThrownBy(() -> cm.getCache("c1"));
+	}
+
+	@Test
+	public void testNegativeBounds() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager();
+		assertThatIllegalArgumentException().isThrownBy(() -> cm.setMaximumSize(-1));
+		assertThatIllegalArgumentException().isThrownBy(() -> cm.setMaximumWeight(-1));
+		assertThatIllegalArgumentException().isThrownBy(() -> cm.setExpireAfterWrite(Duration.ofSeconds(-1)));
+		assertThatIllegalArgumentException().isThrownBy(() -> cm.setExpireAfterAccess(Duration.ofSeconds(-1)));
+	}
+
 }
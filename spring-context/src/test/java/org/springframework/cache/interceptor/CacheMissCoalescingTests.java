@@ -0,0 +1,287 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link CacheAspectSupport#setCoalesceCacheMisses coalesced} cache misses.
+ *
+ * @author agent (agent@local)
+ */
+public class CacheMissCoalescingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private CacheInterceptor cacheInterceptor;
+
+	private CacheManager cacheManager;
+
+	private SlowService service;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cacheInterceptor = this.context.getBean(CacheInterceptor.class);
+		this.cacheInterceptor.setCoalesceCacheMisses(true);
+		this.cacheManager = this.context.getBean(CacheManager.class);
+		this.service = this.context.getBean(SlowService.class);
+	}
+
+	@AfterEach
+	public void closeContext() {
+		this.executor.shutdownNow();
+		this.context.close();
+	}
+
+
+	@Test
+	public void concurrentMissesInvokeMethodOnce() throws Exception {
+		Future<Object> first = this.executor.submit(() -> this.service.get(1L));
+		Future<Object> second = this.executor.submit(() -> this.service.get(1L));
+		awaitCoalescedInvocations(1);
+		this.service.release();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(second.get(5, TimeUnit.SECONDS));
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+		assertThat(this.cacheManager.getCache("primary").get(1L)).isNotNull();
+	}
+
+	@Test
+	public void concurrentMissesWithSeveralCacheables() throws Exception {
+		Future<Object> first = this.executor.submit(() -> this.service.getFromBoth(1L));
+		Future<Object> second = this.executor.submit(() -> this.service.getFromBoth(1L));
+		awaitCoalescedInvocations(1);
+		this.service.release();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(second.get(5, TimeUnit.SECONDS));
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+		assertThat(this.cacheManager.getCache("primary").get(1L)).isNotNull();
+		assertThat(this.cacheManager.getCache("secondary").get(1L)).isNotNull();
+	}
+
+	@Test
+	public void concurrentMissesShareException() throws Exception {
+		Future<Object> first = this.executor.submit(() -> this.service.fail(1L));
+		Future<Object> second = this.executor.submit(() -> this.service.fail(1L));
+		awaitCoalescedInvocations(1);
+		this.service.release();
+
+		for (Future<Object> future : Arrays.asList(first, second)) {
+			assertThatIllegalStateException().isThrownBy(() -> {
+				try {
+					future.get(5, TimeUnit.SECONDS);
+				}
+				catch (ExecutionException ex) {
+					throw ex.getCause();
+				}
+			}).withMessage("boom");
+		}
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+		assertThat(this.service.get(2L)).isNotNull();
+	}
+
+	@Test
+	public void differentKeysAreNotCoalesced() throws Exception {
+		this.service.release();
+		this.service.get(1L);
+		this.service.get(2L);
+		assertThat(this.service.getInvocations()).isEqualTo(2);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void reentrantMissInvokesMethodDirectly() throws Exception {
+		this.service.setSelf(this.context.getBean(SlowService.class));
+		Future<Object> result = this.executor.submit(() -> this.service.getRecursively(1L, true));
+
+		assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(this.service.getInvocations()).isEqualTo(2);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void timedOutMissInvokesMethodDirectly() throws Exception {
+		this.cacheInterceptor.setCoalesceTimeout(50);
+		Future<Object> first = this.executor.submit(() -> this.service.get(1L));
+		Future<Object> second = this.executor.submit(() -> this.service.get(1L));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.service.getInvocations() < 2) {
+			assertThat(System.currentTimeMillis()).as("invocations").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+		this.service.release();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void pendingCompletableFutureIsShared() {
+		CompletableFuture<Long> first = this.service.getAsync(1L);
+		CompletableFuture<Long> second = this.service.getAsync(1L);
+		assertThat(second).isSameAs(first);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(1);
+
+		first.complete(42L);
+		CompletableFuture<Long> third = this.service.getAsync(1L);
+		assertThat(third).isNotSameAs(first);
+		assertThat(this.service.getInvocations()).isEqualTo(2);
+	}
+
+	@Test
+	public void pendingCompletableFutureValueIsShared() throws Exception {
+		this.cacheInterceptor.setCacheAsyncResults(true);
+		CompletableFuture<Long> first = this.service.getAsyncValue(1L);
+		CompletableFuture<Long> second = this.service.getAsyncValue(1L);
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+		assertThat(this.cacheInterceptor.getCoalescedInvocationCount()).isEqualTo(1);
+
+		this.service.getPendingResult().complete(42L);
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+		assertThat(this.service.getAsyncValue(1L).get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	private void awaitCoalescedInvocations(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.cacheInterceptor.getCoalescedInvocationCount() < count) {
+			assertThat(System.currentTimeMillis()).as("coalesced invocations").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SlowService service() {
+			return new SlowService();
+		}
+	}
+
+
+	public static class SlowService {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		private final CompletableFuture<Long> pendingResult = new CompletableFuture<>();
+
+		private SlowService self;
+
+		public void setSelf(SlowService self) {
+			this.self = self;
+		}
+
+		@Cacheable("primary")
+		public Object get(long id) throws InterruptedException {
+			return compute();
+		}
+
+		@Caching(cacheable = {@Cacheable("primary"), @Cacheable("secondary")},
+				evict = @CacheEvict(cacheNames = "other", key = "#id"))
+		public Object getFromBoth(long id) throws InterruptedException {
+			return compute();
+		}
+
+		@Cacheable(cacheNames = "recursive", key = "#id")
+		public Object getRecursively(long id, boolean nested) {
+			this.invocations.incrementAndGet();
+			return (nested ? this.self.getRecursively(id, false) : new Object());
+		}
+
+		@Cacheable("failing")
+		public Object fail(long id) throws InterruptedException {
+			compute();
+			throw new IllegalStateException("boom");
+		}
+
+		@Cacheable(cacheNames = "async", unless = "!#result.isDone()")
+		public CompletableFuture<Long> getAsync(long id) {
+			this.invocations.incrementAndGet();
+			return new CompletableFuture<>();
+		}
+
+		@Cacheable("asyncValues")
+		public CompletableFuture<Long> getAsyncValue(long id) {
+			this.invocations.incrementAndGet();
+			return this.pendingResult;
+		}
+
+		public CompletableFuture<Long> getPendingResult() {
+			return this.pendingResult;
+		}
+
+		public void release() {
+			this.latch.countDown();
+		}
+
+		public int getInvocations() {
+			return this.invocations.get();
+		}
+
+		private Object compute() throws InterruptedException {
+			this.invocations.incrementAndGet();
+			assertThat(this.latch.await(5, TimeUnit.SECONDS)).isTrue();
+			return new Object();
+		}
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for caching the resolved values of methods with a {@link CompletableFuture}
+ * or reactive return type, see {@link CacheAspectSupport#setCacheAsyncResults}.
+ *
+ * @author agent (agent@local)
+ */
+public class ReactiveCachingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private CacheInterceptor cacheInterceptor;
+
+	private CacheManager cacheManager;
+
+	private ReactiveService service;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cacheInterceptor = this.context.getBean(CacheInterceptor.class);
+		this.cacheInterceptor.setCacheAsyncResults(true);
+		this.cacheManager = this.context.getBean(CacheManager.class);
+		this.service = this.context.getBean(ReactiveService.class);
+	}
+
+	@AfterEach
+	public void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void returnedInstanceIsCachedByDefault() {
+		this.cacheInterceptor.setCacheAsyncResults(false);
+		Mono<Long> mono = this.service.getMono(1L);
+		assertThat(this.cacheManager.getCache("monos").get(1L).get()).isSameAs(mono);
+		assertThat(this.service.getMono(1L)).isSameAs(mono);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void completableFutureValueIsCached() throws Exception {
+		Long first = this.service.getFuture(1L).get(5, TimeUnit.SECONDS);
+		assertThat(this.cacheManager.getCache("futures").get(1L).get()).isEqualTo(first);
+		assertThat(this.service.getFuture(1L).get(5, TimeUnit.SECONDS)).isEqualTo(first);
+		assertThat(this.service.getFuture(2L).get(5, TimeUnit.SECONDS)).isNotEqualTo(first);
+		assertThat(this.service.getInvocations()).isEqualTo(2);
+	}
+
+	@Test
+	public void monoValueIsCachedOnSubscription() {
+		Mono<Long> mono = this.service.getMono(1L);
+		assertThat(this.service.getInvocations()).isEqualTo(0);
+		Long first = mono.block();
+		assertThat(this.cacheManager.getCache("monos").get(1L).get()).isEqualTo(first);
+		assertThat(this.service.getMono(1L).block()).isEqualTo(first);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void emptyMonoIsCachedAsNull() {
+		assertThat(this.service.getEmptyMono(1L).block()).isNull();
+		assertThat(this.cacheManager.getCache("monos").get(1L).get()).isNull();
+		assertThat(this.service.getEmptyMono(1L).block()).isNull();
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void fluxValuesAreCachedAsList() {
+		assertThat(this.service.getFlux(1L).collectList().block()).containsExactly(1L, 2L, 3L);
+		assertThat(this.cacheManager.getCache("fluxes").get(1L).get()).isEqualTo(Arrays.asList(1L, 2L, 3L));
+		assertThat(this.service.getFlux(1L).collectList().block()).containsExactly(1L, 2L, 3L);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void failedMonoIsNotCached() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.getFailedMono(1L).block())
+				.withMessage("boom");
+		assertThat(this.cacheManager.getCache("monos").get(1L)).isNull();
+	}
+
+	@Test
+	public void synchronizedMonoUsesCacheLoader() {
+		Long first = this.service.getSyncMono(1L).block();
+		assertThat(this.service.getSyncMono(1L).block()).isEqualTo(first);
+		assertThat(this.cacheManager.getCache("monos").get(1L).get()).isEqualTo(first);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronizedMonoWithCacheFailure() {
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		this.cacheInterceptor.setErrorHandler(errorHandler);
+
+		assertThat(this.service.getSyncFailing(1L).block()).isEqualTo(1L);
+		assertThat(errorHandler.getErrors()).hasSize(1);
+		assertThat(errorHandler.getErrors().get(0)).hasMessage("cache failure");
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronizedMonoFailureIsNotHandledAsCacheFailure() {
+		RecordingErrorHandler errorHandler = new RecordingErrorHandler();
+		this.cacheInterceptor.setErrorHandler(errorHandler);
+
+		assertThatIllegalStateException().isThrownBy(() -> this.service.getSyncFailedMono(1L).block())
+				.withMessage("boom");
+		assertThat(errorHandler.getErrors()).isEmpty();
+		assertThat(this.cacheManager.getCache("monos").get(1L)).isNull();
+	}
+
+	@Test
+	public void evictionAppliesToResolvedValue() {
+		Long first = this.service.getMono(1L).block();
+		this.service.evict(1L).block();
+		assertThat(this.cacheManager.getCache("monos").get(1L)).isNull();
+		assertThat(this.service.getMono(1L).block()).isNotEqualTo(first);
+	}
+
+	@Test
+	public void cacheHitIsServedWithoutBlocking() throws Exception {
+		DeferredCache cache = (DeferredCache) this.cacheManager.getCache("deferred");
+		cache.put(1L, 42L);
+		CompletableFuture<Long> result = this.service.getDeferred(1L);
+		assertThat(result).isNotDone();
+
+		cache.release();
+		assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+		assertThat(this.service.getInvocations()).isEqualTo(0);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager() {
+				@Override
+				protected Cache createConcurrentMapCache(String name) {
+					if ("deferred".equals(name)) {
+						return new DeferredCache(name);
+					}
+					if ("failing".equals(name)) {
+						return new FailingCache(name);
+					}
+					return super.createConcurrentMapCache(name);
+				}
+			};
+		}
+
+		@Bean
+		public ReactiveService service() {
+			return new ReactiveService();
+		}
+	}
+
+
+	public static class ReactiveService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private final AtomicLong invocations = new AtomicLong();
+
+		@Cacheable("futures")
+		public CompletableFuture<Long> getFuture(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.supplyAsync(this.counter::incrementAndGet);
+		}
+
+		@Cacheable("deferred")
+		public CompletableFuture<Long> getDeferred(long id) {
+			this.invocations.incrementAndGet();
+			return CompletableFuture.completedFuture(this.counter.incrementAndGet());
+		}
+
+		@Cacheable("monos")
+		public Mono<Long> getMono(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromSupplier(this.counter::incrementAndGet);
+		}
+
+		@Cacheable("monos")
+		public Mono<Long> getEmptyMono(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.empty();
+		}
+
+		@Cacheable("monos")
+		public Mono<Long> getFailedMono(long id) {
+			return Mono.error(new IllegalStateException("boom"));
+		}
+
+		@Cacheable(cacheNames = "monos", sync = true)
+		public Mono<Long> getSyncMono(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromSupplier(this.counter::incrementAndGet);
+		}
+
+		@Cacheable(cacheNames = "failing", sync = true)
+		public Mono<Long> getSyncFailing(long id) {
+			this.invocations.incrementAndGet();
+			return Mono.fromSupplier(this.counter::incrementAndGet);
+		}
+
+		@Cacheable(cacheNames = "monos", sync = true)
+		public Mono<Long> getSyncFailedMono(long id) {
+			return Mono.error(new IllegalStateException("boom"));
+		}
+
+		@CacheEvict("monos")
+		public Mono<Void> evict(long id) {
+			return Mono.empty();
+		}
+
+		@Cacheable("fluxes")
+		public Flux<Long> getFlux(long id) {
+			this.invocations.incrementAndGet();
+			return Flux.just(1L, 2L, 3L);
+		}
+
+		public long getInvocations() {
+			return this.invocations.get();
+		}
+	}
+
+
+	/**
+	 * Cache completing its non-blocking lookups on demand only.
+	 */
+	static class DeferredCache extends ConcurrentMapCache {
+
+		private final CompletableFuture<Void> released = new CompletableFuture<>();
+
+		DeferredCache(String name) {
+			super(name);
+		}
+
+		@Override
+		public CompletableFuture<ValueWrapper> retrieve(Object key) {
+			return this.released.thenApply(ignored -> get(key));
+		}
+
+		void release() {
+			this.released.complete(null);
+		}
+	}
+
+
+	/**
+	 * Cache failing its non-blocking lookups.
+	 */
+	static class FailingCache extends ConcurrentMapCache {
+
+		FailingCache(String name) {
+			super(name);
+		}
+
+		@Override
+		public CompletableFuture<ValueWrapper> retrieve(Object key) {
+			CompletableFuture<ValueWrapper> result = new CompletableFuture<>();
+			result.completeExceptionally(new UnsupportedOperationException("cache failure"));
+			return result;
+		}
+	}
+
+
+	static class RecordingErrorHandler extends SimpleCacheErrorHandler {
+
+		private final List<RuntimeException> errors = new ArrayList<>();
+
+		@Override
+		public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+			this.errors.add(exception);
+		}
+
+		List<RuntimeException> getErrors() {
+			return this.errors;
+		}
+	}
+
+}
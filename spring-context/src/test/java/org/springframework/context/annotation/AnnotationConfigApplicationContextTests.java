@@ -16,6 +16,7 @@
 
 package org.springframework.context.annotation;
 
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -27,10 +28,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation6.ComponentForScanning;
 import org.springframework.context.annotation6.ConfigForScanning;
 import org.springframework.context.annotation6.Jsr330NamedForScanning;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.buffering.StartupTimeline.TimelineEvent;
 import org.springframework.util.ObjectUtils;
 
 import static java.lang.String.format;
@@ -58,6 +63,39 @@ public class AnnotationConfigApplicationContextTests {
 		assertThat(beans.size()).isEqualTo(1);
 	}
 
+	@Test
+	public void scanAndRefreshWithApplicationStartup() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1000);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.scan("org.springframework.context.annotation6");
+		context.refresh();
+
+		assertThat(context.getBean(ConfigurableApplicationContext.APPLICATION_STARTUP_BEAN_NAME)).isSameAs(applicationStartup);
+		List<TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).extracting(event -> event.getStartupStep().getName()).contains(
+				"spring.context.component-scan", "spring.context.refresh", "spring.context.config-classes.parse",
+				"spring.context.config-classes.enhance", "spring.context.beandef-registry.post-process",
+				"spring.context.bean-factory.post-process", "spring.beans.instantiate");
+		StartupStep refresh = events.stream().map(TimelineEvent::getStartupStep)
+				.filter(step -> step.getName().equals("spring.context.refresh")).findFirst().get();
+		assertThat(events).filteredOn(event -> event.getStartupStep().getName().equals("spring.beans.instantiate"))
+				.extracting(event -> tagValue(event.getStartupStep(), "beanName"))
+				.contains(uncapitalize(ConfigForScanning.class.getSimpleName()), "testBean");
+		assertThat(events).filteredOn(event -> event.getStartupStep().getName().equals("spring.context.config-classes.parse"))
+				.allSatisfy(event -> assertThat(event.getStartupStep().getParentId()).isNotNull());
+		assertThat(refresh.getParentId()).isNull();
+	}
+
+	private static String tagValue(StartupStep step, String key) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if (tag.getKey().equals(key)) {
+				return tag.getValue();
+			}
+		}
+		return null;
+	}
+
 	@Test
 	public void registerAndRefresh() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
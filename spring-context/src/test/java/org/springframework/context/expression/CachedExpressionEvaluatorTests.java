@@ -66,6 +66,57 @@ public class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache.size()).as("Cached expression should be based on type").isEqualTo(2);
 	}
 
+	@Test
+	public void sharedExpressionCache() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, getClass());
+		Expression expression = expressionEvaluator.getExpression(elementKey, "true");
+		assertThat(expressionEvaluator.getExpression(elementKey, "true")).isSameAs(expression);
+		hasParsedExpression("true");
+		assertThat(expressionEvaluator.getExpressionCacheSize()).isEqualTo(1);
+
+		expressionEvaluator.clearExpressionCache();
+		assertThat(expressionEvaluator.getExpressionCacheSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void sharedExpressionCacheIsBounded() {
+		TestExpressionEvaluator evaluator = new TestExpressionEvaluator(8);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, getClass());
+		Expression first = evaluator.getExpression(elementKey, "0");
+		for (int i = 1; i < 20; i++) {
+			assertThat(evaluator.getExpression(elementKey, "0")).isSameAs(first);
+			evaluator.getExpression(elementKey, String.valueOf(i));
+			assertThat(evaluator.getExpressionCacheSize()).isLessThanOrEqualTo(8);
+		}
+		// Most recently used expression is retained
+		assertThat(evaluator.getExpression(elementKey, "0")).isSameAs(first);
+	}
+
+	@Test
+	public void sharedExpressionCacheEvictsDownToThreeQuarters() {
+		TestExpressionEvaluator evaluator = new TestExpressionEvaluator(8);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		AnnotatedElementKey elementKey = new AnnotatedElementKey(method, getClass());
+		for (int i = 0; i < 8; i++) {
+			evaluator.getExpression(elementKey, String.valueOf(i));
+		}
+		for (int i = 0; i < 8; i++) {
+			evaluator.getExpression(elementKey, String.valueOf(i));
+		}
+		evaluator.getExpression(elementKey, "8");
+		assertThat(evaluator.getExpressionCacheSize()).isEqualTo(6);
+	}
+
+	@Test
+	public void parameterBindingsCachedPerMethod() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		MethodParameterBindings bindings = expressionEvaluator.getParameterBindings(method);
+		assertThat(bindings.getMethod()).isEqualTo(method);
+		assertThat(expressionEvaluator.getParameterBindings(method)).isSameAs(bindings);
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -78,6 +129,10 @@ public class CachedExpressionEvaluatorTests {
 			super(mockSpelExpressionParser());
 		}
 
+		public TestExpressionEvaluator(int cacheLimit) {
+			super(new SpelExpressionParser(), cacheLimit);
+		}
+
 		public Expression getTestExpression(String expression, Method method, Class<?> type) {
 			return getExpression(this.testCache, new AnnotatedElementKey(method, type), expression);
 		}
@@ -125,6 +125,48 @@ public class MethodBasedEvaluationContextTests {
 		assertThat(context.lookupVariable("vararg")).isEqualTo(new Object[] {"hello", "hi"});
 	}
 
+	@Test
+	public void parameterBindings() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", String.class, Boolean.class);
+		MethodParameterBindings bindings = new MethodParameterBindings(method, this.paramDiscover);
+		MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(this, bindings, new Object[] {"test", true});
+
+		assertThat(context.lookupVariable("a0")).isEqualTo("test");
+		assertThat(context.lookupVariable("p0")).isEqualTo("test");
+		assertThat(context.lookupVariable("foo")).isEqualTo("test");
+
+		assertThat(context.lookupVariable("a1")).isEqualTo(true);
+		assertThat(context.lookupVariable("p1")).isEqualTo(true);
+		assertThat(context.lookupVariable("flag")).isEqualTo(true);
+
+		assertThat(context.lookupVariable("a2")).isNull();
+		assertThat(context.lookupVariable("p2")).isNull();
+		assertThat(context.lookupVariable("bar")).isNull();
+
+		context.setVariable("foo", "override");
+		assertThat(context.lookupVariable("foo")).isEqualTo("override");
+		assertThat(context.lookupVariable("p0")).isEqualTo("test");
+	}
+
+	@Test
+	public void parameterBindingsWithVarArgs() {
+		Method method = ReflectionUtils.findMethod(SampleMethods.class, "hello", Boolean.class, String[].class);
+		MethodParameterBindings bindings = new MethodParameterBindings(method, this.paramDiscover);
+
+		MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(this, bindings, new Object[] {null, "hello"});
+		assertThat(context.lookupVariable("flag")).isNull();
+		assertThat(context.lookupVariable("vararg")).isEqualTo("hello");
+
+		context = new MethodBasedEvaluationContext(this, bindings, new Object[] {null, "hello", "hi"});
+		assertThat(context.lookupVariable("a1")).isEqualTo(new Object[] {"hello", "hi"});
+		assertThat(context.lookupVariable("p1")).isEqualTo(new Object[] {"hello", "hi"});
+		assertThat(context.lookupVariable("vararg")).isEqualTo(new Object[] {"hello", "hi"});
+
+		context = new MethodBasedEvaluationContext(this, bindings, new Object[0]);
+		assertThat(context.lookupVariable("flag")).isNull();
+		assertThat(context.lookupVariable("vararg")).isNull();
+	}
+
 	private MethodBasedEvaluationContext createEvaluationContext(Method method, Object... args) {
 		return new MethodBasedEvaluationContext(this, method, args, this.paramDiscover);
 	}
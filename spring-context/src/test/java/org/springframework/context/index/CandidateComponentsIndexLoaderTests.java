@@ -44,6 +44,12 @@ public class CandidateComponentsIndexLoaderTests {
 		assertThat(index).as("No spring.components should be available at the default location").isNull();
 	}
 
+	@Test
+	public void validateTypeMetadataIndexIsDisabledByDefault() {
+		TypeMetadataIndex index = CandidateComponentsIndexLoader.loadTypeMetadataIndex(null);
+		assertThat(index).as("No spring.type-metadata should be available at the default location").isNull();
+	}
+
 	@Test
 	public void loadIndexSeveralMatches() {
 		CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.stereotype.Component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TypeMetadataIndex} and {@link IndexedMetadataReaderFactory}.
+ *
+ * @author agent (agent@local)
+ */
+public class TypeMetadataIndexTests {
+
+	private static final String SAMPLE = SampleComponent.class.getName();
+
+
+	@Test
+	public void getAnnotationMetadata() {
+		TypeMetadataIndex index = new TypeMetadataIndex(Collections.singletonList(createSampleEntries()));
+		assertThat(index.hasTypeMetadata(SAMPLE)).isTrue();
+		assertThat(index.hasTypeMetadata(Object.class.getName())).isFalse();
+
+		AnnotationMetadata metadata = index.getAnnotationMetadata(SAMPLE, getClass().getClassLoader(), () -> {
+			throw new IllegalStateException("Should not be called");
+		});
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.getClassName()).isEqualTo(SAMPLE);
+		assertThat(metadata.isIndependent()).isTrue();
+		assertThat(metadata.isAbstract()).isFalse();
+		assertThat(metadata.getEnclosingClassName()).isEqualTo(getClass().getName());
+		assertThat(metadata.getSuperClassName()).isEqualTo(Object.class.getName());
+		assertThat(metadata.getInterfaceNames()).containsExactly(Runnable.class.getName());
+		assertThat(metadata.getAnnotationTypes()).containsExactly(
+				Component.class.getName(), Scope.class.getName(), Lazy.class.getName());
+		assertThat(metadata.hasMetaAnnotation("org.springframework.stereotype.Indexed")).isTrue();
+		assertThat(metadata.getAnnotationAttributes(Component.class.getName())).containsEntry("value", "sample");
+		assertThat(metadata.getAnnotations().get(Scope.class).getEnum("proxyMode", ScopedProxyMode.class))
+				.isEqualTo(ScopedProxyMode.TARGET_CLASS);
+		assertThat(metadata.getAnnotations().get(Scope.class).getString("value")).isEqualTo("prototype");
+		assertThat(metadata.hasAnnotatedMethods(Bean.class.getName())).isFalse();
+	}
+
+	@Test
+	public void getAnnotationMetadataWithMissingAnnotationType() {
+		Properties entries = createSampleEntries();
+		entries.put(SAMPLE + "#annotations", "com.example.Missing," + Component.class.getName());
+		TypeMetadataIndex index = new TypeMetadataIndex(Collections.singletonList(entries));
+		AnnotationMetadata metadata = index.getAnnotationMetadata(SAMPLE, getClass().getClassLoader(), () -> null);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.getAnnotationTypes()).containsExactly(Component.class.getName());
+	}
+
+	@Test
+	public void getAnnotationMetadataWithOutdatedEntry() {
+		Properties entries = createSampleEntries();
+		entries.put(SAMPLE + "@" + Scope.class.getName() + "#proxyMode", "UNKNOWN");
+		TypeMetadataIndex index = new TypeMetadataIndex(Collections.singletonList(entries));
+		assertThat(index.getAnnotationMetadata(SAMPLE, getClass().getClassLoader(), () -> null)).isNull();
+	}
+
+	@Test
+	public void firstIndexEntryWins() {
+		Properties other = new Properties();
+		other.put(SAMPLE, "abstract");
+		TypeMetadataIndex index = new TypeMetadataIndex(Arrays.asList(createSampleEntries(), other));
+		AnnotationMetadata metadata = index.getAnnotationMetadata(SAMPLE, getClass().getClassLoader(), () -> null);
+		assertThat(metadata.isAbstract()).isFalse();
+		assertThat(metadata.getAnnotationTypes()).hasSize(3);
+	}
+
+	@Test
+	public void indexedMetadataReaderFactory() throws IOException {
+		TypeMetadataIndex index = new TypeMetadataIndex(Collections.singletonList(createSampleEntries()));
+		IndexedMetadataReaderFactory readerFactory = new IndexedMetadataReaderFactory(index, getClass().getClassLoader());
+		MetadataReader metadataReader = readerFactory.getMetadataReader(SAMPLE);
+		assertThat(readerFactory.getMetadataReader(SAMPLE)).isSameAs(metadataReader);
+		assertThat(metadataReader.getResource().getFilename()).isEqualTo("TypeMetadataIndexTests$SampleComponent.class");
+		assertThat(metadataReader.getAnnotationMetadata().getAnnotatedMethods(Autowired.class.getName()))
+				.extracting(MethodMetadata::getMethodName).containsExactly("setName");
+
+		MetadataReader otherReader = readerFactory.getMetadataReader(getClass().getName());
+		assertThat(otherReader.getAnnotationMetadata().getClassName()).isEqualTo(getClass().getName());
+
+		readerFactory.clearCache();
+		assertThat(readerFactory.getMetadataReader(SAMPLE)).isNotSameAs(metadataReader);
+	}
+
+
+	private static Properties createSampleEntries() {
+		Properties entries = new Properties();
+		entries.put(SAMPLE, "independent");
+		entries.put(SAMPLE + "#enclosingClass", TypeMetadataIndexTests.class.getName());
+		entries.put(SAMPLE + "#superClass", Object.class.getName());
+		entries.put(SAMPLE + "#interfaces", Runnable.class.getName());
+		entries.put(SAMPLE + "#annotations", String.join(",",
+				Component.class.getName(), Scope.class.getName(), Lazy.class.getName()));
+		entries.put(SAMPLE + "#methodAnnotations", Autowired.class.getName());
+		entries.put(SAMPLE + "@" + Component.class.getName() + "#value", "sample");
+		entries.put(SAMPLE + "@" + Scope.class.getName() + "#value", "prototype");
+		entries.put(SAMPLE + "@" + Scope.class.getName() + "#proxyMode", "TARGET_CLASS");
+		return entries;
+	}
+
+
+	@Component("sample")
+	@Scope(value = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+	@Lazy
+	static class SampleComponent implements Runnable {
+
+		@Override
+		public void run() {
+		}
+
+		@Autowired
+		public void setName(String name) {
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmark for {@link ResolvableType} creation and generics resolution.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Method method;
+
+		public MethodParameter methodParameter;
+
+		@Setup
+		public void setup() {
+			this.method = ReflectionUtils.findMethod(Repository.class, "save", Object.class, Map.class);
+			this.methodParameter = new MethodParameter(this.method, 1);
+		}
+	}
+
+
+	@Benchmark
+	public ResolvableType forClass() {
+		return ResolvableType.forClass(StringRepository.class);
+	}
+
+	@Benchmark
+	public void forClassWithGenericsResolution(Blackhole bh) {
+		ResolvableType type = ResolvableType.forClass(StringRepository.class).as(Repository.class);
+		bh.consume(type.resolveGeneric(0));
+	}
+
+	@Benchmark
+	public void forMethodParameter(BenchmarkState state, Blackhole bh) {
+		ResolvableType type = ResolvableType.forMethodParameter(state.method, 1, StringRepository.class);
+		bh.consume(type.resolveGeneric(1, 0));
+	}
+
+	@Benchmark
+	public ResolvableType forMethodParameterInstance(BenchmarkState state) {
+		return ResolvableType.forMethodParameter(state.methodParameter);
+	}
+
+
+	public interface Repository<T> {
+
+		T save(T entity, Map<String, List<T>> related);
+	}
+
+
+	public static class StringRepository implements Repository<String> {
+
+		@Override
+		public String save(String entity, Map<String, List<String>> related) {
+			return entity;
+		}
+	}
+
+}
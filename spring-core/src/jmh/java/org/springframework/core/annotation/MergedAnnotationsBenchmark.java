@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmark for annotation lookups through {@link AnnotationUtils},
+ * {@link AnnotatedElementUtils} and {@link MergedAnnotations}, on both
+ * directly present and meta-present annotations.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Method method;
+
+		@Setup
+		public void setup() {
+			this.method = ReflectionUtils.findMethod(AnnotatedService.class, "handle");
+		}
+	}
+
+
+	@Benchmark
+	public Object findAnnotationOnClass() {
+		return AnnotationUtils.findAnnotation(AnnotatedService.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Object findMergedAnnotationOnClass() {
+		return AnnotatedElementUtils.findMergedAnnotation(AnnotatedService.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Object mergedAnnotationsOnClass() {
+		return MergedAnnotations.from(AnnotatedService.class, SearchStrategy.TYPE_HIERARCHY)
+				.get(Transactional.class).getValue("value").orElse(null);
+	}
+
+	@Benchmark
+	public Object findAnnotationOnMethod(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.method, Transactional.class);
+	}
+
+	@Benchmark
+	public Object mergedAnnotationsOnMethod(BenchmarkState state) {
+		return MergedAnnotations.from(state.method, SearchStrategy.TYPE_HIERARCHY).isPresent(Transactional.class);
+	}
+
+	@Benchmark
+	public Object missingAnnotationOnMethod(BenchmarkState state) {
+		return MergedAnnotations.from(state.method, SearchStrategy.TYPE_HIERARCHY).isPresent(Retention.class);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	public @interface Transactional {
+
+		String value() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Transactional
+	public @interface ReadOnlyTransactional {
+
+		@AliasFor(annotation = Transactional.class, attribute = "value")
+		String manager() default "readOnly";
+	}
+
+
+	@ReadOnlyTransactional(manager = "primary")
+	public interface Service {
+
+		@ReadOnlyTransactional
+		void handle();
+	}
+
+
+	public static class AnnotatedService implements Service {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+}
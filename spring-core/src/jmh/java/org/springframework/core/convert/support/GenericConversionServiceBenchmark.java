@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmark for {@link GenericConversionService#convert} with simple,
+ * collection and no-op conversions, as used for data binding.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public GenericConversionService conversionService;
+
+		public List<String> source;
+
+		public TypeDescriptor sourceType;
+
+		public TypeDescriptor targetType;
+
+		@Setup
+		public void setup() {
+			this.conversionService = new DefaultConversionService();
+			this.source = new ArrayList<>(Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"));
+			this.sourceType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+			this.targetType = TypeDescriptor.collection(Set.class, TypeDescriptor.valueOf(Integer.class));
+		}
+	}
+
+
+	@Benchmark
+	public Integer stringToInteger(BenchmarkState state) {
+		return state.conversionService.convert("42", Integer.class);
+	}
+
+	@Benchmark
+	public Object stringToEnum(BenchmarkState state) {
+		return state.conversionService.convert("SECONDS", TimeUnit.class);
+	}
+
+	@Benchmark
+	public String noOpConversion(BenchmarkState state) {
+		return state.conversionService.convert("value", String.class);
+	}
+
+	@Benchmark
+	public Object collectionConversion(BenchmarkState state) {
+		return state.conversionService.convert(state.source, state.sourceType, state.targetType);
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for {@link AntPathMatcher}, matching a set of request paths
+ * against a set of typical web application patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AntPathMatcherBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public AntPathMatcher pathMatcher;
+
+		public List<String> patterns = new ArrayList<>();
+
+		public List<String> paths = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.pathMatcher = new AntPathMatcher();
+			this.patterns.add("/");
+			this.patterns.add("/resources/**");
+			this.patterns.add("/static/*.css");
+			this.patterns.add("/api/projects");
+			this.patterns.add("/api/projects/{project}");
+			this.patterns.add("/api/projects/{project}/releases/{version:[0-9.]+}");
+			this.patterns.add("/api/projects/{project}/issues/*/comments");
+			this.patterns.add("/api/**/attachments/{file}.{ext}");
+			this.paths.add("/");
+			this.paths.add("/resources/js/app/index.js");
+			this.paths.add("/static/main.css");
+			this.paths.add("/api/projects/spring-framework");
+			this.paths.add("/api/projects/spring-framework/releases/5.2.0");
+			this.paths.add("/api/projects/spring-framework/issues/12/comments");
+			this.paths.add("/api/projects/spring-boot/issues/18/attachments/report.pdf");
+		}
+	}
+
+
+	@Benchmark
+	public void match(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			for (String pattern : state.patterns) {
+				bh.consume(state.pathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtract(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			for (String pattern : state.patterns) {
+				if (state.pathMatcher.match(pattern, path)) {
+					bh.consume(state.pathMatcher.extractUriTemplateVariables(pattern, path));
+				}
+			}
+		}
+	}
+
+}
@@ -25,12 +25,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DataBufferWrapper;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
@@ -93,8 +95,10 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 
 		Flux<DataBuffer> inputFlux = Flux.defer(() -> {
 			DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delimiterBytes);
+			LimitChecker limiter = new LimitChecker(getMaxInMemorySize());
 			return Flux.from(input)
 					.concatMapIterable(buffer -> endFrameAfterDelimiter(buffer, matcher))
+					.doOnNext(limiter)
 					.bufferUntil(buffer -> buffer instanceof EndFrameBuffer)
 					.map(buffers -> joinAndStrip(buffers, this.stripDelimiter))
 					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
@@ -279,4 +283,33 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 	}
 
 
+	/**
+	 * Checks the number of bytes buffered between delimiters against the
+	 * configured limit, raising {@link DataBufferLimitException} once exceeded.
+	 */
+	private static class LimitChecker implements Consumer<DataBuffer> {
+
+		private final int maxByteCount;
+
+		private long byteCount;
+
+		LimitChecker(int maxByteCount) {
+			this.maxByteCount = maxByteCount;
+		}
+
+		@Override
+		public void accept(DataBuffer buffer) {
+			if (buffer instanceof EndFrameBuffer) {
+				this.byteCount = 0;
+			}
+			else if (this.maxByteCount >= 0) {
+				this.byteCount += buffer.readableByteCount();
+				if (this.byteCount > this.maxByteCount) {
+					DataBufferUtils.release(buffer);
+					throw new DataBufferLimitException("Exceeded limit on max bytes to buffer: " + this.maxByteCount);
+				}
+			}
+		}
+	}
+
 }
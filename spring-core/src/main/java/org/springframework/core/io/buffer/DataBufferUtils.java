@@ -522,15 +522,37 @@ public abstract class DataBufferUtils {
 	 * @return a buffer that is composed from the {@code dataBuffers} argument
 	 * @since 5.0.3
 	 */
-	@SuppressWarnings("unchecked")
 	public static Mono<DataBuffer> join(Publisher<? extends DataBuffer> dataBuffers) {
+		return join(dataBuffers, -1);
+	}
+
+	/**
+	 * Variant of {@link #join(Publisher)} that behaves the same way up until
+	 * the specified max number of bytes to buffer. Once the limit is exceeded,
+	 * {@link DataBufferLimitException} is raised, and the buffers accumulated
+	 * so far are released.
+	 * @param dataBuffers the data buffers that are to be composed
+	 * @param maxByteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @return a buffer with the aggregated content, or an error signal with
+	 * {@link DataBufferLimitException} if {@code maxByteCount} is exceeded
+	 * @since 5.2
+	 */
+	@SuppressWarnings("unchecked")
+	public static Mono<DataBuffer> join(Publisher<? extends DataBuffer> dataBuffers, int maxByteCount) {
 		Assert.notNull(dataBuffers, "'dataBuffers' must not be null");
 
 		if (dataBuffers instanceof Mono) {
-			return (Mono<DataBuffer>) dataBuffers;
+			Mono<DataBuffer> mono = (Mono<DataBuffer>) dataBuffers;
+			return (maxByteCount >= 0 ?
+					Mono.defer(() -> mono.doOnNext(new ByteCountLimiter(maxByteCount))) : mono);
+		}
+
+		Flux<DataBuffer> source = Flux.from(dataBuffers);
+		if (maxByteCount >= 0) {
+			source = Flux.defer(() -> Flux.from(dataBuffers).doOnNext(new ByteCountLimiter(maxByteCount)));
 		}
 
-		return Flux.from(dataBuffers)
+		return source
 				.collectList()
 				.filter(list -> !list.isEmpty())
 				.map(list -> list.get(0).factory().join(list))
@@ -599,6 +621,32 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * Counts the bytes of the data buffers passed through, releasing the
+	 * current buffer and raising {@link DataBufferLimitException} once the
+	 * limit is exceeded.
+	 */
+	private static class ByteCountLimiter implements Consumer<DataBuffer> {
+
+		private final int maxByteCount;
+
+		private long byteCount;
+
+		ByteCountLimiter(int maxByteCount) {
+			this.maxByteCount = maxByteCount;
+		}
+
+		@Override
+		public void accept(DataBuffer dataBuffer) {
+			this.byteCount += dataBuffer.readableByteCount();
+			if (this.byteCount > this.maxByteCount) {
+				release(dataBuffer);
+				throw new DataBufferLimitException("Exceeded limit on max bytes to buffer: " + this.maxByteCount);
+			}
+		}
+	}
+
+
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
 		private final ReadableByteChannel channel;
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.metrics.buffering;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Represent the timeline of {@link StartupStep steps} recorded by
+ * {@link BufferingApplicationStartup}. Each {@link TimelineEvent} has a start
+ * and end time as well as a duration measured with nanosecond precision.
+ *
+ * <p>The timeline can be exported as JSON for further analysis, for example
+ * to find the slowest bean creations or post-processors.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class StartupTimeline {
+
+	private final Instant startTime;
+
+	private final List<TimelineEvent> events;
+
+
+	StartupTimeline(Instant startTime, List<TimelineEvent> events) {
+		this.startTime = startTime;
+		this.events = Collections.unmodifiableList(events);
+	}
+
+
+	/**
+	 * Return the start time of this timeline.
+	 */
+	public Instant getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the recorded events, in the order in which their steps ended.
+	 */
+	public List<TimelineEvent> getEvents() {
+		return this.events;
+	}
+
+	/**
+	 * Write this timeline as a JSON document to the given {@link Appendable}.
+	 * <p>The document has the following structure:
+	 * <pre class="code">
+	 * {"startTime":"...","events":[{"startupStep":{"name":"...","id":1,"parentId":0,
+	 *     "tags":[{"key":"...","value":"..."}]},"startTime":"...","endTime":"...",
+	 *     "duration":"PT0.0012S"}]}
+	 * </pre>
+	 * @param out the target to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		out.append("{\"startTime\":");
+		appendString(out, this.startTime.toString());
+		out.append(",\"events\":[");
+		for (int i = 0; i < this.events.size(); i++) {
+			if (i > 0) {
+				out.append(',');
+			}
+			this.events.get(i).writeJson(out);
+		}
+		out.append("]}");
+	}
+
+	/**
+	 * Return this timeline as a JSON document.
+	 * @see #writeJson(Appendable)
+	 */
+	public String toJson() {
+		StringBuilder builder = new StringBuilder(64 + this.events.size() * 192);
+		try {
+			writeJson(builder);
+		}
+		catch (IOException ex) {
+			// Cannot happen with a StringBuilder
+			throw new UncheckedIOException(ex);
+		}
+		return builder.toString();
+	}
+
+
+	private static void appendString(Appendable out, String value) throws IOException {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (ch < 0x20) {
+						out.append(String.format("\\u%04x", (int) ch));
+					}
+					else {
+						out.append(ch);
+					}
+			}
+		}
+		out.append('"');
+	}
+
+
+	/**
+	 * Event on the current {@link StartupTimeline}.
+	 */
+	public static class TimelineEvent {
+
+		private final BufferedStartupStep step;
+
+		private final Instant startTime;
+
+		private final Instant endTime;
+
+		private final Duration duration;
+
+		TimelineEvent(BufferedStartupStep step) {
+			this.step = step;
+			this.startTime = step.getStartTime();
+			this.duration = Duration.ofNanos(step.getDurationNanos());
+			this.endTime = this.startTime.plus(this.duration);
+		}
+
+		/**
+		 * Return the start time of this event.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the end time of this event.
+		 */
+		public Instant getEndTime() {
+			return this.endTime;
+		}
+
+		/**
+		 * Return the duration of this event, i.e. the processing time of the
+		 * associated {@link StartupStep} with nanoseconds precision.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the {@link StartupStep} information for this event.
+		 */
+		public StartupStep getStartupStep() {
+			return this.step;
+		}
+
+		void writeJson(Appendable out) throws IOException {
+			out.append("{\"startupStep\":{\"name\":");
+			appendString(out, this.step.getName());
+			out.append(",\"id\":").append(String.valueOf(this.step.getId()));
+			Long parentId = this.step.getParentId();
+			if (parentId != null) {
+				out.append(",\"parentId\":").append(String.valueOf(parentId));
+			}
+			out.append(",\"tags\":[");
+			boolean first = true;
+			for (StartupStep.Tag tag : this.step.getTags()) {
+				if (!first) {
+					out.append(',');
+				}
+				out.append("{\"key\":");
+				appendString(out, tag.getKey());
+				out.append(",\"value\":");
+				appendString(out, tag.getValue());
+				out.append('}');
+				first = false;
+			}
+			out.append("]},\"startTime\":");
+			appendString(out, this.startTime.toString());
+			out.append(",\"endTime\":");
+			appendString(out, this.endTime.toString());
+			out.append(",\"duration\":");
+			appendString(out, this.duration.toString());
+			out.append('}');
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Support package for buffering startup steps in memory and exporting them
+ * as a {@link org.springframework.core.metrics.buffering.StartupTimeline}.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics.buffering;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -16,11 +16,13 @@
 
 package org.springframework.core.type.classreading;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -31,6 +33,11 @@ import org.springframework.lang.Nullable;
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>Optionally backed by a persistent cache file that survives restarts:
+ * metadata for class files that did not change since they were last read is
+ * then restored from that file instead of being parsed with ASM again.
+ * See {@link #setPersistentCacheFile} and {@link #PERSISTENT_CACHE_FILE_PROPERTY_NAME}.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -40,10 +47,25 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/** Default maximum number of entries for a local MetadataReader cache: 256. */
 	public static final int DEFAULT_CACHE_LIMIT = 256;
 
+	/**
+	 * System property that specifies the default location of a persistent
+	 * metadata cache file: {@code "spring.metadata.cache.file"}.
+	 * <p>The file is created on first save and shared by all factories
+	 * within the same JVM that point to it.
+	 * @since 5.2
+	 * @see #setPersistentCacheFile
+	 */
+	public static final String PERSISTENT_CACHE_FILE_PROPERTY_NAME = "spring.metadata.cache.file";
+
+
 	/** MetadataReader cache: either local or shared at the ResourceLoader level. */
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** Persistent metadata cache, surviving restarts. */
+	@Nullable
+	private PersistentMetadataReaderCache persistentCache = getDefaultPersistentCache();
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -114,13 +136,39 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	/**
+	 * Specify a file to persist class metadata to, in order to avoid parsing
+	 * unchanged class files again after a restart.
+	 * <p>Entries are validated against the last-modified timestamp and length
+	 * of the containing jar file (or of the class file itself) before use.
+	 * New entries are written to the file on {@link #clearCache()}, leaving
+	 * out entries for class files that are missing or changed.
+	 * <p>Default is the file specified through the
+	 * {@value #PERSISTENT_CACHE_FILE_PROPERTY_NAME} property, if any.
+	 * @param cacheFile the cache file, or {@code null} for no persistent cache
+	 * @since 5.2
+	 */
+	public void setPersistentCacheFile(@Nullable File cacheFile) {
+		this.persistentCache = (cacheFile != null ? PersistentMetadataReaderCache.forFile(cacheFile) : null);
+	}
+
+	/**
+	 * Return the persistent cache file, if any.
+	 * @since 5.2
+	 */
+	@Nullable
+	public File getPersistentCacheFile() {
+		return (this.persistentCache != null ? this.persistentCache.getFile() : null);
+	}
+
+
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (this.metadataReaderCache instanceof ConcurrentMap) {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = loadMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
@@ -129,21 +177,42 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			synchronized (this.metadataReaderCache) {
 				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
+					metadataReader = loadMetadataReader(resource);
 					this.metadataReaderCache.put(resource, metadataReader);
 				}
 				return metadataReader;
 			}
 		}
 		else {
+			return loadMetadataReader(resource);
+		}
+	}
+
+	private MetadataReader loadMetadataReader(Resource resource) throws IOException {
+		PersistentMetadataReaderCache persistentCache = this.persistentCache;
+		PersistentMetadataReaderCache.Key key = (persistentCache != null ? persistentCache.getKey(resource) : null);
+		if (persistentCache == null || key == null) {
 			return super.getMetadataReader(resource);
 		}
+		SimpleAnnotationMetadata metadata = persistentCache.get(key, getResourceLoader().getClassLoader());
+		if (metadata != null) {
+			return new SimpleMetadataReader(resource, metadata);
+		}
+		MetadataReader metadataReader = super.getMetadataReader(resource);
+		if (metadataReader.getAnnotationMetadata() instanceof SimpleAnnotationMetadata) {
+			persistentCache.put(key, (SimpleAnnotationMetadata) metadataReader.getAnnotationMetadata());
+		}
+		return metadataReader;
 	}
 
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
+	 * <p>Also writes new entries to the persistent cache file, if any.
 	 */
 	public void clearCache() {
+		if (this.persistentCache != null) {
+			this.persistentCache.save();
+		}
 		if (this.metadataReaderCache instanceof LocalResourceCache) {
 			synchronized (this.metadataReaderCache) {
 				this.metadataReaderCache.clear();
@@ -156,6 +225,13 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	@Nullable
+	private static PersistentMetadataReaderCache getDefaultPersistentCache() {
+		String cacheFile = SpringProperties.getProperty(PERSISTENT_CACHE_FILE_PROPERTY_NAME);
+		return (cacheFile != null ? PersistentMetadataReaderCache.forFile(new File(cacheFile)) : null);
+	}
+
+
 	@SuppressWarnings("serial")
 	private static class LocalResourceCache extends LinkedHashMap<Resource, MetadataReader> {
 
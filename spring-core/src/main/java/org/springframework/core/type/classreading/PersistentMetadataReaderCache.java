@@ -0,0 +1,365 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * File-backed store of {@link SimpleAnnotationMetadata}, allowing class files
+ * that did not change since a previous run to be restored without ASM parsing.
+ *
+ * <p>Entries are keyed by the URL of the class file and validated against the
+ * last-modified timestamp and length of the jar file containing it, determined
+ * once per jar file, or of the class file itself if not in a jar. The cache file
+ * is read when first used and only rewritten by {@link #save()} once new entries
+ * have been added, dropping entries for class files that are missing or changed.
+ * Entries are released from memory on {@link #save()}.
+ *
+ * <p>Instances are shared per cache file within the same JVM.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CachingMetadataReaderFactory#setPersistentCacheFile
+ */
+final class PersistentMetadataReaderCache {
+
+	private static final int MAGIC = 0x53504d43;
+
+	private static final int VERSION = 1;
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderCache.class);
+
+	private static final Map<File, PersistentMetadataReaderCache> caches = new ConcurrentHashMap<>(4);
+
+
+	private final File file;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	private final Map<String, Key> jarFileKeys = new ConcurrentHashMap<>(64);
+
+	private volatile boolean loaded;
+
+	private volatile boolean modified;
+
+
+	PersistentMetadataReaderCache(File file) {
+		this.file = file;
+	}
+
+
+	/**
+	 * Return the shared cache for the given file.
+	 */
+	static PersistentMetadataReaderCache forFile(File file) {
+		return caches.computeIfAbsent(file.getAbsoluteFile(), PersistentMetadataReaderCache::new);
+	}
+
+
+	/**
+	 * Return the cache file.
+	 */
+	File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Determine the cache key for the given class file resource.
+	 * @return the key, or {@code null} if the resource cannot be cached
+	 */
+	@Nullable
+	Key getKey(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if (ResourceUtils.isJarURL(url)) {
+				Key jarFileKey = getJarFileKey(ResourceUtils.extractJarFileURL(url));
+				return (jarFileKey != null ? new Key(url.toString(), jarFileKey.checksum, jarFileKey.size) : null);
+			}
+			long lastModified = resource.lastModified();
+			return (lastModified > 0 ? new Key(url.toString(), lastModified, resource.contentLength()) : null);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Determine the last-modified timestamp and length of the given jar file,
+	 * once per jar file until the next {@link #save()}.
+	 */
+	@Nullable
+	private Key getJarFileKey(URL jarFileUrl) {
+		String location = jarFileUrl.toString();
+		Key key = this.jarFileKeys.get(location);
+		if (key == null) {
+			if (!ResourceUtils.isFileURL(jarFileUrl)) {
+				return null;
+			}
+			try {
+				File jarFile = ResourceUtils.getFile(jarFileUrl);
+				long lastModified = jarFile.lastModified();
+				if (lastModified <= 0) {
+					return null;
+				}
+				key = new Key(location, lastModified, jarFile.length());
+			}
+			catch (IOException ex) {
+				return null;
+			}
+			this.jarFileKeys.put(location, key);
+		}
+		return key;
+	}
+
+	/**
+	 * Return the cached metadata for the given key, if still valid.
+	 * @param key the key of the class file
+	 * @param classLoader the ClassLoader to resolve annotation types against
+	 * @return the metadata, or {@code null} if none or stale
+	 */
+	@Nullable
+	SimpleAnnotationMetadata get(Key key, @Nullable ClassLoader classLoader) {
+		load();
+		Entry entry = this.entries.get(key.location);
+		if (entry == null || !entry.matches(key)) {
+			return null;
+		}
+		try {
+			return SimpleAnnotationMetadataCodec.decode(
+					new DataInputStream(new ByteArrayInputStream(entry.data)), classLoader);
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring cached metadata for " + key.location + ": " + ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Store the given metadata for the given key.
+	 * @param key the key of the class file
+	 * @param metadata the metadata read from the class file
+	 */
+	void put(Key key, SimpleAnnotationMetadata metadata) {
+		load();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+		try {
+			SimpleAnnotationMetadataCodec.encode(metadata, new DataOutputStream(bytes));
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Unable to cache metadata for " + key.location + ": " + ex);
+			}
+			return;
+		}
+		this.entries.put(key.location, new Entry(key.checksum, key.size, bytes.toByteArray()));
+		this.modified = true;
+	}
+
+	/**
+	 * Write the cache file if entries have been added since it was loaded
+	 * or last saved, leaving out entries for class files that are missing or
+	 * changed. The file is replaced atomically where supported.
+	 * <p>Releases the entries held in memory in any case: they are read from
+	 * the file again on next use.
+	 */
+	synchronized void save() {
+		try {
+			if (this.modified) {
+				this.modified = false;
+				write(prune(new ArrayList<>(this.entries.entrySet())));
+			}
+		}
+		finally {
+			this.entries.clear();
+			this.jarFileKeys.clear();
+			this.loaded = false;
+		}
+	}
+
+	private List<Map.Entry<String, Entry>> prune(List<Map.Entry<String, Entry>> entries) {
+		List<Map.Entry<String, Entry>> result = new ArrayList<>(entries.size());
+		for (Map.Entry<String, Entry> mapEntry : entries) {
+			String location = mapEntry.getKey();
+			Key key;
+			try {
+				key = getKey(new UrlResource(location));
+			}
+			catch (IOException ex) {
+				key = null;
+			}
+			// An unchanged jar file still contains the class file that the entry was created for
+			if (key != null && mapEntry.getValue().matches(key)) {
+				result.add(mapEntry);
+			}
+		}
+		return result;
+	}
+
+	private void write(List<Map.Entry<String, Entry>> snapshot) {
+		Path target = this.file.getAbsoluteFile().toPath();
+		Path temp = null;
+		try {
+			Files.createDirectories(target.getParent());
+			temp = Files.createTempFile(target.getParent(), this.file.getName(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(snapshot.size());
+				for (Map.Entry<String, Entry> mapEntry : snapshot) {
+					byte[] location = mapEntry.getKey().getBytes(StandardCharsets.UTF_8);
+					Entry entry = mapEntry.getValue();
+					out.writeInt(location.length);
+					out.write(location);
+					out.writeLong(entry.checksum);
+					out.writeLong(entry.size);
+					out.writeInt(entry.data.length);
+					out.write(entry.data);
+				}
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Saved " + snapshot.size() + " metadata entries to " + this.file);
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("Failed to save metadata cache to " + this.file + ": " + ex);
+			}
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				}
+				catch (IOException ignored) {
+				}
+			}
+		}
+	}
+
+	private void load() {
+		if (this.loaded) {
+			return;
+		}
+		synchronized (this) {
+			if (this.loaded) {
+				return;
+			}
+			if (this.file.isFile()) {
+				// Read into heap arrays rather than mapping the file, which is replaced on save
+				try (DataInputStream in = new DataInputStream(
+						new BufferedInputStream(Files.newInputStream(this.file.toPath())))) {
+					if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+						int count = in.readInt();
+						for (int i = 0; i < count; i++) {
+							byte[] location = new byte[in.readInt()];
+							in.readFully(location);
+							long checksum = in.readLong();
+							long size = in.readLong();
+							byte[] data = new byte[in.readInt()];
+							in.readFully(data);
+							this.entries.putIfAbsent(
+									new String(location, StandardCharsets.UTF_8), new Entry(checksum, size, data));
+						}
+						if (logger.isDebugEnabled()) {
+							logger.debug("Loaded " + count + " metadata entries from " + this.file);
+						}
+					}
+				}
+				catch (IOException | RuntimeException ex) {
+					// Unreadable or truncated file: start over with an empty cache
+					if (logger.isInfoEnabled()) {
+						logger.info("Ignoring unreadable metadata cache " + this.file + ": " + ex);
+					}
+					this.entries.clear();
+					this.modified = true;
+				}
+			}
+			this.loaded = true;
+		}
+	}
+
+
+	/**
+	 * Key for a class file, identifying both its location and its content.
+	 */
+	static final class Key {
+
+		private final String location;
+
+		private final long checksum;
+
+		private final long size;
+
+		Key(String location, long checksum, long size) {
+			this.location = location;
+			this.checksum = checksum;
+			this.size = size;
+		}
+	}
+
+
+	private static final class Entry {
+
+		private final long checksum;
+
+		private final long size;
+
+		private final byte[] data;
+
+		Entry(long checksum, long size, byte[] data) {
+			this.checksum = checksum;
+			this.size = size;
+			this.data = data;
+		}
+
+		boolean matches(Key key) {
+			return (this.checksum == key.checksum && this.size == key.size);
+		}
+	}
+
+}
@@ -156,6 +156,14 @@ final class SimpleAnnotationMetadata implements AnnotationMetadata {
 		return this.annotations;
 	}
 
+	int getAccess() {
+		return this.access;
+	}
+
+	MethodMetadata[] getAllAnnotatedMethods() {
+		return this.annotatedMethods.clone();
+	}
+
 
 
 }
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Compact binary encoding of {@link SimpleAnnotationMetadata}, used by
+ * {@link PersistentMetadataReaderCache} to restore class metadata without
+ * parsing the class file again.
+ *
+ * <p>Only directly present annotations are written, with class values stored
+ * as class names (exactly as ASM reports them). Annotation and enum types are
+ * resolved against the given {@link ClassLoader} when decoding, so a failure to
+ * decode simply means that the class file needs to be read again.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+final class SimpleAnnotationMetadataCodec {
+
+	private static final char STRING = 's';
+
+	private static final char BOOLEAN = 'Z';
+
+	private static final char BYTE = 'B';
+
+	private static final char CHAR = 'C';
+
+	private static final char SHORT = 'S';
+
+	private static final char INT = 'I';
+
+	private static final char LONG = 'J';
+
+	private static final char FLOAT = 'F';
+
+	private static final char DOUBLE = 'D';
+
+	private static final char ENUM = 'E';
+
+	private static final char ANNOTATION = '@';
+
+	private static final char ARRAY = '[';
+
+
+	private SimpleAnnotationMetadataCodec() {
+	}
+
+
+	/**
+	 * Write the given metadata to the given output.
+	 * @throws IllegalArgumentException if the metadata contains a value that
+	 * cannot be encoded
+	 */
+	static void encode(SimpleAnnotationMetadata metadata, DataOutput out) throws IOException {
+		out.writeUTF(metadata.getClassName());
+		out.writeInt(metadata.getAccess());
+		writeNullableString(metadata.getEnclosingClassName(), out);
+		writeNullableString(metadata.getSuperClassName(), out);
+		out.writeBoolean(metadata.hasEnclosingClass() && metadata.isIndependent());
+		writeStrings(metadata.getInterfaceNames(), out);
+		writeStrings(metadata.getMemberClassNames(), out);
+		writeAnnotations(metadata.getAnnotations(), out);
+		MethodMetadata[] annotatedMethods = metadata.getAllAnnotatedMethods();
+		out.writeInt(annotatedMethods.length);
+		for (MethodMetadata annotatedMethod : annotatedMethods) {
+			SimpleMethodMetadata methodMetadata = (SimpleMethodMetadata) annotatedMethod;
+			out.writeUTF(methodMetadata.getMethodName());
+			out.writeInt(methodMetadata.getAccess());
+			out.writeUTF(methodMetadata.getDeclaringClassName());
+			out.writeUTF(methodMetadata.getReturnTypeName());
+			out.writeUTF(getDescriptor(methodMetadata));
+			writeAnnotations(methodMetadata.getAnnotations(), out);
+		}
+	}
+
+	/**
+	 * Read metadata previously written by {@link #encode}.
+	 * @throws IllegalArgumentException if a referenced type cannot be resolved
+	 */
+	static SimpleAnnotationMetadata decode(DataInput in, @Nullable ClassLoader classLoader) throws IOException {
+		String className = in.readUTF();
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		String[] interfaceNames = readStrings(in);
+		String[] memberClassNames = readStrings(in);
+		MergedAnnotations annotations = readAnnotations(in, classLoader,
+				new SimpleAnnotationMetadataReadingVisitor.Source(className));
+		MethodMetadata[] annotatedMethods = new MethodMetadata[in.readInt()];
+		for (int i = 0; i < annotatedMethods.length; i++) {
+			String methodName = in.readUTF();
+			int methodAccess = in.readInt();
+			String declaringClassName = in.readUTF();
+			String returnTypeName = in.readUTF();
+			String descriptor = in.readUTF();
+			MergedAnnotations methodAnnotations = readAnnotations(in, classLoader,
+					new SimpleMethodMetadataReadingVisitor.Source(declaringClassName, methodName, descriptor));
+			annotatedMethods[i] = new SimpleMethodMetadata(methodName, methodAccess,
+					declaringClassName, returnTypeName, methodAnnotations);
+		}
+		return new SimpleAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames, annotatedMethods, annotations);
+	}
+
+
+	private static String getDescriptor(SimpleMethodMetadata methodMetadata) {
+		// Annotated methods always have at least one annotation carrying the source
+		Object source = methodMetadata.getAnnotations().stream().findFirst()
+				.map(MergedAnnotation::getSource).orElse(null);
+		if (!(source instanceof SimpleMethodMetadataReadingVisitor.Source)) {
+			throw new IllegalArgumentException("Unsupported annotation source " + source);
+		}
+		return ((SimpleMethodMetadataReadingVisitor.Source) source).getDescriptor();
+	}
+
+	private static void writeAnnotations(MergedAnnotations annotations, DataOutput out) throws IOException {
+		List<MergedAnnotation<Annotation>> directAnnotations = new ArrayList<>();
+		annotations.stream().filter(MergedAnnotation::isDirectlyPresent).forEach(directAnnotations::add);
+		out.writeInt(directAnnotations.size());
+		for (MergedAnnotation<Annotation> annotation : directAnnotations) {
+			out.writeUTF(annotation.getType().getName());
+			writeAttributes(annotation.asMap(Adapt.CLASS_TO_STRING, Adapt.ANNOTATION_TO_MAP), out);
+		}
+	}
+
+	private static MergedAnnotations readAnnotations(DataInput in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Class<? extends Annotation> type = resolveAnnotationType(in.readUTF(), classLoader);
+			annotations.add(MergedAnnotation.of(classLoader, source, type, readAttributes(in, classLoader)));
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	private static void writeAttributes(Map<String, Object> attributes, DataOutput out) throws IOException {
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeValue(entry.getValue(), out);
+		}
+	}
+
+	private static AnnotationAttributes readAttributes(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		int count = in.readInt();
+		AnnotationAttributes attributes = new AnnotationAttributes(count);
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			attributes.put(name, readValue(in, classLoader));
+		}
+		return attributes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeValue(Object value, DataOutput out) throws IOException {
+		if (value instanceof String) {
+			out.writeChar(STRING);
+			out.writeUTF((String) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeChar(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof Byte) {
+			out.writeChar(BYTE);
+			out.writeByte((Byte) value);
+		}
+		else if (value instanceof Character) {
+			out.writeChar(CHAR);
+			out.writeChar((Character) value);
+		}
+		else if (value instanceof Short) {
+			out.writeChar(SHORT);
+			out.writeShort((Short) value);
+		}
+		else if (value instanceof Integer) {
+			out.writeChar(INT);
+			out.writeInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			out.writeChar(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Float) {
+			out.writeChar(FLOAT);
+			out.writeFloat((Float) value);
+		}
+		else if (value instanceof Double) {
+			out.writeChar(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Enum) {
+			Enum<?> enumValue = (Enum<?>) value;
+			out.writeChar(ENUM);
+			out.writeUTF(enumValue.getDeclaringClass().getName());
+			out.writeUTF(enumValue.name());
+		}
+		else if (value instanceof Map) {
+			out.writeChar(ANNOTATION);
+			writeAttributes((Map<String, Object>) value, out);
+		}
+		else if (value.getClass().isArray()) {
+			int length = Array.getLength(value);
+			out.writeChar(ARRAY);
+			out.writeUTF(value.getClass().getComponentType().getName());
+			out.writeInt(length);
+			for (int i = 0; i < length; i++) {
+				writeValue(Array.get(value, i), out);
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported attribute value " + value);
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object readValue(DataInput in, @Nullable ClassLoader classLoader) throws IOException {
+		char tag = in.readChar();
+		switch (tag) {
+			case STRING:
+				return in.readUTF();
+			case BOOLEAN:
+				return in.readBoolean();
+			case BYTE:
+				return in.readByte();
+			case CHAR:
+				return in.readChar();
+			case SHORT:
+				return in.readShort();
+			case INT:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case FLOAT:
+				return in.readFloat();
+			case DOUBLE:
+				return in.readDouble();
+			case ENUM:
+				Class<?> enumType = resolveClass(in.readUTF(), classLoader);
+				return Enum.valueOf((Class<Enum>) enumType, in.readUTF());
+			case ANNOTATION:
+				return readAttributes(in, classLoader);
+			case ARRAY:
+				Class<?> componentType = resolveClass(in.readUTF(), classLoader);
+				Object array = Array.newInstance(componentType, in.readInt());
+				for (int i = 0; i < Array.getLength(array); i++) {
+					Array.set(array, i, readValue(in, classLoader));
+				}
+				return array;
+			default:
+				throw new IllegalArgumentException("Unknown attribute value tag '" + tag + "'");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<? extends Annotation> resolveAnnotationType(String name, @Nullable ClassLoader classLoader) {
+		Class<?> type = resolveClass(name, classLoader);
+		if (!type.isAnnotation()) {
+			throw new IllegalArgumentException("Type " + name + " is not an annotation");
+		}
+		return (Class<? extends Annotation>) type;
+	}
+
+	private static Class<?> resolveClass(String name, @Nullable ClassLoader classLoader) {
+		return ClassUtils.resolveClassName(name, classLoader);
+	}
+
+	private static void writeNullableString(@Nullable String value, DataOutput out) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStrings(String[] values, DataOutput out) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStrings(DataInput in) throws IOException {
+		String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+}
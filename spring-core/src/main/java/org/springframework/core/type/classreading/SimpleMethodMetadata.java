@@ -90,6 +90,10 @@ final class SimpleMethodMetadata implements MethodMetadata {
 		return (this.access & Opcodes.ACC_PRIVATE) != 0;
 	}
 
+	int getAccess() {
+		return this.access;
+	}
+
 	@Override
 	public MergedAnnotations getAnnotations() {
 		return this.annotations;
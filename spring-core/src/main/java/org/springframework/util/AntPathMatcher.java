@@ -16,12 +16,15 @@
 
 package org.springframework.util;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,7 +78,7 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/". */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	private static final int CACHE_LIMIT = 65536;
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
@@ -93,9 +96,9 @@ public class AntPathMatcher implements PathMatcher {
 	@Nullable
 	private volatile Boolean cachePatterns;
 
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(256);
+	private final PatternCache<String[]> tokenizedPatternCache = new PatternCache<>();
 
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
+	final PatternCache<AntPathStringMatcher> stringMatcherCache = new PatternCache<>();
 
 
 	/**
@@ -149,10 +152,10 @@ public class AntPathMatcher implements PathMatcher {
 	 * into this matcher's {@link #match} method. A value of {@code true}
 	 * activates an unlimited pattern cache; a value of {@code false} turns
 	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>Default is for the cache to be on, but bounded to 65536 patterns,
+	 * evicting the least recently used patterns when encountering more
+	 * patterns at runtime, e.g. arbitrary permutations of patterns with
+	 * little chance for encountering a recurring pattern.
 	 * @since 4.0.1
 	 * @see #getStringMatcher(String)
 	 */
@@ -160,10 +163,8 @@ public class AntPathMatcher implements PathMatcher {
 		this.cachePatterns = cachePatterns;
 	}
 
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
-		this.stringMatcherCache.clear();
+	private static int getCacheLimit(@Nullable Boolean cachePatterns) {
+		return (cachePatterns != null ? Integer.MAX_VALUE : CACHE_LIMIT);
 	}
 
 
@@ -402,15 +403,8 @@ public class AntPathMatcher implements PathMatcher {
 		}
 		if (tokenized == null) {
 			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
 			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
+				this.tokenizedPatternCache.put(pattern, tokenized, getCacheLimit(cachePatterns));
 			}
 		}
 		return tokenized;
@@ -422,9 +416,42 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return the tokenized path parts
 	 */
 	protected String[] tokenizePath(String path) {
+		if (this.pathSeparator.length() == 1 && !this.trimTokens) {
+			return tokenizePath(path, this.pathSeparator.charAt(0));
+		}
 		return StringUtils.tokenizeToStringArray(path, this.pathSeparator, this.trimTokens, true);
 	}
 
+	/**
+	 * Split the given path on a single separator character, ignoring empty
+	 * tokens, as {@link StringUtils#tokenizeToStringArray} does, but without
+	 * an intermediate {@link java.util.StringTokenizer} and {@code List}.
+	 */
+	private static String[] tokenizePath(String path, char separator) {
+		int count = 0;
+		int length = path.length();
+		for (int i = 0; i < length; i++) {
+			if (path.charAt(i) != separator && (i == 0 || path.charAt(i - 1) == separator)) {
+				count++;
+			}
+		}
+		String[] tokens = new String[count];
+		int index = 0;
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			if (i == length || path.charAt(i) == separator) {
+				if (start != -1) {
+					tokens[index++] = path.substring(start, i);
+					start = -1;
+				}
+			}
+			else if (start == -1) {
+				start = i;
+			}
+		}
+		return tokens;
+	}
+
 	/**
 	 * Test whether or not a string matches against a pattern.
 	 * @param pattern the pattern to match against (never {@code null})
@@ -442,9 +469,10 @@ public class AntPathMatcher implements PathMatcher {
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
 	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
 	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>When encountering too many patterns to cache at runtime (the limit is 65536),
+	 * the default cache evicts the least recently used patterns, assuming that
+	 * arbitrary permutations of patterns are coming in, with little chance for
+	 * encountering a recurring pattern.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
@@ -458,15 +486,8 @@ public class AntPathMatcher implements PathMatcher {
 		}
 		if (matcher == null) {
 			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
 			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.stringMatcherCache.put(pattern, matcher);
+				this.stringMatcherCache.put(pattern, matcher, getCacheLimit(cachePatterns));
 			}
 		}
 		return matcher;
@@ -637,6 +658,9 @@ public class AntPathMatcher implements PathMatcher {
 	 * Tests whether or not a string matches against a pattern via a {@link Pattern}.
 	 * <p>The pattern may contain special characters: '*' means zero or more characters; '?' means one and
 	 * only one character; '{' and '}' indicate a URI template pattern. For example <tt>/users/{user}</tt>.
+	 * <p>Patterns without URI template variables are matched directly, without a
+	 * regular expression, but with the same semantics: '*' and '?' do not match
+	 * line terminators, and case-insensitive matching applies to US-ASCII only.
 	 */
 	protected static class AntPathStringMatcher {
 
@@ -644,6 +668,15 @@ public class AntPathMatcher implements PathMatcher {
 
 		private static final String DEFAULT_VARIABLE_PATTERN = "(.*)";
 
+		private final String rawPattern;
+
+		private final boolean caseSensitive;
+
+		private final boolean exactMatch;
+
+		private final boolean singleVariable;
+
+		@Nullable
 		private final Pattern pattern;
 
 		private final List<String> variableNames = new LinkedList<>();
@@ -653,6 +686,23 @@ public class AntPathMatcher implements PathMatcher {
 		}
 
 		public AntPathStringMatcher(String pattern, boolean caseSensitive) {
+			this.rawPattern = pattern;
+			this.caseSensitive = caseSensitive;
+			String singleVariableName = getSingleVariableName(pattern);
+			if (singleVariableName != null) {
+				this.exactMatch = false;
+				this.singleVariable = true;
+				this.pattern = null;
+				this.variableNames.add(singleVariableName);
+				return;
+			}
+			this.singleVariable = false;
+			if (isGlobPattern(pattern)) {
+				this.exactMatch = (pattern.indexOf('*') == -1 && pattern.indexOf('?') == -1);
+				this.pattern = null;
+				return;
+			}
+			this.exactMatch = false;
 			StringBuilder patternBuilder = new StringBuilder();
 			Matcher matcher = GLOB_PATTERN.matcher(pattern);
 			int end = 0;
@@ -687,6 +737,39 @@ public class AntPathMatcher implements PathMatcher {
 					Pattern.compile(patternBuilder.toString(), Pattern.CASE_INSENSITIVE));
 		}
 
+		/**
+		 * Return the variable name if the pattern is a single URI template
+		 * variable without a regex, e.g. "{hotel}", or {@code null} otherwise.
+		 */
+		@Nullable
+		private static String getSingleVariableName(String pattern) {
+			int length = pattern.length();
+			if (length < 3 || pattern.charAt(0) != '{' || pattern.charAt(length - 1) != '}') {
+				return null;
+			}
+			for (int i = 1; i < length - 1; i++) {
+				char c = pattern.charAt(i);
+				if (c == '{' || c == '}' || c == ':' || c == '/' || c == '\\') {
+					return null;
+				}
+			}
+			return pattern.substring(1, length - 1);
+		}
+
+		private static boolean isGlobPattern(String pattern) {
+			for (int i = 0; i < pattern.length(); i++) {
+				char c = pattern.charAt(i);
+				if (c == '{' || isLineTerminator(c)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean isLineTerminator(char c) {
+			return (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029');
+		}
+
 		private String quote(String s, int start, int end) {
 			if (start == end) {
 				return "";
@@ -699,6 +782,15 @@ public class AntPathMatcher implements PathMatcher {
 		 * @return {@code true} if the string matches against the pattern, or {@code false} otherwise.
 		 */
 		public boolean matchStrings(String str, @Nullable Map<String, String> uriTemplateVariables) {
+			if (this.exactMatch) {
+				return matchExact(str);
+			}
+			if (this.singleVariable) {
+				return matchVariable(str, uriTemplateVariables);
+			}
+			if (this.pattern == null) {
+				return matchGlob(str);
+			}
 			Matcher matcher = this.pattern.matcher(str);
 			if (matcher.matches()) {
 				if (uriTemplateVariables != null) {
@@ -721,6 +813,78 @@ public class AntPathMatcher implements PathMatcher {
 				return false;
 			}
 		}
+
+		private boolean matchExact(String str) {
+			if (this.caseSensitive) {
+				return this.rawPattern.equals(str);
+			}
+			if (this.rawPattern.length() != str.length()) {
+				return false;
+			}
+			for (int i = 0; i < str.length(); i++) {
+				if (!matchChar(this.rawPattern.charAt(i), str.charAt(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matchVariable(String str, @Nullable Map<String, String> uriTemplateVariables) {
+			// Same as the default variable pattern "(.*)"
+			for (int i = 0; i < str.length(); i++) {
+				if (isLineTerminator(str.charAt(i))) {
+					return false;
+				}
+			}
+			if (uriTemplateVariables != null) {
+				uriTemplateVariables.put(this.variableNames.get(0), str);
+			}
+			return true;
+		}
+
+		private boolean matchGlob(String str) {
+			String glob = this.rawPattern;
+			int globIdx = 0;
+			int strIdx = 0;
+			int starIdx = -1;
+			int starMatchIdx = 0;
+			while (strIdx < str.length()) {
+				if (globIdx < glob.length()) {
+					char globChar = glob.charAt(globIdx);
+					if (globChar == '*') {
+						starIdx = globIdx++;
+						starMatchIdx = strIdx;
+						continue;
+					}
+					char c = str.charAt(strIdx);
+					if (globChar == '?' ? !isLineTerminator(c) : matchChar(globChar, c)) {
+						globIdx++;
+						strIdx++;
+						continue;
+					}
+				}
+				// Backtrack: let the last '*' consume one more character, unless a line terminator
+				if (starIdx != -1 && !isLineTerminator(str.charAt(starMatchIdx))) {
+					globIdx = starIdx + 1;
+					strIdx = ++starMatchIdx;
+					continue;
+				}
+				return false;
+			}
+			while (globIdx < glob.length() && glob.charAt(globIdx) == '*') {
+				globIdx++;
+			}
+			return (globIdx == glob.length());
+		}
+
+		private boolean matchChar(char patternChar, char c) {
+			if (patternChar == c) {
+				return true;
+			}
+			// Same as Pattern.CASE_INSENSITIVE without UNICODE_CASE
+			return (!this.caseSensitive && patternChar < 128 && c < 128 &&
+					Character.toLowerCase(patternChar) == Character.toLowerCase(c));
+		}
 	}
 
 
@@ -914,6 +1078,97 @@ public class AntPathMatcher implements PathMatcher {
 	}
 
 
+	/**
+	 * Cache for parsed pattern metadata, bounded by a limit given on insertion.
+	 * When exceeding the limit, the least recently used entries are evicted in
+	 * a batch down to three quarters of the limit, so that the cost of eviction
+	 * is amortized and lookups remain a plain {@link ConcurrentHashMap} read.
+	 * Recency is tracked with a logical clock that only advances on insertion,
+	 * so that repeated hits do not write to shared state.
+	 * @param <V> the type of cached value
+	 */
+	static final class PatternCache<V> {
+
+		private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>(256);
+
+		// Logical time of access, advanced on insertion only
+		private final AtomicLong clock = new AtomicLong();
+
+		@Nullable
+		V get(String key) {
+			Entry<V> entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			// Write only if there was an insertion since the last recorded access
+			long now = this.clock.get();
+			if (entry.lastAccess != now) {
+				entry.lastAccess = now;
+			}
+			return entry.value;
+		}
+
+		void put(String key, V value, int limit) {
+			this.entries.put(key, new Entry<>(value, this.clock.incrementAndGet()));
+			if (this.entries.size() > limit) {
+				evict(limit);
+			}
+		}
+
+		private synchronized void evict(int limit) {
+			if (this.entries.size() <= limit) {
+				// Evicted concurrently already
+				return;
+			}
+			long[] accessTimes = new long[this.entries.size()];
+			int count = 0;
+			for (Entry<V> entry : this.entries.values()) {
+				if (count == accessTimes.length) {
+					break;
+				}
+				accessTimes[count++] = entry.lastAccess;
+			}
+			int evictCount = count - (limit - limit / 4);
+			if (evictCount <= 0) {
+				return;
+			}
+			Arrays.sort(accessTimes, 0, count);
+			long threshold = accessTimes[evictCount - 1];
+			int thresholdCount = 0;
+			for (int i = evictCount - 1; i >= 0 && accessTimes[i] == threshold; i--) {
+				thresholdCount++;
+			}
+			for (Iterator<Entry<V>> it = this.entries.values().iterator(); it.hasNext();) {
+				long lastAccess = it.next().lastAccess;
+				if (lastAccess < threshold || (lastAccess == threshold && thresholdCount-- > 0)) {
+					it.remove();
+				}
+			}
+		}
+
+		int size() {
+			return this.entries.size();
+		}
+
+		boolean isEmpty() {
+			return this.entries.isEmpty();
+		}
+
+
+		private static final class Entry<V> {
+
+			final V value;
+
+			volatile long lastAccess;
+
+			Entry(V value, long lastAccess) {
+				this.value = value;
+				this.lastAccess = lastAccess;
+			}
+		}
+	}
+
+
 	/**
 	 * A simple cache for patterns that depend on the configured path separator.
 	 */
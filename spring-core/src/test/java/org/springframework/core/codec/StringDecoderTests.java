@@ -29,6 +29,7 @@ import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
 
@@ -127,6 +128,35 @@ class StringDecoderTests extends AbstractDecoderTestCase<StringDecoder> {
 				.verify());
 	}
 
+	@Test
+	void maxInMemoryLimit() {
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer("abc\n"), stringBuffer("defg\n"), stringBuffer("hijkl\n"));
+
+		this.decoder.setMaxInMemorySize(5);
+		testDecode(input, String.class, step ->
+				step.expectNext("abc", "defg").verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	void maxInMemoryLimitBetweenDelimiters() {
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer("abc"), stringBuffer("def\n"), stringBuffer("ghijkl"), stringBuffer("mn\n"));
+
+		this.decoder.setMaxInMemorySize(7);
+		testDecode(input, String.class, step ->
+				step.expectNext("abcdef").verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	void maxInMemoryLimitDecodeToMono() {
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+
+		this.decoder.setMaxInMemorySize(8);
+		testDecodeToMonoAll(input, String.class, step -> step.verifyError(DataBufferLimitException.class));
+	}
+
 	@Test
 	void decodeNewLineIncludeDelimiters() {
 		this.decoder = StringDecoder.allMimeTypes(StringDecoder.DEFAULT_DELIMITERS, false);
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.core.metrics.buffering;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void bufferEndedStepsWithParentIds() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.outer");
+		StartupStep inner = applicationStartup.start("spring.inner").tag("beanName", "testBean");
+		inner.end();
+		StartupStep sibling = applicationStartup.start("spring.sibling");
+		sibling.end();
+		outer.end();
+
+		List<StartupTimeline.TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).extracting(event -> event.getStartupStep().getName())
+				.containsExactly("spring.inner", "spring.sibling", "spring.outer");
+		assertThat(inner.getParentId()).isEqualTo(outer.getId());
+		assertThat(sibling.getParentId()).isEqualTo(outer.getId());
+		assertThat(outer.getParentId()).isNull();
+		assertThat(events.get(0).getStartupStep().getTags())
+				.extracting(StartupStep.Tag::getKey, StartupStep.Tag::getValue)
+				.containsExactly(tuple("beanName", "testBean"));
+		assertThat(events.get(2).getDuration()).isGreaterThanOrEqualTo(events.get(0).getDuration());
+	}
+
+	@Test
+	void restoreParentWhenNestedStepLeftOpen() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.outer");
+		applicationStartup.start("spring.abandoned");
+		outer.end();
+		StartupStep next = applicationStartup.start("spring.next");
+		assertThat(next.getParentId()).isNull();
+	}
+
+	@Test
+	void dropStepsOverCapacity() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 5; i++) {
+			applicationStartup.start("spring.step").end();
+		}
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(2);
+		assertThat(applicationStartup.drainBufferedTimeline().getEvents()).hasSize(2);
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).isEmpty();
+		applicationStartup.start("spring.step").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents()).hasSize(1);
+	}
+
+	@Test
+	void filterSteps() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		applicationStartup.addFilter(step -> step.getName().startsWith("spring.beans"));
+		applicationStartup.start("spring.context.refresh").end();
+		applicationStartup.start("spring.beans.instantiate").end();
+		assertThat(applicationStartup.getBufferedTimeline().getEvents().stream()
+				.map(event -> event.getStartupStep().getName()).collect(Collectors.toList()))
+				.containsExactly("spring.beans.instantiate");
+	}
+
+	@Test
+	void rejectTagAfterEnd() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep step = applicationStartup.start("spring.step");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+		assertThatIllegalStateException().isThrownBy(step::end);
+	}
+
+	@Test
+	void writeTimelineAsJson() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("spring.outer");
+		applicationStartup.start("spring.inner").tag("beanName", "my \"bean\"\n").end();
+		outer.end();
+
+		String json = applicationStartup.getBufferedTimeline().toJson();
+		assertThat(json).startsWith("{\"startTime\":\"").endsWith("]}");
+		assertThat(json).contains("{\"startupStep\":{\"name\":\"spring.inner\",\"id\":1,\"parentId\":0," +
+				"\"tags\":[{\"key\":\"beanName\",\"value\":\"my \\\"bean\\\"\\n\"}]},\"startTime\":\"");
+		assertThat(json).contains("{\"startupStep\":{\"name\":\"spring.outer\",\"id\":0,\"tags\":[]},");
+		assertThat(json).contains("\"duration\":\"PT");
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderCache} and its use by
+ * {@link CachingMetadataReaderFactory}.
+ *
+ * @author agent (agent@local)
+ */
+class PersistentMetadataReaderCacheTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Test
+	void metadataRestoredFromCacheFile() throws Exception {
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		Resource resource = getClassResource(SampleComponent.class);
+		AnnotationMetadata expected = new SimpleMetadataReaderFactory().getMetadataReader(resource).getAnnotationMetadata();
+
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(cacheFile);
+		PersistentMetadataReaderCache.Key key = cache.getKey(resource);
+		assertThat(key).isNotNull();
+		cache.put(key, (SimpleAnnotationMetadata) expected);
+		cache.save();
+		assertThat(cacheFile).isFile();
+
+		AnnotationMetadata actual = new PersistentMetadataReaderCache(cacheFile).get(key, getClass().getClassLoader());
+		assertThat(actual).isNotNull();
+		assertThat(actual.getClassName()).isEqualTo(expected.getClassName());
+		assertThat(actual.getSuperClassName()).isEqualTo(expected.getSuperClassName());
+		assertThat(actual.getEnclosingClassName()).isEqualTo(expected.getEnclosingClassName());
+		assertThat(actual.isIndependent()).isTrue();
+		assertThat(actual.isAbstract()).isTrue();
+		assertThat(actual.getInterfaceNames()).containsExactly(Serializable.class.getName());
+		assertThat(actual.getMemberClassNames()).containsExactly(expected.getMemberClassNames());
+		assertThat(actual.getAnnotationTypes()).containsExactlyElementsOf(expected.getAnnotationTypes());
+		assertThat(actual.getAnnotationAttributes(SampleAnnotation.class.getName()))
+				.usingRecursiveComparison().isEqualTo(expected.getAnnotationAttributes(SampleAnnotation.class.getName()));
+		assertThat(actual.getAnnotationAttributes(SampleAnnotation.class.getName(), true))
+				.usingRecursiveComparison()
+				.isEqualTo(expected.getAnnotationAttributes(SampleAnnotation.class.getName(), true));
+		AnnotationAttributes nested = actual.getAnnotations().get(SampleAnnotation.class)
+				.getAnnotation("nested", NestedAnnotation.class).asAnnotationAttributes();
+		assertThat(nested.getString("value")).isEqualTo("one");
+		SampleAnnotation synthesized = actual.getAnnotations().get(SampleAnnotation.class).synthesize();
+		assertThat(synthesized.type()).isEqualTo(String.class);
+		assertThat(synthesized.numbers()).containsExactly(1, 2, 3);
+		assertThat(synthesized.unit()).isEqualTo(TimeUnit.SECONDS);
+		assertThat(synthesized.nestedArray()).extracting(NestedAnnotation::value).containsExactly("two", "three");
+
+		Set<MethodMetadata> methods = actual.getAnnotatedMethods(NestedAnnotation.class.getName());
+		assertThat(methods).hasSize(1);
+		MethodMetadata method = methods.iterator().next();
+		assertThat(method.getMethodName()).isEqualTo("process");
+		assertThat(method.getReturnTypeName()).isEqualTo(String.class.getName());
+		assertThat(method.isStatic()).isTrue();
+		assertThat(method.getAnnotationAttributes(NestedAnnotation.class.getName())).containsEntry("value", "method");
+		assertThat(method.getAnnotations().get(NestedAnnotation.class).getSource().toString())
+				.endsWith("process(int)");
+	}
+
+	@Test
+	void staleEntryIsIgnored() throws Exception {
+		File classFile = copyClassFile(SampleComponent.class);
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(
+				this.tempDir.resolve("metadata.cache").toFile());
+		Resource resource = new FileSystemResource(classFile);
+		PersistentMetadataReaderCache.Key key = cache.getKey(resource);
+		cache.put(key, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(resource).getAnnotationMetadata());
+		assertThat(cache.get(key, null)).isNotNull();
+
+		assertThat(classFile.setLastModified(classFile.lastModified() - 10_000)).isTrue();
+		assertThat(cache.get(cache.getKey(resource), null)).isNull();
+	}
+
+	@Test
+	void jarEntryKeyUsesJarFile() throws Exception {
+		Resource resource = new ClassPathResource("org/junit/jupiter/api/Test.class");
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(
+				this.tempDir.resolve("metadata.cache").toFile());
+		PersistentMetadataReaderCache.Key key = cache.getKey(resource);
+		assertThat(key).isNotNull();
+		cache.put(key, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(resource).getAnnotationMetadata());
+		assertThat(cache.get(cache.getKey(resource), null)).isNotNull();
+	}
+
+	@Test
+	void cachingMetadataReaderFactorySkipsParsingOfUnchangedClassFile() throws Exception {
+		File classFile = copyClassFile(SampleComponent.class);
+		long lastModified = classFile.lastModified();
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		factory.setPersistentCacheFile(cacheFile);
+		assertThat(factory.getMetadataReader(new FileSystemResource(classFile))
+				.getClassMetadata().getClassName()).isEqualTo(SampleComponent.class.getName());
+		factory.clearCache();
+		assertThat(cacheFile).isFile();
+
+		// Same size and timestamp but unparseable content: only the cache can answer
+		byte[] garbage = new byte[(int) classFile.length()];
+		Files.write(classFile.toPath(), garbage);
+		assertThat(classFile.setLastModified(lastModified)).isTrue();
+
+		CachingMetadataReaderFactory restarted = new CachingMetadataReaderFactory();
+		restarted.setPersistentCacheFile(cacheFile);
+		MetadataReader metadataReader = restarted.getMetadataReader(new FileSystemResource(classFile));
+		assertThat(metadataReader.getAnnotationMetadata().hasAnnotation(SampleAnnotation.class.getName())).isTrue();
+	}
+
+	@Test
+	void savePrunesEntriesForMissingClassFiles() throws Exception {
+		File classFile = copyClassFile(SampleComponent.class);
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(cacheFile);
+		Resource resource = new FileSystemResource(classFile);
+		PersistentMetadataReaderCache.Key key = cache.getKey(resource);
+		cache.put(key, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(resource).getAnnotationMetadata());
+		Resource jarResource = new ClassPathResource("org/junit/jupiter/api/Test.class");
+		PersistentMetadataReaderCache.Key jarKey = cache.getKey(jarResource);
+		cache.put(jarKey, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(jarResource).getAnnotationMetadata());
+
+		Files.delete(classFile.toPath());
+		cache.save();
+
+		PersistentMetadataReaderCache restored = new PersistentMetadataReaderCache(cacheFile);
+		assertThat(restored.get(key, null)).isNull();
+		assertThat(restored.get(jarKey, null)).isNotNull();
+	}
+
+	@Test
+	void cacheFileReplacedWhileInUse() throws Exception {
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		PersistentMetadataReaderCache cache = new PersistentMetadataReaderCache(cacheFile);
+		Resource resource = getClassResource(SampleComponent.class);
+		PersistentMetadataReaderCache.Key key = cache.getKey(resource);
+		cache.put(key, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(resource).getAnnotationMetadata());
+		cache.save();
+
+		// Read from the file again, then replace it
+		assertThat(cache.get(key, null)).isNotNull();
+		Resource jarResource = new ClassPathResource("org/junit/jupiter/api/Test.class");
+		PersistentMetadataReaderCache.Key jarKey = cache.getKey(jarResource);
+		cache.put(jarKey, (SimpleAnnotationMetadata) new SimpleMetadataReaderFactory()
+				.getMetadataReader(jarResource).getAnnotationMetadata());
+		cache.save();
+
+		PersistentMetadataReaderCache restored = new PersistentMetadataReaderCache(cacheFile);
+		assertThat(restored.get(key, null)).isNotNull();
+		assertThat(restored.get(jarKey, null)).isNotNull();
+	}
+
+	@Test
+	void unreadableCacheFileIsIgnored() throws Exception {
+		File cacheFile = this.tempDir.resolve("metadata.cache").toFile();
+		Files.write(cacheFile.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14});
+
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		factory.setPersistentCacheFile(cacheFile);
+		assertThat(factory.getMetadataReader(SampleComponent.class.getName())
+				.getClassMetadata().getClassName()).isEqualTo(SampleComponent.class.getName());
+	}
+
+
+	private Resource getClassResource(Class<?> clazz) {
+		return new ClassPathResource(ClassUtils.convertClassNameToResourcePath(clazz.getName()) + ".class");
+	}
+
+	private File copyClassFile(Class<?> clazz) throws IOException {
+		File classFile = this.tempDir.resolve(clazz.getSimpleName() + ".class").toFile();
+		FileCopyUtils.copy(getClassResource(clazz).getInputStream(), Files.newOutputStream(classFile.toPath()));
+		return classFile;
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@interface NestedAnnotation {
+
+		String value();
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	@interface SampleAnnotation {
+
+		String name() default "";
+
+		Class<?> type() default Object.class;
+
+		Class<?>[] types() default {};
+
+		int[] numbers() default {};
+
+		long timeout() default -1L;
+
+		boolean flag() default false;
+
+		char separator() default ',';
+
+		TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+		NestedAnnotation nested();
+
+		NestedAnnotation[] nestedArray() default {};
+	}
+
+
+	@SampleAnnotation(name = "sample", type = String.class, types = {Integer.class, Long.class},
+			numbers = {1, 2, 3}, timeout = 10L, flag = true, separator = ';', unit = TimeUnit.SECONDS,
+			nested = @NestedAnnotation("one"), nestedArray = {@NestedAnnotation("two"), @NestedAnnotation("three")})
+	@NestedAnnotation("type")
+	abstract static class SampleComponent implements Serializable {
+
+		@NestedAnnotation("method")
+		static String process(int value) {
+			return String.valueOf(value);
+		}
+
+		static class Member {
+		}
+	}
+
+}
@@ -622,11 +622,43 @@ class AntPathMatcherTests {
 		match();
 		assertThat(pathMatcher.stringMatcherCache.size() > 20).isTrue();
 
-		for (int i = 0; i < 65536; i++) {
-			pathMatcher.match("test" + i, "test");
+		for (int i = 0; i < 70000; i++) {
+			pathMatcher.match("test" + i, "test" + i);
+			pathMatcher.match("/hotels/{hotel}", "/hotels/1");
 		}
-		// Cache turned off because it went beyond the threshold
-		assertThat(pathMatcher.stringMatcherCache.isEmpty()).isTrue();
+		// Cache bounded, with least recently used patterns evicted
+		assertThat(pathMatcher.stringMatcherCache.size()).isBetween(1, 65536);
+		assertThat(pathMatcher.stringMatcherCache.get("{hotel}")).isNotNull();
+		assertThat(pathMatcher.stringMatcherCache.get("test0")).isNull();
+		assertThat(pathMatcher.stringMatcherCache.get("test69999")).isNotNull();
+	}
+
+	@Test
+	void patternCacheEvictsLeastRecentlyUsed() {
+		AntPathMatcher.PatternCache<String> cache = new AntPathMatcher.PatternCache<>();
+		for (int i = 0; i < 8; i++) {
+			cache.put("p" + i, "v" + i, 8);
+		}
+		assertThat(cache.get("p0")).isEqualTo("v0");
+		cache.put("p8", "v8", 8);
+		assertThat(cache.size()).isEqualTo(6);
+		assertThat(cache.get("p0")).isEqualTo("v0");
+		assertThat(cache.get("p1")).isNull();
+		assertThat(cache.get("p8")).isEqualTo("v8");
+	}
+
+	@Test
+	void patternCacheEvictsDownToThreeQuartersWhenAllEntriesWereUsed() {
+		AntPathMatcher.PatternCache<String> cache = new AntPathMatcher.PatternCache<>();
+		for (int i = 0; i < 8; i++) {
+			cache.put("p" + i, "v" + i, 8);
+		}
+		for (int i = 0; i < 8; i++) {
+			cache.get("p" + i);
+		}
+		cache.put("p8", "v8", 8);
+		assertThat(cache.size()).isEqualTo(6);
+		assertThat(cache.get("p8")).isEqualTo("v8");
 	}
 
 	@Test
@@ -681,6 +713,25 @@ class AntPathMatcherTests {
 		assertThat(pathMatcher.stringMatcherCache.isEmpty()).isTrue();
 	}
 
+	@Test
+	void matchWildcardsWithoutLineTerminators() {
+		assertThat(pathMatcher.match("/te?t/*.html", "/test/a.html")).isTrue();
+		assertThat(pathMatcher.match("/te?t/*.html", "/te\nt/a.html")).isFalse();
+		assertThat(pathMatcher.match("/test/*.html", "/test/a\r\nb.html")).isFalse();
+		assertThat(pathMatcher.match("/test/*a*b*", "/test/xaxxbx")).isTrue();
+		assertThat(pathMatcher.match("/test/*a*b*", "/test/xbxxax")).isFalse();
+		assertThat(pathMatcher.match("/hotels/{hotel}", "/hotels/a\nb")).isFalse();
+	}
+
+	@Test
+	void caseInsensitiveWildcards() {
+		pathMatcher.setCaseSensitive(false);
+
+		assertThat(pathMatcher.match("/Test/*.HTML", "/tEST/page.html")).isTrue();
+		assertThat(pathMatcher.match("/t?st/PAGE", "/TEST/page")).isTrue();
+		assertThat(pathMatcher.match("/caf\u00c9", "/caf\u00e9")).as("US-ASCII only, as with a regex").isFalse();
+	}
+
 	@Test
 	void extensionMappingWithDotPathSeparator() {
 		pathMatcher.setPathSeparator(".");
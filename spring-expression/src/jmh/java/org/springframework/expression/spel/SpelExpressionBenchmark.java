@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmark for {@link SpelExpression#getValue} in interpreted mode versus
+ * compiled mode through the {@link org.springframework.expression.spel.standard.SpelCompiler}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelExpressionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"name", "name.length() > 3 and age >= 18", "address.city + ', ' + address.country", "age * 2 + 1"})
+		public String expressionString;
+
+		@Param({"interpreted", "compiled"})
+		public String mode;
+
+		public SpelExpression expression;
+
+		public EvaluationContext context;
+
+		public Person root;
+
+		@Setup
+		public void setup() {
+			this.root = new Person("Jane", 42, new Address("Paris", "France"));
+			this.context = new StandardEvaluationContext(this.root);
+			this.expression = (SpelExpression) new SpelExpressionParser().parseExpression(this.expressionString);
+			// Evaluate once so that accessors and exit type descriptors are resolved
+			this.expression.getValue(this.context);
+			if (this.mode.equals("compiled") && !this.expression.compileExpression()) {
+				throw new IllegalStateException("Expression not compilable: " + this.expressionString);
+			}
+		}
+	}
+
+
+	@Benchmark
+	public Object getValueWithContext(BenchmarkState state) {
+		return state.expression.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object getValueWithRootObject(BenchmarkState state) {
+		return state.expression.getValue(state.context, state.root);
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		private final Address address;
+
+		public Person(String name, int age, Address address) {
+			this.name = name;
+			this.age = age;
+			this.address = address;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+	}
+
+
+	public static class Address {
+
+		private final String city;
+
+		private final String country;
+
+		public Address(String city, String country) {
+			this.city = city;
+			this.country = country;
+		}
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public String getCountry() {
+			return this.country;
+		}
+	}
+
+}
@@ -85,9 +85,16 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the active context object, if different from the
+	 * target, e.g. the current element while evaluating selection criteria.
+	 */
+	private final Deque<Integer> activeContextObjects = new ArrayDeque<>();
 
 
 	/**
@@ -105,13 +112,57 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if one has been pushed via {@link #pushActiveContextObject(int)}.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
+		Integer variableId = this.activeContextObjects.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
+	}
+
+	/**
+	 * Push the byte code to load the root object (i.e. what was passed as the first
+	 * argument to CompiledExpression.getValue(target, context)), regardless of the
+	 * active context object.
+	 * @param mv the visitor into which the load instruction should be inserted
+	 * @since 5.2
+	 */
+	public void loadRootObject(MethodVisitor mv) {
 		mv.visitVarInsn(ALOAD, 1);
 	}
 
+	/**
+	 * Make the value of the given local variable the active context object, i.e. the
+	 * object that {@link #loadTarget(MethodVisitor)} loads, until the corresponding
+	 * call to {@link #popActiveContextObject()}.
+	 * @param variableId the local variable holding the active context object,
+	 * as obtained from {@link #nextFreeVariableId()}
+	 * @since 5.2
+	 */
+	public void pushActiveContextObject(int variableId) {
+		this.activeContextObjects.push(variableId);
+	}
+
+	/**
+	 * Make the root object the active context object again, e.g. while generating
+	 * the code for the key of an indexer, until the corresponding call to
+	 * {@link #popActiveContextObject()}.
+	 * @since 5.2
+	 */
+	public void pushRootContextObject() {
+		this.activeContextObjects.push(1);
+	}
+
+	/**
+	 * Restore the active context object that was in place before the last call to
+	 * {@link #pushActiveContextObject(int)} or {@link #pushRootContextObject()}.
+	 * @since 5.2
+	 */
+	public void popActiveContextObject() {
+		this.activeContextObjects.pop();
+	}
+
 	/**
 	 * Push the bytecode to load the EvaluationContext (the second parameter passed to
 	 * the compiled expression method).
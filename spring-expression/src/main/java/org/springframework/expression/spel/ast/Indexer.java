@@ -195,10 +195,10 @@ public class Indexer extends SpelNodeImpl {
 	@Override
 	public boolean isCompilable() {
 		if (this.indexedType == IndexedType.ARRAY) {
-			return (this.exitTypeDescriptor != null);
+			return (this.exitTypeDescriptor != null && isCompilableIndex());
 		}
 		else if (this.indexedType == IndexedType.LIST) {
-			return this.children[0].isCompilable();
+			return isCompilableIndex();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
 			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
@@ -212,6 +212,12 @@ public class Indexer extends SpelNodeImpl {
 		return false;
 	}
 
+	private boolean isCompilableIndex() {
+		SpelNodeImpl index = this.children[0];
+		return (index.isCompilable() &&
+				("I".equals(index.exitTypeDescriptor) || "Ljava/lang/Integer".equals(index.exitTypeDescriptor)));
+	}
+
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
 		String descriptor = cf.lastDescriptor();
@@ -256,18 +262,13 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateCodeForIndex(mv, cf);
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateCodeForIndex(mv, cf);
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
@@ -281,9 +282,13 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
+				// The key is evaluated against the root object, as in getValueRef()
+				cf.pushRootContextObject();
 				cf.enterCompilationScope();
 				this.children[0].generateCode(mv, cf);
+				CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
 				cf.exitCompilationScope();
+				cf.popActiveContextObject();
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -319,6 +324,22 @@ public class Indexer extends SpelNodeImpl {
 		cf.pushDescriptor(this.exitTypeDescriptor);
 	}
 
+	/**
+	 * Generate the code for an int index, evaluated against the root object
+	 * as in {@link #getValueRef(ExpressionState)}.
+	 */
+	private void generateCodeForIndex(MethodVisitor mv, CodeFlow cf) {
+		cf.pushRootContextObject();
+		cf.enterCompilationScope();
+		this.children[0].generateCode(mv, cf);
+		String indexDescriptor = cf.lastDescriptor();
+		if (!"I".equals(indexDescriptor)) {
+			CodeFlow.insertUnboxInsns(mv, 'I', indexDescriptor);
+		}
+		cf.exitCompilationScope();
+		cf.popActiveContextObject();
+	}
+
 	@Override
 	public String toStringAST() {
 		StringJoiner sj = new StringJoiner(",", "[", "]");
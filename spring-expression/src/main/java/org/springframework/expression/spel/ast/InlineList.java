@@ -126,13 +126,45 @@ public class InlineList extends SpelNodeImpl {
 		return (List<Object>) this.constant.getValue();
 	}
 
+	/**
+	 * A constant list is always compilable, other lists are compilable
+	 * if all of their elements are.
+	 */
 	@Override
 	public boolean isCompilable() {
-		return isConstant();
+		if (isConstant()) {
+			return true;
+		}
+		for (SpelNodeImpl child : this.children) {
+			if (!child.isCompilable()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow codeflow) {
+		if (!isConstant()) {
+			// Build a new list on each evaluation, like getValueInternal()
+			int childCount = getChildCount();
+			mv.visitTypeInsn(NEW, "java/util/ArrayList");
+			mv.visitInsn(DUP);
+			CodeFlow.insertOptimalLoad(mv, childCount);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "(I)V", false);
+			for (int c = 0; c < childCount; c++) {
+				mv.visitInsn(DUP);
+				codeflow.enterCompilationScope();
+				this.children[c].generateCode(mv, codeflow);
+				CodeFlow.insertBoxIfNecessary(mv, codeflow.lastDescriptor());
+				codeflow.exitCompilationScope();
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+				mv.visitInsn(POP);
+			}
+			codeflow.pushDescriptor("Ljava/util/List");
+			return;
+		}
+
 		final String constantFieldName = "inlineList$" + codeflow.nextFieldId();
 		final String className = codeflow.getClassName();
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of compilation statistics for {@link SpelExpression SpelExpressions},
+ * keyed by expression string. Expressions parsed by a {@link SpelExpressionParser}
+ * that has been {@linkplain SpelExpressionParser#setCompilationStatistics configured}
+ * with a registry record how often they were interpreted and run in compiled form,
+ * how often compilation failed, and how often a compiled form was discarded after a
+ * failure at runtime.
+ *
+ * <p>Counters of expressions with the same expression string are aggregated.
+ * The registry is thread-safe and may be polled at any time, for example in order
+ * to export the current {@link #getStatistics() snapshot} to a monitoring system.
+ *
+ * <p>The number of expression strings that are recorded is limited, 1024 by
+ * default, so that expression strings built dynamically do not make the registry
+ * grow without bounds. Once the limit is reached, expressions with further
+ * expression strings are not recorded until the registry is {@link #clear() cleared}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see SpelExpressionParser#setCompilationStatistics
+ */
+public class SpelCompilationStatistics {
+
+	/**
+	 * Default maximum number of expression strings recorded.
+	 */
+	public static final int DEFAULT_MAX_EXPRESSIONS = 1024;
+
+
+	private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>(64);
+
+	private final int maxExpressions;
+
+
+	/**
+	 * Create a registry recording up to {@link #DEFAULT_MAX_EXPRESSIONS} expression strings.
+	 */
+	public SpelCompilationStatistics() {
+		this(DEFAULT_MAX_EXPRESSIONS);
+	}
+
+	/**
+	 * Create a registry recording up to the given number of expression strings.
+	 * @param maxExpressions the maximum number of expression strings to record
+	 */
+	public SpelCompilationStatistics(int maxExpressions) {
+		Assert.isTrue(maxExpressions > 0, "'maxExpressions' must be positive");
+		this.maxExpressions = maxExpressions;
+	}
+
+
+	/**
+	 * Return a snapshot of the statistics for the given expression string.
+	 * @param expressionString the expression string
+	 * @return the statistics, or {@code null} if no expression with the given
+	 * expression string has been recorded
+	 */
+	@Nullable
+	public ExpressionStatistics getStatistics(String expressionString) {
+		Counters counters = this.counters.get(expressionString);
+		return (counters != null ? counters.snapshot(expressionString) : null);
+	}
+
+	/**
+	 * Return a snapshot of the statistics of all recorded expressions.
+	 * @return a Map from expression string to statistics
+	 */
+	public Map<String, ExpressionStatistics> getStatistics() {
+		Map<String, ExpressionStatistics> result = new LinkedHashMap<>(this.counters.size());
+		this.counters.forEach((expressionString, counters) ->
+				result.put(expressionString, counters.snapshot(expressionString)));
+		return Collections.unmodifiableMap(result);
+	}
+
+	/**
+	 * Reset all counters and remove all recorded expressions.
+	 * <p>Expressions that have been parsed already keep recording into their
+	 * previous counters, which are no longer exposed by this registry.
+	 */
+	public void clear() {
+		this.counters.clear();
+	}
+
+	/**
+	 * Return the counters for the given expression string, creating them if necessary.
+	 * @return the counters, or {@code null} if the expression string is not recorded
+	 * since the maximum number of expression strings has been reached
+	 */
+	@Nullable
+	Counters getCounters(String expressionString) {
+		Counters counters = this.counters.get(expressionString);
+		if (counters == null && this.counters.size() < this.maxExpressions) {
+			// Concurrent registrations may exceed the limit by a few entries at most
+			counters = this.counters.computeIfAbsent(expressionString, key -> new Counters());
+		}
+		return counters;
+	}
+
+
+	/**
+	 * Live counters that a {@link SpelExpression} records into.
+	 */
+	static final class Counters {
+
+		final LongAdder interpretedEvaluations = new LongAdder();
+
+		final LongAdder compiledEvaluations = new LongAdder();
+
+		final LongAdder compilations = new LongAdder();
+
+		final LongAdder compileFailures = new LongAdder();
+
+		final LongAdder deoptimizations = new LongAdder();
+
+		ExpressionStatistics snapshot(String expressionString) {
+			return new ExpressionStatistics(expressionString, this.interpretedEvaluations.sum(),
+					this.compiledEvaluations.sum(), this.compilations.sum(), this.compileFailures.sum(),
+					this.deoptimizations.sum());
+		}
+	}
+
+
+	/**
+	 * Snapshot of the compilation statistics for a single expression string.
+	 */
+	public static final class ExpressionStatistics {
+
+		private final String expressionString;
+
+		private final long interpretedEvaluations;
+
+		private final long compiledEvaluations;
+
+		private final long compilations;
+
+		private final long compileFailures;
+
+		private final long deoptimizations;
+
+		ExpressionStatistics(String expressionString, long interpretedEvaluations, long compiledEvaluations,
+				long compilations, long compileFailures, long deoptimizations) {
+
+			this.expressionString = expressionString;
+			this.interpretedEvaluations = interpretedEvaluations;
+			this.compiledEvaluations = compiledEvaluations;
+			this.compilations = compilations;
+			this.compileFailures = compileFailures;
+			this.deoptimizations = deoptimizations;
+		}
+
+		/**
+		 * Return the expression string.
+		 */
+		public String getExpressionString() {
+			return this.expressionString;
+		}
+
+		/**
+		 * Return the number of evaluations performed by the interpreter.
+		 */
+		public long getInterpretedEvaluations() {
+			return this.interpretedEvaluations;
+		}
+
+		/**
+		 * Return the number of evaluations successfully performed in compiled form.
+		 */
+		public long getCompiledEvaluations() {
+			return this.compiledEvaluations;
+		}
+
+		/**
+		 * Return the number of successful compilations, including recompilations.
+		 */
+		public long getCompilations() {
+			return this.compilations;
+		}
+
+		/**
+		 * Return the number of compilation attempts that did not produce a compiled form.
+		 */
+		public long getCompileFailures() {
+			return this.compileFailures;
+		}
+
+		/**
+		 * Return the number of times a compiled form failed at runtime and was
+		 * discarded in favor of the interpreter.
+		 * @see org.springframework.expression.spel.SpelCompilerMode#MIXED
+		 */
+		public long getDeoptimizations() {
+			return this.deoptimizations;
+		}
+
+		@Override
+		public String toString() {
+			return "'" + this.expressionString + "': interpreted=" + this.interpretedEvaluations +
+					", compiled=" + this.compiledEvaluations + ", compilations=" + this.compilations +
+					", compileFailures=" + this.compileFailures + ", deoptimizations=" + this.deoptimizations;
+		}
+	}
+
+}
@@ -54,6 +54,9 @@ public class SpelExpression implements Expression {
 	// Number of times to try compiling an expression before giving up
 	private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
 
+	// Maximum number of times to double the interpreted count threshold after deoptimizations
+	private static final int MAX_DEOPTIMIZATION_BACKOFF = 10;
+
 
 	private final String expression;
 
@@ -77,6 +80,19 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private volatile int failedAttempts = 0;
 
+	// The number of times the compiled form failed at runtime and was discarded in mixed mode -
+	// each one doubles the number of interpreted evaluations before recompiling
+	private volatile int deoptimizations = 0;
+
+	// Root object type of the previous interpreted evaluation - after a deoptimization,
+	// recompilation waits until the root object type has been stable for a while
+	@Nullable
+	private volatile Class<?> interpretedRootType;
+
+	// Counters to record compilation statistics into, if any
+	@Nullable
+	private SpelCompilationStatistics.Counters compilationCounters;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -96,6 +112,13 @@ public class SpelExpression implements Expression {
 		this.evaluationContext = evaluationContext;
 	}
 
+	/**
+	 * Set the counters that this expression records its compilation statistics into.
+	 */
+	void setCompilationCounters(SpelCompilationStatistics.Counters compilationCounters) {
+		this.compilationCounters = compilationCounters;
+	}
+
 	/**
 	 * Return the default evaluation context that will be used if none is supplied on an evaluation call.
 	 * @return the default evaluation context
@@ -121,13 +144,14 @@ public class SpelExpression implements Expression {
 		if (this.compiledAst != null) {
 			try {
 				EvaluationContext context = getEvaluationContext();
-				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				countCompiledEvaluation();
+				return result;
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -150,6 +174,7 @@ public class SpelExpression implements Expression {
 			try {
 				EvaluationContext context = getEvaluationContext();
 				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				countCompiledEvaluation();
 				if (expectedResultType == null) {
 					return (T) result;
 				}
@@ -161,8 +186,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -183,13 +207,14 @@ public class SpelExpression implements Expression {
 	public Object getValue(@Nullable Object rootObject) throws EvaluationException {
 		if (this.compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject, getEvaluationContext());
+				Object result = this.compiledAst.getValue(rootObject, getEvaluationContext());
+				countCompiledEvaluation();
+				return result;
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -212,6 +237,7 @@ public class SpelExpression implements Expression {
 		if (this.compiledAst != null) {
 			try {
 				Object result = this.compiledAst.getValue(rootObject, getEvaluationContext());
+				countCompiledEvaluation();
 				if (expectedResultType == null) {
 					return (T)result;
 				}
@@ -223,8 +249,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -248,13 +273,14 @@ public class SpelExpression implements Expression {
 
 		if (this.compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				countCompiledEvaluation();
+				return result;
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -278,6 +304,7 @@ public class SpelExpression implements Expression {
 		if (this.compiledAst != null) {
 			try {
 				Object result = this.compiledAst.getValue(context.getRootObject().getValue(), context);
+				countCompiledEvaluation();
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}
@@ -288,8 +315,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -311,13 +337,14 @@ public class SpelExpression implements Expression {
 
 		if (this.compiledAst != null) {
 			try {
-				return this.compiledAst.getValue(rootObject, context);
+				Object result = this.compiledAst.getValue(rootObject, context);
+				countCompiledEvaluation();
+				return result;
 			}
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -343,6 +370,7 @@ public class SpelExpression implements Expression {
 		if (this.compiledAst != null) {
 			try {
 				Object result = this.compiledAst.getValue(rootObject, context);
+				countCompiledEvaluation();
 				if (expectedResultType != null) {
 					return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
 				}
@@ -353,8 +381,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
+					deoptimize();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -472,10 +499,19 @@ public class SpelExpression implements Expression {
 	/**
 	 * Compile the expression if it has been evaluated more than the threshold number
 	 * of times to trigger compilation.
+	 * <p>In mixed mode, an expression whose compiled form has been discarded is only
+	 * recompiled once it has been interpreted the threshold number of times in a row
+	 * against the same type of root object, with the threshold doubling for every
+	 * time the compiled form has been discarded, since the types of variables and
+	 * intermediate values may be just as unstable.
 	 * @param expressionState the expression state used to determine compilation mode
 	 */
 	private void checkCompile(ExpressionState expressionState) {
 		this.interpretedCount.incrementAndGet();
+		SpelCompilationStatistics.Counters counters = this.compilationCounters;
+		if (counters != null) {
+			counters.interpretedEvaluations.increment();
+		}
 		SpelCompilerMode compilerMode = expressionState.getConfiguration().getCompilerMode();
 		if (compilerMode != SpelCompilerMode.OFF) {
 			if (compilerMode == SpelCompilerMode.IMMEDIATE) {
@@ -485,13 +521,46 @@ public class SpelExpression implements Expression {
 			}
 			else {
 				// compilerMode = SpelCompilerMode.MIXED
-				if (this.interpretedCount.get() > INTERPRETED_COUNT_THRESHOLD) {
+				if (this.deoptimizations > 0) {
+					Object rootObject = expressionState.getRootContextObject().getValue();
+					Class<?> rootType = (rootObject != null ? rootObject.getClass() : null);
+					if (rootType != this.interpretedRootType) {
+						// Root object type changed: start counting again from this evaluation
+						this.interpretedRootType = rootType;
+						this.interpretedCount.set(1);
+					}
+				}
+				int threshold = INTERPRETED_COUNT_THRESHOLD <<
+						Math.min(this.deoptimizations, MAX_DEOPTIMIZATION_BACKOFF);
+				if (this.interpretedCount.get() > threshold) {
 					compileExpression();
 				}
 			}
 		}
 	}
 
+	/**
+	 * Discard the compiled form after it failed at runtime in mixed mode,
+	 * reverting to the interpreter until the expression gets recompiled.
+	 */
+	private void deoptimize() {
+		this.interpretedCount.set(0);
+		this.interpretedRootType = null;
+		this.deoptimizations++;
+		this.compiledAst = null;
+		SpelCompilationStatistics.Counters counters = this.compilationCounters;
+		if (counters != null) {
+			counters.deoptimizations.increment();
+		}
+	}
+
+	private void countCompiledEvaluation() {
+		SpelCompilationStatistics.Counters counters = this.compilationCounters;
+		if (counters != null) {
+			counters.compiledEvaluations.increment();
+		}
+	}
+
 
 	/**
 	 * Perform expression compilation. This will only succeed once exit descriptors for all nodes have
@@ -514,6 +583,15 @@ public class SpelExpression implements Expression {
 				if (this.compiledAst == null) {
 					this.failedAttempts++;
 				}
+				SpelCompilationStatistics.Counters counters = this.compilationCounters;
+				if (counters != null) {
+					if (this.compiledAst != null) {
+						counters.compilations.increment();
+					}
+					else {
+						counters.compileFailures.increment();
+					}
+				}
 			}
 		}
 		return (this.compiledAst != null);
@@ -522,12 +600,15 @@ public class SpelExpression implements Expression {
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
-	 * longer considered compilable if it cannot be compiled after 100 attempts).
+	 * longer considered compilable if it cannot be compiled after 100 attempts) as well as
+	 * the deoptimization state.
 	 */
 	public void revertToInterpreted() {
 		this.compiledAst = null;
 		this.interpretedCount.set(0);
 		this.failedAttempts = 0;
+		this.deoptimizations = 0;
+		this.interpretedRootType = null;
 	}
 
 	/**
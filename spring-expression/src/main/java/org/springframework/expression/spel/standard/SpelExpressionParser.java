@@ -34,6 +34,9 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private SpelCompilationStatistics compilationStatistics;
+
 
 	/**
 	 * Create a parser with default settings.
@@ -52,13 +55,41 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	}
 
 
+	/**
+	 * Set a registry that expressions parsed from now on record their compilation
+	 * statistics into. Default is none, with no statistics being recorded.
+	 * @param compilationStatistics the registry to record into, or {@code null} for none
+	 * @since 5.2
+	 */
+	public void setCompilationStatistics(@Nullable SpelCompilationStatistics compilationStatistics) {
+		this.compilationStatistics = compilationStatistics;
+	}
+
+	/**
+	 * Return the registry that parsed expressions record their compilation statistics into, if any.
+	 * @since 5.2
+	 */
+	@Nullable
+	public SpelCompilationStatistics getCompilationStatistics() {
+		return this.compilationStatistics;
+	}
+
+
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		return doParseExpression(expressionString, null);
 	}
 
 	@Override
 	protected SpelExpression doParseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
-		return new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
+		SpelExpression expression =
+				new InternalSpelExpressionParser(this.configuration).doParseExpression(expressionString, context);
+		if (this.compilationStatistics != null) {
+			SpelCompilationStatistics.Counters counters = this.compilationStatistics.getCounters(expressionString);
+			if (counters != null) {
+				expression.setCompilationCounters(counters);
+			}
+		}
+		return expression;
 	}
 
 }
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -106,6 +107,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * Selection (over an Iterable)
+	 * Projection (over an Iterable)
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -116,9 +119,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -445,6 +446,117 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(o).isEqualTo("op");
 	}
 
+	@Test
+	public void inlineListWithNonLiterals() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext("abc");
+		context.setVariable("x", 42);
+
+		expression = parser.parseExpression("{#root, #x, 'def', 3}");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("abc", 42, "def", 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("abc", 42, "def", 3));
+
+		expression = parser.parseExpression("{length(), {1,2}, {#x}}");
+		assertThat(expression.getValue(context).toString()).isEqualTo("[3, [1, 2], [42]]");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context).toString()).isEqualTo("[3, [1, 2], [42]]");
+		context.setVariable("x", 43);
+		assertThat(expression.getValue(context).toString()).isEqualTo("[3, [1, 2], [43]]");
+	}
+
+	@Test
+	public void selection() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext("abc");
+		context.setVariable("names", Arrays.asList("a", "bc", "def", "ghij"));
+
+		expression = parser.parseExpression("#names.?[length() > 1]");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("bc", "def", "ghij"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("bc", "def", "ghij"));
+
+		expression = parser.parseExpression("#names.^[length() > 1]");
+		assertThat(expression.getValue(context)).isEqualTo("bc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("bc");
+
+		expression = parser.parseExpression("#names.$[length() > 1].toUpperCase()");
+		assertThat(expression.getValue(context)).isEqualTo("GHIJ");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("GHIJ");
+
+		// Selection criteria referring to #this and #root
+		expression = parser.parseExpression("#names.?[#this.length() >= #root.length()]");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("def", "ghij"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("def", "ghij"));
+
+		// Nothing selected
+		expression = parser.parseExpression("#names.^[length() > 10]");
+		assertThat(expression.getValue(context)).isNull();
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isNull();
+		context.setVariable("names", Collections.emptyList());
+		assertThat(expression.getValue(context)).isNull();
+
+		// Null-safe selection
+		context.setVariable("names", Arrays.asList("a", "bc"));
+		expression = parser.parseExpression("#names?.?[length() > 1]");
+		assertThat(expression.getValue(context)).isEqualTo(Collections.singletonList("bc"));
+		assertCanCompile(expression);
+		context.setVariable("names", null);
+		assertThat(expression.getValue(context)).isNull();
+	}
+
+	@Test
+	public void selectionOverMapOrArrayIsNotCompiled() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("map", Collections.singletonMap("a", 1));
+		context.setVariable("array", new String[] {"a", "bc"});
+
+		expression = parser.parseExpression("#map.?[value > 0]");
+		assertThat(expression.getValue(context)).isEqualTo(Collections.singletonMap("a", 1));
+		assertCantCompile(expression);
+
+		expression = parser.parseExpression("#array.?[length() > 1]");
+		assertThat(expression.getValue(context, String[].class)).containsExactly("bc");
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext("abc");
+		context.setVariable("names", Arrays.asList("a", "bc", "def"));
+
+		expression = parser.parseExpression("#names.![length()]");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList(1, 2, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList(1, 2, 3));
+
+		expression = parser.parseExpression("#names.![#this + #root]");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("aabc", "bcabc", "defabc"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("aabc", "bcabc", "defabc"));
+
+		// Projection of a selection
+		expression = parser.parseExpression("#names.?[length() > 1].![toUpperCase()]");
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("BC", "DEF"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo(Arrays.asList("BC", "DEF"));
+
+		// Nested projection
+		context.setVariable("lists", Arrays.asList(Arrays.asList("a", "bc"), Collections.singletonList("def")));
+		expression = parser.parseExpression("#lists.![#this.![length()]]");
+		assertThat(expression.getValue(context).toString()).isEqualTo("[[1, 2], [3]]");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context).toString()).isEqualTo("[[1, 2], [3]]");
+
+		// Projection over a map is not compiled
+		context.setVariable("map", Collections.singletonMap("a", 1));
+		expression = parser.parseExpression("#map.![value]");
+		assertThat(expression.getValue(context)).isEqualTo(Collections.singletonList(1));
+		assertCantCompile(expression);
+	}
+
 	@Test
 	public void intLiteral() throws Exception {
 		expression = parser.parseExpression("42");
@@ -910,6 +1022,19 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(i).isEqualTo(42);
 	}
 
+	@Test
+	public void variableReference_this() throws Exception {
+		expression = parser.parseExpression("#this");
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+
+		expression = parser.parseExpression("#this.length()");
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -4501,6 +4626,37 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(getAst().getExitDescriptor()).isEqualTo("Ljava/lang/Object");
 	}
 
+	@Test
+	public void indexerWithNonLiteralIndex() throws Exception {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("list", Arrays.asList("a", "b", "c"));
+		context.setVariable("array", new String[] {"x", "y", "z"});
+		context.setVariable("map", Collections.singletonMap("key", "value"));
+		context.setVariable("i", 1);
+		context.setVariable("key", "key");
+
+		expression = parser.parseExpression("#list[#i]");
+		assertThat(expression.getValue(context)).isEqualTo("b");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("b");
+
+		expression = parser.parseExpression("#array[#i]");
+		assertThat(expression.getValue(context)).isEqualTo("y");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("y");
+
+		expression = parser.parseExpression("#map[#key]");
+		assertThat(expression.getValue(context)).isEqualTo("value");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("value");
+
+		// The index is evaluated against the root object, also within a selection
+		expression = parser.parseExpression("#list.?[#this == #list[length() - 2]]");
+		assertThat(expression.getValue(context, "abc")).isEqualTo(Collections.singletonList("b"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context, "abc")).isEqualTo(Collections.singletonList("b"));
+	}
+
 	@Test
 	public void plusNeedingCheckcast_SPR12426() {
 		expression = parser.parseExpression("object + ' world'");
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelCompilationStatistics.ExpressionStatistics;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SpelCompilationStatistics} and the recompilation of
+ * expressions in {@link SpelCompilerMode#MIXED mixed} mode.
+ *
+ * @author agent (agent@local)
+ */
+public class SpelCompilationStatisticsTests {
+
+	private final SpelCompilationStatistics statistics = new SpelCompilationStatistics();
+
+
+	@Test
+	public void noStatisticsByDefault() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		assertThat(parser.getCompilationStatistics()).isNull();
+		assertThat(parser.parseExpression("1 + 2").getValue()).isEqualTo(3);
+		assertThat(this.statistics.getStatistics()).isEmpty();
+	}
+
+	@Test
+	public void interpretedAndCompiledEvaluations() {
+		Expression expression = parser(SpelCompilerMode.IMMEDIATE).parseExpression("name");
+		for (int i = 0; i < 5; i++) {
+			assertThat(expression.getValue(new Foo())).isEqualTo("foo");
+		}
+
+		ExpressionStatistics stats = this.statistics.getStatistics("name");
+		assertThat(stats.getExpressionString()).isEqualTo("name");
+		assertThat(stats.getInterpretedEvaluations()).isEqualTo(2);
+		assertThat(stats.getCompilations()).isEqualTo(1);
+		assertThat(stats.getCompiledEvaluations()).isEqualTo(3);
+		assertThat(stats.getCompileFailures()).isEqualTo(0);
+		assertThat(stats.getDeoptimizations()).isEqualTo(0);
+	}
+
+	@Test
+	public void compileFailures() {
+		Expression expression = parser(SpelCompilerMode.IMMEDIATE).parseExpression("'abc' matches 'a.*'");
+		for (int i = 0; i < 3; i++) {
+			assertThat(expression.getValue()).isEqualTo(true);
+		}
+
+		ExpressionStatistics stats = this.statistics.getStatistics("'abc' matches 'a.*'");
+		assertThat(stats.getInterpretedEvaluations()).isEqualTo(3);
+		assertThat(stats.getCompilations()).isEqualTo(0);
+		assertThat(stats.getCompileFailures()).isEqualTo(2);
+	}
+
+	@Test
+	public void statisticsAggregatedPerExpressionString() {
+		SpelExpressionParser parser = parser(SpelCompilerMode.OFF);
+		parser.parseExpression("name").getValue(new Foo());
+		parser.parseExpression("name").getValue(new Foo());
+		parser.parseExpression("1 + 2").getValue();
+
+		assertThat(this.statistics.getStatistics()).containsOnlyKeys("name", "1 + 2");
+		assertThat(this.statistics.getStatistics("name").getInterpretedEvaluations()).isEqualTo(2);
+		assertThat(this.statistics.getStatistics("1 + 2").getInterpretedEvaluations()).isEqualTo(1);
+		assertThat(this.statistics.getStatistics("2 + 3")).isNull();
+
+		this.statistics.clear();
+		assertThat(this.statistics.getStatistics()).isEmpty();
+	}
+
+	@Test
+	public void statisticsLimitedToMaxExpressions() {
+		SpelCompilationStatistics statistics = new SpelCompilationStatistics(2);
+		SpelExpressionParser parser = new SpelExpressionParser();
+		parser.setCompilationStatistics(statistics);
+		for (int i = 0; i < 5; i++) {
+			assertThat(parser.parseExpression("1 + " + i).getValue()).isEqualTo(1 + i);
+		}
+		parser.parseExpression("1 + 0").getValue();
+
+		assertThat(statistics.getStatistics()).containsOnlyKeys("1 + 0", "1 + 1");
+		assertThat(statistics.getStatistics("1 + 0").getInterpretedEvaluations()).isEqualTo(2);
+
+		statistics.clear();
+		parser.parseExpression("1 + 4").getValue();
+		assertThat(statistics.getStatistics()).containsOnlyKeys("1 + 4");
+	}
+
+	@Test
+	public void recompilationOnceRootObjectTypeIsStable() {
+		Expression expression = parser(SpelCompilerMode.MIXED).parseExpression("name");
+
+		evaluate(expression, new Foo(), 101);
+		ExpressionStatistics stats = this.statistics.getStatistics("name");
+		assertThat(stats.getInterpretedEvaluations()).isEqualTo(101);
+		assertThat(stats.getCompilations()).isEqualTo(1);
+
+		// Compiled form is specific to Foo, so it fails for Bar and gets discarded
+		assertThat(expression.getValue(new Bar())).isEqualTo("bar");
+		stats = this.statistics.getStatistics("name");
+		assertThat(stats.getDeoptimizations()).isEqualTo(1);
+		assertThat(stats.getCompiledEvaluations()).isEqualTo(0);
+
+		// No recompilation while the root object type keeps changing
+		for (int i = 0; i < 200; i++) {
+			assertThat(expression.getValue(i % 2 == 0 ? new Foo() : new Bar())).isNotNull();
+		}
+		stats = this.statistics.getStatistics("name");
+		assertThat(stats.getCompilations()).isEqualTo(1);
+		assertThat(stats.getDeoptimizations()).isEqualTo(1);
+
+		// Recompiled for Bar once it has been the root object type for long enough,
+		// which is twice as long after a deoptimization
+		evaluate(expression, new Bar(), 201);
+		stats = this.statistics.getStatistics("name");
+		assertThat(stats.getCompilations()).isEqualTo(2);
+		assertThat(stats.getCompiledEvaluations()).isEqualTo(1);
+		assertThat(stats.getDeoptimizations()).isEqualTo(1);
+	}
+
+
+	@Test
+	public void recompilationBacksOffWhenVariableTypeKeepsChanging() {
+		Expression expression = parser(SpelCompilerMode.MIXED).parseExpression("#v.name");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+
+		for (int i = 0; i < 3000; i++) {
+			context.setVariable("v", (i / 150) % 2 == 0 ? new Foo() : new Bar());
+			assertThat(expression.getValue(context)).isNotNull();
+		}
+
+		// Recompiled after 100, 200, 400, 800 and 1600 interpreted evaluations,
+		// rather than after every change of the variable type
+		ExpressionStatistics stats = this.statistics.getStatistics("#v.name");
+		assertThat(stats.getCompilations()).isLessThanOrEqualTo(5);
+		assertThat(stats.getDeoptimizations()).isLessThanOrEqualTo(5);
+	}
+
+
+	private SpelExpressionParser parser(SpelCompilerMode compilerMode) {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(compilerMode, getClass().getClassLoader()));
+		parser.setCompilationStatistics(this.statistics);
+		assertThat(parser.getCompilationStatistics()).isSameAs(this.statistics);
+		return parser;
+	}
+
+	private void evaluate(Expression expression, Object rootObject, int times) {
+		for (int i = 0; i < times; i++) {
+			assertThat(expression.getValue(rootObject)).isNotNull();
+		}
+	}
+
+
+	public static class Foo {
+
+		public String getName() {
+			return "foo";
+		}
+	}
+
+
+	public static class Bar {
+
+		public String getName() {
+			return "bar";
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for {@link JdbcTemplate} row mapping against an embedded H2 database,
+ * comparing a hand-written {@link RowMapper}, {@link BeanPropertyRowMapper}
+ * and {@link ColumnMapRowMapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JdbcTemplateQueryBenchmark {
+
+	private static final String QUERY = "SELECT id, first_name, last_name, age FROM person WHERE id <= ?";
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "100", "10000"})
+		public int rowCount;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public RowMapper<Person> beanPropertyRowMapper;
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder()
+					.setType(EmbeddedDatabaseType.H2)
+					.generateUniqueName(true)
+					.build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("CREATE TABLE person (id INTEGER PRIMARY KEY, " +
+					"first_name VARCHAR(50), last_name VARCHAR(50), age INTEGER)");
+			int count = this.rowCount;
+			this.jdbcTemplate.batchUpdate("INSERT INTO person VALUES (?, ?, ?, ?)",
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							ps.setInt(1, i + 1);
+							ps.setString(2, "first" + i);
+							ps.setString(3, "last" + i);
+							ps.setInt(4, i % 100);
+						}
+
+						@Override
+						public int getBatchSize() {
+							return count;
+						}
+					});
+			this.beanPropertyRowMapper = new BeanPropertyRowMapper<>(Person.class);
+		}
+
+		@TearDown
+		public void tearDown() {
+			this.database.shutdown();
+		}
+	}
+
+
+	@Benchmark
+	public List<Person> customRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(QUERY, (rs, rowNum) -> {
+			Person person = new Person();
+			person.setId(rs.getInt(1));
+			person.setFirstName(rs.getString(2));
+			person.setLastName(rs.getString(3));
+			person.setAge(rs.getInt(4));
+			return person;
+		}, state.rowCount);
+	}
+
+	@Benchmark
+	public List<Person> beanPropertyRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query(QUERY, state.beanPropertyRowMapper, state.rowCount);
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> columnMapRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.queryForList(QUERY, state.rowCount);
+	}
+
+	@Benchmark
+	public List<Integer> singleColumnRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.queryForList("SELECT age FROM person WHERE id <= ?", Integer.class, state.rowCount);
+	}
+
+
+	public static class Person {
+
+		private int id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private int age;
+
+		public int getId() {
+			return this.id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+}
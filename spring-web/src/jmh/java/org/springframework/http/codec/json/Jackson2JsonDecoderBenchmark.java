@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmark for {@link Jackson2JsonDecoder}, decoding a JSON array and an
+ * {@code application/stream+json} body received in chunks of 8K into a
+ * {@code Flux} of values.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+	private static final int CHUNK_SIZE = 8192;
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "100", "1000"})
+		public int elementCount;
+
+		public Jackson2JsonDecoder decoder;
+
+		public DefaultDataBufferFactory bufferFactory;
+
+		public ResolvableType elementType;
+
+		public byte[] jsonArray;
+
+		public byte[] streamJson;
+
+		@Setup
+		public void setup() {
+			this.decoder = new Jackson2JsonDecoder();
+			this.decoder.setMaxInMemorySize(-1);
+			this.bufferFactory = new DefaultDataBufferFactory();
+			this.elementType = ResolvableType.forClass(Pojo.class);
+			List<String> elements = new ArrayList<>(this.elementCount);
+			for (int i = 0; i < this.elementCount; i++) {
+				elements.add("{\"foo\":\"foo" + i + "\",\"bar\":\"bar" + i + "\",\"count\":" + i +
+						",\"tags\":[\"a\",\"b\"]}");
+			}
+			this.jsonArray = ("[" + String.join(",", elements) + "]").getBytes(StandardCharsets.UTF_8);
+			this.streamJson = String.join("\n", elements).getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+
+	@Benchmark
+	public long decodeJsonArray(BenchmarkState state) {
+		return decode(state, state.jsonArray, MediaType.APPLICATION_JSON);
+	}
+
+	@Benchmark
+	public long decodeStreamJson(BenchmarkState state) {
+		return decode(state, state.streamJson, MediaType.APPLICATION_STREAM_JSON);
+	}
+
+	private long decode(BenchmarkState state, byte[] content, MediaType mediaType) {
+		Flux<DataBuffer> input = Flux.range(0, (content.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+				.map(i -> {
+					int offset = i * CHUNK_SIZE;
+					int length = Math.min(CHUNK_SIZE, content.length - offset);
+					return state.bufferFactory.wrap(content).slice(offset, length);
+				});
+		Long count = state.decoder.decode(input, state.elementType, mediaType, Collections.emptyMap())
+				.count()
+				.block();
+		return (count != null ? count : 0);
+	}
+
+
+	public static class Pojo {
+
+		private final String foo;
+
+		private final String bar;
+
+		private final int count;
+
+		private final List<String> tags;
+
+		@JsonCreator
+		public Pojo(@JsonProperty("foo") String foo, @JsonProperty("bar") String bar,
+				@JsonProperty("count") int count, @JsonProperty("tags") List<String> tags) {
+
+			this.foo = foo;
+			this.bar = bar;
+			this.count = count;
+			this.tags = tags;
+		}
+
+		public String getFoo() {
+			return this.foo;
+		}
+
+		public String getBar() {
+			return this.bar;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+	}
+
+}
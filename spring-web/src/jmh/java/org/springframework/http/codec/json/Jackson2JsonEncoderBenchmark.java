@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmark for {@link Jackson2JsonEncoder}, encoding a single value as well
+ * as {@code Flux} streams as JSON arrays and as {@code application/stream+json}.
+ *
+ * <p>Run with {@code -prof gc} for the bytes allocated per operation, i.e.
+ * {@code gc.alloc.rate.norm} divided by {@code elementCount} for the bytes
+ * allocated per element of a stream.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonEncoderBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "100", "1000"})
+		public int elementCount;
+
+		@Param({"heap", "netty"})
+		public String bufferFactoryType;
+
+		public Jackson2JsonEncoder encoder;
+
+		public DataBufferFactory bufferFactory;
+
+		public ResolvableType elementType;
+
+		public List<Pojo> elements;
+
+		@Setup
+		public void setup() {
+			this.encoder = new Jackson2JsonEncoder();
+			this.bufferFactory = (this.bufferFactoryType.equals("netty") ?
+					new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT) :
+					new DefaultDataBufferFactory());
+			this.elementType = ResolvableType.forClass(Pojo.class);
+			this.elements = new ArrayList<>(this.elementCount);
+			for (int i = 0; i < this.elementCount; i++) {
+				this.elements.add(new Pojo("foo" + i, "bar" + i, i));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public long encodeValue(BenchmarkState state) {
+		DataBuffer buffer = state.encoder.encodeValue(state.elements.get(0), state.bufferFactory,
+				state.elementType, MediaType.APPLICATION_JSON, Collections.emptyMap());
+		int count = buffer.readableByteCount();
+		DataBufferUtils.release(buffer);
+		return count;
+	}
+
+	@Benchmark
+	public long encodeJsonArray(BenchmarkState state) {
+		return encode(state, MediaType.APPLICATION_JSON);
+	}
+
+	@Benchmark
+	public long encodeStreamJson(BenchmarkState state) {
+		return encode(state, MediaType.APPLICATION_STREAM_JSON);
+	}
+
+	private long encode(BenchmarkState state, MediaType mediaType) {
+		return state.encoder.encode(Flux.fromIterable(state.elements), state.bufferFactory,
+				state.elementType, mediaType, Collections.emptyMap())
+				.map(buffer -> {
+					int count = buffer.readableByteCount();
+					DataBufferUtils.release(buffer);
+					return count;
+				})
+				.reduce(0L, Long::sum)
+				.block();
+	}
+
+
+	public static class Pojo {
+
+		private final String foo;
+
+		private final String bar;
+
+		private final int count;
+
+		public Pojo(String foo, String bar, int count) {
+			this.foo = foo;
+			this.bar = bar;
+			this.count = count;
+		}
+
+		public String getFoo() {
+			return this.foo;
+		}
+
+		public String getBar() {
+			return this.bar;
+		}
+
+		public int getCount() {
+			return this.count;
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmark comparing string-based {@link AntPathMatcher} matching with
+ * precompiled {@link PathPattern} matching over the same set of patterns.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathMatchingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public List<String> patterns = new ArrayList<>();
+
+		public List<String> paths = new ArrayList<>();
+
+		public AntPathMatcher antPathMatcher;
+
+		public List<PathPattern> pathPatterns = new ArrayList<>();
+
+		public List<PathContainer> pathContainers = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.patterns.add("/");
+			this.patterns.add("/resources/**");
+			this.patterns.add("/static/*.css");
+			this.patterns.add("/api/projects");
+			this.patterns.add("/api/projects/{project}");
+			this.patterns.add("/api/projects/{project}/releases/{version}");
+			this.patterns.add("/api/projects/{project}/issues/*/comments");
+			this.patterns.add("/api/projects/{project}/issues/{issue}/attachments/{file}");
+			this.paths.add("/");
+			this.paths.add("/resources/js/app/index.js");
+			this.paths.add("/static/main.css");
+			this.paths.add("/api/projects/spring-framework");
+			this.paths.add("/api/projects/spring-framework/releases/5.2.0");
+			this.paths.add("/api/projects/spring-framework/issues/12/comments");
+			this.paths.add("/api/projects/spring-boot/issues/18/attachments/report.pdf");
+
+			this.antPathMatcher = new AntPathMatcher();
+			PathPatternParser parser = new PathPatternParser();
+			for (String pattern : this.patterns) {
+				this.pathPatterns.add(parser.parse(pattern));
+			}
+			for (String path : this.paths) {
+				this.pathContainers.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void antPathMatcher(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			for (String pattern : state.patterns) {
+				bh.consume(state.antPathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPattern(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.pathContainers) {
+			for (PathPattern pattern : state.pathPatterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPatternWithPathParsing(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			PathContainer container = PathContainer.parsePath(path);
+			for (PathPattern pattern : state.pathPatterns) {
+				bh.consume(pattern.matches(container));
+			}
+		}
+	}
+
+	@Benchmark
+	public void antPathMatcherExtract(BenchmarkState state, Blackhole bh) {
+		for (String path : state.paths) {
+			for (String pattern : state.patterns) {
+				if (state.antPathMatcher.match(pattern, path)) {
+					bh.consume(state.antPathMatcher.extractUriTemplateVariables(pattern, path));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPatternExtract(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.pathContainers) {
+			for (PathPattern pattern : state.pathPatterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+}
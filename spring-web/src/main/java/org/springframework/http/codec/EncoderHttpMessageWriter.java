@@ -64,6 +64,8 @@ public class EncoderHttpMessageWriter<T> implements HttpMessageWriter<T> {
 	@Nullable
 	private final MediaType defaultMediaType;
 
+	private FlushPolicy flushPolicy = FlushPolicy.perElement();
+
 
 	/**
 	 * Create an instance wrapping the given {@link Encoder}.
@@ -97,6 +99,26 @@ public class EncoderHttpMessageWriter<T> implements HttpMessageWriter<T> {
 		return this.encoder;
 	}
 
+	/**
+	 * Configure how to flush the elements of a stream written with a
+	 * {@link HttpMessageEncoder#getStreamingMediaTypes() streaming} media type.
+	 * <p>By default this is {@link FlushPolicy#perElement()}.
+	 * @param flushPolicy the policy to use
+	 * @since 5.2
+	 */
+	public void setFlushPolicy(FlushPolicy flushPolicy) {
+		Assert.notNull(flushPolicy, "FlushPolicy is required");
+		this.flushPolicy = flushPolicy;
+	}
+
+	/**
+	 * Return the configured {@link #setFlushPolicy(FlushPolicy) FlushPolicy}.
+	 * @since 5.2
+	 */
+	public FlushPolicy getFlushPolicy() {
+		return this.flushPolicy;
+	}
+
 	@Override
 	public List<MediaType> getWritableMediaTypes() {
 		return this.mediaTypes;
@@ -133,8 +155,7 @@ public class EncoderHttpMessageWriter<T> implements HttpMessageWriter<T> {
 				inputStream, message.bufferFactory(), elementType, contentType, hints);
 
 		if (isStreamingMediaType(contentType)) {
-			return message.writeAndFlushWith(body.map(buffer ->
-					Mono.just(buffer).doOnDiscard(PooledDataBuffer.class, PooledDataBuffer::release)));
+			return message.writeAndFlushWith(this.flushPolicy.apply(body, message.bufferFactory()));
 		}
 
 		return message.writeWith(body);
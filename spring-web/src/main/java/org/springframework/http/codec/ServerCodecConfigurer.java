@@ -83,6 +83,18 @@ public interface ServerCodecConfigurer extends CodecConfigurer {
 		 * to customize the SSE encoder.
 		 */
 		void serverSentEventEncoder(Encoder<?> encoder);
+
+		/**
+		 * Configure how to flush the elements of Server-Sent Events and other
+		 * streaming media types such as {@code "application/stream+json"}
+		 * written by the default writers.
+		 * <p>By default this is not set, in which case each element is
+		 * flushed as soon as it is encoded.
+		 * @param flushPolicy the policy to use
+		 * @since 5.2
+		 * @see FlushPolicy#batch
+		 */
+		void streamingFlushPolicy(FlushPolicy flushPolicy);
 	}
 
 }
@@ -31,6 +31,7 @@ import org.springframework.core.codec.Decoder;
 import org.springframework.core.codec.StringDecoder;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ReactiveHttpInputMessage;
@@ -48,14 +49,14 @@ public class ServerSentEventHttpMessageReader implements HttpMessageReader<Objec
 
 	private static final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
 
-	private static final StringDecoder stringDecoder = StringDecoder.textPlainOnly();
-
 	private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
 
 
 	@Nullable
 	private final Decoder<?> decoder;
 
+	private final StringDecoder lineDecoder = StringDecoder.textPlainOnly();
+
 
 	/**
 	 * Constructor without a {@code Decoder}. In this mode only {@code String}
@@ -82,6 +83,28 @@ public class ServerSentEventHttpMessageReader implements HttpMessageReader<Objec
 		return this.decoder;
 	}
 
+	/**
+	 * Configure a limit on the maximum number of bytes per SSE event which are
+	 * buffered before the event is parsed. Once the limit is exceeded,
+	 * {@link DataBufferLimitException} is raised.
+	 * <p>Note that the {@link #getDecoder() data decoder}, if any, is not
+	 * affected, and must be configured separately.
+	 * <p>By default this is set to 256K.
+	 * @param byteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @since 5.2
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.lineDecoder.setMaxInMemorySize(byteCount);
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.2
+	 */
+	public int getMaxInMemorySize() {
+		return this.lineDecoder.getMaxInMemorySize();
+	}
+
 	@Override
 	public List<MediaType> getReadableMediaTypes() {
 		return Collections.singletonList(MediaType.TEXT_EVENT_STREAM);
@@ -104,9 +127,13 @@ public class ServerSentEventHttpMessageReader implements HttpMessageReader<Objec
 		boolean shouldWrap = isServerSentEvent(elementType);
 		ResolvableType valueType = (shouldWrap ? elementType.getGeneric() : elementType);
 
-		return stringDecoder.decode(message.getBody(), STRING_TYPE, null, hints)
-				.bufferUntil(line -> line.equals(""))
-				.concatMap(lines -> Mono.justOrEmpty(buildEvent(lines, valueType, shouldWrap, hints)));
+		return Flux.defer(() -> {
+			LimitTracker limitTracker = new LimitTracker(getMaxInMemorySize());
+			return this.lineDecoder.decode(message.getBody(), STRING_TYPE, null, hints)
+					.doOnNext(limitTracker::afterLineParsed)
+					.bufferUntil(line -> line.equals(""))
+					.concatMap(lines -> Mono.justOrEmpty(buildEvent(lines, valueType, shouldWrap, hints)));
+		});
 	}
 
 	@Nullable
@@ -176,11 +203,41 @@ public class ServerSentEventHttpMessageReader implements HttpMessageReader<Objec
 
 		if (elementType.resolve() == String.class) {
 			Flux<DataBuffer> body = message.getBody();
-			return stringDecoder.decodeToMono(body, elementType, null, null).cast(Object.class);
+			return this.lineDecoder.decodeToMono(body, elementType, null, null).cast(Object.class);
 		}
 
 		return Mono.error(new UnsupportedOperationException(
 				"ServerSentEventHttpMessageReader only supports reading stream of events as a Flux"));
 	}
 
+
+
+	/**
+	 * Tracks the number of characters of the lines of the current event,
+	 * raising {@link DataBufferLimitException} once the limit is exceeded.
+	 */
+	private static class LimitTracker {
+
+		private final int maxInMemorySize;
+
+		private long accumulated;
+
+		LimitTracker(int maxInMemorySize) {
+			this.maxInMemorySize = maxInMemorySize;
+		}
+
+		void afterLineParsed(String line) {
+			if (line.isEmpty()) {
+				this.accumulated = 0;
+			}
+			else if (this.maxInMemorySize >= 0) {
+				this.accumulated += line.length();
+				if (this.accumulated > this.maxInMemorySize) {
+					throw new DataBufferLimitException(
+							"Exceeded limit on max bytes per SSE event: " + this.maxInMemorySize);
+				}
+			}
+		}
+	}
+
 }
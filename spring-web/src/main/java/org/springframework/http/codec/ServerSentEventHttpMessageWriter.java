@@ -33,8 +33,6 @@ import org.springframework.core.codec.Encoder;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
-import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -61,6 +59,8 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 	@Nullable
 	private final Encoder<?> encoder;
 
+	private FlushPolicy flushPolicy = FlushPolicy.perElement();
+
 
 	/**
 	 * Constructor without an {@code Encoder}. In this mode only {@code String}
@@ -88,6 +88,25 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 		return this.encoder;
 	}
 
+	/**
+	 * Configure how to flush the events of a stream.
+	 * <p>By default this is {@link FlushPolicy#perElement()}.
+	 * @param flushPolicy the policy to use
+	 * @since 5.2
+	 */
+	public void setFlushPolicy(FlushPolicy flushPolicy) {
+		Assert.notNull(flushPolicy, "FlushPolicy is required");
+		this.flushPolicy = flushPolicy;
+	}
+
+	/**
+	 * Return the configured {@link #setFlushPolicy(FlushPolicy) FlushPolicy}.
+	 * @since 5.2
+	 */
+	public FlushPolicy getFlushPolicy() {
+		return this.flushPolicy;
+	}
+
 	@Override
 	public List<MediaType> getWritableMediaTypes() {
 		return WRITABLE_MEDIA_TYPES;
@@ -108,10 +127,11 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 		DataBufferFactory bufferFactory = message.bufferFactory();
 
 		message.getHeaders().setContentType(mediaType);
-		return message.writeAndFlushWith(encode(input, elementType, mediaType, bufferFactory, hints));
+		Flux<DataBuffer> body = encode(input, elementType, mediaType, bufferFactory, hints);
+		return message.writeAndFlushWith(this.flushPolicy.apply(body, bufferFactory));
 	}
 
-	private Flux<Publisher<DataBuffer>> encode(Publisher<?> input, ResolvableType elementType,
+	private Flux<DataBuffer> encode(Publisher<?> input, ResolvableType elementType,
 			MediaType mediaType, DataBufferFactory bufferFactory, Map<String, Object> hints) {
 
 		ResolvableType dataType = (ServerSentEvent.class.isAssignableFrom(elementType.toClass()) ?
@@ -144,10 +164,7 @@ public class ServerSentEventHttpMessageWriter implements HttpMessageWriter<Objec
 				sb.append("data:");
 			}
 
-			Mono<DataBuffer> bufferMono = Mono.fromCallable(() ->
-					bufferFactory.join(encodeEvent(sb, data, dataType, mediaType, bufferFactory, hints)));
-
-			return bufferMono.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+			return bufferFactory.join(encodeEvent(sb, data, dataType, mediaType, bufferFactory, hints));
 		});
 	}
 
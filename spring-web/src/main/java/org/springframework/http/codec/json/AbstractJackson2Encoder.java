@@ -29,6 +29,7 @@ import java.util.Map;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -127,13 +128,11 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 					.findFirst()
 					.map(mediaType -> {
 						byte[] separator = STREAM_SEPARATORS.getOrDefault(mediaType, NEWLINE_SEPARATOR);
-						return Flux.from(inputStream).map(value -> {
-							DataBuffer buffer = encodeValue(
-									value, bufferFactory, elementType, mimeType, hints, encoding);
-							if (separator != null) {
-								buffer.write(separator);
-							}
-							return buffer;
+						return Flux.defer(() -> {
+							ObjectWriter writer = createObjectWriter(elementType, mimeType, hints);
+							ByteArrayBuilder byteBuilder = new ByteArrayBuilder();
+							return Flux.from(inputStream).map(value -> encodeStreamingValue(
+									value, writer, byteBuilder, separator, bufferFactory, hints, encoding));
 						});
 					})
 					.orElseGet(() -> {
@@ -154,12 +153,63 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 	private DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints, JsonEncoding encoding) {
 
+		logValue(value, hints);
+		ObjectWriter writer = createObjectWriter(valueType, mimeType, hints);
+
+		DataBuffer buffer = bufferFactory.allocateBuffer();
+		boolean release = true;
+		try {
+			writeValue(value, writer, buffer.asOutputStream(), encoding);
+			release = false;
+		}
+		finally {
+			if (release) {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * Encode an element of a stream into the {@link ByteArrayBuilder} of the
+	 * current subscription first, so that the buffer for it, separator included,
+	 * can be allocated with the exact size.
+	 */
+	private DataBuffer encodeStreamingValue(Object value, ObjectWriter writer, ByteArrayBuilder byteBuilder,
+			byte[] separator, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints,
+			JsonEncoding encoding) {
+
+		logValue(value, hints);
+		try {
+			writeValue(value, writer, byteBuilder, encoding);
+			int length = byteBuilder.size();
+			DataBuffer buffer = bufferFactory.allocateBuffer(length + separator.length);
+			if (length == byteBuilder.getCurrentSegmentLength()) {
+				buffer.write(byteBuilder.getCurrentSegment(), 0, length);
+			}
+			else {
+				buffer.write(byteBuilder.toByteArray());
+			}
+			buffer.write(separator);
+			return buffer;
+		}
+		finally {
+			byteBuilder.reset();
+		}
+	}
+
+	private void logValue(Object value, @Nullable Map<String, Object> hints) {
 		if (!Hints.isLoggingSuppressed(hints)) {
 			LogFormatUtils.traceDebug(logger, traceOn -> {
 				String formatted = LogFormatUtils.formatValue(value, !traceOn);
 				return Hints.getLogPrefix(hints) + "Encoding [" + formatted + "]";
 			});
 		}
+	}
+
+	private ObjectWriter createObjectWriter(ResolvableType valueType, @Nullable MimeType mimeType,
+			@Nullable Map<String, Object> hints) {
 
 		JavaType javaType = getJavaType(valueType.getType(), null);
 		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
@@ -170,17 +220,16 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			writer = writer.forType(javaType);
 		}
 
-		writer = customizeWriter(writer, mimeType, valueType, hints);
-
-		DataBuffer buffer = bufferFactory.allocateBuffer();
-		boolean release = true;
-		OutputStream outputStream = buffer.asOutputStream();
+		return customizeWriter(writer, mimeType, valueType, hints);
+	}
 
+	private void writeValue(Object value, ObjectWriter writer, OutputStream outputStream, JsonEncoding encoding) {
 		try {
 			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
 			writer.writeValue(generator, value);
-			generator.flush();
-			release = false;
+			// Closing the generator returns its buffers to Jackson's BufferRecycler.
+			// Not on failure, since it would also complete the JSON content written so far.
+			generator.close();
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
@@ -192,13 +241,6 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			throw new IllegalStateException("Unexpected I/O error while writing to data buffer",
 					ex);
 		}
-		finally {
-			if (release) {
-				DataBufferUtils.release(buffer);
-			}
-		}
-
-		return buffer;
 	}
 
 	protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable MimeType mimeType,
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.lang.Nullable;
+
+/**
+ * Split a JSON stream of arbitrary size, byte array chunks into its top-level
+ * values, or the elements of a top-level array, and read each of them into an
+ * object as soon as it has been received.
+ *
+ * <p>This is an alternative to {@link Jackson2Tokenizer} for plain JSON that
+ * avoids copying every value into a {@link TokenBuffer}: each chunk is first
+ * scanned for the number of values it completes, and those values are then
+ * read straight from the non-blocking parser, which is guaranteed not to run
+ * out of input in the middle of them. Only a value that spans several chunks
+ * is collected into a {@code TokenBuffer}, and read once it is complete.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #supports(JsonFactory)
+ */
+final class Jackson2JsonSplitter {
+
+	private final JsonParser parser;
+
+	private final ByteArrayFeeder inputFeeder;
+
+	private final ObjectMapper objectMapper;
+
+	private final DeserializationContext deserializationContext;
+
+	private final Function<JsonParser, Object> valueReader;
+
+	private final int maxInMemorySize;
+
+	private int byteCount;
+
+	// Scanning state, to count complete values ahead of the parser
+
+	private int depth;
+
+	private boolean topLevelArray;
+
+	private boolean inString;
+
+	private boolean inEscape;
+
+	private boolean inScalar;
+
+	private int completeValues;
+
+	// Value that spans several chunks
+
+	@Nullable
+	private TokenBuffer tokenBuffer;
+
+	private int tokenBufferDepth;
+
+
+	private Jackson2JsonSplitter(JsonParser parser, ByteArrayFeeder inputFeeder, ObjectMapper objectMapper,
+			DeserializationContext deserializationContext, Function<JsonParser, Object> valueReader,
+			int maxInMemorySize) {
+
+		this.parser = parser;
+		this.inputFeeder = inputFeeder;
+		this.objectMapper = objectMapper;
+		this.deserializationContext = deserializationContext;
+		this.valueReader = valueReader;
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+
+	private List<Object> split(DataBuffer dataBuffer) {
+		int bufferSize = dataBuffer.readableByteCount();
+		byte[] bytes = new byte[bufferSize];
+		dataBuffer.read(bytes);
+		DataBufferUtils.release(dataBuffer);
+
+		try {
+			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			scan(bytes);
+			List<Object> result = readValues();
+			assertInMemorySize(bufferSize, result);
+			return result;
+		}
+		catch (JsonProcessingException ex) {
+			throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
+		}
+		catch (IOException ex) {
+			throw Exceptions.propagate(ex);
+		}
+	}
+
+	private Flux<Object> endOfInput() {
+		return Flux.defer(() -> {
+			this.inputFeeder.endOfInput();
+			if (this.inScalar) {
+				this.inScalar = false;
+				this.completeValues++;
+			}
+			try {
+				return Flux.fromIterable(readValues());
+			}
+			catch (JsonProcessingException ex) {
+				throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
+			}
+			catch (IOException ex) {
+				throw Exceptions.propagate(ex);
+			}
+		});
+	}
+
+	/**
+	 * Count the values completed by the given input, following the rules by
+	 * which the non-blocking parser returns tokens: strings are complete at
+	 * the closing quote, numbers and literals only once followed by another
+	 * character, and objects and arrays at the closing bracket.
+	 */
+	private void scan(byte[] bytes) {
+		int valueDepth = (this.topLevelArray ? 1 : 0);
+		for (byte b : bytes) {
+			if (this.inString) {
+				if (this.inEscape) {
+					this.inEscape = false;
+				}
+				else if (b == '\\') {
+					this.inEscape = true;
+				}
+				else if (b == '"') {
+					this.inString = false;
+					if (this.depth == valueDepth) {
+						this.completeValues++;
+					}
+				}
+				continue;
+			}
+			if (this.inScalar) {
+				if (!isScalarEnd(b)) {
+					continue;
+				}
+				this.inScalar = false;
+				this.completeValues++;
+			}
+			switch (b) {
+				case '"':
+					this.inString = true;
+					break;
+				case '[':
+					if (this.depth == 0) {
+						this.topLevelArray = true;
+						valueDepth = 1;
+					}
+					this.depth++;
+					break;
+				case '{':
+					this.depth++;
+					break;
+				case ']':
+				case '}':
+					this.depth--;
+					if (this.depth == 0 && this.topLevelArray) {
+						this.topLevelArray = false;
+						valueDepth = 0;
+					}
+					else if (this.depth == valueDepth) {
+						this.completeValues++;
+					}
+					break;
+				default:
+					// Any other character at the value level starts a number or literal
+					if (this.depth == valueDepth && b > ' ' && b != ',' && b != ':') {
+						this.inScalar = true;
+					}
+			}
+		}
+	}
+
+	private static boolean isScalarEnd(byte b) {
+		return (b <= ' ' || b == ',' || b == ':' || b == '"' ||
+				b == '[' || b == ']' || b == '{' || b == '}');
+	}
+
+	private List<Object> readValues() throws IOException {
+		List<Object> result = new ArrayList<>();
+		while (true) {
+			if (this.tokenBuffer == null && this.completeValues > 0) {
+				if (nextValueToken() == null) {
+					break;
+				}
+				this.completeValues--;
+				addValue(this.valueReader.apply(this.parser), result);
+			}
+			else if (!bufferTokens(result)) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Collect the tokens of a value that is not complete in the input yet.
+	 * @return {@code true} if the value was completed and read,
+	 * {@code false} if more input is needed
+	 */
+	private boolean bufferTokens(List<Object> result) throws IOException {
+		while (true) {
+			JsonToken token = (this.tokenBuffer != null ? this.parser.nextToken() : nextValueToken());
+			if (token == null || token == JsonToken.NOT_AVAILABLE) {
+				return false;
+			}
+			if (this.tokenBuffer == null) {
+				this.tokenBuffer = new TokenBuffer(this.parser, this.deserializationContext);
+			}
+			this.tokenBuffer.copyCurrentEvent(this.parser);
+			if (token.isStructStart()) {
+				this.tokenBufferDepth++;
+			}
+			else if (token.isStructEnd()) {
+				this.tokenBufferDepth--;
+			}
+			if (this.tokenBufferDepth == 0) {
+				TokenBuffer tokens = this.tokenBuffer;
+				this.tokenBuffer = null;
+				this.completeValues--;
+				addValue(this.valueReader.apply(tokens.asParser(this.objectMapper)), result);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Advance to the first token of the next value, skipping the start and
+	 * end of a top-level array.
+	 * @return the token, or {@code null} if more input is needed
+	 */
+	@Nullable
+	private JsonToken nextValueToken() throws IOException {
+		while (true) {
+			JsonToken token = this.parser.nextToken();
+			if (token == null || token == JsonToken.NOT_AVAILABLE) {
+				return null;
+			}
+			if (token == JsonToken.START_ARRAY ? this.parser.getParsingContext().getParent().inRoot() :
+					token == JsonToken.END_ARRAY && this.parser.getParsingContext().inRoot()) {
+				continue;
+			}
+			return token;
+		}
+	}
+
+	private static void addValue(@Nullable Object value, List<Object> result) {
+		if (value != null) {
+			result.add(value);
+		}
+	}
+
+	private void assertInMemorySize(int currentBufferSize, List<Object> result) {
+		if (this.maxInMemorySize >= 0) {
+			if (!result.isEmpty()) {
+				this.byteCount = 0;
+			}
+			else if (currentBufferSize > Integer.MAX_VALUE - this.byteCount) {
+				raiseLimitException();
+			}
+			else {
+				this.byteCount += currentBufferSize;
+				if (this.byteCount > this.maxInMemorySize) {
+					raiseLimitException();
+				}
+			}
+		}
+	}
+
+	private void raiseLimitException() {
+		throw new DataBufferLimitException(
+				"Exceeded limit on max bytes per JSON object: " + this.maxInMemorySize);
+	}
+
+
+	/**
+	 * Whether the given factory creates plain JSON parsers with none of the
+	 * features that the scanning for complete values does not account for,
+	 * such as comments or single quotes.
+	 * <p>Note that values are read from a parser that continues with the next
+	 * value or array element, so callers must not use the splitter along with
+	 * {@link com.fasterxml.jackson.databind.DeserializationFeature#FAIL_ON_TRAILING_TOKENS}.
+	 * @param jsonFactory the factory to check
+	 */
+	public static boolean supports(JsonFactory jsonFactory) {
+		return (JsonFactory.FORMAT_NAME_JSON.equals(jsonFactory.getFormatName()) &&
+				jsonFactory.canParseAsync() && jsonFactory.getInputDecorator() == null &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_COMMENTS) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_SINGLE_QUOTES) &&
+				!jsonFactory.isEnabled(JsonParser.Feature.ALLOW_MISSING_VALUES));
+	}
+
+	/**
+	 * Split the given {@code Flux<DataBuffer>} into top-level JSON values and
+	 * read each of them with the given function. If a top-level value is an
+	 * array, each element is read individually immediately after it is received.
+	 * @param dataBuffers the source data buffers
+	 * @param objectMapper the current mapper instance
+	 * @param maxInMemorySize maximum memory size, or -1 for unlimited
+	 * @param valueReader the function to read a value, positioned at its
+	 * first token, returning {@code null} for a value to be skipped
+	 * @return the resulting values
+	 */
+	public static Flux<Object> split(Flux<DataBuffer> dataBuffers, ObjectMapper objectMapper,
+			int maxInMemorySize, Function<JsonParser, Object> valueReader) {
+
+		try {
+			JsonParser nonBlockingParser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+			ByteArrayFeeder inputFeeder = (ByteArrayFeeder) nonBlockingParser.getNonBlockingInputFeeder();
+			// The non-blocking parser refuses an ObjectMapper as codec, which is safe
+			// here since values are only read once they are complete in the input
+			JsonParser parser = new JsonParserDelegate(nonBlockingParser) {
+				@Override
+				public ObjectCodec getCodec() {
+					return objectMapper;
+				}
+			};
+			DeserializationContext context = objectMapper.getDeserializationContext();
+			if (context instanceof DefaultDeserializationContext) {
+				context = ((DefaultDeserializationContext) context).createInstance(
+						objectMapper.getDeserializationConfig(), parser, objectMapper.getInjectableValues());
+			}
+			Jackson2JsonSplitter splitter = new Jackson2JsonSplitter(
+					parser, inputFeeder, objectMapper, context, valueReader, maxInMemorySize);
+			return dataBuffers.concatMapIterable(splitter::split)
+					.concatWith(splitter.endOfInput())
+					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+		}
+		catch (IOException ex) {
+			return Flux.error(ex);
+		}
+	}
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.LoggingCodecSupport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Default {@code HttpMessageReader} for parsing {@code "multipart/form-data"}
+ * requests to a stream of {@link Part}s, without depending on a third-party
+ * multipart library.
+ *
+ * <p>Requests are parsed as the data buffers arrive, without blocking. Parts
+ * are kept in memory up to the {@linkplain #setMaxInMemorySize maximum
+ * in-memory size}; beyond that, file parts are stored in a temporary file in
+ * the {@linkplain #setFileStorageDirectory file storage directory}, while
+ * form fields are rejected.
+ *
+ * <p>On the server, the temporary files of parts read through
+ * {@link org.springframework.web.server.ServerWebExchange#getMultipartData()}
+ * are deleted once the request has been processed. For parts read as a stream
+ * otherwise, it is up to the application to {@linkplain Part#delete() delete}
+ * them.
+ *
+ * <p>If the stream of parts is cancelled before the end of the request body,
+ * e.g. after taking only the first part, the rest of the body is read and
+ * released, up to 256K, so that the server does not have to close the
+ * connection. If the stream of parts fails, e.g. when exceeding one of the
+ * configured limits, reading stops immediately.
+ *
+ * <p>This reader can be provided to {@link MultipartHttpMessageReader} in order
+ * to aggregate all parts into a Map.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see MultipartHttpMessageReader
+ */
+public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements HttpMessageReader<Part> {
+
+	// Maximum number of bytes read and released after the stream of parts is cancelled
+	private static final int MAX_DRAIN_BYTES = 256 * 1024;
+
+
+	private int maxInMemorySize = 256 * 1024;
+
+	private int maxHeadersSize = 8 * 1024;
+
+	private long maxDiskUsagePerPart = -1;
+
+	private int maxParts = -1;
+
+	private Scheduler blockingOperationScheduler = Schedulers.boundedElastic();
+
+	private Mono<Path> fileStorageDirectory = Mono.defer(this::defaultFileStorageDirectory).cache();
+
+	private Charset headersCharset = StandardCharsets.UTF_8;
+
+
+	/**
+	 * Configure the maximum amount of memory allowed per part. When the limit
+	 * is exceeded, file parts are written to a temporary file, and non-file
+	 * parts are rejected with a {@link DecodingException}.
+	 * <p>By default this is set to 256K.
+	 * @param maxInMemorySize the in-memory limit in bytes, or -1 to keep all
+	 * parts in memory
+	 */
+	public void setMaxInMemorySize(int maxInMemorySize) {
+		Assert.isTrue(maxInMemorySize >= -1, "Max in-memory size must be -1 or higher");
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} in-memory limit.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Configure the maximum amount of memory allowed for the headers of
+	 * each part.
+	 * <p>By default this is set to 8K.
+	 * @param maxHeadersSize the maximum size of the headers in bytes
+	 */
+	public void setMaxHeadersSize(int maxHeadersSize) {
+		Assert.isTrue(maxHeadersSize > 0, "Max headers size must be positive");
+		this.maxHeadersSize = maxHeadersSize;
+	}
+
+	/**
+	 * Configure the maximum amount of disk space allowed for a file part.
+	 * <p>By default this is set to -1, meaning there is no limit.
+	 * @param maxDiskUsagePerPart the disk limit in bytes, or -1 for unlimited
+	 */
+	public void setMaxDiskUsagePerPart(long maxDiskUsagePerPart) {
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+	}
+
+	/**
+	 * Specify the maximum number of parts allowed in a given multipart request.
+	 * <p>By default this is set to -1, meaning there is no limit.
+	 * @param maxParts the maximum number of parts, or -1 for unlimited
+	 */
+	public void setMaxParts(int maxParts) {
+		this.maxParts = maxParts;
+	}
+
+	/**
+	 * Set the directory used to store parts larger than
+	 * {@link #setMaxInMemorySize(int) maxInMemorySize}.
+	 * <p>By default, a directory named {@code spring-multipart-*} is created
+	 * in the system temporary directory, and deleted on JVM exit if empty.
+	 * @param fileStorageDirectory the directory to store file parts in
+	 */
+	public void setFileStorageDirectory(Path fileStorageDirectory) {
+		Assert.notNull(fileStorageDirectory, "File storage directory must not be null");
+		this.fileStorageDirectory = Mono.just(fileStorageDirectory);
+	}
+
+	/**
+	 * Set the Reactor {@link Scheduler} to be used for creating files and
+	 * directories, and other blocking file system operations.
+	 * <p>By default, {@link Schedulers#boundedElastic()} is used.
+	 * @param blockingOperationScheduler the scheduler for blocking operations
+	 */
+	public void setBlockingOperationScheduler(Scheduler blockingOperationScheduler) {
+		Assert.notNull(blockingOperationScheduler, "Scheduler must not be null");
+		this.blockingOperationScheduler = blockingOperationScheduler;
+	}
+
+	/**
+	 * Set the character set used to decode the headers of each part.
+	 * <p>By default this is set to UTF-8, as required by RFC 7578.
+	 * @param headersCharset the charset for part headers
+	 */
+	public void setHeadersCharset(Charset headersCharset) {
+		Assert.notNull(headersCharset, "Charset must not be null");
+		this.headersCharset = headersCharset;
+	}
+
+
+	@Override
+	public List<MediaType> getReadableMediaTypes() {
+		return Collections.singletonList(MediaType.MULTIPART_FORM_DATA);
+	}
+
+	@Override
+	public boolean canRead(ResolvableType elementType, @Nullable MediaType mediaType) {
+		return Part.class.equals(elementType.toClass()) &&
+				(mediaType == null || MediaType.MULTIPART_FORM_DATA.isCompatibleWith(mediaType));
+	}
+
+
+	@Override
+	public Flux<Part> read(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Flux.defer(() -> {
+			byte[] boundary = getBoundary(message);
+			if (boundary == null) {
+				return Flux.error(new DecodingException("No multipart boundary found in Content-Type: \"" +
+						message.getHeaders().getContentType() + "\""));
+			}
+			RequestBody body = new RequestBody(message.getBody());
+			Flux<MultipartParser.Token> tokens =
+					MultipartParser.parse(body.content(), boundary, this.maxHeadersSize, this.headersCharset);
+			return PartGenerator.createParts(tokens, this.maxParts, this.maxInMemorySize, this.maxDiskUsagePerPart,
+					this.fileStorageDirectory, this.blockingOperationScheduler)
+					.doOnCancel(body::drain)
+					.doOnError(ex -> body.cancel());
+		}).doOnNext(part -> {
+			if (!Hints.isLoggingSuppressed(hints)) {
+				LogFormatUtils.traceDebug(logger, traceOn -> Hints.getLogPrefix(hints) + "Parsed " +
+						(isEnableLoggingRequestDetails() ?
+								LogFormatUtils.formatValue(part, !traceOn) :
+								"parts '" + part.name() + "' (content masked)"));
+			}
+		});
+	}
+
+	@Override
+	public Mono<Part> readMono(ResolvableType elementType, ReactiveHttpInputMessage message, Map<String, Object> hints) {
+		return Mono.error(new UnsupportedOperationException("Cannot read multipart request body into single Part"));
+	}
+
+
+	private Mono<Path> defaultFileStorageDirectory() {
+		return Mono.defer(() -> {
+			try {
+				Path directory = Files.createTempDirectory("spring-multipart-");
+				// Only deleted if empty, i.e. once all stored parts have been deleted
+				directory.toFile().deleteOnExit();
+				return Mono.just(directory);
+			}
+			catch (IOException ex) {
+				return Mono.error(new UncheckedIOException(ex));
+			}
+		}).subscribeOn(this.blockingOperationScheduler);
+	}
+
+	@Nullable
+	private static byte[] getBoundary(ReactiveHttpInputMessage message) {
+		MediaType contentType = message.getHeaders().getContentType();
+		if (contentType != null) {
+			String boundary = contentType.getParameter("boundary");
+			if (boundary != null) {
+				int length = boundary.length();
+				if (length > 2 && boundary.charAt(0) == '"' && boundary.charAt(length - 1) == '"') {
+					boundary = boundary.substring(1, length - 1);
+				}
+				return boundary.getBytes(StandardCharsets.ISO_8859_1);
+			}
+		}
+		return null;
+	}
+
+
+
+	/**
+	 * Relays the request body to the parser on demand. Once the stream of parts
+	 * has been cancelled, the rest of the body is read and released, up to
+	 * {@link #MAX_DRAIN_BYTES}; once it has failed, the body is cancelled.
+	 */
+	private static final class RequestBody extends BaseSubscriber<DataBuffer> {
+
+		private final Flux<DataBuffer> source;
+
+		@Nullable
+		private volatile FluxSink<DataBuffer> sink;
+
+		private volatile boolean draining;
+
+		private long drainedByteCount;
+
+		RequestBody(Flux<DataBuffer> source) {
+			this.source = source;
+		}
+
+		Flux<DataBuffer> content() {
+			return Flux.create(sink -> {
+				this.sink = sink;
+				this.source.subscribe(this);
+				sink.onRequest(this::request);
+			});
+		}
+
+		void drain() {
+			this.draining = true;
+			request(Long.MAX_VALUE);
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			// Request on demand only
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer buffer) {
+			FluxSink<DataBuffer> sink = this.sink;
+			if (!this.draining && sink != null && !sink.isCancelled()) {
+				sink.next(buffer);
+				return;
+			}
+			this.drainedByteCount += buffer.readableByteCount();
+			DataBufferUtils.release(buffer);
+			if (this.drainedByteCount > MAX_DRAIN_BYTES) {
+				// Too much left: stop reading and let the server close the connection
+				cancel();
+			}
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			FluxSink<DataBuffer> sink = this.sink;
+			if (sink != null) {
+				sink.complete();
+			}
+		}
+
+		@Override
+		protected void hookOnError(Throwable ex) {
+			FluxSink<DataBuffer> sink = this.sink;
+			if (!this.draining && sink != null) {
+				sink.error(ex);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+
+/**
+ * Default implementations of {@link Part} and its subtypes, as created by
+ * {@link PartGenerator}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+abstract class DefaultParts {
+
+	private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private static final int FILE_BUFFER_SIZE = 4096;
+
+
+	/**
+	 * Create a new {@link FormFieldPart} with the given parameters.
+	 * @param headers the part headers
+	 * @param content the part content
+	 * @return the form field part
+	 */
+	static FormFieldPart formFieldPart(HttpHeaders headers, byte[] content) {
+		return new DefaultFormFieldPart(headers, content);
+	}
+
+	/**
+	 * Create a new {@link Part} or {@link FilePart} held in memory.
+	 * @param headers the part headers
+	 * @param content the part content
+	 * @return the part
+	 */
+	static Part part(HttpHeaders headers, byte[] content) {
+		return part(headers, new MemoryContent(content));
+	}
+
+	/**
+	 * Create a new {@link Part} or {@link FilePart} stored in the given file.
+	 * @param headers the part headers
+	 * @param file the file holding the part content
+	 * @param blockingOperationScheduler the scheduler for file system operations
+	 * @return the part
+	 */
+	static Part part(HttpHeaders headers, Path file, Scheduler blockingOperationScheduler) {
+		return part(headers, new FileContent(file, blockingOperationScheduler));
+	}
+
+	private static Part part(HttpHeaders headers, Content content) {
+		String filename = headers.getContentDisposition().getFilename();
+		return (filename != null ? new DefaultFilePart(headers, filename, content) : new DefaultPart(headers, content));
+	}
+
+
+	/**
+	 * Abstract base class for parts.
+	 */
+	private abstract static class AbstractPart implements Part {
+
+		private final HttpHeaders headers;
+
+		private final String name;
+
+		protected AbstractPart(HttpHeaders headers) {
+			String name = headers.getContentDisposition().getName();
+			Assert.state(name != null, "No name available");
+			this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public HttpHeaders headers() {
+			return this.headers;
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FormFieldPart}.
+	 */
+	private static class DefaultFormFieldPart extends AbstractPart implements FormFieldPart {
+
+		private final byte[] content;
+
+		private final String value;
+
+		DefaultFormFieldPart(HttpHeaders headers, byte[] content) {
+			super(headers);
+			this.content = content;
+			this.value = new String(content, getCharset(headers));
+		}
+
+		private static Charset getCharset(HttpHeaders headers) {
+			MediaType contentType = headers.getContentType();
+			Charset charset = (contentType != null ? contentType.getCharset() : null);
+			return (charset != null ? charset : StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String value() {
+			return this.value;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> Flux.just(bufferFactory.wrap(this.content)));
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "=" + this.value + "'";
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link Part}.
+	 */
+	private static class DefaultPart extends AbstractPart {
+
+		protected final Content content;
+
+		DefaultPart(HttpHeaders headers, Content content) {
+			super(headers);
+			this.content = content;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return this.content.content();
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return this.content.delete();
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "', headers=" + headers();
+		}
+	}
+
+
+	/**
+	 * Default implementation of {@link FilePart}.
+	 */
+	private static class DefaultFilePart extends DefaultPart implements FilePart {
+
+		private final String filename;
+
+		DefaultFilePart(HttpHeaders headers, String filename, Content content) {
+			super(headers, content);
+			this.filename = filename;
+		}
+
+		@Override
+		public String filename() {
+			return this.filename;
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return this.content.transferTo(dest);
+		}
+
+		@Override
+		public String toString() {
+			return "Part '" + name() + "', filename='" + this.filename + "'";
+		}
+	}
+
+
+	/**
+	 * Part content abstraction.
+	 */
+	private interface Content {
+
+		Flux<DataBuffer> content();
+
+		Mono<Void> transferTo(Path dest);
+
+		Mono<Void> delete();
+	}
+
+
+	/**
+	 * {@link Content} held in memory.
+	 */
+	private static final class MemoryContent implements Content {
+
+		private final byte[] content;
+
+		MemoryContent(byte[] content) {
+			this.content = content;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return Flux.defer(() -> Flux.just(bufferFactory.wrap(this.content)));
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return DataBufferUtils.write(content(), dest);
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return Mono.empty();
+		}
+	}
+
+
+	/**
+	 * {@link Content} stored in a file.
+	 */
+	private static final class FileContent implements Content {
+
+		private final Path file;
+
+		private final Scheduler scheduler;
+
+		FileContent(Path file, Scheduler scheduler) {
+			this.file = file;
+			this.scheduler = scheduler;
+		}
+
+		@Override
+		public Flux<DataBuffer> content() {
+			return DataBufferUtils.read(this.file, bufferFactory, FILE_BUFFER_SIZE, StandardOpenOption.READ);
+		}
+
+		@Override
+		public Mono<Void> transferTo(Path dest) {
+			return blockingOperation(() -> Files.copy(this.file, dest, StandardCopyOption.REPLACE_EXISTING));
+		}
+
+		@Override
+		public Mono<Void> delete() {
+			return blockingOperation(() -> Files.deleteIfExists(this.file));
+		}
+
+		private Mono<Void> blockingOperation(Callable<?> callable) {
+			return Mono.fromCallable(callable).subscribeOn(this.scheduler).then();
+		}
+	}
+
+}
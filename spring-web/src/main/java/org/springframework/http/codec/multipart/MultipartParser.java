@@ -0,0 +1,366 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Non-blocking parser turning a stream of data buffers into a stream of
+ * {@link Token tokens}: the headers of each part, followed by the buffers
+ * of its body.
+ *
+ * <p>Body tokens are slices of the incoming buffers, only holding back the
+ * bytes that may belong to a boundary split across buffers. Boundaries are
+ * located with {@link DataBufferUtils#matcher(byte[])}.
+ *
+ * <p>The parser only requests content on demand; whether the rest of the
+ * content is read once the stream of tokens has been cancelled or has failed
+ * is up to the caller.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see PartGenerator
+ */
+final class MultipartParser {
+
+	private static final byte CR = '\r';
+
+	private static final byte LF = '\n';
+
+	private static final byte HYPHEN = '-';
+
+	private static final byte[] CR_LF = {CR, LF};
+
+	private static final byte[] DOUBLE_CR_LF = {CR, LF, CR, LF};
+
+	private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+
+	private final int maxHeadersSize;
+
+	private final Charset headersCharset;
+
+	private final DataBufferUtils.Matcher preambleMatcher;
+
+	private final byte[] bodyDelimiter;
+
+	private final DataBufferUtils.Matcher bodyMatcher;
+
+	private final DataBufferUtils.Matcher headersMatcher = DataBufferUtils.matcher(DOUBLE_CR_LF);
+
+	private final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream(256);
+
+	private final Deque<DataBuffer> bodyBuffers = new ArrayDeque<>();
+
+	private int bodyByteCount;
+
+	private final byte[] boundaryLineEnd = new byte[2];
+
+	private int boundaryLineEndCount;
+
+	private State state = State.PREAMBLE;
+
+
+	private MultipartParser(byte[] boundary, int maxHeadersSize, Charset headersCharset) {
+		this.maxHeadersSize = maxHeadersSize;
+		this.headersCharset = headersCharset;
+		byte[] delimiter = new byte[boundary.length + 2];
+		delimiter[0] = HYPHEN;
+		delimiter[1] = HYPHEN;
+		System.arraycopy(boundary, 0, delimiter, 2, boundary.length);
+		this.preambleMatcher = DataBufferUtils.matcher(delimiter);
+		this.bodyDelimiter = new byte[delimiter.length + 2];
+		this.bodyDelimiter[0] = CR;
+		this.bodyDelimiter[1] = LF;
+		System.arraycopy(delimiter, 0, this.bodyDelimiter, 2, delimiter.length);
+		this.bodyMatcher = DataBufferUtils.matcher(this.bodyDelimiter);
+	}
+
+
+	/**
+	 * Parse the given stream of data buffers into a stream of tokens.
+	 * @param buffers the multipart content
+	 * @param boundary the multipart boundary, as found in the content type
+	 * @param maxHeadersSize the maximum number of bytes for the headers of a part
+	 * @param headersCharset the charset to decode part headers with
+	 * @return the stream of tokens
+	 */
+	static Flux<Token> parse(Flux<DataBuffer> buffers, byte[] boundary, int maxHeadersSize, Charset headersCharset) {
+		return Flux.defer(() -> {
+			MultipartParser parser = new MultipartParser(boundary, maxHeadersSize, headersCharset);
+			return buffers.concatMapIterable(parser::parse, 1)
+					.concatWith(Flux.defer(parser::complete))
+					.doOnDiscard(BodyToken.class, token -> DataBufferUtils.release(token.buffer()))
+					.doFinally(signal -> parser.dispose());
+		});
+	}
+
+
+	private List<Token> parse(DataBuffer buffer) {
+		List<Token> tokens = new ArrayList<>(4);
+		try {
+			while (buffer.readableByteCount() > 0) {
+				switch (this.state) {
+					case PREAMBLE:
+						parsePreamble(buffer);
+						break;
+					case BOUNDARY_LINE:
+						parseBoundaryLine(buffer);
+						break;
+					case HEADERS:
+						parseHeaders(buffer, tokens);
+						break;
+					case BODY:
+						parseBody(buffer, tokens);
+						break;
+					default:
+						// Ignore the epilogue
+						buffer.readPosition(buffer.writePosition());
+				}
+			}
+			return tokens;
+		}
+		catch (RuntimeException ex) {
+			for (Token token : tokens) {
+				if (token instanceof BodyToken) {
+					DataBufferUtils.release(token.buffer());
+				}
+			}
+			throw ex;
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	private void parsePreamble(DataBuffer buffer) {
+		int end = this.preambleMatcher.match(buffer);
+		if (end != -1) {
+			buffer.readPosition(end + 1);
+			this.boundaryLineEndCount = 0;
+			this.state = State.BOUNDARY_LINE;
+		}
+		else {
+			buffer.readPosition(buffer.writePosition());
+		}
+	}
+
+	private void parseBoundaryLine(DataBuffer buffer) {
+		while (this.boundaryLineEndCount < 2 && buffer.readableByteCount() > 0) {
+			this.boundaryLineEnd[this.boundaryLineEndCount++] = buffer.read();
+		}
+		if (this.boundaryLineEndCount < 2) {
+			return;
+		}
+		if (this.boundaryLineEnd[0] == HYPHEN && this.boundaryLineEnd[1] == HYPHEN) {
+			this.state = State.DONE;
+		}
+		else if (this.boundaryLineEnd[0] == CR && this.boundaryLineEnd[1] == LF) {
+			// The line break is part of the headers delimiter in case of empty headers
+			this.headerBytes.reset();
+			this.headerBytes.write(CR_LF, 0, CR_LF.length);
+			this.headersMatcher.reset();
+			this.headersMatcher.match(bufferFactory.wrap(CR_LF));
+			this.state = State.HEADERS;
+		}
+		else {
+			throw new DecodingException("Invalid multipart boundary delimiter line");
+		}
+	}
+
+	private void parseHeaders(DataBuffer buffer, List<Token> tokens) {
+		int end = this.headersMatcher.match(buffer);
+		int length = (end != -1 ? end + 1 : buffer.writePosition()) - buffer.readPosition();
+		if (this.headerBytes.size() + length > this.maxHeadersSize) {
+			throw new DecodingException(
+					"Part headers exceeded the memory usage limit of " + this.maxHeadersSize + " bytes");
+		}
+		byte[] bytes = new byte[length];
+		buffer.read(bytes);
+		this.headerBytes.write(bytes, 0, length);
+		if (end != -1) {
+			tokens.add(new HeadersToken(toHeaders()));
+			this.bodyMatcher.reset();
+			this.state = State.BODY;
+		}
+	}
+
+	private HttpHeaders toHeaders() {
+		String block = new String(this.headerBytes.toByteArray(), this.headersCharset);
+		HttpHeaders headers = new HttpHeaders();
+		for (String line : block.split("\r\n")) {
+			int colon = line.indexOf(':');
+			if (colon > 0) {
+				headers.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+			}
+		}
+		return headers;
+	}
+
+	private void parseBody(DataBuffer buffer, List<Token> tokens) {
+		int start = buffer.readPosition();
+		int end = this.bodyMatcher.match(buffer);
+		if (end == -1) {
+			int length = buffer.readableByteCount();
+			this.bodyBuffers.add(buffer.retainedSlice(start, length));
+			this.bodyByteCount += length;
+			buffer.readPosition(buffer.writePosition());
+			// Hold back what may be the start of a delimiter split across buffers
+			emitBody(tokens, this.bodyDelimiter.length - 1);
+			return;
+		}
+		int length = end + 1 - start - this.bodyDelimiter.length;
+		if (length > 0) {
+			this.bodyBuffers.add(buffer.retainedSlice(start, length));
+			this.bodyByteCount += length;
+		}
+		else if (length < 0) {
+			// The delimiter started in a previous buffer
+			trimBody(-length);
+		}
+		emitBody(tokens, 0);
+		buffer.readPosition(end + 1);
+		this.boundaryLineEndCount = 0;
+		this.state = State.BOUNDARY_LINE;
+	}
+
+	private void emitBody(List<Token> tokens, int retainedByteCount) {
+		while (this.bodyByteCount > retainedByteCount) {
+			DataBuffer first = this.bodyBuffers.getFirst();
+			int excess = this.bodyByteCount - retainedByteCount;
+			int length = first.readableByteCount();
+			if (length <= excess) {
+				tokens.add(new BodyToken(this.bodyBuffers.removeFirst()));
+				this.bodyByteCount -= length;
+			}
+			else {
+				tokens.add(new BodyToken(first.retainedSlice(first.readPosition(), excess)));
+				first.readPosition(first.readPosition() + excess);
+				this.bodyByteCount -= excess;
+			}
+		}
+	}
+
+	private void trimBody(int byteCount) {
+		while (byteCount > 0) {
+			DataBuffer last = this.bodyBuffers.removeLast();
+			int length = last.readableByteCount();
+			if (length > byteCount) {
+				this.bodyBuffers.add(last.retainedSlice(last.readPosition(), length - byteCount));
+			}
+			DataBufferUtils.release(last);
+			int trimmed = Math.min(length, byteCount);
+			this.bodyByteCount -= trimmed;
+			byteCount -= trimmed;
+		}
+	}
+
+	private Flux<Token> complete() {
+		switch (this.state) {
+			case DONE:
+				return Flux.empty();
+			case PREAMBLE:
+				return Flux.error(new DecodingException("Could not find first boundary"));
+			default:
+				return Flux.error(new DecodingException("Could not find end of multipart body"));
+		}
+	}
+
+	private void dispose() {
+		this.bodyBuffers.forEach(DataBufferUtils::release);
+		this.bodyBuffers.clear();
+		this.bodyByteCount = 0;
+	}
+
+
+	private enum State {
+
+		PREAMBLE, BOUNDARY_LINE, HEADERS, BODY, DONE
+	}
+
+
+	/**
+	 * Output of the parser: either the headers of a new part, or a buffer
+	 * of the body of the current part.
+	 */
+	abstract static class Token {
+
+		abstract HttpHeaders headers();
+
+		abstract DataBuffer buffer();
+	}
+
+
+	/**
+	 * Token marking the start of a part.
+	 */
+	static final class HeadersToken extends Token {
+
+		private final HttpHeaders headers;
+
+		HeadersToken(HttpHeaders headers) {
+			this.headers = headers;
+		}
+
+		@Override
+		HttpHeaders headers() {
+			return this.headers;
+		}
+
+		@Override
+		DataBuffer buffer() {
+			throw new IllegalStateException("No body in headers token");
+		}
+	}
+
+
+	/**
+	 * Token holding a buffer of the body of the current part.
+	 */
+	static final class BodyToken extends Token {
+
+		private final DataBuffer buffer;
+
+		BodyToken(DataBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		HttpHeaders headers() {
+			throw new IllegalStateException("No headers in body token");
+		}
+
+		@Override
+		DataBuffer buffer() {
+			return this.buffer;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.multipart;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -57,4 +58,17 @@ public interface Part {
 	 */
 	Flux<DataBuffer> content();
 
+	/**
+	 * Return a mono that, when subscribed to, deletes the underlying storage
+	 * for this part, if any, e.g. the temporary file a part was stored in.
+	 * <p>On the server, parts read through
+	 * {@link org.springframework.web.server.ServerWebExchange#getMultipartData()}
+	 * are deleted automatically once the request has been processed.
+	 * <p>The default implementation does nothing.
+	 * @since 5.2
+	 */
+	default Mono<Void> delete() {
+		return Mono.empty();
+	}
+
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+/**
+ * Turns the {@link MultipartParser.Token tokens} of a multipart body into
+ * {@link Part parts}, keeping the content of each part in memory up to a
+ * given threshold and storing it in a temporary file beyond that.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see DefaultPartHttpMessageReader
+ */
+final class PartGenerator {
+
+	private final int maxParts;
+
+	private final int maxInMemorySize;
+
+	private final long maxDiskUsagePerPart;
+
+	private final Mono<Path> fileStorageDirectory;
+
+	private final Scheduler blockingOperationScheduler;
+
+	private int partCount;
+
+	@Nullable
+	private HttpHeaders headers;
+
+	private final List<DataBuffer> buffers = new ArrayList<>();
+
+	private long byteCount;
+
+	@Nullable
+	private Path file;
+
+	@Nullable
+	private AsynchronousFileChannel channel;
+
+
+	private PartGenerator(int maxParts, int maxInMemorySize, long maxDiskUsagePerPart,
+			Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+
+		this.maxParts = maxParts;
+		this.maxInMemorySize = maxInMemorySize;
+		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
+		this.fileStorageDirectory = fileStorageDirectory;
+		this.blockingOperationScheduler = blockingOperationScheduler;
+	}
+
+
+	/**
+	 * Create parts from the given stream of tokens.
+	 * @param tokens the tokens, as produced by {@link MultipartParser}
+	 * @param maxParts the maximum number of parts, or -1 for no limit
+	 * @param maxInMemorySize the maximum number of bytes of a part kept in memory,
+	 * or -1 for no limit
+	 * @param maxDiskUsagePerPart the maximum number of bytes of a part stored
+	 * on disk, or -1 for no limit
+	 * @param fileStorageDirectory the directory to store file parts in
+	 * @param blockingOperationScheduler the scheduler for file system operations
+	 * @return the stream of parts
+	 */
+	static Flux<Part> createParts(Flux<MultipartParser.Token> tokens, int maxParts, int maxInMemorySize,
+			long maxDiskUsagePerPart, Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+
+		return Flux.defer(() -> {
+			PartGenerator generator = new PartGenerator(maxParts, maxInMemorySize, maxDiskUsagePerPart,
+					fileStorageDirectory, blockingOperationScheduler);
+			return tokens.concatMap(generator::handle)
+					.concatWith(Mono.defer(generator::completePart))
+					.doOnDiscard(MultipartParser.BodyToken.class, token -> DataBufferUtils.release(token.buffer()))
+					.doOnError(ex -> generator.dispose())
+					.doOnCancel(generator::dispose);
+		});
+	}
+
+
+	private Mono<Part> handle(MultipartParser.Token token) {
+		if (token instanceof MultipartParser.BodyToken) {
+			return addBody(token.buffer());
+		}
+		HttpHeaders headers = token.headers();
+		if (this.maxParts != -1 && ++this.partCount > this.maxParts) {
+			return Mono.error(new DecodingException("Too many parts (" + this.maxParts + " allowed)"));
+		}
+		if (headers.getContentDisposition().getName() == null) {
+			return Mono.error(new DecodingException("Part has no name in Content-Disposition header: " + headers));
+		}
+		Mono<Part> previous = completePart();
+		this.headers = headers;
+		return previous;
+	}
+
+	private Mono<Part> addBody(DataBuffer buffer) {
+		HttpHeaders headers = this.headers;
+		if (headers == null) {
+			DataBufferUtils.release(buffer);
+			return Mono.error(new IllegalStateException("Body content without part headers"));
+		}
+		this.byteCount += buffer.readableByteCount();
+		if (this.file == null) {
+			if (this.maxInMemorySize == -1 || this.byteCount <= this.maxInMemorySize) {
+				this.buffers.add(buffer);
+				return Mono.empty();
+			}
+			if (headers.getContentDisposition().getFilename() == null) {
+				DataBufferUtils.release(buffer);
+				return Mono.error(new DecodingException("Form field value exceeded the memory usage limit of " +
+						this.maxInMemorySize + " bytes"));
+			}
+		}
+		if (this.maxDiskUsagePerPart != -1 && this.byteCount > this.maxDiskUsagePerPart) {
+			DataBufferUtils.release(buffer);
+			return Mono.error(new DecodingException("Part exceeded the disk usage limit of " +
+					this.maxDiskUsagePerPart + " bytes"));
+		}
+		this.buffers.add(buffer);
+		return (this.file == null ? createFile().then(Mono.defer(this::writeBuffers)) : writeBuffers());
+	}
+
+	private Mono<Void> createFile() {
+		return this.fileStorageDirectory
+				.map(directory -> {
+					try {
+						Path file = Files.createTempFile(directory, null, ".multipart");
+						this.file = file;
+						this.channel = AsynchronousFileChannel.open(file, StandardOpenOption.WRITE);
+						return file;
+					}
+					catch (IOException ex) {
+						throw new DecodingException("Could not store multipart file part", ex);
+					}
+				})
+				.subscribeOn(this.blockingOperationScheduler)
+				.then();
+	}
+
+	private Mono<Part> writeBuffers() {
+		AsynchronousFileChannel channel = this.channel;
+		if (channel == null) {
+			return Mono.error(new IllegalStateException("No file channel"));
+		}
+		List<DataBuffer> buffers = new ArrayList<>(this.buffers);
+		this.buffers.clear();
+		long position = this.byteCount;
+		for (DataBuffer buffer : buffers) {
+			position -= buffer.readableByteCount();
+		}
+		return DataBufferUtils.write(Flux.fromIterable(buffers), channel, position)
+				.doOnNext(DataBufferUtils::release)
+				.doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+				.then(Mono.empty());
+	}
+
+	private Mono<Part> completePart() {
+		HttpHeaders headers = this.headers;
+		if (headers == null) {
+			return Mono.empty();
+		}
+		Part part;
+		if (this.file != null) {
+			closeChannel();
+			part = DefaultParts.part(headers, this.file, this.blockingOperationScheduler);
+		}
+		else {
+			byte[] content = new byte[(int) this.byteCount];
+			int offset = 0;
+			for (DataBuffer buffer : this.buffers) {
+				int length = buffer.readableByteCount();
+				buffer.read(content, offset, length);
+				offset += length;
+				DataBufferUtils.release(buffer);
+			}
+			this.buffers.clear();
+			part = (headers.getContentDisposition().getFilename() == null ?
+					DefaultParts.formFieldPart(headers, content) : DefaultParts.part(headers, content));
+		}
+		this.headers = null;
+		this.byteCount = 0;
+		this.file = null;
+		return Mono.just(part);
+	}
+
+	private void closeChannel() {
+		if (this.channel != null) {
+			try {
+				this.channel.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+			this.channel = null;
+		}
+	}
+
+	private void dispose() {
+		this.buffers.forEach(DataBufferUtils::release);
+		this.buffers.clear();
+		closeChannel();
+		if (this.file != null) {
+			try {
+				Files.deleteIfExists(this.file);
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+			this.file = null;
+		}
+	}
+
+}
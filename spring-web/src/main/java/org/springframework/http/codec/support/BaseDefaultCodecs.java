@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.springframework.core.codec.AbstractDataBufferDecoder;
 import org.springframework.core.codec.ByteArrayDecoder;
 import org.springframework.core.codec.ByteArrayEncoder;
 import org.springframework.core.codec.ByteBufferDecoder;
@@ -38,10 +39,13 @@ import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.codec.ResourceHttpMessageReader;
 import org.springframework.http.codec.ResourceHttpMessageWriter;
+import org.springframework.http.codec.ServerSentEventHttpMessageReader;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.http.codec.json.Jackson2SmileDecoder;
 import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
 import org.springframework.http.codec.protobuf.ProtobufDecoder;
 import org.springframework.http.codec.protobuf.ProtobufEncoder;
 import org.springframework.http.codec.protobuf.ProtobufHttpMessageWriter;
@@ -95,6 +99,9 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs {
 	@Nullable
 	private Encoder<?> jaxb2Encoder;
 
+	@Nullable
+	private Integer maxInMemorySize;
+
 	private boolean enableLoggingRequestDetails = false;
 
 	private boolean registerDefaults = true;
@@ -130,6 +137,11 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs {
 		this.jaxb2Encoder = encoder;
 	}
 
+	@Override
+	public void maxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
 	@Override
 	public void enableLoggingRequestDetails(boolean enable) {
 		this.enableLoggingRequestDetails = enable;
@@ -171,6 +183,7 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs {
 
 		extendTypedReaders(readers);
 
+		readers.forEach(this::initCodec);
 		return readers;
 	}
 
@@ -199,6 +212,7 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs {
 			readers.add(new DecoderHttpMessageReader<>(decoder));
 		}
 		extendObjectReaders(readers);
+		readers.forEach(this::initCodec);
 		return readers;
 	}
 
@@ -217,9 +231,46 @@ class BaseDefaultCodecs implements CodecConfigurer.DefaultCodecs {
 		}
 		List<HttpMessageReader<?>> result = new ArrayList<>();
 		result.add(new DecoderHttpMessageReader<>(StringDecoder.allMimeTypes()));
+		result.forEach(this::initCodec);
 		return result;
 	}
 
+	/**
+	 * Apply the {@link #maxInMemorySize(int) maxInMemorySize}, if configured,
+	 * to the given reader or decoder, and to the decoder(s) it delegates to.
+	 */
+	private void initCodec(@Nullable Object codec) {
+		Integer size = this.maxInMemorySize;
+		if (size == null || codec == null) {
+			return;
+		}
+		if (codec instanceof DecoderHttpMessageReader) {
+			initCodec(((DecoderHttpMessageReader<?>) codec).getDecoder());
+		}
+		else if (codec instanceof AbstractDataBufferDecoder) {
+			((AbstractDataBufferDecoder<?>) codec).setMaxInMemorySize(size);
+		}
+		else if (jackson2Present && codec instanceof AbstractJackson2Decoder) {
+			((AbstractJackson2Decoder) codec).setMaxInMemorySize(size);
+		}
+		else if (protobufPresent && codec instanceof ProtobufDecoder) {
+			((ProtobufDecoder) codec).setMaxMessageSize(size);
+		}
+		else if (jaxb2Present && codec instanceof Jaxb2XmlDecoder) {
+			((Jaxb2XmlDecoder) codec).setMaxInMemorySize(size);
+		}
+		else if (codec instanceof FormHttpMessageReader) {
+			((FormHttpMessageReader) codec).setMaxInMemorySize(size);
+		}
+		else if (codec instanceof ServerSentEventHttpMessageReader) {
+			((ServerSentEventHttpMessageReader) codec).setMaxInMemorySize(size);
+			initCodec(((ServerSentEventHttpMessageReader) codec).getDecoder());
+		}
+		else if (codec instanceof DefaultPartHttpMessageReader) {
+			((DefaultPartHttpMessageReader) codec).setMaxInMemorySize(size);
+		}
+	}
+
 	/**
 	 * Return writers that support specific types.
 	 * @param forMultipart whether to returns writers for general use ("false"),
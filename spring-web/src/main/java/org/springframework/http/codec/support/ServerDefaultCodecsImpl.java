@@ -18,14 +18,15 @@ package org.springframework.http.codec.support;
 import java.util.List;
 
 import org.springframework.core.codec.Encoder;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.FlushPolicy;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
 import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
-import org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ClassUtils;
 
 /**
  * Default implementation of {@link ServerCodecConfigurer.ServerDefaultCodecs}.
@@ -34,39 +35,50 @@ import org.springframework.util.ClassUtils;
  */
 class ServerDefaultCodecsImpl extends BaseDefaultCodecs implements ServerCodecConfigurer.ServerDefaultCodecs {
 
-	private static final boolean synchronossMultipartPresent =
-			ClassUtils.isPresent("org.synchronoss.cloud.nio.multipart.NioMultipartParser",
-					DefaultServerCodecConfigurer.class.getClassLoader());
-
-
 	@Nullable
 	private Encoder<?> sseEncoder;
 
+	@Nullable
+	private FlushPolicy flushPolicy;
+
 
 	@Override
 	public void serverSentEventEncoder(Encoder<?> encoder) {
 		this.sseEncoder = encoder;
 	}
 
+	@Override
+	public void streamingFlushPolicy(FlushPolicy flushPolicy) {
+		this.flushPolicy = flushPolicy;
+	}
+
 
 	@Override
 	protected void extendTypedReaders(List<HttpMessageReader<?>> typedReaders) {
-		if (synchronossMultipartPresent) {
-			boolean enable = isEnableLoggingRequestDetails();
+		boolean enable = isEnableLoggingRequestDetails();
 
-			SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
-			partReader.setEnableLoggingRequestDetails(enable);
-			typedReaders.add(partReader);
+		DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+		partReader.setEnableLoggingRequestDetails(enable);
+		typedReaders.add(partReader);
 
-			MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
-			reader.setEnableLoggingRequestDetails(enable);
-			typedReaders.add(reader);
-		}
+		MultipartHttpMessageReader reader = new MultipartHttpMessageReader(partReader);
+		reader.setEnableLoggingRequestDetails(enable);
+		typedReaders.add(reader);
 	}
 
 	@Override
 	protected void extendObjectWriters(List<HttpMessageWriter<?>> objectWriters) {
-		objectWriters.add(new ServerSentEventHttpMessageWriter(getSseEncoder()));
+		ServerSentEventHttpMessageWriter sseWriter = new ServerSentEventHttpMessageWriter(getSseEncoder());
+		objectWriters.add(sseWriter);
+		FlushPolicy policy = this.flushPolicy;
+		if (policy != null) {
+			for (HttpMessageWriter<?> writer : objectWriters) {
+				if (writer instanceof EncoderHttpMessageWriter) {
+					((EncoderHttpMessageWriter<?>) writer).setFlushPolicy(policy);
+				}
+			}
+			sseWriter.setFlushPolicy(policy);
+		}
 	}
 
 	@Nullable
@@ -40,6 +40,7 @@ import reactor.core.publisher.Flux;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.AbstractDecoder;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
@@ -89,25 +90,50 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 	boolean useAalto = aaltoPresent;
 
+	private int maxInMemorySize = 256 * 1024;
+
 
 	public XmlEventDecoder() {
 		super(MimeTypeUtils.APPLICATION_XML, MimeTypeUtils.TEXT_XML);
 	}
 
 
+	/**
+	 * Set the max number of bytes that can be buffered by this decoder. This
+	 * is either the size of the entire input when decoding as a whole, or when
+	 * using async parsing via Aalto XML, it is the size of one top-level XML
+	 * tree. When the limit is exceeded, {@link DataBufferLimitException} is
+	 * raised.
+	 * <p>By default this is set to 256K.
+	 * @param byteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @since 5.2
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.2
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	@SuppressWarnings({"rawtypes", "unchecked", "cast"})  // XMLEventReader is Iterator<Object> on JDK 9
 	public Flux<XMLEvent> decode(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
 		if (this.useAalto) {
-			AaltoDataBufferToXmlEvent mapper = new AaltoDataBufferToXmlEvent();
+			AaltoDataBufferToXmlEvent mapper = new AaltoDataBufferToXmlEvent(this.maxInMemorySize);
 			return Flux.from(input)
 					.flatMapIterable(mapper)
 					.doFinally(signalType -> mapper.endOfInput());
 		}
 		else {
-			return DataBufferUtils.join(input).
+			return DataBufferUtils.join(input, this.maxInMemorySize).
 					flatMapIterable(buffer -> {
 						try {
 							InputStream is = buffer.asInputStream();
@@ -140,10 +166,21 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 		private final XMLEventAllocator eventAllocator = EventAllocatorImpl.getDefaultInstance();
 
+		private final int maxInMemorySize;
+
+		private int byteCount;
+
+		private int elementDepth;
+
+		AaltoDataBufferToXmlEvent(int maxInMemorySize) {
+			this.maxInMemorySize = maxInMemorySize;
+		}
 
 		@Override
 		public List<? extends XMLEvent> apply(DataBuffer dataBuffer) {
 			try {
+				int bufferSize = dataBuffer.readableByteCount();
+				boolean treeCompleted = false;
 				this.streamReader.getInputFeeder().feedInput(dataBuffer.asByteBuffer());
 				List<XMLEvent> events = new ArrayList<>();
 				while (true) {
@@ -154,11 +191,19 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 					else {
 						XMLEvent event = this.eventAllocator.allocate(this.streamReader);
 						events.add(event);
+						if (event.isStartElement()) {
+							this.elementDepth++;
+						}
+						else if (event.isEndElement()) {
+							this.elementDepth--;
+							treeCompleted |= (this.elementDepth <= 1);
+						}
 						if (event.isEndDocument()) {
 							break;
 						}
 					}
 				}
+				checkInMemorySize(bufferSize, treeCompleted);
 				return events;
 			}
 			catch (XMLStreamException ex) {
@@ -169,6 +214,22 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 			}
 		}
 
+		private void checkInMemorySize(int bufferSize, boolean treeCompleted) {
+			if (this.maxInMemorySize < 0) {
+				return;
+			}
+			if (treeCompleted) {
+				this.byteCount = 0;
+			}
+			else if (bufferSize > this.maxInMemorySize - this.byteCount) {
+				throw new DataBufferLimitException(
+						"Exceeded limit on max bytes per XML top-level node: " + this.maxInMemorySize);
+			}
+			else {
+				this.byteCount += bufferSize;
+			}
+		}
+
 		public void endOfInput() {
 			this.streamReader.getInputFeeder().endOfInput();
 		}
@@ -17,6 +17,7 @@
 package org.springframework.http.converter.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Arrays;
@@ -50,6 +51,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
 import org.springframework.util.TypeUtils;
 
 /**
@@ -252,7 +254,8 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		JsonEncoding encoding = getJsonEncoding(contentType);
-		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputMessage.getBody(), encoding);
+		OutputStream outputStream = StreamUtils.nonClosing(outputMessage.getBody());
+		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream, encoding);
 		try {
 			writePrefix(generator, object);
 
@@ -287,7 +290,9 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 			objectWriter.writeValue(generator, value);
 
 			writeSuffix(generator, object);
-			generator.flush();
+			// Closing the generator returns its buffers to Jackson's BufferRecycler.
+			// Not on failure, since it would also complete the JSON content written so far.
+			generator.close();
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
@@ -256,6 +256,12 @@ class UndertowServerHttpRequest extends AbstractServerHttpRequest {
 			return new UndertowDataBuffer(slice, this.pooledByteBuffer, this.refCount);
 		}
 
+		@Override
+		public DataBuffer retainedSlice(int index, int length) {
+			// Share the reference count, so that the pooled buffer is not closed before the slice is released
+			return DataBufferUtils.retain(slice(index, length));
+		}
+
 	}
 
 }
@@ -22,18 +22,24 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Provide a per request {@link CorsConfiguration} instance based on a
  * collection of {@link CorsConfiguration} mapped on path patterns.
  *
  * <p>Exact path mapping URIs (such as {@code "/admin"}) are supported
- * as well as Ant-style path patterns (such as {@code "/admin/**"}).
+ * as well as Ant-style path patterns (such as {@code "/admin/**"}), or
+ * alternatively parsed {@link PathPattern PathPatterns} if a
+ * {@link #setPathPatternParser PathPatternParser} is configured.
  *
  * @author Sebastien Deleuze
  * @since 4.2
@@ -42,6 +48,11 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 
 	private final Map<String, CorsConfiguration> corsConfigurations = new LinkedHashMap<>();
 
+	private final Map<PathPattern, CorsConfiguration> pathPatternConfigurations = new LinkedHashMap<>();
+
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
 	private UrlPathHelper urlPathHelper = new UrlPathHelper();
@@ -60,6 +71,21 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		this.pathMatcher = pathMatcher;
 	}
 
+	/**
+	 * Enable use of parsed {@link PathPattern PathPatterns} instead of String
+	 * pattern matching with a {@link PathMatcher}, in which case the request
+	 * path is obtained through {@link ServletRequestPathUtils} rather than
+	 * from the {@link UrlPathHelper}.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use, or {@code null} to match with
+	 * the {@code PathMatcher}
+	 * @since 5.2
+	 */
+	public void setPathPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		initPathPatterns();
+	}
+
 	/**
 	 * Shortcut to same property on underlying {@link #setUrlPathHelper UrlPathHelper}.
 	 * @see org.springframework.web.util.UrlPathHelper#setAlwaysUseFullPath
@@ -112,6 +138,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		if (corsConfigurations != null) {
 			this.corsConfigurations.putAll(corsConfigurations);
 		}
+		initPathPatterns();
 	}
 
 	/**
@@ -126,12 +153,31 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 */
 	public void registerCorsConfiguration(String path, CorsConfiguration config) {
 		this.corsConfigurations.put(path, config);
+		initPathPatterns();
+	}
+
+	private void initPathPatterns() {
+		this.pathPatternConfigurations.clear();
+		PathPatternParser parser = this.patternParser;
+		if (parser != null) {
+			this.corsConfigurations.forEach((pattern, config) ->
+					this.pathPatternConfigurations.put(parser.parse(pattern), config));
+		}
 	}
 
 
 	@Override
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+		if (this.patternParser != null) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			for (Map.Entry<PathPattern, CorsConfiguration> entry : this.pathPatternConfigurations.entrySet()) {
+				if (entry.getKey().matches(path)) {
+					return entry.getValue();
+				}
+			}
+			return null;
+		}
 		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, this.lookupPathAttributeName);
 		for (Map.Entry<String, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
 			if (this.pathMatcher.match(entry.getKey(), lookupPath)) {
@@ -94,6 +94,8 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 	@Nullable
 	private final ApplicationContext applicationContext;
 
+	private volatile boolean multipartRead;
+
 	private volatile boolean notModified;
 
 	private Function<String, String> urlTransformer = url -> url;
@@ -156,7 +158,7 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 	}
 
 	@SuppressWarnings("unchecked")
-	private static Mono<MultiValueMap<String, Part>> initMultipartData(ServerHttpRequest request,
+	private Mono<MultiValueMap<String, Part>> initMultipartData(ServerHttpRequest request,
 			ServerCodecConfigurer configurer, String logPrefix) {
 
 		try {
@@ -167,6 +169,7 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 						.findFirst()
 						.orElseThrow(() -> new IllegalStateException("No multipart HttpMessageReader.")))
 						.readMono(MULTIPART_DATA_TYPE, request, Hints.from(Hints.LOG_PREFIX_HINT, logPrefix))
+						.doOnNext(ignored -> this.multipartRead = true)
 						.switchIfEmpty(EMPTY_MULTIPART_DATA)
 						.cache();
 			}
@@ -221,6 +224,24 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		return this.multipartDataMono;
 	}
 
+	/**
+	 * Delete the underlying storage of all parts, e.g. temporary files, if the
+	 * {@linkplain #getMultipartData() multipart data} has been read.
+	 * @return completes once all parts have been deleted
+	 * @since 5.2
+	 * @see Part#delete()
+	 */
+	public Mono<Void> cleanupMultipart() {
+		if (!this.multipartRead) {
+			return Mono.empty();
+		}
+		return getMultipartData()
+				.flatMapIterable(Map::values)
+				.flatMapIterable(Function.identity())
+				.concatMap(part -> part.delete().onErrorResume(ex -> Mono.empty()))
+				.then();
+	}
+
 	@Override
 	public LocaleContext getLocaleContext() {
 		return this.localeContextResolver.resolveLocaleContext(this);
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility class to parse the path of an {@link HttpServletRequest} to a
+ * {@link RequestPath} and cache it in a request attribute, for matching
+ * against {@link org.springframework.web.util.pattern.PathPattern PathPatterns}.
+ *
+ * <p>The {@link RequestPath#contextPath() contextPath} of the parsed path
+ * includes the servlet path of prefix-mapped Servlets (e.g. "/app/*"), so that
+ * {@link RequestPath#pathWithinApplication() pathWithinApplication} is the
+ * equivalent of the lookup path from {@link UrlPathHelper} with default
+ * settings, except for being encoded.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public abstract class ServletRequestPathUtils {
+
+	/**
+	 * Name of the request attribute that holds the parsed {@link RequestPath}.
+	 */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the path of the given request and cache it in the request
+	 * attribute {@link #PATH_ATTRIBUTE}, replacing any previously cached path.
+	 * @param request the current request
+	 * @return the parsed path
+	 */
+	public static RequestPath parseAndCache(HttpServletRequest request) {
+		RequestPath requestPath = parse(request);
+		request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
+	/**
+	 * Return the path cached via {@link #parseAndCache(HttpServletRequest)},
+	 * or otherwise parse it without caching it.
+	 * @param request the current request
+	 * @return the parsed path
+	 */
+	public static RequestPath getParsedRequestPath(HttpServletRequest request) {
+		RequestPath requestPath = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		return (requestPath != null ? requestPath : parse(request));
+	}
+
+	/**
+	 * Check if the path of the given request has been parsed and cached.
+	 * @param request the current request
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Set the cached path, or remove it if {@code null}, e.g. to restore the
+	 * path of an outer dispatch after a forward or include.
+	 * @param requestPath the path to cache, possibly {@code null}
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable RequestPath requestPath, ServletRequest request) {
+		if (requestPath != null) {
+			request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+	private static RequestPath parse(HttpServletRequest request) {
+		String requestUri = (String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
+		String contextPath;
+		String servletPath;
+		String pathInfo;
+		if (requestUri != null) {
+			contextPath = (String) request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE);
+			servletPath = (String) request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE);
+			pathInfo = (String) request.getAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE);
+		}
+		else {
+			requestUri = request.getRequestURI();
+			contextPath = request.getContextPath();
+			servletPath = request.getServletPath();
+			pathInfo = request.getPathInfo();
+		}
+		contextPath = (StringUtils.hasLength(contextPath) && !"/".equals(contextPath) ? contextPath : "");
+		if (pathInfo != null && StringUtils.hasLength(servletPath) && !"/".equals(servletPath)) {
+			// Prefix-mapped Servlet: match within the Servlet mapping
+			String servletPrefix = contextPath + servletPath;
+			if (requestUri.startsWith(servletPrefix) &&
+					(requestUri.length() == servletPrefix.length() || requestUri.charAt(servletPrefix.length()) == '/')) {
+				contextPath = servletPrefix;
+			}
+		}
+		return RequestPath.parse(requestUri, contextPath);
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import org.springframework.core.io.buffer.AbstractLeakCheckingTestCase;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link FlushPolicy}.
+ *
+ * @author agent (agent@local)
+ */
+public class FlushPolicyTests extends AbstractLeakCheckingTestCase {
+
+	@Test
+	public void perElement() {
+		Flux<Publisher<DataBuffer>> result =
+				FlushPolicy.perElement().apply(Flux.just(stringBuffer("a"), stringBuffer("b")), this.bufferFactory);
+
+		StepVerifier.create(result)
+				.consumeNextWith(expectString("a"))
+				.consumeNextWith(expectString("b"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchByElements() {
+		FlushPolicy policy = FlushPolicy.batch(2, 1024, Duration.ofSeconds(5));
+		Flux<DataBuffer> source = Flux.just("a", "b", "c", "d", "e").map(this::stringBuffer);
+
+		StepVerifier.create(policy.apply(source, this.bufferFactory))
+				.consumeNextWith(expectString("ab"))
+				.consumeNextWith(expectString("cd"))
+				.consumeNextWith(expectString("e"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchByBytes() {
+		FlushPolicy policy = FlushPolicy.batch(10, 4, Duration.ofSeconds(5));
+		Flux<DataBuffer> source = Flux.just("aa", "bbb", "c", "dddd", "e").map(this::stringBuffer);
+
+		StepVerifier.create(policy.apply(source, this.bufferFactory))
+				.consumeNextWith(expectString("aabbb"))
+				.consumeNextWith(expectString("cdddd"))
+				.consumeNextWith(expectString("e"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchByDelay() {
+		FlushPolicy policy = FlushPolicy.batch(10, 1024, Duration.ofMillis(100));
+
+		StepVerifier.withVirtualTime(() -> policy.apply(
+				Flux.just("a", "b").concatWith(Flux.just("c").delaySubscription(Duration.ofMillis(150)))
+						.map(this::stringBuffer), this.bufferFactory))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(100))
+				.consumeNextWith(expectString("ab"))
+				.thenAwait(Duration.ofMillis(150))
+				.consumeNextWith(expectString("c"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void batchWithSlowSubscriber() {
+		FlushPolicy policy = FlushPolicy.batch(100, 1024 * 1024, Duration.ofMillis(25));
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+		try {
+			Flux<DataBuffer> source = Flux.range(0, 30)
+					.delayElements(Duration.ofMillis(10))
+					.map(i -> stringBuffer(String.valueOf(i % 10)));
+			BatchCollector collector = new BatchCollector();
+			policy.apply(source, this.bufferFactory).subscribe(collector);
+
+			for (int i = 0; i < 50 && !collector.isDisposed(); i++) {
+				collector.request(1);
+				scheduler.advanceTimeBy(Duration.ofMillis(200));
+			}
+
+			assertThat(collector.error).isNull();
+			assertThat(collector.isDisposed()).isTrue();
+			assertThat(String.join("", collector.batches)).isEqualTo("012345678901234567890123456789");
+			assertThat(collector.batches).allSatisfy(batch -> assertThat(batch.length()).isLessThanOrEqualTo(3));
+		}
+		finally {
+			VirtualTimeScheduler.reset();
+		}
+	}
+
+	@Test
+	public void batchWithSingleElementIsPerElement() {
+		assertThat(FlushPolicy.batch(1, 1024, Duration.ofSeconds(1))).isSameAs(FlushPolicy.perElement());
+	}
+
+	@Test
+	public void invalidBatch() {
+		assertThatIllegalArgumentException().isThrownBy(() -> FlushPolicy.batch(0, 1024, Duration.ofSeconds(1)));
+		assertThatIllegalArgumentException().isThrownBy(() -> FlushPolicy.batch(10, 0, Duration.ofSeconds(1)));
+		assertThatIllegalArgumentException().isThrownBy(() -> FlushPolicy.batch(10, 1024, Duration.ZERO));
+	}
+
+
+	private DataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(bytes.length);
+		buffer.write(bytes);
+		return buffer;
+	}
+
+	private Consumer<Publisher<DataBuffer>> expectString(String expected) {
+		return publisher -> {
+			DataBuffer buffer = Mono.from(publisher).block(Duration.ZERO);
+			assertThat(buffer).isNotNull();
+			String actual = buffer.toString(StandardCharsets.UTF_8);
+			DataBufferUtils.release(buffer);
+			assertThat(actual).isEqualTo(expected);
+		};
+	}
+
+
+	private static class BatchCollector extends BaseSubscriber<Publisher<DataBuffer>> {
+
+		private final List<String> batches = new ArrayList<>();
+
+		private Throwable error;
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			// Request explicitly only
+		}
+
+		@Override
+		protected void hookOnNext(Publisher<DataBuffer> publisher) {
+			DataBuffer buffer = Mono.from(publisher).block(Duration.ZERO);
+			this.batches.add(buffer.toString(StandardCharsets.UTF_8));
+			DataBufferUtils.release(buffer);
+		}
+
+		@Override
+		protected void hookOnError(Throwable ex) {
+			this.error = ex;
+		}
+	}
+
+}
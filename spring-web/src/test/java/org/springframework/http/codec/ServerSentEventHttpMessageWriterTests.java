@@ -105,6 +105,22 @@ public class ServerSentEventHttpMessageWriterTests extends AbstractDataBufferAll
 				.verify();
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	public void writeStringWithBatchFlushPolicy(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+		this.messageWriter.setFlushPolicy(FlushPolicy.batch(2, 1024, Duration.ofSeconds(5)));
+
+		MockServerHttpResponse outputMessage = new MockServerHttpResponse(super.bufferFactory);
+		Flux<String> source = Flux.just("foo", "bar", "baz");
+		testWrite(source, outputMessage, String.class);
+
+		StepVerifier.create(outputMessage.getBody())
+				.consumeNextWith(stringConsumer("data:foo\n\ndata:bar\n\n"))
+				.consumeNextWith(stringConsumer("data:baz\n\n"))
+				.expectComplete()
+				.verify();
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	public void writeMultiLineString(String displayName, DataBufferFactory bufferFactory) {
 		super.bufferFactory = bufferFactory;
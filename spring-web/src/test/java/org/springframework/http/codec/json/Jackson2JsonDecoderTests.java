@@ -24,6 +24,7 @@ import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -137,6 +138,28 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTestCase<Jackson2Js
 		testDecode(input, Pojo.class, step -> step.verifyComplete());
 	}
 
+	@Test
+	public void decodeWithFailOnTrailingTokens() {
+		ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+		Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(mapper);
+
+		Flux<Object> result = decoder.decode(Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]")),
+				forClass(Pojo.class), null, emptyMap());
+		StepVerifier.create(result).expectNext(pojo1, pojo2).verifyComplete();
+
+		result = decoder.decode(stringBuffer("{\"bar\":\"b1\",\"foo\":\"f1\"}{\"bar\":\"b2\",\"foo\":\"f2\"}"),
+				forClass(Pojo.class), APPLICATION_STREAM_JSON, emptyMap());
+		StepVerifier.create(result).expectNext(pojo1, pojo2).verifyComplete();
+
+		result = decoder.decode(stringBuffer("[1,2,3]"), forClass(Integer.class), null, emptyMap());
+		StepVerifier.create(result).expectNext(1, 2, 3).verifyComplete();
+
+		result = decoder.decode(stringBuffer("[\"x\",\"y\"]"), forClass(String.class), null, emptyMap());
+		StepVerifier.create(result).expectNext("x", "y").verifyComplete();
+	}
+
 	@Test
 	public void fieldLevelJsonView() {
 		Flux<DataBuffer> input = Flux.from(
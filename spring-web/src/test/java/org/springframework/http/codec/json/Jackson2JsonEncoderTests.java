@@ -167,6 +167,25 @@ public class Jackson2JsonEncoderTests extends AbstractEncoderTestCase<Jackson2Js
 				barMediaType, null);
 	}
 
+	@Test
+	public void encodeAsStreamWithLargeValues() {
+		String large = String.join("", Collections.nCopies(2000, "foo"));
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo(large, "bar"),
+				new Pojo("foofoo", "barbar"));
+
+		testEncode(input, ResolvableType.forClass(Pojo.class), step -> step
+				.consumeNextWith(expectString("{\"foo\":\"foo\",\"bar\":\"bar\"}\n")
+						.andThen(DataBufferUtils::release))
+				.consumeNextWith(expectString("{\"foo\":\"" + large + "\",\"bar\":\"bar\"}\n")
+						.andThen(DataBufferUtils::release))
+				.consumeNextWith(expectString("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}\n")
+						.andThen(DataBufferUtils::release))
+				.verifyComplete(),
+				APPLICATION_STREAM_JSON, null);
+	}
+
 	@Test
 	public void fieldLevelJsonView() {
 		JacksonViewBean bean = new JacksonViewBean();
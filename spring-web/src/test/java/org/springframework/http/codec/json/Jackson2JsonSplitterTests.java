@@ -0,0 +1,219 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.AbstractLeakCheckingTestCase;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link Jackson2JsonSplitter}.
+ *
+ * @author agent (agent@local)
+ */
+public class Jackson2JsonSplitterTests extends AbstractLeakCheckingTestCase {
+
+	private JsonFactory jsonFactory;
+
+	private ObjectMapper objectMapper;
+
+
+	@BeforeEach
+	public void createParser() {
+		this.jsonFactory = new JsonFactory();
+		this.objectMapper = new ObjectMapper(this.jsonFactory);
+	}
+
+
+	@Test
+	public void supports() {
+		assertThat(Jackson2JsonSplitter.supports(this.jsonFactory)).isTrue();
+		assertThat(Jackson2JsonSplitter.supports(new ObjectMapper().getFactory())).isTrue();
+		assertThat(Jackson2JsonSplitter.supports(new SmileFactory())).isFalse();
+		assertThat(Jackson2JsonSplitter.supports(
+				new JsonFactory().enable(JsonParser.Feature.ALLOW_COMMENTS))).isFalse();
+	}
+
+	@Test
+	public void splitArrayElements() {
+		testSplit(
+				singletonList("{\"foo\": \"foofoo\", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"));
+
+		testSplit(
+				asList("{\"foo\": \"foofoo\"", ", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"));
+
+		testSplit(
+				singletonList("[{\"foo\": \"bar\"},{\"foo\": \"baz\"}]"),
+				asList("{\"foo\":\"bar\"}", "{\"foo\":\"baz\"}"));
+
+		// SPR-15803: nested array
+		testSplit(
+				singletonList("[" +
+						"{\"id\":\"0\",\"start\":[-999999999,1,1],\"end\":[999999999,12,31]}," +
+						"{\"id\":\"1\",\"start\":[-999999999,1,1],\"end\":[999999999,12,31]}" +
+						"]"),
+				asList(
+						"{\"id\":\"0\",\"start\":[-999999999,1,1],\"end\":[999999999,12,31]}",
+						"{\"id\":\"1\",\"start\":[-999999999,1,1],\"end\":[999999999,12,31]}"));
+
+		testSplit(
+				asList("[" +
+						"{\"foo\": \"foofoo\", \"bar\"", ": \"barbar\"}," +
+						"{\"foo\": \"foofoofoo\", \"bar\": \"barbarbar\"}]"),
+				asList(
+						"{\"foo\":\"foofoo\",\"bar\":\"barbar\"}",
+						"{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}"));
+
+		testSplit(
+				asList("[",
+						"{\"id\":1,\"name\":\"Robert\"}", ",",
+						"{\"id\":2,\"name\":\"Raide\"}", ",",
+						"{\"id\":3,\"name\":\"Ford\"}", "]"),
+				asList("{\"id\":1,\"name\":\"Robert\"}",
+						"{\"id\":2,\"name\":\"Raide\"}",
+						"{\"id\":3,\"name\":\"Ford\"}"));
+
+		testSplit(
+				asList("[{\"id\":1}, {\"i", "d\":2}\n,\n{\"id\":3}  ", "]"),
+				asList("{\"id\":1}", "{\"id\":2}", "{\"id\":3}"));
+	}
+
+	@Test
+	public void splitStreamOfValues() {
+		testSplit(
+				asList("{\"id\":1}\n{\"id\":2}\n{\"id\"", ":3}\n"),
+				asList("{\"id\":1}", "{\"id\":2}", "{\"id\":3}"));
+	}
+
+	@Test
+	public void splitScalarValues() {
+		// SPR-16166: top-level JSON values
+		testSplit(asList("\"foo", "bar\""), singletonList("\"foobar\""));
+
+		testSplit(asList("12", "34"), singletonList("1234"));
+
+		testSplit(asList("12.", "34"), singletonList("12.34"));
+
+		// SPR-16407
+		testSplit(asList("[1", ",2,", "3]"), asList("1", "2", "3"));
+
+		testSplit(asList("[true, nu", "ll,\"a,", "b\",fa", "lse ]"), asList("true", "null", "\"a,b\"", "false"));
+
+		testSplit(singletonList("[\"\\\"]\", \"}\"]"), asList("\"\\\"]\"", "\"}\""));
+	}
+
+	@Test
+	public void splitNestedArrays() {
+		testSplit(asList("[[1,2],[", "3]]"), asList("[1,2]", "[3]"));
+	}
+
+	@Test
+	public void skipNullValues() {
+		Flux<Object> values = Jackson2JsonSplitter.split(
+				Flux.just(stringBuffer("[{\"id\":1},null,{\"id\":2}]")), this.objectMapper, -1,
+				parser -> parser.currentToken() == JsonToken.VALUE_NULL ? null : readValue(parser));
+
+		StepVerifier.create(values)
+				.expectNext("{\"id\":1}", "{\"id\":2}")
+				.verifyComplete();
+	}
+
+	@Test
+	public void errorInStream() {
+		DataBuffer buffer = stringBuffer("{\"id\":1,\"name\":");
+		Flux<DataBuffer> source = Flux.just(buffer).concatWith(Flux.error(new RuntimeException()));
+		Flux<Object> result = Jackson2JsonSplitter.split(source, this.objectMapper, -1, this::readValue);
+
+		StepVerifier.create(result)
+				.expectError(RuntimeException.class)
+				.verify();
+	}
+
+	@Test
+	public void limitBufferedValue() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"id\":1,"), stringBuffer("\"name\":\"foo\"},"),
+				stringBuffer("{\"id\":2,"), stringBuffer("\"name\":\"barbazquxquux\","));
+		Flux<Object> values = Jackson2JsonSplitter.split(source, this.objectMapper, 30, this::readValue);
+
+		StepVerifier.create(values)
+				.expectNextCount(1)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
+	@Test
+	public void jsonEOFExceptionIsWrappedAsDecodingError() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"status\": \"noClosingQuote}"));
+		Flux<Object> values = Jackson2JsonSplitter.split(source, this.objectMapper, -1, this::readValue);
+
+		StepVerifier.create(values)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+
+	private void testSplit(List<String> source, List<String> expected) {
+		Flux<Object> values = Jackson2JsonSplitter.split(
+				Flux.fromIterable(source).map(this::stringBuffer), this.objectMapper, -1, this::readValue);
+
+		StepVerifier.FirstStep<Object> builder = StepVerifier.create(values);
+		expected.forEach(builder::expectNext);
+		builder.verifyComplete();
+	}
+
+	private String readValue(JsonParser parser) {
+		try {
+			TreeNode root = this.objectMapper.readTree(parser);
+			return this.objectMapper.writeValueAsString(root);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private DataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(bytes.length);
+		buffer.write(bytes);
+		return buffer;
+	}
+
+}
@@ -36,6 +36,7 @@ import reactor.test.StepVerifier;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.AbstractLeakCheckingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -185,17 +186,30 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTestCase {
 	public void errorInStream() {
 		DataBuffer buffer = stringBuffer("{\"id\":1,\"name\":");
 		Flux<DataBuffer> source = Flux.just(buffer).concatWith(Flux.error(new RuntimeException()));
-		Flux<TokenBuffer> result = Jackson2Tokenizer.tokenize(source, this.jsonFactory, this.objectMapper, true);
+		Flux<TokenBuffer> result = Jackson2Tokenizer.tokenize(source, this.jsonFactory, this.objectMapper, true, -1);
 
 		StepVerifier.create(result)
 				.expectError(RuntimeException.class)
 				.verify();
 	}
 
+	@Test
+	public void limitTokenizedObject() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"id\":1,"), stringBuffer("\"name\":\"foo\"},"),
+				stringBuffer("{\"id\":2,"), stringBuffer("\"name\":\"barbazquxquux\","));
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, this.objectMapper, true, 30);
+
+		StepVerifier.create(tokens)
+				.expectNextCount(1)
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
 	@Test  // SPR-16521
 	public void jsonEOFExceptionIsWrappedAsDecodingError() {
 		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"status\": \"noClosingQuote}"));
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, this.objectMapper, false);
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(source, this.jsonFactory, this.objectMapper, false, -1);
 
 		StepVerifier.create(tokens)
 				.expectError(DecodingException.class)
@@ -206,7 +220,7 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTestCase {
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
 		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
 				Flux.fromIterable(source).map(this::stringBuffer),
-				this.jsonFactory, this.objectMapper, tokenizeArrayElements);
+				this.jsonFactory, this.objectMapper, tokenizeArrayElements, -1);
 
 		Flux<String> result = tokens
 				.map(tokenBuffer -> {
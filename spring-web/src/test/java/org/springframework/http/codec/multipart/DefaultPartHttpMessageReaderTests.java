@@ -0,0 +1,309 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.test.MockClientHttpRequest;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link DefaultPartHttpMessageReader}.
+ *
+ * @author agent (agent@local)
+ */
+public class DefaultPartHttpMessageReaderTests {
+
+	private static final String BOUNDARY = "simple boundary";
+
+	private static final String BODY = "This is the preamble.\r\n" +
+			"--" + BOUNDARY + "\r\n" +
+			"Content-Disposition: form-data; name=\"field\"\r\n" +
+			"\r\n" +
+			"Hello, world\r\n" +
+			"--" + BOUNDARY + "\r\n" +
+			"Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n" +
+			"Content-Type: text/plain\r\n" +
+			"\r\n" +
+			"Lorem ipsum dolor sit amet,\r\nconsectetur adipiscing elit.\r\n" +
+			"--" + BOUNDARY + "--\r\n" +
+			"This is the epilogue.\r\n";
+
+	private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private final DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+
+	@TempDir
+	Path tempDir;
+
+
+	@BeforeEach
+	public void setup() {
+		this.reader.setFileStorageDirectory(this.tempDir);
+	}
+
+	@AfterEach
+	public void noFilesLeft() throws IOException {
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+
+	@Test
+	public void canRead() {
+		assertThat(this.reader.canRead(ResolvableType.forClass(Part.class), MediaType.MULTIPART_FORM_DATA)).isTrue();
+		assertThat(this.reader.canRead(ResolvableType.forClass(Part.class), null)).isTrue();
+		assertThat(this.reader.canRead(ResolvableType.forClass(String.class), MediaType.MULTIPART_FORM_DATA)).isFalse();
+		assertThat(this.reader.canRead(ResolvableType.forClass(Part.class), MediaType.APPLICATION_JSON)).isFalse();
+	}
+
+	@Test
+	public void parts() {
+		for (int chunkSize : new int[] {1, 3, 7, 19, BODY.length()}) {
+			List<Part> parts = read(request(BODY, chunkSize));
+			assertThat(parts).hasSize(2);
+
+			assertThat(parts.get(0)).isInstanceOf(FormFieldPart.class);
+			assertThat(parts.get(0).name()).isEqualTo("field");
+			assertThat(((FormFieldPart) parts.get(0)).value()).isEqualTo("Hello, world");
+
+			assertThat(parts.get(1)).isInstanceOf(FilePart.class);
+			FilePart filePart = (FilePart) parts.get(1);
+			assertThat(filePart.name()).isEqualTo("file");
+			assertThat(filePart.filename()).isEqualTo("file.txt");
+			assertThat(filePart.headers().getContentType()).isEqualTo(MediaType.TEXT_PLAIN);
+			assertThat(content(filePart)).isEqualTo("Lorem ipsum dolor sit amet,\r\nconsectetur adipiscing elit.");
+		}
+	}
+
+	@Test
+	public void fileStoredOnDisk() throws IOException {
+		this.reader.setMaxInMemorySize(15);
+		List<Part> parts = read(request(BODY, 5));
+		assertThat(parts).hasSize(2);
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			assertThat(files).hasSize(1);
+		}
+
+		FilePart filePart = (FilePart) parts.get(1);
+		assertThat(content(filePart)).isEqualTo("Lorem ipsum dolor sit amet,\r\nconsectetur adipiscing elit.");
+
+		Path dest = this.tempDir.resolve("dest.txt");
+		filePart.transferTo(dest).block(Duration.ofSeconds(5));
+		assertThat(new String(Files.readAllBytes(dest), StandardCharsets.UTF_8))
+				.isEqualTo("Lorem ipsum dolor sit amet,\r\nconsectetur adipiscing elit.");
+		Files.delete(dest);
+
+		filePart.delete().block(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void writtenByMultipartHttpMessageWriter() {
+		MultipartBodyBuilder builder = new MultipartBodyBuilder();
+		builder.part("name", "value");
+		builder.part("text", "Lorem ipsum", MediaType.TEXT_PLAIN);
+		MockClientHttpRequest outputMessage = new MockClientHttpRequest(HttpMethod.POST, "/");
+		new MultipartHttpMessageWriter()
+				.write(Mono.just(builder.build()), null, MediaType.MULTIPART_FORM_DATA, outputMessage, null)
+				.block(Duration.ofSeconds(5));
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(outputMessage.getHeaders().getContentType())
+				.body(outputMessage.getBody());
+
+		MultiValueMap<String, Part> parts = new MultipartHttpMessageReader(this.reader)
+				.readMono(ResolvableType.forClassWithGenerics(MultiValueMap.class, String.class, Part.class),
+						request, emptyMap())
+				.block(Duration.ofSeconds(5));
+
+		assertThat(parts).containsOnlyKeys("name", "text");
+		assertThat(((FormFieldPart) parts.getFirst("name")).value()).isEqualTo("value");
+		assertThat(parts.getFirst("text").headers().getContentType()).isEqualTo(MediaType.TEXT_PLAIN);
+	}
+
+	@Test
+	public void formFieldExceedsMaxInMemorySize() {
+		this.reader.setMaxInMemorySize(5);
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(BODY, 3), emptyMap()))
+				.expectError(DecodingException.class)
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void fileExceedsMaxDiskUsagePerPart() {
+		this.reader.setMaxInMemorySize(15);
+		this.reader.setMaxDiskUsagePerPart(20);
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(BODY, 3), emptyMap()))
+				.consumeNextWith(part -> assertThat(part.name()).isEqualTo("field"))
+				.expectError(DecodingException.class)
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void tooManyParts() {
+		this.reader.setMaxParts(1);
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(BODY, 3), emptyMap()))
+				.expectErrorMessage("Too many parts (1 allowed)")
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void bodyConsumedAfterCancel() {
+		AtomicBoolean completed = new AtomicBoolean();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<DataBuffer> body = chunks(BODY, 3)
+				.doOnComplete(() -> completed.set(true))
+				.doOnCancel(() -> cancelled.set(true));
+
+		Part part = this.reader.read(ResolvableType.forClass(Part.class), request(body), emptyMap())
+				.next()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(part.name()).isEqualTo("field");
+		assertThat(completed).isTrue();
+		assertThat(cancelled).isFalse();
+	}
+
+	@Test
+	public void bodyDrainedUpToLimitAfterCancel() {
+		AtomicInteger emitted = new AtomicInteger();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		String start = BODY.substring(0, BODY.indexOf("Lorem"));
+		Flux<DataBuffer> body = chunks(start, 3)
+				.concatWith(Flux.range(0, 1000).map(i -> this.bufferFactory.wrap(new byte[1024])))
+				.doOnNext(buffer -> emitted.incrementAndGet())
+				.doOnCancel(() -> cancelled.set(true));
+
+		Part part = this.reader.read(ResolvableType.forClass(Part.class), request(body), emptyMap())
+				.next()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(part.name()).isEqualTo("field");
+		assertThat(cancelled).isTrue();
+		assertThat(emitted.get()).isLessThan(start.length() / 3 + 1 + 300);
+	}
+
+	@Test
+	public void readingStoppedOnLimitError() {
+		this.reader.setMaxParts(1);
+		AtomicBoolean completed = new AtomicBoolean();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Flux<DataBuffer> body = chunks(BODY, 3)
+				.doOnComplete(() -> completed.set(true))
+				.doOnCancel(() -> cancelled.set(true));
+
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(body), emptyMap()))
+				.expectErrorMessage("Too many parts (1 allowed)")
+				.verify(Duration.ofSeconds(5));
+		assertThat(cancelled).isTrue();
+		assertThat(completed).isFalse();
+	}
+
+	@Test
+	public void headersExceedMaxHeadersSize() {
+		this.reader.setMaxHeadersSize(20);
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(BODY, 3), emptyMap()))
+				.expectError(DecodingException.class)
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void missingEndBoundary() {
+		String body = BODY.substring(0, BODY.indexOf("--" + BOUNDARY + "--"));
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request(body, 3), emptyMap()))
+				.expectNextCount(1)
+				.expectErrorMessage("Could not find end of multipart body")
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void missingBoundary() {
+		ServerHttpRequest request = MockServerHttpRequest.post("/")
+				.contentType(MediaType.MULTIPART_FORM_DATA)
+				.body(Flux.just(this.bufferFactory.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		StepVerifier.create(this.reader.read(ResolvableType.forClass(Part.class), request, emptyMap()))
+				.expectError(DecodingException.class)
+				.verify(Duration.ofSeconds(5));
+	}
+
+
+	private ServerHttpRequest request(String body, int chunkSize) {
+		return request(chunks(body, chunkSize));
+	}
+
+	private ServerHttpRequest request(Flux<DataBuffer> body) {
+		return MockServerHttpRequest.post("/")
+				.header("Content-Type", "multipart/form-data; boundary=\"" + BOUNDARY + "\"")
+				.body(body);
+	}
+
+	private Flux<DataBuffer> chunks(String body, int chunkSize) {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		List<byte[]> chunks = new ArrayList<>();
+		for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+			byte[] chunk = new byte[Math.min(chunkSize, bytes.length - offset)];
+			System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+			chunks.add(chunk);
+		}
+		return Flux.fromIterable(chunks).map(this.bufferFactory::wrap);
+	}
+
+	private List<Part> read(ServerHttpRequest request) {
+		return this.reader.read(ResolvableType.forClass(Part.class), request, emptyMap())
+				.collectList()
+				.block(Duration.ofSeconds(5));
+	}
+
+	private static String content(Part part) {
+		DataBuffer buffer = DataBufferUtils.join(part.content()).block(Duration.ofSeconds(5));
+		byte[] bytes = new byte[buffer.readableByteCount()];
+		buffer.read(bytes);
+		DataBufferUtils.release(buffer);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
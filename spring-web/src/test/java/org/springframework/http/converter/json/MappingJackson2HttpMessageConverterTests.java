@@ -40,6 +40,7 @@ import org.springframework.http.MockHttpInputMessage;
 import org.springframework.http.MockHttpOutputMessage;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -442,6 +443,14 @@ public class MappingJackson2HttpMessageConverterTests {
 			.withMessageStartingWith("Type definition error:");
 	}
 
+	@Test
+	public void writeFailureDoesNotCompleteJsonContent() throws Exception {
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		assertThatExceptionOfType(HttpMessageNotWritableException.class).isThrownBy(() ->
+				this.converter.write(new FailingBean(), null, MediaType.APPLICATION_JSON, outputMessage));
+		assertThat(outputMessage.getBodyAsString(StandardCharsets.UTF_8)).doesNotContain("}");
+	}
+
 
 	interface MyInterface {
 
@@ -606,6 +615,19 @@ public class MappingJackson2HttpMessageConverterTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	private static class FailingBean {
+
+		public String getName() {
+			return "foo";
+		}
+
+		public String getDescription() {
+			throw new IllegalStateException("Not available");
+		}
+	}
+
+
 	@SuppressWarnings("unused")
 	private static class BeanWithNoDefaultConstructor {
 
@@ -16,9 +16,20 @@
 
 package org.springframework.web.server.adapter;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
+import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
+import org.springframework.http.codec.multipart.Part;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
 import org.springframework.mock.http.server.reactive.test.MockServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
@@ -56,6 +67,43 @@ public class DefaultServerWebExchangeTests {
 		assertThat(exchange.transformUrl("/foo")).isEqualTo("/foo;p=abc?q=123");
 	}
 
+	@Test
+	public void cleanupMultipart(@TempDir Path tempDir) throws IOException {
+		DefaultPartHttpMessageReader partReader = new DefaultPartHttpMessageReader();
+		partReader.setMaxInMemorySize(5);
+		partReader.setFileStorageDirectory(tempDir);
+		ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+		configurer.registerDefaults(false);
+		configurer.customCodecs().reader(new MultipartHttpMessageReader(partReader));
+
+		MockServerHttpRequest request = MockServerHttpRequest.post("https://example.com")
+				.contentType(MediaType.parseMediaType("multipart/form-data; boundary=boundary"))
+				.body("--boundary\r\n" +
+						"Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n" +
+						"\r\n" +
+						"Lorem ipsum\r\n" +
+						"--boundary--\r\n");
+		DefaultServerWebExchange exchange = new DefaultServerWebExchange(request, new MockServerHttpResponse(),
+				new DefaultWebSessionManager(), configurer, new AcceptHeaderLocaleContextResolver());
+
+		Part part = exchange.getMultipartData().block(Duration.ofSeconds(5)).getFirst("file");
+		assertThat(part).isNotNull();
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files).hasSize(1);
+		}
+
+		exchange.cleanupMultipart().block(Duration.ofSeconds(5));
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	@Test
+	public void cleanupMultipartWithoutMultipartData() {
+		DefaultServerWebExchange exchange = createExchange();
+		assertThat(exchange.cleanupMultipart().block(Duration.ofSeconds(5))).isNull();
+	}
+
 
 	private DefaultServerWebExchange createExchange() {
 		MockServerHttpRequest request = MockServerHttpRequest.get("https://example.com").build();
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.mock.web.test.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ *
+ * @author agent (agent@local)
+ */
+public class ServletRequestPathUtilsTests {
+
+	@Test
+	public void parseAndCache() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/foo/bar");
+		request.setContextPath("/app");
+
+		RequestPath path = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(path.contextPath().value()).isEqualTo("/app");
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/foo/bar");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isTrue();
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(path);
+
+		ServletRequestPathUtils.setParsedRequestPath(null, request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+	}
+
+	@Test
+	public void prefixMappedServlet() {
+		testPathWithinApplication("/app/api/foo/bar", "/app", "/api", "/foo/bar", "/app/api", "/foo/bar");
+		testPathWithinApplication("/api/foo;a=b/bar", "", "/api", "/foo/bar", "/api", "/foo;a=b/bar");
+	}
+
+	@Test
+	public void defaultServlet() {
+		testPathWithinApplication("/app/foo/bar", "/app", "/foo/bar", null, "/app", "/foo/bar");
+		testPathWithinApplication("/foo/caf%C3%A9", "", "/foo/café", null, "", "/foo/caf%C3%A9");
+	}
+
+	@Test
+	public void includeRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/foo");
+		request.setContextPath("/app");
+		request.setAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE, "/app/api/bar");
+		request.setAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE, "/app");
+		request.setAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE, "/api");
+		request.setAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE, "/bar");
+
+		RequestPath path = ServletRequestPathUtils.getParsedRequestPath(request);
+		assertThat(path.contextPath().value()).isEqualTo("/app/api");
+		assertThat(path.pathWithinApplication().value()).isEqualTo("/bar");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+	}
+
+	private void testPathWithinApplication(String requestUri, String contextPath, String servletPath,
+			String pathInfo, String expectedContextPath, String expectedPath) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+		request.setContextPath(contextPath);
+		request.setServletPath(servletPath);
+		request.setPathInfo(pathInfo);
+
+		RequestPath path = ServletRequestPathUtils.getParsedRequestPath(request);
+		assertThat(path.contextPath().value()).isEqualTo(expectedContextPath);
+		assertThat(path.pathWithinApplication().value()).isEqualTo(expectedPath);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Benchmark for finding the path patterns matching a request path among a
+ * growing number of mappings, either narrowed down to the candidates from a
+ * {@link MappingPathIndex} or by checking every pattern in turn, as
+ * {@link AbstractHandlerMethodMapping} did before indexing.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MappingPathIndexBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "100", "1000", "2000"})
+		public int mappingCount;
+
+		public List<PathPattern> patterns = new ArrayList<>();
+
+		public MappingPathIndex<PathPattern> index = new MappingPathIndex<>();
+
+		public List<PathContainer> paths = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			for (int i = 0; i < this.mappingCount; i++) {
+				PathPattern pattern = parser.parse("/api/resource" + i + "/{id}");
+				this.patterns.add(pattern);
+				this.index.add(pattern, Collections.singleton(pattern));
+			}
+			PathPattern fallback = parser.parse("/**");
+			this.patterns.add(fallback);
+			this.index.add(fallback, Collections.singleton(fallback));
+			this.paths.add(PathContainer.parsePath("/api/resource0/42"));
+			this.paths.add(PathContainer.parsePath("/api/resource" + (this.mappingCount - 1) + "/42"));
+			this.paths.add(PathContainer.parsePath("/static/app.js"));
+		}
+	}
+
+
+	@Benchmark
+	public void indexedLookup(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.paths) {
+			for (PathPattern pattern : state.index.getCandidates(path)) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void linearLookup(BenchmarkState state, Blackhole bh) {
+		for (PathContainer path : state.paths) {
+			for (PathPattern pattern : state.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+}
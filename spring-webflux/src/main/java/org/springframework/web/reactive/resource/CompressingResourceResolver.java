@@ -0,0 +1,407 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.BoundedConcurrentMap;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Resolver that delegates to the chain, and if a resource is found, compresses
+ * it with the first of the {@link #setEncoders(Map) configured encoders} whose
+ * content coding is acceptable based on the "Accept-Encoding" request header.
+ *
+ * <p>Only resources of a {@link #setCompressibleMediaTypes compressible media type}
+ * with a known content length between the {@link #setMinContentLength minimum}
+ * and the {@link #setMaxContentLength maximum} content length are compressed.
+ * Compressed content is served from memory and kept in a {@link Cache}, keyed by
+ * content coding and by the URL, last-modified timestamp and content length of
+ * the resource, so that each resource is read and compressed once and only
+ * again after it has changed. By default, this is an in-memory cache limited to
+ * {@link #DEFAULT_CACHE_MAX_BYTES} of compressed content in total.
+ *
+ * <p>By default only "gzip" is supported. Other codings such as "br" can be
+ * added via {@link #registerEncoder(String, ContentEncoder)} with an encoder
+ * from a third-party library.
+ *
+ * <p>Note that this resolver should be ordered ahead of an
+ * {@link EncodedResourceResolver}, so that pre-compressed files are preferred
+ * when present, and ahead of a {@link VersionResourceResolver} with a
+ * content-based version strategy to ensure the version calculation is not
+ * impacted by the encoding.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see EncodedResourceResolver
+ */
+public class CompressingResourceResolver extends AbstractResourceResolver {
+
+	/**
+	 * The default maximum number of bytes of compressed content to cache.
+	 */
+	public static final long DEFAULT_CACHE_MAX_BYTES = 16 * 1024 * 1024;
+
+	/**
+	 * The default minimum content length for a resource to be compressed.
+	 */
+	public static final long DEFAULT_MIN_CONTENT_LENGTH = 1024;
+
+	/**
+	 * The default maximum content length for a resource to be compressed.
+	 * <p>This is small enough compared to {@link #DEFAULT_CACHE_MAX_BYTES} for
+	 * compressed content not to take up more than the share of the default
+	 * cache that each of its independently evicting segments holds.
+	 */
+	public static final long DEFAULT_MAX_CONTENT_LENGTH = 512 * 1024;
+
+	private static final List<MediaType> DEFAULT_COMPRESSIBLE_MEDIA_TYPES = Arrays.asList(
+			MediaType.parseMediaType("text/*"), MediaType.APPLICATION_JSON,
+			MediaType.parseMediaType("application/*+json"), MediaType.APPLICATION_XML,
+			MediaType.parseMediaType("application/*+xml"), MediaType.parseMediaType("application/javascript"),
+			MediaType.parseMediaType("image/svg+xml"));
+
+
+	private final Cache cache;
+
+	private final Map<String, ContentEncoder> encoders = new LinkedHashMap<>();
+
+	private final List<MediaType> compressibleMediaTypes = new ArrayList<>(DEFAULT_COMPRESSIBLE_MEDIA_TYPES);
+
+	private long minContentLength = DEFAULT_MIN_CONTENT_LENGTH;
+
+	private long maxContentLength = DEFAULT_MAX_CONTENT_LENGTH;
+
+
+	/**
+	 * Create a resolver that caches compressed content in memory, up to
+	 * {@link #DEFAULT_CACHE_MAX_BYTES}.
+	 */
+	public CompressingResourceResolver() {
+		this(new ConcurrentMapCache("compressedResourceCache",
+				new BoundedConcurrentMap(0, DEFAULT_CACHE_MAX_BYTES,
+						(key, value) -> (value instanceof CompressedContent ?
+								((CompressedContent) value).content.length : 1), null, null),
+				false));
+	}
+
+	/**
+	 * Create a resolver that caches compressed content in the given cache.
+	 * @param cache the cache for compressed content, holding values created
+	 * by this resolver
+	 */
+	public CompressingResourceResolver(Cache cache) {
+		Assert.notNull(cache, "Cache is required");
+		this.cache = cache;
+		this.encoders.put("gzip", GZIPOutputStream::new);
+	}
+
+
+	/**
+	 * Return the configured {@code Cache}.
+	 */
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Configure the encoders to use, keyed by content coding, in order of
+	 * preference. This replaces any previously configured encoders.
+	 * <p>By default this is configured with a {@literal "gzip"} encoder.
+	 * @param encoders the encoders to use
+	 * @see #registerEncoder(String, ContentEncoder)
+	 */
+	public void setEncoders(Map<String, ContentEncoder> encoders) {
+		Assert.notEmpty(encoders, "At least one encoder expected");
+		this.encoders.clear();
+		encoders.forEach(this::registerEncoder);
+	}
+
+	/**
+	 * Java config friendly alternative to {@link #setEncoders(Map)}, adding
+	 * an encoder after those already registered.
+	 * @param coding the content coding, e.g. {@literal "br"}
+	 * @param encoder the encoder for the content coding
+	 */
+	public void registerEncoder(String coding, ContentEncoder encoder) {
+		Assert.hasText(coding, "Content coding is required");
+		Assert.notNull(encoder, "ContentEncoder is required");
+		this.encoders.put(coding.toLowerCase(), encoder);
+	}
+
+	/**
+	 * Return a read-only map with the configured encoders.
+	 */
+	public Map<String, ContentEncoder> getEncoders() {
+		return Collections.unmodifiableMap(this.encoders);
+	}
+
+	/**
+	 * Configure the minimum content length for a resource to be compressed.
+	 * Smaller resources are returned as they are.
+	 * <p>By default this is set to {@link #DEFAULT_MIN_CONTENT_LENGTH}.
+	 * @param minContentLength the minimum content length in bytes
+	 */
+	public void setMinContentLength(long minContentLength) {
+		this.minContentLength = minContentLength;
+	}
+
+	/**
+	 * Return the configured minimum content length for compression.
+	 */
+	public long getMinContentLength() {
+		return this.minContentLength;
+	}
+
+	/**
+	 * Configure the maximum content length for a resource to be compressed.
+	 * Larger resources are returned as they are, rather than being read into
+	 * memory, and so remain eligible for zero-copy transfer.
+	 * <p>By default this is set to {@link #DEFAULT_MAX_CONTENT_LENGTH}.
+	 * @param maxContentLength the maximum content length in bytes
+	 */
+	public void setMaxContentLength(long maxContentLength) {
+		Assert.isTrue(maxContentLength >= 0, "Maximum content length must not be negative");
+		this.maxContentLength = maxContentLength;
+	}
+
+	/**
+	 * Return the configured maximum content length for compression.
+	 */
+	public long getMaxContentLength() {
+		return this.maxContentLength;
+	}
+
+	/**
+	 * Configure the media types of the resources to compress, as determined
+	 * from their file extension. Resources of any other or of an unknown media
+	 * type are returned as they are. This replaces the default media types.
+	 * <p>By default this is set to "text/*", "application/json",
+	 * "application/*+json", "application/xml", "application/*+xml",
+	 * "application/javascript" and "image/svg+xml".
+	 * @param mediaTypes the media types, possibly with wildcards
+	 */
+	public void setCompressibleMediaTypes(List<MediaType> mediaTypes) {
+		Assert.notNull(mediaTypes, "MediaTypes must not be null");
+		this.compressibleMediaTypes.clear();
+		this.compressibleMediaTypes.addAll(mediaTypes);
+	}
+
+	/**
+	 * Return a read-only list with the compressible media types.
+	 */
+	public List<MediaType> getCompressibleMediaTypes() {
+		return Collections.unmodifiableList(this.compressibleMediaTypes);
+	}
+
+
+	@Override
+	protected Mono<Resource> resolveResourceInternal(@Nullable ServerWebExchange exchange,
+			String requestPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveResource(exchange, requestPath, locations).flatMap(resource -> {
+
+			if (exchange == null || isEncoded(resource)) {
+				return Mono.just(resource);
+			}
+
+			String acceptEncoding = getAcceptEncoding(exchange);
+			if (acceptEncoding == null) {
+				return Mono.just(resource);
+			}
+
+			for (Map.Entry<String, ContentEncoder> entry : this.encoders.entrySet()) {
+				String coding = entry.getKey();
+				if (acceptEncoding.contains(coding)) {
+					// Reading and compressing the resource is blocking
+					return Mono.fromCallable(() -> compress(resource, coding, entry.getValue()))
+							.subscribeOn(Schedulers.boundedElastic())
+							.onErrorResume(IOException.class, ex -> {
+								logger.trace(exchange.getLogPrefix() +
+										"Failed to compress [" + resource.getFilename() + "] with " + coding, ex);
+								return Mono.just(resource);
+							});
+				}
+			}
+
+			return Mono.just(resource);
+		});
+	}
+
+	private static boolean isEncoded(Resource resource) {
+		return (resource instanceof HttpResource &&
+				((HttpResource) resource).getResponseHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+	}
+
+	@Nullable
+	private String getAcceptEncoding(ServerWebExchange exchange) {
+		String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+		return (header != null ? header.toLowerCase() : null);
+	}
+
+	private Resource compress(Resource resource, String coding, ContentEncoder encoder) throws IOException {
+		long contentLength = resource.contentLength();
+		if (contentLength < this.minContentLength || contentLength > this.maxContentLength ||
+				!isCompressible(resource)) {
+			return resource;
+		}
+		String key = coding + ":" + resource.getURL().toExternalForm() + ":" +
+				resource.lastModified() + ":" + contentLength;
+		CompressedContent compressed = this.cache.get(key, CompressedContent.class);
+		if (compressed == null) {
+			int initialSize = (int) Math.min(contentLength / 2, Integer.MAX_VALUE);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(initialSize);
+			try (InputStream in = resource.getInputStream(); OutputStream encodingStream = encoder.encode(out)) {
+				StreamUtils.copy(in, encodingStream);
+			}
+			byte[] content = out.toByteArray();
+			compressed = new CompressedContent(content, DigestUtils.md5DigestAsHex(content));
+			this.cache.put(key, compressed);
+		}
+		if (compressed.content.length >= contentLength) {
+			return resource;
+		}
+		return new CompressedResource(resource, coding, compressed.hash, compressed.content);
+	}
+
+	private boolean isCompressible(Resource resource) {
+		Optional<MediaType> mediaType = MediaTypeFactory.getMediaType(resource);
+		if (mediaType.isPresent()) {
+			for (MediaType compressibleType : this.compressibleMediaTypes) {
+				if (compressibleType.includes(mediaType.get())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected Mono<String> resolveUrlPathInternal(String resourceUrlPath,
+			List<? extends Resource> locations, ResourceResolverChain chain) {
+
+		return chain.resolveUrlPath(resourceUrlPath, locations);
+	}
+
+
+	/**
+	 * Strategy to compress content for a given content coding.
+	 */
+	@FunctionalInterface
+	public interface ContentEncoder {
+
+		/**
+		 * Wrap the given stream with one that compresses the content written
+		 * to it. Closing the returned stream is expected to finish the
+		 * compression and to close the given stream.
+		 * @param outputStream the stream to write compressed content to
+		 * @return the compressing stream
+		 * @throws IOException in case of I/O errors
+		 */
+		OutputStream encode(OutputStream outputStream) throws IOException;
+	}
+
+
+	/**
+	 * Compressed content along with its hash, as held in the cache.
+	 */
+	@SuppressWarnings("serial")
+	static final class CompressedContent implements Serializable {
+
+		final byte[] content;
+
+		final String hash;
+
+		CompressedContent(byte[] content, String hash) {
+			this.content = content;
+			this.hash = hash;
+		}
+	}
+
+
+	/**
+	 * A compressed {@link HttpResource}, held in memory.
+	 */
+	static final class CompressedResource extends ByteArrayResource implements HttpResource {
+
+		private final Resource original;
+
+		private final String coding;
+
+		private final String hash;
+
+		CompressedResource(Resource original, String coding, String hash, byte[] content) {
+			super(content, "compressed (" + coding + ") " + original.getDescription());
+			this.original = original;
+			this.coding = coding;
+			this.hash = hash;
+		}
+
+		@Override
+		@Nullable
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.original.lastModified();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers;
+			if (this.original instanceof HttpResource) {
+				headers = ((HttpResource) this.original).getResponseHeaders();
+			}
+			else {
+				headers = new HttpHeaders();
+			}
+			headers.add(HttpHeaders.CONTENT_ENCODING, this.coding);
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			headers.setETag("\"" + this.hash + "-" + this.coding + "\"");
+			return headers;
+		}
+	}
+
+}
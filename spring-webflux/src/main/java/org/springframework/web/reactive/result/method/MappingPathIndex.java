@@ -0,0 +1,250 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Prefix tree of mappings, keyed by the leading literal segments of their
+ * {@link PathPattern}s, used to narrow down the mappings to check for a given
+ * lookup path.
+ *
+ * <p>A mapping is registered under the node reached through the literal
+ * segments its patterns start with, e.g. {@code "/api/projects/{id}"} under
+ * {@code api -> projects}. The candidates for a lookup path are the mappings
+ * collected along the walk of its segments from the root. Mappings without
+ * patterns, or with patterns that do not start with a literal segment, are kept
+ * at the root and are candidates for every lookup path.
+ *
+ * <p>Segments are compared in lower case, so that candidates are a superset of
+ * the mappings whose patterns match, whether these are case-sensitive or not.
+ * Candidates are returned in registration order.
+ *
+ * <p>Not thread-safe: access is guarded by the read-write lock of
+ * {@link AbstractHandlerMethodMapping.MappingRegistry}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @param <T> the mapping type
+ */
+final class MappingPathIndex<T> {
+
+	private static final Comparator<Entry<?>> ORDER_COMPARATOR = Comparator.comparingLong(entry -> entry.order);
+
+
+	private final Node<T> root = new Node<>();
+
+	private final Map<T, Entry<T>> entries = new HashMap<>();
+
+	private long sequence;
+
+
+	/**
+	 * Add the given mapping, indexed by the given patterns, unless already added.
+	 * @param mapping the mapping to add
+	 * @param patterns the path patterns of the mapping, possibly empty
+	 */
+	void add(T mapping, Collection<PathPattern> patterns) {
+		if (this.entries.containsKey(mapping)) {
+			return;
+		}
+		Entry<T> entry = new Entry<>(mapping, this.sequence++);
+		this.entries.put(mapping, entry);
+		if (patterns.isEmpty()) {
+			this.root.add(entry);
+			return;
+		}
+		for (PathPattern pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : getLiteralPrefix(pattern)) {
+				node = node.children.computeIfAbsent(segment, key -> new Node<>());
+			}
+			node.add(entry);
+		}
+	}
+
+	/**
+	 * Remove the given mapping.
+	 * @param mapping the mapping to remove
+	 * @param patterns the path patterns the mapping was added with
+	 */
+	void remove(T mapping, Collection<PathPattern> patterns) {
+		Entry<T> entry = this.entries.remove(mapping);
+		if (entry == null) {
+			return;
+		}
+		if (patterns.isEmpty()) {
+			this.root.entries.remove(entry);
+			return;
+		}
+		for (PathPattern pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : getLiteralPrefix(pattern)) {
+				node = node.children.get(segment);
+				if (node == null) {
+					break;
+				}
+			}
+			if (node != null) {
+				node.entries.remove(entry);
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings that may match the given lookup path, in the order
+	 * in which they were added.
+	 * @param lookupPath the lookup path
+	 * @return the candidate mappings
+	 */
+	List<T> getCandidates(PathContainer lookupPath) {
+		List<Entry<T>> candidates = new ArrayList<>(this.root.entries);
+		int sources = (candidates.isEmpty() ? 0 : 1);
+		Node<T> node = this.root;
+		for (PathContainer.Element element : lookupPath.elements()) {
+			if (!(element instanceof PathContainer.PathSegment)) {
+				continue;
+			}
+			node = node.children.get(toLowerCase(((PathContainer.PathSegment) element).valueToMatch()));
+			if (node == null) {
+				break;
+			}
+			if (!node.entries.isEmpty()) {
+				candidates.addAll(node.entries);
+				sources++;
+			}
+		}
+		if (sources > 1) {
+			candidates.sort(ORDER_COMPARATOR);
+		}
+		List<T> result = new ArrayList<>(candidates.size());
+		Entry<T> previous = null;
+		for (Entry<T> candidate : candidates) {
+			// Mappings with several patterns may be reached through more than one node
+			if (candidate != previous) {
+				result.add(candidate.mapping);
+			}
+			previous = candidate;
+		}
+		return result;
+	}
+
+	/**
+	 * Return the number of indexed mappings.
+	 */
+	int size() {
+		return this.entries.size();
+	}
+
+
+	private static List<String> getLiteralPrefix(PathPattern pattern) {
+		String patternString = pattern.getPatternString();
+		if (!patternString.startsWith("/")) {
+			return Collections.emptyList();
+		}
+		List<String> segments = new ArrayList<>();
+		int start = 1;
+		while (start < patternString.length()) {
+			int end = patternString.indexOf('/', start);
+			String segment = patternString.substring(start, (end != -1 ? end : patternString.length()));
+			if (!isLiteral(segment)) {
+				break;
+			}
+			segments.add(toLowerCase(segment));
+			if (end == -1) {
+				break;
+			}
+			start = end + 1;
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		if (segment.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			switch (segment.charAt(i)) {
+				case '{':
+				case '}':
+				case '*':
+				case '?':
+				case '%':
+				case ';':
+				case '\\':
+					return false;
+				default:
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Lower-case the given segment the same way as case-insensitive
+	 * {@link PathPattern}s do, one character at a time.
+	 */
+	private static String toLowerCase(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (Character.toLowerCase(c) != c) {
+				char[] chars = segment.toCharArray();
+				for (int j = i; j < chars.length; j++) {
+					chars[j] = Character.toLowerCase(chars[j]);
+				}
+				return new String(chars);
+			}
+		}
+		return segment;
+	}
+
+
+	private static final class Node<T> {
+
+		private final Map<String, Node<T>> children = new HashMap<>(4);
+
+		private final List<Entry<T>> entries = new ArrayList<>(1);
+
+		void add(Entry<T> entry) {
+			if (!this.entries.contains(entry)) {
+				this.entries.add(entry);
+			}
+		}
+	}
+
+
+	private static final class Entry<T> {
+
+		private final T mapping;
+
+		private final long order;
+
+		Entry(T mapping, long order) {
+			this.mapping = mapping;
+			this.order = order;
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.test.MockServerHttpRequest;
+import org.springframework.mock.web.test.server.MockServerWebExchange;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompressingResourceResolver}.
+ *
+ * @author agent (agent@local)
+ */
+public class CompressingResourceResolverTests {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+
+	private final Cache cache = new ConcurrentMapCache("compressedResourceCache");
+
+	private final CompressingResourceResolver compressingResolver = new CompressingResourceResolver(this.cache);
+
+	private ResourceResolverChain resolver;
+
+	private List<Resource> locations;
+
+	private Path tempDir;
+
+	private String content;
+
+
+	@BeforeEach
+	public void setup(@TempDir Path tempDir) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			builder.append("h1 { color: red; }\n");
+		}
+		this.tempDir = tempDir;
+		this.content = builder.toString();
+		Files.write(tempDir.resolve("foo.css"), this.content.getBytes(StandardCharsets.UTF_8));
+
+		this.resolver = new DefaultResourceResolverChain(
+				Arrays.asList(this.compressingResolver, new PathResourceResolver()));
+		this.locations = Collections.singletonList(new FileSystemResource(tempDir.toString() + "/"));
+	}
+
+
+	@Test
+	public void resolveCompressed() throws IOException {
+		Resource actual = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+
+		assertThat(actual).isInstanceOf(HttpResource.class);
+		assertThat(actual.getFilename()).isEqualTo("foo.css");
+		assertThat(actual.contentLength()).isLessThan(this.content.length());
+		assertThat(gunzip(actual)).isEqualTo(this.content);
+
+		HttpHeaders headers = ((HttpResource) actual).getResponseHeaders();
+		assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(headers.getFirst(HttpHeaders.VARY)).isEqualTo("Accept-Encoding");
+		assertThat(headers.getETag()).endsWith("-gzip\"");
+	}
+
+	@Test
+	public void resolveCompressedFromCache() throws IOException {
+		Resource first = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+		assertThat(((ConcurrentMapCache) this.cache).getNativeCache()).hasSize(1);
+
+		Resource second = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+		assertThat(((ConcurrentMapCache) this.cache).getNativeCache()).hasSize(1);
+		assertThat(second.getInputStream()).hasSameContentAs(first.getInputStream());
+		assertThat(((HttpResource) second).getResponseHeaders().getETag())
+				.isEqualTo(((HttpResource) first).getResponseHeaders().getETag());
+	}
+
+	@Test
+	public void resolveWithoutAcceptEncoding() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(""));
+		Resource actual = this.resolver.resolveResource(exchange, "foo.css", this.locations).block(TIMEOUT);
+		assertThat(actual).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void resolveBelowMinContentLength() {
+		this.compressingResolver.setMinContentLength(this.content.length() + 1);
+		Resource actual = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+		assertThat(actual).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void resolveAboveMaxContentLength() {
+		this.compressingResolver.setMaxContentLength(this.content.length() - 1);
+		Resource actual = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+		assertThat(actual).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void resolveNonCompressibleMediaType() throws IOException {
+		Files.write(this.tempDir.resolve("foo.png"), this.content.getBytes(StandardCharsets.UTF_8));
+		Resource actual = this.resolver.resolveResource(gzipExchange(), "foo.png", this.locations).block(TIMEOUT);
+		assertThat(actual).isNotInstanceOf(HttpResource.class);
+
+		this.compressingResolver.setCompressibleMediaTypes(Collections.singletonList(MediaType.IMAGE_PNG));
+		actual = this.resolver.resolveResource(gzipExchange(), "foo.png", this.locations).block(TIMEOUT);
+		assertThat(actual).isInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void resolveRecompressedAfterChange() throws IOException {
+		Resource first = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+
+		String changed = this.content + "h2 { color: blue; }\n";
+		Files.write(this.tempDir.resolve("foo.css"), changed.getBytes(StandardCharsets.UTF_8));
+		Resource second = this.resolver.resolveResource(gzipExchange(), "foo.css", this.locations).block(TIMEOUT);
+
+		assertThat(((ConcurrentMapCache) this.cache).getNativeCache()).hasSize(2);
+		assertThat(gunzip(second)).isEqualTo(changed);
+		assertThat(((HttpResource) second).getResponseHeaders().getETag())
+				.isNotEqualTo(((HttpResource) first).getResponseHeaders().getETag());
+	}
+
+	@Test
+	public void resolveWithCustomEncoder() {
+		this.compressingResolver.registerEncoder("x-test", out -> out);
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("").header("Accept-Encoding", "x-test"));
+		Resource actual = this.resolver.resolveResource(exchange, "foo.css", this.locations).block(TIMEOUT);
+
+		// Not smaller than the original: returned as is
+		assertThat(actual).isNotInstanceOf(HttpResource.class);
+	}
+
+
+	private static MockServerWebExchange gzipExchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("").header("Accept-Encoding", "gzip, deflate"));
+	}
+
+	private static String gunzip(Resource resource) throws IOException {
+		try (InputStream in = new GZIPInputStream(resource.getInputStream())) {
+			return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+		}
+	}
+
+}
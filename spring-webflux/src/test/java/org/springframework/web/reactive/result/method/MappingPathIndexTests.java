@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.result.method;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MappingPathIndex}.
+ *
+ * @author agent (agent@local)
+ */
+public class MappingPathIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final MappingPathIndex<String> index = new MappingPathIndex<>();
+
+
+	@Test
+	public void candidatesByLiteralPrefix() {
+		add("/api/projects");
+		add("/api/projects/{id}");
+		add("/api/users/{id}");
+		add("/static/**");
+		add("/{path}");
+
+		assertThat(candidates("/api/projects/spring")).containsExactly("/api/projects", "/api/projects/{id}", "/{path}");
+		assertThat(candidates("/api/users/1")).containsExactly("/api/users/{id}", "/{path}");
+		assertThat(candidates("/static/css/main.css")).containsExactly("/static/**", "/{path}");
+		assertThat(candidates("/other")).containsExactly("/{path}");
+	}
+
+	@Test
+	public void candidatesInRegistrationOrder() {
+		add("/{path}/**");
+		add("/api/projects/{id}");
+		add("/api/**");
+		add("/api/projects");
+
+		assertThat(candidates("/api/projects/spring"))
+				.containsExactly("/{path}/**", "/api/projects/{id}", "/api/**", "/api/projects");
+	}
+
+	@Test
+	public void candidatesIgnoreCase() {
+		add("/API/Projects");
+		assertThat(candidates("/api/PROJECTS")).containsExactly("/API/Projects");
+	}
+
+	@Test
+	public void mappingWithMultiplePatterns() {
+		this.index.add("multi", Arrays.asList(parse("/api"), parse("/api/projects")));
+		assertThat(this.index.getCandidates(PathContainer.parsePath("/api/projects"))).containsExactly("multi");
+	}
+
+	@Test
+	public void mappingWithoutPatterns() {
+		this.index.add("any", Collections.emptySet());
+		add("/api");
+		assertThat(candidates("/api")).containsExactly("any", "/api");
+		assertThat(candidates("/other")).containsExactly("any");
+	}
+
+	@Test
+	public void remove() {
+		add("/api/projects");
+		add("/api/projects/{id}");
+		this.index.remove("/api/projects", Collections.singleton(parse("/api/projects")));
+
+		assertThat(candidates("/api/projects")).containsExactly("/api/projects/{id}");
+		assertThat(this.index.size()).isEqualTo(1);
+	}
+
+
+	private void add(String pattern) {
+		this.index.add(pattern, Collections.singleton(parse(pattern)));
+	}
+
+	private PathPattern parse(String pattern) {
+		return this.parser.parse(pattern);
+	}
+
+	private List<String> candidates(String path) {
+		return this.index.getCandidates(PathContainer.parsePath(path)).stream().collect(Collectors.toList());
+	}
+
+}
@@ -263,7 +263,7 @@ class MultipartIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 
 		@PostMapping("/transferTo")
 		Flux<String> transferTo(@RequestPart("fileParts") Flux<FilePart> parts) {
-			return parts.flatMap(filePart -> {
+			return parts.concatMap(filePart -> {
 				try {
 					Path tempFile = Files.createTempFile("MultipartIntegrationTests", filePart.filename());
 					return filePart.transferTo(tempFile)
@@ -23,6 +23,7 @@ import java.util.function.Predicate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -57,6 +58,9 @@ public class PathMatchConfigurer {
 	@Nullable
 	private PathMatcher pathMatcher;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	@Nullable
 	private Map<String, Predicate<Class<?>>> pathPrefixes;
 
@@ -117,6 +121,25 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Enable use of parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns}, as in WebFlux, instead of String pattern matching with a
+	 * {@link PathMatcher}. The request path is then parsed once per request and
+	 * matched against patterns parsed at startup for request mappings,
+	 * {@link InterceptorRegistry interceptors}, {@link CorsRegistry CORS}
+	 * mappings, view controllers and resource handlers.
+	 * <p>Note that suffix pattern matching is not supported in this mode,
+	 * and trailing slash matching is configured on the parser through
+	 * {@link PathPatternParser#setMatchOptionalTrailingSeparator}.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use
+	 * @since 5.2
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
@@ -162,6 +185,15 @@ public class PathMatchConfigurer {
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Return the {@link PathPatternParser} to use, if configured.
+	 * @since 5.2
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	@Nullable
 	protected Map<String, Predicate<Class<?>>> getPathPrefixes() {
 		return this.pathPrefixes;
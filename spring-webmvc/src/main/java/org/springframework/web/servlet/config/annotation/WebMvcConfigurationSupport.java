@@ -100,6 +100,7 @@ import org.springframework.web.servlet.resource.ResourceUrlProviderExposingInter
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 import org.springframework.web.servlet.view.ViewResolverComposite;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * This is the main class providing the configuration behind the MVC Java config.
@@ -307,6 +308,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		if (pathMatcher != null) {
 			mapping.setPathMatcher(pathMatcher);
 		}
+		PathPatternParser patternParser = configurer.getPatternParser();
+		if (patternParser != null) {
+			mapping.setPatternParser(patternParser);
+		}
 		Map<String, Predicate<Class<?>>> pathPrefixes = configurer.getPathPrefixes();
 		if (pathPrefixes != null) {
 			mapping.setPathPrefixes(pathPrefixes);
@@ -460,6 +465,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		}
 		handlerMapping.setPathMatcher(mvcPathMatcher);
 		handlerMapping.setUrlPathHelper(mvcUrlPathHelper);
+		PathPatternParser patternParser = getPathMatchConfigurer().getPatternParser();
+		if (patternParser != null) {
+			handlerMapping.setPatternParser(patternParser);
+		}
 		handlerMapping.setInterceptors(getInterceptors(mvcConversionService, mvcResourceUrlProvider));
 		handlerMapping.setCorsConfigurations(getCorsConfigurations());
 		return handlerMapping;
@@ -481,6 +490,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 			ResourceUrlProvider mvcResourceUrlProvider) {
 		BeanNameUrlHandlerMapping mapping = new BeanNameUrlHandlerMapping();
 		mapping.setOrder(2);
+		PathPatternParser patternParser = getPathMatchConfigurer().getPatternParser();
+		if (patternParser != null) {
+			mapping.setPatternParser(patternParser);
+		}
 		mapping.setInterceptors(getInterceptors(mvcConversionService, mvcResourceUrlProvider));
 		mapping.setCorsConfigurations(getCorsConfigurations());
 		return mapping;
@@ -502,6 +515,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 			ResourceUrlProvider mvcResourceUrlProvider) {
 		RouterFunctionMapping mapping = new RouterFunctionMapping();
 		mapping.setOrder(3);
+		PathPatternParser patternParser = getPathMatchConfigurer().getPatternParser();
+		if (patternParser != null) {
+			mapping.setPatternParser(patternParser);
+		}
 		mapping.setInterceptors(getInterceptors(mvcConversionService, mvcResourceUrlProvider));
 		mapping.setCorsConfigurations(getCorsConfigurations());
 		mapping.setMessageConverters(getMessageConverters());
@@ -533,6 +550,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		}
 		handlerMapping.setPathMatcher(mvcPathMatcher);
 		handlerMapping.setUrlPathHelper(mvcUrlPathHelper);
+		PathPatternParser patternParser = getPathMatchConfigurer().getPatternParser();
+		if (patternParser != null) {
+			handlerMapping.setPatternParser(patternParser);
+		}
 		handlerMapping.setInterceptors(getInterceptors(mvcConversionService, mvcResourceUrlProvider));
 		handlerMapping.setCorsConfigurations(getCorsConfigurations());
 		return handlerMapping;
@@ -19,6 +19,7 @@ package org.springframework.web.servlet.handler;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +31,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -46,7 +48,10 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -78,10 +83,16 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private final List<Object> interceptors = new ArrayList<>();
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
 
+	private final Map<MappedInterceptor, MappedInterceptor.ParsedPatterns> parsedInterceptorPatterns =
+			new HashMap<>();
+
 	@Nullable
 	private CorsConfigurationSource corsConfigurationSource;
 
@@ -186,6 +197,37 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Enable use of pre-parsed {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} as an alternative to String pattern matching with the
+	 * {@link #setPathMatcher PathMatcher}. The request path is then parsed once
+	 * per request and cached via {@link ServletRequestPathUtils}, and matched
+	 * against mapped handlers, {@link MappedInterceptor MappedInterceptors},
+	 * and global CORS configurations.
+	 * <p>Note that path patterns are then parsed with the syntax of
+	 * {@link PathPatternParser}, which for example allows "**" only at the end
+	 * of a pattern, and suffix pattern matching is not supported.
+	 * <p>By default this is not set.
+	 * @param patternParser the parser to use
+	 * @since 5.2
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		if (this.corsConfigurationSource instanceof UrlBasedCorsConfigurationSource) {
+			((UrlBasedCorsConfigurationSource) this.corsConfigurationSource).setPathPatternParser(patternParser);
+		}
+	}
+
+	/**
+	 * Return the {@link #setPatternParser(PathPatternParser) configured}
+	 * {@code PathPatternParser}, or {@code null}.
+	 * @since 5.2
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -214,6 +256,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 			source.setPathMatcher(this.pathMatcher);
 			source.setUrlPathHelper(this.urlPathHelper);
 			source.setLookupPathAttributeName(LOOKUP_PATH);
+			source.setPathPatternParser(this.patternParser);
 			this.corsConfigurationSource = source;
 		}
 		else {
@@ -275,7 +318,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 
 	/**
-	 * Initializes the interceptors.
+	 * Initializes the interceptors, parsing the patterns of
+	 * {@link MappedInterceptor MappedInterceptors} if a
+	 * {@link #setPatternParser PathPatternParser} is configured.
 	 * @see #extendInterceptors(java.util.List)
 	 * @see #initInterceptors()
 	 */
@@ -284,6 +329,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		extendInterceptors(this.interceptors);
 		detectMappedInterceptors(this.adaptedInterceptors);
 		initInterceptors();
+		initInterceptorPatterns();
 	}
 
 	/**
@@ -330,6 +376,26 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		}
 	}
 
+	private void initInterceptorPatterns() {
+		PathPatternParser parser = this.patternParser;
+		if (parser == null) {
+			return;
+		}
+		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
+			if (interceptor instanceof MappedInterceptor) {
+				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
+				try {
+					this.parsedInterceptorPatterns.put(mappedInterceptor, mappedInterceptor.parsePatterns(parser));
+				}
+				catch (PatternParseException ex) {
+					throw new IllegalStateException("Invalid path pattern for MappedInterceptor with " +
+							mappedInterceptor.getInterceptor() + " in handler mapping " + formatMappingName() +
+							":\n" + ex.toDetailedString(), ex);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Adapt the given interceptor object to the {@link HandlerInterceptor} interface.
 	 * <p>By default, the supported interceptor types are {@link HandlerInterceptor}
@@ -380,6 +446,15 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	}
 
 
+	/**
+	 * Return "true" if this {@code HandlerMapping} has been
+	 * {@link #setPatternParser enabled} to use parsed {@code PathPattern}s.
+	 */
+	@Override
+	public boolean usesPathPatterns() {
+		return (getPatternParser() != null);
+	}
+
 	/**
 	 * Look up a handler for the given request, falling back to the default
 	 * handler if no specific one is found.
@@ -441,6 +516,29 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Nullable
 	protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+	/**
+	 * Initialize the path to use for request mapping.
+	 * <p>When parsed patterns are {@link #usesPathPatterns() enabled}, this is
+	 * the encoded path within the application from the parsed request path,
+	 * without ";" (semicolon) content. Otherwise it is the lookup path from the
+	 * {@link #getUrlPathHelper() UrlPathHelper}, exposed under the
+	 * {@link #LOOKUP_PATH} request attribute.
+	 * @param request the current request
+	 * @return the path to use for request mapping
+	 * @since 5.2
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		if (usesPathPatterns()) {
+			// Remove a lookup path from a previous dispatch, no longer computed for matching
+			request.removeAttribute(LOOKUP_PATH);
+			String path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication().value();
+			return getUrlPathHelper().removeSemicolonContent(path);
+		}
+		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		request.setAttribute(LOOKUP_PATH, lookupPath);
+		return lookupPath;
+	}
+
 	/**
 	 * Build a {@link HandlerExecutionChain} for the given handler, including
 	 * applicable interceptors.
@@ -465,11 +563,10 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
-		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
-				if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
+				if (matches(mappedInterceptor, request)) {
 					chain.addInterceptor(mappedInterceptor.getInterceptor());
 				}
 			}
@@ -480,6 +577,17 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return chain;
 	}
 
+	private boolean matches(MappedInterceptor interceptor, HttpServletRequest request) {
+		PathPatternParser parser = this.patternParser;
+		if (parser != null) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			MappedInterceptor.ParsedPatterns patterns = this.parsedInterceptorPatterns.get(interceptor);
+			return (patterns != null ? patterns.matches(path) : interceptor.matches(path, parser));
+		}
+		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
+		return interceptor.matches(lookupPath, this.pathMatcher);
+	}
+
 	/**
 	 * Return {@code true} if there is a {@link CorsConfigurationSource} for this handler.
 	 * @since 5.2
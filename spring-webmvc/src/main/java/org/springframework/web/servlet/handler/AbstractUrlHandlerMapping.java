@@ -28,10 +28,15 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for URL-mapped {@link org.springframework.web.servlet.HandlerMapping}
@@ -48,6 +53,10 @@ import org.springframework.web.servlet.HandlerExecutionChain;
  * current request path. The most exact match is defined as the longest
  * path pattern that matches the current request path.
  *
+ * <p>If a {@link #setPatternParser PathPatternParser} is set, registered
+ * paths are parsed into {@link PathPattern PathPatterns} instead, matched
+ * against the parsed request path, and the most specific one is chosen.
+ *
  * @author Juergen Hoeller
  * @author Arjen Poutsma
  * @since 16.04.2003
@@ -63,6 +72,8 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<>();
 
+	private final Map<PathPattern, Object> pathPatternHandlerMap = new LinkedHashMap<>();
+
 
 	/**
 	 * Set the root handler for this handler mapping, that is,
@@ -112,6 +123,23 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		this.lazyInitHandlers = lazyInitHandlers;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>Handlers already registered are re-parsed with the given parser.
+	 * Note that trailing slash matching is then controlled through
+	 * {@link PathPatternParser#setMatchOptionalTrailingSeparator}
+	 * rather than {@link #setUseTrailingSlashMatch}.
+	 */
+	@Override
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		super.setPatternParser(patternParser);
+		this.pathPatternHandlerMap.clear();
+		if (patternParser != null) {
+			this.handlerMap.forEach((path, handler) ->
+					this.pathPatternHandlerMap.put(patternParser.parse(path), handler));
+		}
+	}
+
 	/**
 	 * Look up a handler for the URL path of the given request.
 	 * @param request current HTTP request
@@ -120,9 +148,16 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
-		Object handler = lookupHandler(lookupPath, request);
+		String lookupPath = initLookupPath(request);
+		Object handler;
+		if (usesPathPatterns()) {
+			RequestPath path = ServletRequestPathUtils.getParsedRequestPath(request);
+			lookupPath = getUrlPathHelper().decodeRequestString(request, lookupPath);
+			handler = lookupHandler(path, lookupPath, request);
+		}
+		else {
+			handler = lookupHandler(lookupPath, request);
+		}
 		if (handler == null) {
 			// We need to care for the default handler directly, since we need to
 			// expose the PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE for it as well.
@@ -234,6 +269,71 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		return null;
 	}
 
+	/**
+	 * Look up a handler instance for the given parsed URL path, against the
+	 * registered paths parsed with the configured {@link PathPatternParser}.
+	 * <p>Supports direct matches, as well as pattern matches, in which case
+	 * the most specific pattern is chosen according to
+	 * {@link PathPattern#SPECIFICITY_COMPARATOR}.
+	 * @param path the parsed request path
+	 * @param lookupPath the decoded path within the application
+	 * @param request current HTTP request (to expose the path within the mapping to)
+	 * @return the associated handler instance, or {@code null} if not found
+	 * @since 5.2
+	 * @see #setPatternParser
+	 */
+	@Nullable
+	protected Object lookupHandler(RequestPath path, String lookupPath, HttpServletRequest request)
+			throws Exception {
+
+		// Direct match?
+		Object handler = this.handlerMap.get(lookupPath);
+		if (handler != null) {
+			handler = resolveHandler(handler);
+			validateHandler(handler, request);
+			return buildPathExposingHandler(handler, lookupPath, lookupPath, null);
+		}
+
+		// Pattern match?
+		PathContainer pathWithinApplication = path.pathWithinApplication();
+		List<PathPattern> matchingPatterns = null;
+		for (PathPattern pattern : this.pathPatternHandlerMap.keySet()) {
+			if (pattern.matches(pathWithinApplication)) {
+				matchingPatterns = (matchingPatterns != null ? matchingPatterns : new ArrayList<>());
+				matchingPatterns.add(pattern);
+			}
+		}
+		if (matchingPatterns == null) {
+			return null;
+		}
+		if (matchingPatterns.size() > 1) {
+			matchingPatterns.sort(PathPattern.SPECIFICITY_COMPARATOR);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Matching patterns " + matchingPatterns);
+			}
+		}
+		PathPattern bestMatch = matchingPatterns.get(0);
+		handler = resolveHandler(this.pathPatternHandlerMap.get(bestMatch));
+		validateHandler(handler, request);
+		String pathWithinMapping = getUrlPathHelper().decodeRequestString(request,
+				bestMatch.extractPathWithinPattern(pathWithinApplication).value());
+		PathPattern.PathMatchInfo matchInfo = bestMatch.matchAndExtract(pathWithinApplication);
+		Map<String, String> uriTemplateVariables = (matchInfo != null ? matchInfo.getUriVariables() : null);
+		if (logger.isTraceEnabled() && !CollectionUtils.isEmpty(uriTemplateVariables)) {
+			logger.trace("URI variables " + uriTemplateVariables);
+		}
+		return buildPathExposingHandler(handler, bestMatch.getPatternString(), pathWithinMapping, uriTemplateVariables);
+	}
+
+	private Object resolveHandler(Object handler) {
+		// Bean name or resolved handler?
+		if (handler instanceof String) {
+			String handlerName = (String) handler;
+			return obtainApplicationContext().getBean(handlerName);
+		}
+		return handler;
+	}
+
 	/**
 	 * Validate the given handler against the current request.
 	 * <p>The default implementation is empty. Can be overridden in subclasses,
@@ -293,6 +393,12 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	@Override
 	@Nullable
 	public RequestMatchResult match(HttpServletRequest request, String pattern) {
+		PathPatternParser patternParser = getPatternParser();
+		if (patternParser != null) {
+			PathPattern pathPattern = patternParser.parse(pattern);
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			return (pathPattern.matches(path) ? new RequestMatchResult(pathPattern, path) : null);
+		}
 		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request, LOOKUP_PATH);
 		if (getPathMatcher().match(pattern, lookupPath)) {
 			return new RequestMatchResult(pattern, lookupPath, getPathMatcher());
@@ -364,6 +470,10 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			}
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
+				PathPatternParser patternParser = getPatternParser();
+				if (patternParser != null) {
+					this.pathPatternHandlerMap.put(patternParser.parse(urlPath), resolvedHandler);
+				}
 				if (logger.isTraceEnabled()) {
 					logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
 				}
@@ -19,12 +19,15 @@ package org.springframework.web.servlet.handler;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.context.request.WebRequestInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Contains and delegates calls to a {@link HandlerInterceptor} along with
@@ -163,6 +166,32 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		return false;
 	}
 
+	/**
+	 * Determine a match for the given parsed request path, with include and
+	 * exclude patterns parsed via the given {@link PathPatternParser}.
+	 * <p>Patterns are parsed on every call. Handler mappings with a
+	 * {@link AbstractHandlerMapping#setPatternParser PathPatternParser}
+	 * parse them once on initialization instead.
+	 * <p>Note that a {@link #setPathMatcher configured PathMatcher} does not
+	 * apply in this case.
+	 * @param path the current request path within the application
+	 * @param parser the parser for the include and exclude patterns
+	 * @return {@code true} if the interceptor applies to the given request path
+	 * @since 5.2
+	 */
+	public boolean matches(PathContainer path, PathPatternParser parser) {
+		return parsePatterns(parser).matches(path);
+	}
+
+	/**
+	 * Parse the include and exclude patterns with the given parser.
+	 * @throws org.springframework.web.util.pattern.PatternParseException
+	 * if a pattern is not valid for the given parser
+	 */
+	ParsedPatterns parsePatterns(PathPatternParser parser) {
+		return new ParsedPatterns(parser, this.includePatterns, this.excludePatterns);
+	}
+
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
@@ -184,4 +213,50 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		this.interceptor.afterCompletion(request, response, handler, ex);
 	}
 
+
+	/**
+	 * Include and exclude patterns parsed with a given {@link PathPatternParser}.
+	 */
+	static final class ParsedPatterns {
+
+		private final PathPattern[] includePatterns;
+
+		private final PathPattern[] excludePatterns;
+
+		ParsedPatterns(PathPatternParser parser, @Nullable String[] includePatterns,
+				@Nullable String[] excludePatterns) {
+
+			this.includePatterns = parse(parser, includePatterns);
+			this.excludePatterns = parse(parser, excludePatterns);
+		}
+
+		private static PathPattern[] parse(PathPatternParser parser, @Nullable String[] patterns) {
+			if (ObjectUtils.isEmpty(patterns)) {
+				return new PathPattern[0];
+			}
+			PathPattern[] result = new PathPattern[patterns.length];
+			for (int i = 0; i < patterns.length; i++) {
+				result[i] = parser.parse(patterns[i]);
+			}
+			return result;
+		}
+
+		boolean matches(PathContainer path) {
+			for (PathPattern pattern : this.excludePatterns) {
+				if (pattern.matches(path)) {
+					return false;
+				}
+			}
+			if (this.includePatterns.length == 0) {
+				return true;
+			}
+			for (PathPattern pattern : this.includePatterns) {
+				if (pattern.matches(path)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 }
@@ -18,8 +18,11 @@ package org.springframework.web.servlet.handler;
 
 import java.util.Map;
 
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Container for the result from request pattern matching via
@@ -31,10 +34,19 @@ import org.springframework.util.PathMatcher;
  */
 public class RequestMatchResult {
 
+	@Nullable
+	private final PathPattern pathPattern;
+
+	@Nullable
+	private final PathContainer lookupPathContainer;
+
+	@Nullable
 	private final String matchingPattern;
 
+	@Nullable
 	private final String lookupPath;
 
+	@Nullable
 	private final PathMatcher pathMatcher;
 
 
@@ -49,18 +61,45 @@ public class RequestMatchResult {
 		Assert.hasText(matchingPattern, "'matchingPattern' is required");
 		Assert.hasText(lookupPath, "'lookupPath' is required");
 		Assert.notNull(pathMatcher, "'pathMatcher' is required");
+		this.pathPattern = null;
+		this.lookupPathContainer = null;
 		this.matchingPattern = matchingPattern;
 		this.lookupPath = lookupPath;
 		this.pathMatcher = pathMatcher;
 	}
 
+	/**
+	 * Create an instance with a matching parsed pattern.
+	 * @param pathPattern the matching pattern
+	 * @param lookupPath the parsed lookup path extracted from the request
+	 * @since 5.2
+	 */
+	public RequestMatchResult(PathPattern pathPattern, PathContainer lookupPath) {
+		Assert.notNull(pathPattern, "'pathPattern' is required");
+		Assert.notNull(lookupPath, "'lookupPath' is required");
+		this.pathPattern = pathPattern;
+		this.lookupPathContainer = lookupPath;
+		this.matchingPattern = null;
+		this.lookupPath = null;
+		this.pathMatcher = null;
+	}
+
 
 	/**
 	 * Extract URI template variables from the matching pattern as defined in
-	 * {@link PathMatcher#extractUriTemplateVariables}.
+	 * {@link PathMatcher#extractUriTemplateVariables}, or via
+	 * {@link PathPattern#matchAndExtract} for a parsed pattern.
 	 * @return a map with URI template variables
 	 */
 	public Map<String, String> extractUriTemplateVariables() {
+		if (this.pathPattern != null) {
+			Assert.state(this.lookupPathContainer != null, "No lookup path");
+			PathPattern.PathMatchInfo info = this.pathPattern.matchAndExtract(this.lookupPathContainer);
+			Assert.state(info != null, () -> "Pattern " + this.pathPattern + " does not match " + this.lookupPathContainer);
+			return info.getUriVariables();
+		}
+		Assert.state(this.pathMatcher != null && this.matchingPattern != null && this.lookupPath != null,
+				"No PathMatcher");
 		return this.pathMatcher.extractUriTemplateVariables(this.matchingPattern, this.lookupPath);
 	}
 
@@ -22,23 +22,34 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
  * against a set of URL path patterns.
  *
+ * <p>Patterns are matched with a {@link PathMatcher} against the lookup path
+ * from {@link UrlPathHelper} by default or, if created with a
+ * {@link PathPatternParser}, as parsed {@link PathPattern PathPatterns}
+ * against the request path parsed via {@link ServletRequestPathUtils}.
+ *
  * @author Rossen Stoyanchev
  * @since 3.1
  */
@@ -56,6 +67,11 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 
 	private final List<String> fileExtensions = new ArrayList<>();
 
+	@Nullable
+	private final PathPatternParser patternParser;
+
+	private final Map<String, PathPattern> pathPatterns;
+
 
 	/**
 	 * Creates a new instance with the given URL patterns.
@@ -63,7 +79,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @param patterns 0 or more URL patterns; if 0 the condition will match to every request.
 	 */
 	public PatternsRequestCondition(String... patterns) {
-		this(Arrays.asList(patterns), null, null, true, true, null);
+		this(Arrays.asList(patterns), null, null, true, true, null, null);
 	}
 
 	/**
@@ -78,7 +94,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	public PatternsRequestCondition(String[] patterns, @Nullable UrlPathHelper urlPathHelper,
 			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch, boolean useTrailingSlashMatch) {
 
-		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, null);
+		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, useSuffixPatternMatch, useTrailingSlashMatch, null, null);
 	}
 
 	/**
@@ -96,7 +112,21 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
 
 		this(Arrays.asList(patterns), urlPathHelper, pathMatcher, useSuffixPatternMatch,
-				useTrailingSlashMatch, fileExtensions);
+				useTrailingSlashMatch, fileExtensions, null);
+	}
+
+	/**
+	 * Creates a new instance with the given URL patterns, parsed with the
+	 * given {@link PathPatternParser} and matched as {@link PathPattern PathPatterns}.
+	 * Each pattern that is not empty and does not start with "/" is pre-pended with "/".
+	 * <p>Suffix pattern matching is not supported in this mode, while trailing
+	 * slash matching is controlled through the parser.
+	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
+	 * @param patternParser the parser to use
+	 * @since 5.2
+	 */
+	public PatternsRequestCondition(String[] patterns, PathPatternParser patternParser) {
+		this(Arrays.asList(patterns), null, null, false, false, null, patternParser);
 	}
 
 	/**
@@ -104,13 +134,16 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	private PatternsRequestCondition(Collection<String> patterns, @Nullable UrlPathHelper urlPathHelper,
 			@Nullable PathMatcher pathMatcher, boolean useSuffixPatternMatch,
-			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions) {
+			boolean useTrailingSlashMatch, @Nullable List<String> fileExtensions,
+			@Nullable PathPatternParser patternParser) {
 
 		this.patterns = Collections.unmodifiableSet(prependLeadingSlash(patterns));
 		this.pathHelper = urlPathHelper != null ? urlPathHelper : new UrlPathHelper();
 		this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
 		this.useSuffixPatternMatch = useSuffixPatternMatch;
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
+		this.patternParser = patternParser;
+		this.pathPatterns = parsePatterns(this.patterns, patternParser, Collections.emptyMap());
 
 		if (fileExtensions != null) {
 			for (String fileExtension : fileExtensions) {
@@ -132,6 +165,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		this.useSuffixPatternMatch = other.useSuffixPatternMatch;
 		this.useTrailingSlashMatch = other.useTrailingSlashMatch;
 		this.fileExtensions.addAll(other.fileExtensions);
+		this.patternParser = other.patternParser;
+		this.pathPatterns = parsePatterns(patterns, other.patternParser, other.pathPatterns);
 	}
 
 
@@ -149,10 +184,34 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return result;
 	}
 
+	private static Map<String, PathPattern> parsePatterns(Set<String> patterns,
+			@Nullable PathPatternParser parser, Map<String, PathPattern> parsed) {
+
+		if (parser == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, PathPattern> result = new LinkedHashMap<>(patterns.size());
+		for (String pattern : patterns) {
+			PathPattern pathPattern = parsed.get(pattern);
+			result.put(pattern, pathPattern != null ? pathPattern : parser.parse(pattern));
+		}
+		return result;
+	}
+
 	public Set<String> getPatterns() {
 		return this.patterns;
 	}
 
+	/**
+	 * Return the patterns parsed with the {@link PathPatternParser} this
+	 * condition was created with, in the same order as {@link #getPatterns()},
+	 * or an empty collection if not created with a parser.
+	 * @since 5.2
+	 */
+	public Collection<PathPattern> getPathPatterns() {
+		return Collections.unmodifiableCollection(this.pathPatterns.values());
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -168,7 +227,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * the "other" instance as follows:
 	 * <ul>
 	 * <li>If there are patterns in both instances, combine the patterns in "this" with
-	 * the patterns in "other" using {@link PathMatcher#combine(String, String)}.
+	 * the patterns in "other" using {@link PathMatcher#combine(String, String)},
+	 * or {@link PathPattern#combine(PathPattern)} if created with a parser.
 	 * <li>If only one instance has patterns, use them.
 	 * <li>If neither instance has patterns, use an empty String (i.e. "").
 	 * </ul>
@@ -177,9 +237,18 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	public PatternsRequestCondition combine(PatternsRequestCondition other) {
 		Set<String> result = new LinkedHashSet<>();
 		if (!this.patterns.isEmpty() && !other.patterns.isEmpty()) {
-			for (String pattern1 : this.patterns) {
-				for (String pattern2 : other.patterns) {
-					result.add(this.pathMatcher.combine(pattern1, pattern2));
+			if (!this.pathPatterns.isEmpty() && !other.pathPatterns.isEmpty()) {
+				for (PathPattern pattern1 : this.pathPatterns.values()) {
+					for (PathPattern pattern2 : other.pathPatterns.values()) {
+						result.add(pattern1.combine(pattern2).getPatternString());
+					}
+				}
+			}
+			else {
+				for (String pattern1 : this.patterns) {
+					for (String pattern2 : other.patterns) {
+						result.add(this.pathMatcher.combine(pattern1, pattern2));
+					}
 				}
 			}
 		}
@@ -217,6 +286,11 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		if (this.patterns.isEmpty()) {
 			return this;
 		}
+		if (!this.pathPatterns.isEmpty()) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			List<String> matches = getMatchingPathPatterns(path);
+			return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		List<String> matches = getMatchingPatterns(lookupPath);
 		return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
@@ -231,6 +305,9 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (!this.pathPatterns.isEmpty()) {
+			return getMatchingPathPatterns(PathContainer.parsePath(lookupPath));
+		}
 		List<String> matches = null;
 		for (String pattern : this.patterns) {
 			String match = getMatchingPattern(pattern, lookupPath);
@@ -248,6 +325,27 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return matches;
 	}
 
+	private List<String> getMatchingPathPatterns(PathContainer path) {
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : this.pathPatterns.values()) {
+			if (pattern.matches(path)) {
+				matches = matches != null ? matches : new ArrayList<>();
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return Collections.emptyList();
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+		}
+		List<String> result = new ArrayList<>(matches.size());
+		for (PathPattern match : matches) {
+			result.add(match.getPatternString());
+		}
+		return result;
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		if (pattern.equals(lookupPath)) {
@@ -282,7 +380,8 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	/**
 	 * Compare the two conditions based on the URL patterns they contain.
 	 * Patterns are compared one at a time, from top to bottom via
-	 * {@link PathMatcher#getPatternComparator(String)}. If all compared
+	 * {@link PathMatcher#getPatternComparator(String)}, or via
+	 * {@link PathPattern#SPECIFICITY_COMPARATOR} if created with a parser. If all compared
 	 * patterns match equally, but one instance has more patterns, it is
 	 * considered a closer match.
 	 * <p>It is assumed that both instances have been obtained via
@@ -292,10 +391,16 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
+		if (!this.pathPatterns.isEmpty() && !other.pathPatterns.isEmpty()) {
+			return compareTo(this.pathPatterns.values().iterator(), other.pathPatterns.values().iterator(),
+					PathPattern.SPECIFICITY_COMPARATOR);
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
-		Iterator<String> iterator = this.patterns.iterator();
-		Iterator<String> iteratorOther = other.patterns.iterator();
+		return compareTo(this.patterns.iterator(), other.patterns.iterator(), patternComparator);
+	}
+
+	private static <T> int compareTo(Iterator<T> iterator, Iterator<T> iteratorOther, Comparator<T> patternComparator) {
 		while (iterator.hasNext() && iteratorOther.hasNext()) {
 			int result = patternComparator.compare(iterator.next(), iteratorOther.next());
 			if (result != 0) {
@@ -31,8 +31,12 @@ import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.support.WebContentGenerator;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -62,6 +66,34 @@ public class HandlerMappingTests {
 				mappedInterceptor1.getInterceptor(), i2, mappedInterceptor3.getInterceptor(), i4);
 	}
 
+	@Test
+	public void mappedInterceptorsWithPathPatterns() throws Exception {
+		HandlerInterceptor i1 = mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo/**"}, i1);
+		HandlerInterceptor i2 = mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor2 = new MappedInterceptor(new String[]{"/bar/**"}, i2);
+
+		this.handlerMapping.setPatternParser(new PathPatternParser());
+		this.handlerMapping.setInterceptors(mappedInterceptor1, mappedInterceptor2);
+		this.handlerMapping.setApplicationContext(this.context);
+		this.request.setRequestURI("/foo/baz");
+		ServletRequestPathUtils.parseAndCache(this.request);
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		assertThat(chain.getInterceptors()).containsExactly(i1);
+	}
+
+	@Test
+	public void mappedInterceptorWithInvalidPathPattern() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(
+				new String[]{"/{*path}/foo"}, mock(HandlerInterceptor.class));
+
+		this.handlerMapping.setPatternParser(new PathPatternParser());
+		this.handlerMapping.setInterceptors(mappedInterceptor);
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.handlerMapping.setApplicationContext(this.context))
+				.withCauseInstanceOf(PatternParseException.class);
+	}
+
 	class TestHandlerMapping extends AbstractHandlerMapping {
 
 		@Override
@@ -24,11 +24,13 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -97,6 +99,17 @@ public class MappedInterceptorTests {
 		assertThat(mappedInterceptor.matches("/foo/bar", pathMatcher)).isFalse();
 	}
 
+	@Test
+	public void includeAndExcludePathPatterns() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(
+				new String[] { "/**" }, new String[] { "/admin/**" }, this.interceptor);
+		PathPatternParser parser = new PathPatternParser();
+
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/foo"), parser)).isTrue();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin/foo"), parser)).isFalse();
+		assertThat(mappedInterceptor.matches(PathContainer.parsePath("/admin;q=1/foo"), parser)).isFalse();
+	}
+
 	@Test
 	public void preHandle() throws Exception {
 		HandlerInterceptor interceptor = mock(HandlerInterceptor.class);
@@ -17,6 +17,8 @@
 package org.springframework.web.servlet.handler;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -29,7 +31,9 @@ import org.springframework.web.context.support.XmlWebApplicationContext;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -84,6 +88,46 @@ public class SimpleUrlHandlerMappingTests {
 		assertThat(hec.getHandler()).isSameAs(controller);
 	}
 
+	@Test
+	public void urlMappingWithPathPatterns() throws Exception {
+		Object mainController = new Object();
+		Object otherController = new Object();
+		Object resourceController = new Object();
+		Map<String, Object> urlMap = new LinkedHashMap<>();
+		urlMap.put("/welcome.html", mainController);
+		urlMap.put("/show/{id}", otherController);
+		urlMap.put("/resources/**", resourceController);
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping(urlMap);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+		assertThat(handlerMapping.usesPathPatterns()).isTrue();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/welcome.html");
+		ServletRequestPathUtils.parseAndCache(request);
+		HandlerExecutionChain chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(mainController);
+		assertThat(request.getAttribute(HandlerMapping.LOOKUP_PATH)).isNull();
+
+		request = new MockHttpServletRequest("GET", "/show/a%20b");
+		ServletRequestPathUtils.parseAndCache(request);
+		chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(otherController);
+		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).isEqualTo("/show/{id}");
+		assertThat(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE))
+				.isEqualTo(Collections.singletonMap("id", "a b"));
+
+		request = new MockHttpServletRequest("GET", "/resources/css/main%20page.css");
+		ServletRequestPathUtils.parseAndCache(request);
+		chain = getHandler(handlerMapping, request);
+		assertThat(chain.getHandler()).isSameAs(resourceController);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE))
+				.isEqualTo("css/main page.css");
+
+		request = new MockHttpServletRequest("GET", "/other");
+		ServletRequestPathUtils.parseAndCache(request);
+		assertThat(handlerMapping.getHandler(request)).isNull();
+	}
+
 	@SuppressWarnings("resource")
 	private void checkMappings(String beanName) throws Exception {
 		MockServletContext sc = new MockServletContext("");
@@ -24,6 +24,8 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -223,4 +225,65 @@ public class PatternsRequestConditionTests {
 		assertThat(match1.compareTo(match2, request)).isEqualTo(1);
 	}
 
+	@Test
+	public void pathPatternsCombine() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition c1 = new PatternsRequestCondition(new String[] {"/t1", "/t2"}, parser);
+		PatternsRequestCondition c2 = new PatternsRequestCondition(new String[] {"/m1", "{id}"}, parser);
+
+		PatternsRequestCondition result = c1.combine(c2);
+		assertThat(result).isEqualTo(new PatternsRequestCondition("/t1/m1", "/t1/{id}", "/t2/m1", "/t2/{id}"));
+		assertThat(result.getPathPatterns()).hasSize(4);
+	}
+
+	@Test
+	public void pathPatternsMatchSortedBySpecificity() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition condition =
+				new PatternsRequestCondition(new String[] {"/**", "/foo/{id}", "/foo/bar"}, parser);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		ServletRequestPathUtils.parseAndCache(request);
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertThat(match).isNotNull();
+		assertThat(match.getPatterns()).containsExactly("/foo/bar", "/foo/{id}", "/**");
+		assertThat(match.getPathPatterns()).hasSize(3);
+	}
+
+	@Test
+	public void pathPatternsMatchEncodedPathWithinServletMapping() {
+		PatternsRequestCondition condition =
+				new PatternsRequestCondition(new String[] {"/foo/{name}"}, new PathPatternParser());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/foo/caf%C3%A9;v=1");
+		request.setContextPath("/app");
+		request.setServletPath("/api");
+		request.setPathInfo("/foo/café;v=1");
+
+		assertThat(condition.getMatchingCondition(request)).isNotNull();
+		assertThat(condition.getMatchingPatterns("/foo/caf%C3%A9")).containsExactly("/foo/{name}");
+		assertThat(condition.getMatchingPatterns("/bar")).isEmpty();
+	}
+
+	@Test
+	public void pathPatternsNoSuffixMatch() {
+		PatternsRequestCondition condition =
+				new PatternsRequestCondition(new String[] {"/foo"}, new PathPatternParser());
+
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo.html"))).isNull();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/foo/"))).isNotNull();
+	}
+
+	@Test
+	public void pathPatternsCompareSpecificity() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition c1 = new PatternsRequestCondition(new String[] {"/foo/{id}"}, parser);
+		PatternsRequestCondition c2 = new PatternsRequestCondition(new String[] {"/foo/bar"}, parser);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/bar");
+		assertThat(c1.compareTo(c2, request)).isEqualTo(1);
+		assertThat(c2.compareTo(c1, request)).isEqualTo(-1);
+	}
+
 }